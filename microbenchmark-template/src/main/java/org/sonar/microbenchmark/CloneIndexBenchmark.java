@@ -0,0 +1,144 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+import org.sonar.duplications.index.CloneIndex;
+import org.sonar.duplications.index.OffHeapCloneIndex;
+import org.sonar.duplications.index.PackedMemoryCloneIndex;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the implementations of the CPD index of blocks (see IndexFactory). Heap used by the index is
+ * logged when setting up each benchmark.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class CloneIndexBenchmark {
+
+  private static final int NB_RESOURCES = 10_000;
+  private static final int NB_BLOCKS_PER_RESOURCE = 200;
+  private static final int NB_DISTINCT_HASHES = 500_000;
+
+  @Param({"packed", "direct", "mapped"})
+  String index;
+
+  File dir;
+  CloneIndex cloneIndex;
+  Random random = new Random(42);
+
+  @Setup
+  public void setup() throws Exception {
+    dir = Files.createTempDirectory("microbenchmark").toFile();
+    long heapBefore = usedHeap();
+    cloneIndex = newIndex();
+    for (int resource = 0; resource < NB_RESOURCES; resource++) {
+      String resourceId = "org.codehaus.sonar:sonar-server:src/main/java/org/sonar/server/Foo" + resource + ".java";
+      for (int i = 0; i < NB_BLOCKS_PER_RESOURCE; i++) {
+        cloneIndex.insert(Block.builder()
+          .setResourceId(resourceId)
+          .setBlockHash(new ByteArray((long) random.nextInt(NB_DISTINCT_HASHES)))
+          .setIndexInFile(i)
+          .setLines(i, i + 10)
+          .setUnit(i * 10, i * 10 + 100)
+          .build());
+      }
+    }
+    // sort
+    cloneIndex.getByResourceId("");
+    long heapAfter = usedHeap();
+    System.out.printf("%n%s index: %d blocks use %d MB of heap%n", index, NB_RESOURCES * NB_BLOCKS_PER_RESOURCE, (heapAfter - heapBefore) / 1024 / 1024);
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (cloneIndex instanceof OffHeapCloneIndex) {
+      ((OffHeapCloneIndex) cloneIndex).close();
+    }
+    FileUtils.deleteQuietly(dir);
+  }
+
+  @Benchmark
+  public void get_by_sequence_hash(Blackhole blackhole) {
+    blackhole.consume(cloneIndex.getBySequenceHash(new ByteArray((long) random.nextInt(NB_DISTINCT_HASHES))));
+  }
+
+  @Benchmark
+  public void get_by_resource_id(Blackhole blackhole) {
+    blackhole.consume(cloneIndex.getByResourceId("org.codehaus.sonar:sonar-server:src/main/java/org/sonar/server/Foo" + random.nextInt(NB_RESOURCES) + ".java"));
+  }
+
+  private CloneIndex newIndex() {
+    switch (index) {
+      case "direct":
+        return new OffHeapCloneIndex(8, 1024, null);
+      case "mapped":
+        return new OffHeapCloneIndex(8, 1024, dir);
+      default:
+        return new PackedMemoryCloneIndex();
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(CloneIndexBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.Duration;
+import org.sonar.api.utils.System2;
+import org.sonar.server.computation.issue.DefaultIssueCodec;
+import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.cache.DiskCache;
+import org.sonar.server.util.cache.DiskCacheCodec;
+import org.sonar.server.util.cache.JavaSerializationCodec;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the codecs of the compute engine cache of issues (see IssueCache). Size of files is logged
+ * when tearing down each benchmark.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class DiskCacheBenchmark {
+
+  private static final int NB_ISSUES = 10_000;
+
+  @Param({"serialization", "binary"})
+  String codec;
+
+  File file;
+  DefaultIssue[] issues;
+
+  @Setup
+  public void setup() throws Exception {
+    file = File.createTempFile("microbenchmark", ".dat");
+    issues = new DefaultIssue[NB_ISSUES];
+    for (int i = 0; i < NB_ISSUES; i++) {
+      issues[i] = newIssue(i);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%n%s codec: %d issues are stored in %d bytes%n", codec, NB_ISSUES, file.length());
+    file.delete();
+  }
+
+  @Benchmark
+  public void write_and_read(Blackhole blackhole) throws Exception {
+    DiskCache<DefaultIssue> cache = new DiskCache<>(file, System2.INSTANCE, newCodec());
+    DiskCache<DefaultIssue>.DiskAppender appender = cache.newAppender();
+    for (DefaultIssue issue : issues) {
+      appender.append(issue);
+    }
+    appender.close();
+
+    try (CloseableIterator<DefaultIssue> traverse = cache.traverse()) {
+      while (traverse.hasNext()) {
+        blackhole.consume(traverse.next());
+      }
+    }
+  }
+
+  private DiskCacheCodec<DefaultIssue> newCodec() {
+    return "binary".equals(codec) ? new DefaultIssueCodec() : new JavaSerializationCodec<DefaultIssue>();
+  }
+
+  private static DefaultIssue newIssue(int i) {
+    DefaultIssue issue = new DefaultIssue()
+      .setKey("AU-TpxcA-iU5OvuD2FL" + i)
+      .setComponentUuid("AU-TpxcA-iU5OvuD2FLz")
+      .setComponentKey("org.codehaus.sonar:sonar-server:src/main/java/org/sonar/server/Foo" + (i % 100) + ".java")
+      .setModuleUuid("AU-TpxcA-iU5OvuD2FLy")
+      .setModuleUuidPath(".AU-TpxcA-iU5OvuD2FLx.AU-TpxcA-iU5OvuD2FLy.")
+      .setProjectUuid("AU-TpxcA-iU5OvuD2FLx")
+      .setProjectKey("org.codehaus.sonar:sonar")
+      .setRuleKey(RuleKey.of("squid", "S" + (i % 500)))
+      .setLanguage("java")
+      .setSeverity(Severity.MAJOR)
+      .setMessage("Remove this unused private field " + i)
+      .setLine(i + 1)
+      .setDebt(Duration.create(10L))
+      .setStatus(Issue.STATUS_OPEN)
+      .setChecksum("c7b5db46591806455cf082bb348631e8")
+      .setAuthorLogin("someone")
+      .setTags(Arrays.asList("unused", "pitfall"))
+      .setCreationDate(new Date(1_400_000_000_000L))
+      .setUpdateDate(new Date(1_500_000_000_000L))
+      .setNew(i % 10 == 0);
+    if (i % 10 == 1) {
+      issue.addChange(new FieldDiffs().setUserLogin("someone").setCreationDate(new Date(1_450_000_000_000L))
+        .setDiff("severity", Severity.MINOR, Severity.MAJOR));
+    }
+    return issue;
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(DiskCacheBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
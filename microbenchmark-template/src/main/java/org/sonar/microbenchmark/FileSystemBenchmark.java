@@ -0,0 +1,136 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.batch.fs.FilePredicate;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search of files in a large module. Predicates on language, type and status use the indexes
+ * of {@link DefaultFileSystem}, the "scan" benchmarks use equivalent predicates that are not known by
+ * the file system and that require to iterate all the files.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class FileSystemBenchmark {
+
+  private static final int NB_FILES = 200_000;
+  private static final String[] LANGUAGES = {"java", "js", "xml", "php", "cobol", "py", "cs", "c", "cpp", "flex"};
+
+  DefaultFileSystem fs;
+  FilePredicates p;
+
+  @Setup
+  public void setup() {
+    fs = new DefaultFileSystem(new File("."));
+    p = fs.predicates();
+    for (int i = 0; i < NB_FILES; i++) {
+      fs.add(new DefaultInputFile("foo", "src/main/dir" + (i / 100) + "/File" + i)
+        .setLanguage(LANGUAGES[i % LANGUAGES.length])
+        .setType(i % 4 == 0 ? InputFile.Type.TEST : InputFile.Type.MAIN)
+        .setStatus(i % 50 == 0 ? InputFile.Status.CHANGED : InputFile.Status.SAME));
+    }
+  }
+
+  @Benchmark
+  public void language_and_type(Blackhole blackhole) {
+    consume(fs.inputFiles(p.and(p.hasLanguage("cobol"), p.hasType(InputFile.Type.MAIN))), blackhole);
+  }
+
+  @Benchmark
+  public void language_and_type_scan(Blackhole blackhole) {
+    consume(fs.inputFiles(p.and(new ScanPredicate(p.hasLanguage("cobol")), new ScanPredicate(p.hasType(InputFile.Type.MAIN)))), blackhole);
+  }
+
+  @Benchmark
+  public void changed_files_of_language(Blackhole blackhole) {
+    consume(fs.inputFiles(p.and(p.hasStatus(InputFile.Status.CHANGED), p.hasLanguage("java"))), blackhole);
+  }
+
+  @Benchmark
+  public void changed_files_of_language_scan(Blackhole blackhole) {
+    consume(fs.inputFiles(p.and(new ScanPredicate(p.hasStatus(InputFile.Status.CHANGED)), new ScanPredicate(p.hasLanguage("java")))), blackhole);
+  }
+
+  @Benchmark
+  public void has_files_of_languages(Blackhole blackhole) {
+    blackhole.consume(fs.hasFiles(p.or(p.hasLanguage("abap"), p.hasLanguage("flex"))));
+  }
+
+  @Benchmark
+  public void has_files_of_languages_scan(Blackhole blackhole) {
+    blackhole.consume(fs.hasFiles(p.or(new ScanPredicate(p.hasLanguage("abap")), new ScanPredicate(p.hasLanguage("flex")))));
+  }
+
+  private static void consume(Iterable<InputFile> files, Blackhole blackhole) {
+    for (InputFile file : files) {
+      blackhole.consume(file);
+    }
+  }
+
+  private static class ScanPredicate implements FilePredicate {
+    private final FilePredicate delegate;
+
+    ScanPredicate(FilePredicate delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean apply(InputFile inputFile) {
+      return delegate.apply(inputFile);
+    }
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(FileSystemBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.PathPattern;
+import org.sonar.api.batch.fs.internal.PathPatternSet;
+
+/**
+ * Compares the matching of files against inclusion/exclusion patterns, either by testing
+ * each pattern in turn or by using the patterns compiled in a {@link PathPatternSet}.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+  private static final int NB_FILES = 10_000;
+
+  @Param({"5", "50"})
+  int nbPatterns;
+
+  PathPattern[] patterns;
+  PathPatternSet patternSet;
+  List<InputFile> files = new ArrayList<>();
+
+  @Setup
+  public void setup() throws Exception {
+    String[] stringPatterns = new String[nbPatterns];
+    for (int i = 0; i < nbPatterns; i++) {
+      switch (i % 5) {
+        case 0:
+          stringPatterns[i] = "**/generated" + i + "/**";
+          break;
+        case 1:
+          stringPatterns[i] = "**/*Dao" + i + ".java";
+          break;
+        case 2:
+          stringPatterns[i] = "src/main/java/org/sonar/module" + i + "/**/*.java";
+          break;
+        case 3:
+          stringPatterns[i] = "**/test" + i + "/**/*Test.java";
+          break;
+        default:
+          stringPatterns[i] = "src/main/resources/**/*" + i + ".x?l";
+      }
+    }
+    patterns = PathPattern.create(stringPatterns);
+    patternSet = PathPatternSet.create(patterns);
+
+    Random random = new Random(42);
+    for (int i = 0; i < NB_FILES; i++) {
+      String path = "src/main/java/org/sonar/module" + random.nextInt(100) + "/package" + random.nextInt(10) + "/File" + i + ".java";
+      files.add(new DefaultInputFile("foo", path));
+    }
+  }
+
+  @Benchmark
+  public void match_each_pattern(Blackhole blackhole) {
+    for (InputFile file : files) {
+      boolean match = false;
+      for (PathPattern pattern : patterns) {
+        if (pattern.match(file)) {
+          match = true;
+          break;
+        }
+      }
+      blackhole.consume(match);
+    }
+  }
+
+  @Benchmark
+  public void match_pattern_set(Blackhole blackhole) {
+    for (InputFile file : files) {
+      blackhole.consume(patternSet.match(file));
+    }
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(PathPatternBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -31,16 +31,19 @@ import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.utils.System2;
+import org.sonar.api.utils.ZipUtils;
 import org.sonar.api.utils.internal.Uuids;
 import org.sonar.batch.protocol.Constants;
 import org.sonar.batch.protocol.output.BatchReport;
 import org.sonar.batch.protocol.output.BatchReportWriter;
+import org.sonar.core.computation.db.AnalysisReportDto;
 import org.sonar.core.persistence.DbTester;
-import org.sonar.server.computation.batch.BatchReportDirectoryHolderImpl;
+import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.computation.batch.BatchReportReaderImpl;
 import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DumbComponent;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
 import org.sonar.server.computation.step.PersistFileSourcesStep;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.source.db.FileSourceDao;
@@ -70,27 +73,36 @@ public class PersistFileSourcesStepTest {
   @Test
   public void benchmark() throws Exception {
     File reportDir = prepareReport();
-    persistFileSources(reportDir);
+
+    long singleThreadDuration = persistFileSources(reportDir, 1);
+    benchmark.expectAround("Duration to persist FILE_SOURCES with 1 thread", singleThreadDuration, 105000, Benchmark.DEFAULT_ERROR_MARGIN_PERCENTS);
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    dbTester.truncateTables();
+    long multiThreadsDuration = persistFileSources(reportDir, threads);
+    LOGGER.info(String.format("Speedup with %d threads: %.2f", threads, (double) singleThreadDuration / multiThreadsDuration));
   }
 
-  private void persistFileSources(File reportDir) {
-    LOGGER.info("Persist file sources");
+  private long persistFileSources(File reportDir, int threads) throws IOException {
+    LOGGER.info(String.format("Persist file sources with %d threads", threads));
     DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new FileSourceDao(dbTester.myBatis()));
 
     long start = System.currentTimeMillis();
 
-    BatchReportDirectoryHolderImpl batchReportDirectoryHolder = new BatchReportDirectoryHolderImpl();
-    batchReportDirectoryHolder.setDirectory(reportDir);
-    PersistFileSourcesStep step = new PersistFileSourcesStep(dbClient, System2.INSTANCE, treeRootHolder, new BatchReportReaderImpl(batchReportDirectoryHolder));
+    File reportZip = temp.newFile();
+    ZipUtils.zipDir(reportDir, reportZip);
+    BatchReportReaderImpl reportReader = new BatchReportReaderImpl(new ReportQueue.Item(new AnalysisReportDto(), reportZip));
+    PersistFileSourcesStep step = new PersistFileSourcesStep(dbClient, System2.INSTANCE, treeRootHolder, reportReader,
+      new PersistedFileSourceCache(temp.newFile(), System2.INSTANCE), threads);
     step.execute();
+    reportReader.stop();
 
     long end = System.currentTimeMillis();
     long duration = end - start;
 
     assertThat(dbTester.countRowsOfTable("file_sources")).isEqualTo(NUMBER_OF_FILES);
-    LOGGER.info(String.format("File sources has been persisted in %d ms", duration));
-
-    benchmark.expectAround("Duration to persist FILE_SOURCES", duration, 105000, Benchmark.DEFAULT_ERROR_MARGIN_PERCENTS);
+    LOGGER.info(String.format("File sources has been persisted in %d ms with %d threads", duration, threads));
+    return duration;
   }
 
   private File prepareReport() throws IOException {
@@ -39,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Performance tests of the Elasticsearch index sourcelines
  * <ul>
  *   <li>throughput of indexing of documents</li>
+ *   <li>throughput of re-indexing of files that have less lines than in previous analysis</li>
  *   <li>size of ES data directory</li>
  *   <li>time to request index</li>
  * </ul>
@@ -60,6 +61,9 @@ public class SourceIndexBenchmarkTest {
     // index source lines
     benchmarkIndexing();
 
+    // index again the same files, with less lines
+    benchmarkReindexing();
+
     // execute some queries
     benchmarkQueries();
   }
@@ -90,6 +94,25 @@ public class SourceIndexBenchmarkTest {
     benchmark.expectBetween("ES dir size (b)", dirSize, 172L * FileUtils.ONE_MB, 182L * FileUtils.ONE_MB);
   }
 
+  private void benchmarkReindexing() {
+    LOGGER.info("Re-indexing truncated files");
+
+    int linesPerFile = LINES_PER_FILE - 20;
+    SourceIterator files = new SourceIterator(FILES, linesPerFile);
+    long start = System.currentTimeMillis();
+    tester.get(SourceLineIndexer.class).index(files);
+    long end = System.currentTimeMillis();
+
+    long period = end - start;
+    long nbLines = files.count.get() * linesPerFile;
+    long throughputPerSecond = 1000L * nbLines / period;
+    LOGGER.info(String.format("%d lines re-indexed in %d ms (%d docs/second)", nbLines, period, throughputPerSecond));
+    // TODO assertion on throughput
+
+    long nbDocs = tester.get(EsClient.class).prepareCount(SourceLineIndexDefinition.INDEX).get().getCount();
+    assertThat(nbDocs).isEqualTo(FILES * linesPerFile);
+  }
+
   private void benchmarkQueries() {
     SourceLineIndex index = tester.get(SourceLineIndex.class);
     for (int i = 1; i <= 100; i++) {
@@ -19,10 +19,12 @@
  */
 package org.sonar.server.activity;
 
+import java.util.Collection;
 import org.sonar.api.server.ServerSide;
 import org.sonar.api.utils.KeyValueFormat;
 import org.sonar.api.utils.internal.Uuids;
 import org.sonar.core.activity.db.ActivityDto;
+import org.sonar.core.persistence.DbSession;
 import org.sonar.server.activity.index.ActivityIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.user.UserSession;
@@ -41,14 +43,36 @@ public class ActivityService {
   }
 
   public void save(Activity activity) {
-    ActivityDto dto = new ActivityDto()
+    dbClient.activityDao().insert(toDto(activity));
+    indexer.index();
+  }
+
+  /**
+   * Inserts the activities in a single batch, then indexes them at once
+   */
+  public void save(Collection<Activity> activities) {
+    if (activities.isEmpty()) {
+      return;
+    }
+    DbSession dbSession = dbClient.openSession(true);
+    try {
+      for (Activity activity : activities) {
+        dbClient.activityDao().insert(dbSession, toDto(activity));
+      }
+      dbSession.commit();
+    } finally {
+      dbSession.close();
+    }
+    indexer.index();
+  }
+
+  private ActivityDto toDto(Activity activity) {
+    return new ActivityDto()
       .setKey(Uuids.create())
       .setAuthor(userSession.getLogin())
       .setAction(activity.getAction())
       .setMessage(activity.getMessage())
       .setData(KeyValueFormat.format(activity.getData()))
       .setType(activity.getType().name());
-    dbClient.activityDao().insert(dto);
-    indexer.index();
   }
 }
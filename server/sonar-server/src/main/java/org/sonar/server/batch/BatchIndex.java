@@ -20,6 +20,7 @@
 
 package org.sonar.server.batch;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
@@ -30,18 +31,25 @@ import org.sonar.api.server.ServerSide;
 import org.sonar.api.platform.Server;
 import org.sonar.home.cache.FileHashes;
 
+import javax.annotation.CheckForNull;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * JAR files to be downloaded by sonar-runner.
+ * JAR files to be downloaded by sonar-runner. Files are hashed once at startup, so that
+ * hashes can be used as HTTP entity tags by {@link BatchWs}.
  */
 @ServerSide
 public class BatchIndex implements Startable {
 
   private final Server server;
+  private final Map<String, String> hashesByFilename = new HashMap<>();
   private String index;
+  private String indexHash;
   private File batchDir;
 
   public BatchIndex(Server server) {
@@ -57,11 +65,14 @@ public class BatchIndex implements Startable {
       for (File file : files) {
         String filename = file.getName();
         if (StringUtils.endsWith(filename, ".jar")) {
-          sb.append(filename).append('|').append(new FileHashes().of(file)).append(CharUtils.LF);
+          String hash = new FileHashes().of(file);
+          hashesByFilename.put(filename, hash);
+          sb.append(filename).append('|').append(hash).append(CharUtils.LF);
         }
       }
     }
     this.index = sb.toString();
+    this.indexHash = DigestUtils.md5Hex(index);
   }
 
   @Override
@@ -73,6 +84,18 @@ public class BatchIndex implements Startable {
     return index;
   }
 
+  String getIndexHash() {
+    return indexHash;
+  }
+
+  /**
+   * MD5 hash of the JAR file, as listed in index. Null if the file is not listed.
+   */
+  @CheckForNull
+  String getFileHash(String filename) {
+    return hashesByFilename.get(filename);
+  }
+
   File getFile(String filename) {
     try {
       File input = new File(batchDir, filename);
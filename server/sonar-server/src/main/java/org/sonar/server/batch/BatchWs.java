@@ -19,19 +19,27 @@
  */
 package org.sonar.server.batch;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.RequestHandler;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
+import org.sonar.server.ws.ResponseWithHeaders;
 
+import javax.annotation.Nullable;
+
+import java.io.File;
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
 
 public class BatchWs implements WebService {
 
   public static final String API_ENDPOINT = "batch";
 
+  static final String ETAG_HEADER = "ETag";
+  static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
   private final BatchIndex batchIndex;
   private final BatchWsAction[] actions;
 
@@ -62,6 +70,9 @@ public class BatchWs implements WebService {
       .setHandler(new RequestHandler() {
         @Override
         public void handle(Request request, Response response) {
+          if (isNotModified(request, response, batchIndex.getIndexHash())) {
+            return;
+          }
           try {
             response.stream().setMediaType("text/plain");
             IOUtils.write(batchIndex.getIndex(), response.stream().output());
@@ -77,13 +88,19 @@ public class BatchWs implements WebService {
     controller.createAction("file")
       .setInternal(true)
       .setDescription("Download a JAR file required by source analyzer")
+      // JAR files are not loaded in memory
+      .setStreamed(true)
       .setHandler(new RequestHandler() {
         @Override
         public void handle(Request request, Response response) {
           String filename = request.mandatoryParam("name");
+          File file = batchIndex.getFile(filename);
+          if (isNotModified(request, response, batchIndex.getFileHash(filename))) {
+            return;
+          }
           try {
             response.stream().setMediaType("application/java-archive");
-            FileUtils.copyFile(batchIndex.getFile(filename), response.stream().output());
+            Files.copy(file.toPath(), response.stream().output());
           } catch (IOException e) {
             throw new IllegalStateException(e);
           }
@@ -93,4 +110,21 @@ public class BatchWs implements WebService {
       .setDescription("File name")
       .setExampleValue("batch-library-2.3.jar");
   }
+
+  /**
+   * Hashes of files are used as entity tags, so that clients can skip the download of
+   * the files that they already have.
+   */
+  private static boolean isNotModified(Request request, Response response, @Nullable String hash) {
+    if (hash == null) {
+      return false;
+    }
+    String etag = "\"" + hash + "\"";
+    ((ResponseWithHeaders) response).setHeader(ETAG_HEADER, etag);
+    if (etag.equals(request.header(IF_NONE_MATCH_HEADER))) {
+      response.stream().setStatus(HttpURLConnection.HTTP_NOT_MODIFIED);
+      return true;
+    }
+    return false;
+  }
 }
@@ -29,6 +29,7 @@ public class BatchWsModule extends Module {
       BatchIndex.class,
       GlobalAction.class,
       ProjectAction.class,
+      ProjectFilesAction.class,
       ProjectRepositoryLoader.class,
       SubmitReportAction.class,
       IssuesAction.class,
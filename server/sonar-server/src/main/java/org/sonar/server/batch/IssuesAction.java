@@ -63,6 +63,7 @@ public class IssuesAction implements BatchWsAction {
       .setDescription("Return open issues")
       .setSince("5.1")
       .setInternal(true)
+      .setStreamed(true)
       .setHandler(this);
 
     action
@@ -84,9 +85,11 @@ public class IssuesAction implements BatchWsAction {
       Map<String, String> keysByUUid = keysByUUid(session, component);
 
       BatchInput.ServerIssue.Builder issueBuilder = BatchInput.ServerIssue.newBuilder();
+      OutputStream output = response.stream().output();
       for (Iterator<IssueDoc> issueDocIterator = issueIndex.selectIssuesForBatch(component); issueDocIterator.hasNext();) {
-        handleIssue(issueDocIterator.next(), issueBuilder, keysByUUid, response.stream().output());
+        handleIssue(issueDocIterator.next(), issueBuilder, keysByUUid, output);
       }
+      output.flush();
     } finally {
       MyBatis.closeQuietly(session);
     }
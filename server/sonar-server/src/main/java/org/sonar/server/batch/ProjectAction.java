@@ -20,6 +20,7 @@
 
 package org.sonar.server.batch;
 
+import java.io.OutputStream;
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
@@ -32,6 +33,9 @@ public class ProjectAction implements BatchWsAction {
   private static final String PARAM_KEY = "key";
   private static final String PARAM_PROFILE = "profile";
   private static final String PARAM_PREVIEW = "preview";
+  private static final String PARAM_FORMAT = "format";
+  private static final String FORMAT_JSON = "json";
+  private static final String FORMAT_PROTOBUF = "protobuf";
 
   private final ProjectRepositoryLoader projectReferentialsLoader;
 
@@ -63,16 +67,35 @@ public class ProjectAction implements BatchWsAction {
       .setDescription("Preview mode or not")
       .setDefaultValue(false)
       .setBooleanPossibleValues();
+
+    action
+      .createParam(PARAM_FORMAT)
+      .setDescription("Format of response. Protobuf response (since 5.2) is a stream of delimited messages and does not contain file data, " +
+        "which are loaded by module with the action 'project_files'")
+      .setDefaultValue(FORMAT_JSON)
+      .setPossibleValues(FORMAT_JSON, FORMAT_PROTOBUF);
   }
 
   @Override
   public void handle(Request request, Response response) throws Exception {
+    boolean protobuf = FORMAT_PROTOBUF.equals(request.mandatoryParam(PARAM_FORMAT));
     ProjectRepositories ref = projectReferentialsLoader.load(ProjectRepositoryQuery.create()
       .setModuleKey(request.mandatoryParam(PARAM_KEY))
       .setProfileName(request.param(PARAM_PROFILE))
-      .setPreview(request.mandatoryParamAsBoolean(PARAM_PREVIEW)));
-    response.stream().setMediaType(MimeTypes.JSON);
-    IOUtils.write(ref.toJson(), response.stream().output());
+      .setPreview(request.mandatoryParamAsBoolean(PARAM_PREVIEW))
+      .setWithFileData(!protobuf));
+    if (protobuf) {
+      response.stream().setMediaType(MimeTypes.PROTOBUF);
+      OutputStream output = response.stream().output();
+      try {
+        ref.writeTo(output);
+      } finally {
+        output.close();
+      }
+    } else {
+      response.stream().setMediaType(MimeTypes.JSON);
+      IOUtils.write(ref.toJson(), response.stream().output());
+    }
   }
 
 }
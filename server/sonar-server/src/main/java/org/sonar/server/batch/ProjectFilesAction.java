@@ -0,0 +1,89 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import java.io.OutputStream;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.core.component.FilePathWithHashDto;
+import org.sonar.server.plugins.MimeTypes;
+
+/**
+ * File data of a module, loaded by batch when the module is analyzed. See the
+ * format "protobuf" of {@link ProjectAction}.
+ */
+public class ProjectFilesAction implements BatchWsAction {
+
+  private static final String PARAM_KEY = "key";
+  private static final String PARAM_PREVIEW = "preview";
+
+  private final ProjectRepositoryLoader projectRepositoryLoader;
+
+  public ProjectFilesAction(ProjectRepositoryLoader projectRepositoryLoader) {
+    this.projectRepositoryLoader = projectRepositoryLoader;
+  }
+
+  @Override
+  public void define(WebService.NewController controller) {
+    WebService.NewAction action = controller.createAction("project_files")
+      .setDescription("Return the paths and hashes of the files of a module. Files of sub-modules are not returned.")
+      .setSince("5.2")
+      .setInternal(true)
+      .setHandler(this);
+
+    action
+      .createParam(PARAM_KEY)
+      .setRequired(true)
+      .setDescription("Project or module key")
+      .setExampleValue("org.codehaus.sonar:sonar");
+
+    action
+      .createParam(PARAM_PREVIEW)
+      .setDescription("Preview mode or not")
+      .setDefaultValue(false)
+      .setBooleanPossibleValues();
+  }
+
+  @Override
+  public void handle(Request request, Response response) throws Exception {
+    Iterable<FilePathWithHashDto> files = projectRepositoryLoader.loadModuleFiles(request.mandatoryParam(PARAM_KEY),
+      request.mandatoryParamAsBoolean(PARAM_PREVIEW));
+
+    response.stream().setMediaType(MimeTypes.PROTOBUF);
+    OutputStream output = response.stream().output();
+    try {
+      BatchInput.FileDataItem.Builder item = BatchInput.FileDataItem.newBuilder();
+      for (FilePathWithHashDto file : files) {
+        item.setPath(file.getPath())
+          // TODO should query E/S to know if blame is missing on this file
+          .setNeedBlame(true);
+        if (file.getSrcHash() != null) {
+          item.setHash(file.getSrcHash());
+        }
+        item.build().writeDelimitedTo(output);
+        item.clear();
+      }
+    } finally {
+      output.close();
+    }
+  }
+}
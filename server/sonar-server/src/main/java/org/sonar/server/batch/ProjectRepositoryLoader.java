@@ -115,10 +115,12 @@ public class ProjectRepositoryLoader {
         TreeModuleSettings treeModuleSettings = new TreeModuleSettings(moduleUuidsByKey, moduleIdsByKey, modulesTree, modulesTreeSettings, module);
 
         addSettingsToChildrenModules(ref, query.getModuleKey(), Maps.<String, String>newHashMap(), treeModuleSettings, hasScanPerm, session);
-        List<FilePathWithHashDto> files = module.isRootProject() ?
-          dbClient.componentDao().selectEnabledFilesFromProject(session, module.uuid()) :
-          dbClient.componentDao().selectEnabledDescendantFiles(session, module.uuid());
-        addFileData(session, ref, modulesTree, files);
+        if (query.isWithFileData()) {
+          List<FilePathWithHashDto> files = module.isRootProject() ?
+            dbClient.componentDao().selectEnabledFilesFromProject(session, module.uuid()) :
+            dbClient.componentDao().selectEnabledDescendantFiles(session, module.uuid());
+          addFileData(session, ref, modulesTree, files);
+        }
 
         // FIXME need real value but actually only used to know if there is a previous analysis in local issue tracking mode so any value is
         // ok
@@ -136,6 +138,28 @@ public class ProjectRepositoryLoader {
     }
   }
 
+  /**
+   * Files that are directly attached to the module. Files of sub-modules are not returned.
+   * An empty list is returned if the module does not exist yet.
+   */
+  public List<FilePathWithHashDto> loadModuleFiles(String moduleKey, boolean preview) {
+    checkPermission(preview);
+
+    DbSession session = dbClient.openSession(false);
+    try {
+      ComponentDto module = dbClient.componentDao().selectNullableByKey(session, moduleKey);
+      if (module == null) {
+        return Collections.emptyList();
+      }
+      if (preview && !userSession.hasProjectPermissionByUuid(UserRole.USER, module.projectUuid())) {
+        throw new ForbiddenException("You're not authorized to access to project '" + module.name() + "', please contact your SonarQube administrator.");
+      }
+      return dbClient.componentDao().selectEnabledModuleFiles(session, module.uuid());
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
+
   private ComponentDto getProject(ComponentDto module, DbSession session) {
     if (!module.isRootProject()) {
       return dbClient.componentDao().selectNullableByUuid(session, module.projectUuid());
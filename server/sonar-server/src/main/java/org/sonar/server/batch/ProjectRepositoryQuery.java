@@ -28,6 +28,7 @@ public class ProjectRepositoryQuery {
   private String projectOrModuleKey;
   private String profileName;
   private boolean preview;
+  private boolean withFileData = true;
 
   private ProjectRepositoryQuery() {
     // No direct call
@@ -42,6 +43,19 @@ public class ProjectRepositoryQuery {
     return this;
   }
 
+  public boolean isWithFileData() {
+    return withFileData;
+  }
+
+  /**
+   * File data (paths and hashes of files) are loaded by default. They can be
+   * excluded when they are loaded separately for each module.
+   */
+  public ProjectRepositoryQuery setWithFileData(boolean withFileData) {
+    this.withFileData = withFileData;
+    return this;
+  }
+
   @CheckForNull
   public String getProfileName() {
     return profileName;
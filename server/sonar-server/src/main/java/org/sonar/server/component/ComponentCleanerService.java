@@ -29,8 +29,10 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.source.index.SourceLineIndexer;
 import org.sonar.server.test.index.TestIndexer;
 
@@ -44,15 +46,20 @@ public class ComponentCleanerService {
   private final IssueIndexer issueIndexer;
   private final SourceLineIndexer sourceLineIndexer;
   private final TestIndexer testIndexer;
+  private final MeasureIndexer measureIndexer;
+  private final ComponentIndexer componentIndexer;
   private final ResourceTypes resourceTypes;
 
   public ComponentCleanerService(DbClient dbClient, IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-    SourceLineIndexer sourceLineIndexer, TestIndexer testIndexer, ResourceTypes resourceTypes) {
+    SourceLineIndexer sourceLineIndexer, TestIndexer testIndexer, MeasureIndexer measureIndexer, ComponentIndexer componentIndexer,
+    ResourceTypes resourceTypes) {
     this.dbClient = dbClient;
     this.issueAuthorizationIndexer = issueAuthorizationIndexer;
     this.issueIndexer = issueIndexer;
     this.sourceLineIndexer = sourceLineIndexer;
     this.testIndexer = testIndexer;
+    this.measureIndexer = measureIndexer;
+    this.componentIndexer = componentIndexer;
     this.resourceTypes = resourceTypes;
   }
 
@@ -88,6 +95,8 @@ public class ComponentCleanerService {
     issueIndexer.deleteProject(projectUuid, true);
     sourceLineIndexer.deleteByProject(projectUuid);
     testIndexer.deleteByProject(projectUuid);
+    measureIndexer.deleteByProject(projectUuid);
+    componentIndexer.deleteByProject(projectUuid);
   }
 
   private boolean hasNotProjectScope(ComponentDto project) {
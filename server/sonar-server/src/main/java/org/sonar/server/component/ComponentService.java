@@ -42,11 +42,13 @@ import org.sonar.core.component.ComponentDto;
 import org.sonar.core.component.ComponentKeys;
 import org.sonar.core.permission.GlobalPermissions;
 import org.sonar.core.persistence.DbSession;
-import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.resource.ResourceKeyUpdaterDao;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.issue.ws.ReferenceDataCache;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.user.UserSession;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -58,18 +60,22 @@ public class ComponentService {
 
   private final ResourceKeyUpdaterDao resourceKeyUpdaterDao;
   private final I18n i18n;
-  private final ResourceIndexerDao resourceIndexerDao;
+  private final ComponentIndexer componentIndexer;
+  private final MeasureIndexer measureIndexer;
   private final UserSession userSession;
   private final System2 system2;
+  private final ReferenceDataCache referenceDataCache;
 
-  public ComponentService(DbClient dbClient, ResourceKeyUpdaterDao resourceKeyUpdaterDao, I18n i18n, ResourceIndexerDao resourceIndexerDao,
-                          UserSession userSession, System2 system2) {
+  public ComponentService(DbClient dbClient, ResourceKeyUpdaterDao resourceKeyUpdaterDao, I18n i18n, ComponentIndexer componentIndexer,
+                          MeasureIndexer measureIndexer, UserSession userSession, System2 system2, ReferenceDataCache referenceDataCache) {
     this.dbClient = dbClient;
     this.resourceKeyUpdaterDao = resourceKeyUpdaterDao;
     this.i18n = i18n;
-    this.resourceIndexerDao = resourceIndexerDao;
+    this.componentIndexer = componentIndexer;
+    this.measureIndexer = measureIndexer;
     this.userSession = userSession;
     this.system2 = system2;
+    this.referenceDataCache = referenceDataCache;
   }
 
   public ComponentDto getByKey(String key) {
@@ -117,6 +123,8 @@ public class ComponentService {
       userSession.checkProjectUuidPermission(UserRole.ADMIN, projectOrModule.projectUuid());
       resourceKeyUpdaterDao.updateKey(projectOrModule.getId(), newKey);
       session.commit();
+      referenceDataCache.projectsByUuid().invalidateAll();
+      measureIndexer.index(projectOrModule.projectUuid());
 
       session.commit();
     } finally {
@@ -143,6 +151,8 @@ public class ComponentService {
       userSession.checkProjectUuidPermission(UserRole.ADMIN, project.projectUuid());
       resourceKeyUpdaterDao.bulkUpdateKey(session, project.getId(), stringToReplace, replacementString);
       session.commit();
+      referenceDataCache.projectsByUuid().invalidateAll();
+      measureIndexer.index(project.projectUuid());
     } finally {
       session.close();
     }
@@ -177,8 +187,8 @@ public class ComponentService {
           .setCreatedAt(new Date(system2.now()))
         ;
       dbClient.componentDao().insert(session, component);
-      resourceIndexerDao.indexResource(session, component.getId());
       session.commit();
+      componentIndexer.index(component.projectUuid());
 
       return component.key();
     } finally {
@@ -99,6 +99,13 @@ public class ComponentDao implements DaoComponent {
     return mapper(session).selectDescendantFiles(rootComponentUuid, Scopes.FILE, true);
   }
 
+  /**
+   * Files of the module, excluding files of its sub-modules
+   */
+  public List<FilePathWithHashDto> selectEnabledModuleFiles(DbSession session, String moduleUuid) {
+    return mapper(session).selectEnabledModuleFiles(moduleUuid);
+  }
+
   public List<FilePathWithHashDto> selectEnabledFilesFromProject(DbSession session, String rootComponentUuid) {
     return mapper(session).selectEnabledFilesFromProject(rootComponentUuid);
   }
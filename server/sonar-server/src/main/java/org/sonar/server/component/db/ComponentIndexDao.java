@@ -30,8 +30,12 @@ import java.util.List;
 @ServerSide
 public class ComponentIndexDao implements DaoComponent {
 
-  public List<Long> selectProjectIdsFromQueryAndViewOrSubViewUuid(DbSession session, String query, String viewOrSubViewUuid) {
-    return session.getMapper(ComponentIndexMapper.class).selectProjectIdsFromQueryAndViewOrSubViewUuid(query + "%", "%." + viewOrSubViewUuid + ".%");
+  /**
+   * Ids of the projects that are part of a view or of a sub-view. Use {@link org.sonar.server.component.index.ComponentIndex}
+   * to search for projects by name.
+   */
+  public List<Long> selectProjectIdsFromViewOrSubViewUuid(DbSession session, String viewOrSubViewUuid) {
+    return session.getMapper(ComponentIndexMapper.class).selectProjectIdsFromViewOrSubViewUuid("%." + viewOrSubViewUuid + ".%");
   }
 
 }
@@ -0,0 +1,119 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.Maps;
+import java.util.Date;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.server.search.BaseDoc;
+
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_CREATED_AT;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_ID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_NAME;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_NAME_SIZE;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_PROJECT_UUID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_ROOT_PROJECT_ID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_UUID;
+
+public class ComponentDoc extends BaseDoc {
+
+  public ComponentDoc(Map<String, Object> fields) {
+    super(fields);
+  }
+
+  public ComponentDoc() {
+    super(Maps.<String, Object>newHashMapWithExpectedSize(8));
+  }
+
+  public String uuid() {
+    return getField(FIELD_UUID);
+  }
+
+  public ComponentDoc setUuid(String s) {
+    setField(FIELD_UUID, s);
+    return this;
+  }
+
+  public String projectUuid() {
+    return getField(FIELD_PROJECT_UUID);
+  }
+
+  public ComponentDoc setProjectUuid(String s) {
+    setField(FIELD_PROJECT_UUID, s);
+    return this;
+  }
+
+  public long id() {
+    return ((Number) getField(FIELD_ID)).longValue();
+  }
+
+  public ComponentDoc setId(long l) {
+    setField(FIELD_ID, l);
+    return this;
+  }
+
+  /**
+   * Id of the project or of the view the component belongs to. Permissions are checked on this id.
+   */
+  public long rootProjectId() {
+    return ((Number) getField(FIELD_ROOT_PROJECT_ID)).longValue();
+  }
+
+  public ComponentDoc setRootProjectId(long l) {
+    setField(FIELD_ROOT_PROJECT_ID, l);
+    return this;
+  }
+
+  public String name() {
+    return getField(FIELD_NAME);
+  }
+
+  public ComponentDoc setName(String s) {
+    setField(FIELD_NAME, s);
+    setField(FIELD_NAME_SIZE, s.length());
+    return this;
+  }
+
+  public int nameSize() {
+    return ((Number) getField(FIELD_NAME_SIZE)).intValue();
+  }
+
+  public String qualifier() {
+    return getField(FIELD_QUALIFIER);
+  }
+
+  public ComponentDoc setQualifier(String s) {
+    setField(FIELD_QUALIFIER, s);
+    return this;
+  }
+
+  @CheckForNull
+  public Date createdAt() {
+    return getNullableFieldAsDate(FIELD_CREATED_AT);
+  }
+
+  public ComponentDoc setCreatedAt(@Nullable Date d) {
+    setField(FIELD_CREATED_AT, d);
+    return this;
+  }
+}
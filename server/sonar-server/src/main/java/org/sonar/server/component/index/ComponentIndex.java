@@ -0,0 +1,131 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.Lists;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nullable;
+import org.apache.commons.lang.StringUtils;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.AndFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sonar.server.es.BaseIndex;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.search.IndexField;
+
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_ID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_NAME;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_NAME_SIZE;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_ROOT_PROJECT_ID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.INDEX;
+import static org.sonar.server.component.index.ComponentIndexDefinition.MAX_GRAM;
+import static org.sonar.server.component.index.ComponentIndexDefinition.MIN_GRAM;
+import static org.sonar.server.component.index.ComponentIndexDefinition.NGRAMS_SUFFIX;
+import static org.sonar.server.component.index.ComponentIndexDefinition.TYPE_COMPONENT;
+
+public class ComponentIndex extends BaseIndex {
+
+  public static final int MINIMUM_SEARCH_CHARACTERS = MIN_GRAM;
+
+  private static final int SCROLL_TIME_IN_MINUTES = 3;
+  private static final int PAGE_SIZE = 500;
+
+  public ComponentIndex(EsClient client) {
+    super(client);
+  }
+
+  /**
+   * Components whose name contains the given text, ignoring case. Shortest names are returned first.
+   *
+   * @param qualifiers return only the components with these qualifiers. All qualifiers are accepted if empty.
+   * @param componentIds return only these components. All components are accepted if {@code null}.
+   */
+  public List<ComponentDoc> searchByName(String text, Collection<String> qualifiers, @Nullable Collection<Long> componentIds) {
+    String lowerCaseText = StringUtils.trimToEmpty(text).toLowerCase(Locale.ENGLISH);
+    if (lowerCaseText.length() < MINIMUM_SEARCH_CHARACTERS) {
+      throw new IllegalArgumentException(String.format("Minimum search is %s characters", MINIMUM_SEARCH_CHARACTERS));
+    }
+    if (componentIds != null && componentIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    AndFilterBuilder filter = FilterBuilders.andFilter(nameFilter(lowerCaseText));
+    if (!qualifiers.isEmpty()) {
+      filter.add(FilterBuilders.termsFilter(FIELD_QUALIFIER, qualifiers));
+    }
+    if (componentIds != null) {
+      filter.add(FilterBuilders.termsFilter(FIELD_ID, componentIds));
+    }
+
+    SearchResponse response = getClient().prepareSearch(INDEX)
+      .setTypes(TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), filter))
+      .setFetchSource(new String[] {FIELD_ID, FIELD_ROOT_PROJECT_ID, FIELD_NAME, FIELD_NAME_SIZE, FIELD_QUALIFIER}, null)
+      .addSort(SortBuilders.fieldSort(FIELD_NAME_SIZE).order(SortOrder.ASC))
+      .addSort(SortBuilders.fieldSort(FIELD_NAME + "." + IndexField.SORT_SUFFIX).order(SortOrder.ASC))
+      .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+      .setSize(PAGE_SIZE)
+      .get();
+
+    List<ComponentDoc> docs = Lists.newArrayList();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits()) {
+        docs.add(new ComponentDoc(hit.getSource()));
+      }
+      response = getClient().prepareSearchScroll(response.getScrollId())
+        .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+        .get();
+    }
+    return docs;
+  }
+
+  public List<Long> searchIdsByName(String text, Collection<String> qualifiers, @Nullable Collection<Long> componentIds) {
+    List<Long> ids = Lists.newArrayList();
+    for (ComponentDoc doc : searchByName(text, qualifiers, componentIds)) {
+      ids.add(doc.id());
+    }
+    return ids;
+  }
+
+  /**
+   * Names are indexed as n-grams of at most {@link ComponentIndexDefinition#MAX_GRAM} characters. Longer texts
+   * are split in overlapping n-grams of this size, which must all be part of the name.
+   */
+  private static FilterBuilder nameFilter(String lowerCaseText) {
+    String field = FIELD_NAME + "." + NGRAMS_SUFFIX;
+    if (lowerCaseText.length() <= MAX_GRAM) {
+      return FilterBuilders.termFilter(field, lowerCaseText);
+    }
+    AndFilterBuilder and = FilterBuilders.andFilter();
+    for (int start = 0; start + MAX_GRAM <= lowerCaseText.length(); start++) {
+      and.add(FilterBuilders.termFilter(field, lowerCaseText.substring(start, start + MAX_GRAM)));
+    }
+    return and;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import org.sonar.api.config.Settings;
+import org.sonar.server.es.IndexDefinition;
+import org.sonar.server.es.NewIndex;
+
+/**
+ * Definition of ES index "components", used to search for components by a part of their name. It replaces
+ * the db table RESOURCE_INDEX, which contained a row for each suffix of the names of components.
+ */
+public class ComponentIndexDefinition implements IndexDefinition {
+
+  public static final String INDEX = "components";
+
+  public static final String TYPE_COMPONENT = "component";
+
+  public static final String FIELD_UUID = "uuid";
+  public static final String FIELD_PROJECT_UUID = "projectUuid";
+  public static final String FIELD_ID = "id";
+  public static final String FIELD_ROOT_PROJECT_ID = "rootProjectId";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_NAME_SIZE = "nameSize";
+  public static final String FIELD_QUALIFIER = "qualifier";
+  public static final String FIELD_CREATED_AT = "createdAt";
+
+  /**
+   * Inner-field of {@link #FIELD_NAME} containing all the parts (n-grams) of the lower-cased name
+   */
+  public static final String NGRAMS_SUFFIX = "ngrams";
+  static final int MIN_GRAM = 2;
+  static final int MAX_GRAM = 15;
+
+  private final Settings settings;
+
+  public ComponentIndexDefinition(Settings settings) {
+    this.settings = settings;
+  }
+
+  @Override
+  public void define(IndexDefinitionContext context) {
+    NewIndex index = context.create(INDEX);
+
+    index.refreshHandledByIndexer();
+    index.setShards(settings);
+
+    // NGram index-analyzer: the whole name is a single token, so that any part of it can be searched
+    index.getSettings()
+      .put("index.analysis.analyzer.index_ngrams.type", "custom")
+      .put("index.analysis.analyzer.index_ngrams.tokenizer", "keyword")
+      .putArray("index.analysis.analyzer.index_ngrams.filter", "trim", "lowercase", "ngram_filter")
+      .put("index.analysis.analyzer.search_ngrams.type", "custom")
+      .put("index.analysis.analyzer.search_ngrams.tokenizer", "keyword")
+      .putArray("index.analysis.analyzer.search_ngrams.filter", "trim", "lowercase")
+      .put("index.analysis.filter.ngram_filter.type", "nGram")
+      .put("index.analysis.filter.ngram_filter.min_gram", MIN_GRAM)
+      .put("index.analysis.filter.ngram_filter.max_gram", MAX_GRAM);
+
+    // type "component"
+    NewIndex.NewIndexType mapping = index.createType(TYPE_COMPONENT);
+    mapping.setAttribute("_id", ImmutableMap.of("path", FIELD_UUID));
+    mapping.setAttribute("_routing", ImmutableMap.of("required", true, "path", FIELD_PROJECT_UUID));
+    mapping.stringFieldBuilder(FIELD_UUID).build();
+    mapping.stringFieldBuilder(FIELD_PROJECT_UUID).build();
+    mapping.createLongField(FIELD_ID);
+    mapping.createLongField(FIELD_ROOT_PROJECT_ID);
+    mapping.stringFieldBuilder(FIELD_NAME)
+      .enableSorting()
+      .addSubField(NGRAMS_SUFFIX, ImmutableSortedMap.of(
+        "type", "string",
+        "index", "analyzed",
+        "index_analyzer", "index_ngrams",
+        "search_analyzer", "search_ngrams"))
+      .build();
+    mapping.createIntegerField(FIELD_NAME_SIZE);
+    mapping.stringFieldBuilder(FIELD_QUALIFIER).build();
+    mapping.createDateTimeField(FIELD_CREATED_AT);
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.es.BulkIndexer;
+import org.sonar.server.es.EsClient;
+
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_CREATED_AT;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_NAME;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_PROJECT_UUID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.component.index.ComponentIndexDefinition.FIELD_ROOT_PROJECT_ID;
+import static org.sonar.server.component.index.ComponentIndexDefinition.INDEX;
+import static org.sonar.server.component.index.ComponentIndexDefinition.TYPE_COMPONENT;
+
+/**
+ * Add to Elasticsearch index {@link ComponentIndexDefinition} the components that can be searched by name.
+ */
+public class ComponentIndexer extends BaseIndexer {
+
+  private static final int SCROLL_TIME_IN_MINUTES = 3;
+  private static final int PAGE_SIZE = 1000;
+
+  private final DbClient dbClient;
+
+  public ComponentIndexer(DbClient dbClient, EsClient esClient) {
+    super(esClient, 300, INDEX, TYPE_COMPONENT, FIELD_CREATED_AT);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Index all the components if the index is empty (only used on startup). Afterwards the index is
+   * updated project per project, see {@link #index(String)}.
+   */
+  @Override
+  protected long doIndex(long lastUpdatedAt) {
+    long count = esClient.prepareCount(INDEX).setTypes(TYPE_COMPONENT).get().getCount();
+    if (count == 0) {
+      return doIndexAll();
+    }
+    return 0L;
+  }
+
+  /**
+   * Index again all the components, even if they are already indexed.
+   */
+  public void indexAll() {
+    super.index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        return doIndexAll();
+      }
+    });
+  }
+
+  /**
+   * Synchronize the documents of the components of a project or of a view with db. Only the components
+   * that have been added, renamed or removed since the previous call are sent to Elasticsearch.
+   */
+  public void index(final String projectUuid) {
+    super.index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        return doIndexProject(projectUuid);
+      }
+    });
+  }
+
+  public void deleteByProject(String projectUuid) {
+    SearchRequestBuilder searchRequest = esClient.prepareSearch(INDEX)
+      .setRouting(projectUuid)
+      .setTypes(TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(
+        QueryBuilders.matchAllQuery(),
+        FilterBuilders.termFilter(FIELD_PROJECT_UUID, projectUuid).cache(false)));
+    BulkIndexer.delete(esClient, INDEX, searchRequest);
+  }
+
+  private long doIndexAll() {
+    BulkIndexer bulk = new BulkIndexer(esClient, INDEX);
+    bulk.setLarge(true);
+    bulk.start();
+    long maxCreatedAt = 0L;
+    DbSession dbSession = dbClient.openSession(false);
+    try {
+      ComponentResultSetIterator rowIt = ComponentResultSetIterator.create(dbClient, dbSession.getConnection(), null);
+      while (rowIt.hasNext()) {
+        ComponentDoc doc = rowIt.next();
+        bulk.add(newIndexRequest(doc));
+        maxCreatedAt = Math.max(maxCreatedAt, createdAt(doc));
+      }
+      rowIt.close();
+    } finally {
+      dbSession.close();
+    }
+    bulk.stop();
+    return maxCreatedAt;
+  }
+
+  private long doIndexProject(String projectUuid) {
+    Map<String, String> indexedFingerprints = loadIndexedFingerprints(projectUuid);
+
+    List<ActionRequest> requests = Lists.newArrayList();
+    long maxCreatedAt = 0L;
+    DbSession dbSession = dbClient.openSession(false);
+    try {
+      ComponentResultSetIterator rowIt = ComponentResultSetIterator.create(dbClient, dbSession.getConnection(), projectUuid);
+      while (rowIt.hasNext()) {
+        ComponentDoc doc = rowIt.next();
+        String indexedFingerprint = indexedFingerprints.remove(doc.uuid());
+        if (!fingerprint(doc.name(), doc.qualifier(), doc.rootProjectId()).equals(indexedFingerprint)) {
+          requests.add(newIndexRequest(doc));
+          maxCreatedAt = Math.max(maxCreatedAt, createdAt(doc));
+        }
+      }
+      rowIt.close();
+    } finally {
+      dbSession.close();
+    }
+
+    // components that are not in db anymore, or that have been disabled
+    for (String removedUuid : indexedFingerprints.keySet()) {
+      requests.add(new DeleteRequest(INDEX, TYPE_COMPONENT, removedUuid).routing(projectUuid));
+    }
+
+    if (!requests.isEmpty()) {
+      BulkIndexer bulk = new BulkIndexer(esClient, INDEX);
+      bulk.start();
+      for (ActionRequest request : requests) {
+        bulk.add(request);
+      }
+      bulk.stop();
+    }
+    return maxCreatedAt;
+  }
+
+  /**
+   * Load the searchable fields of the documents of the project, by uuid of component
+   */
+  private Map<String, String> loadIndexedFingerprints(String projectUuid) {
+    Map<String, String> fingerprints = Maps.newHashMap();
+    SearchResponse response = esClient.prepareSearch(INDEX)
+      .setTypes(TYPE_COMPONENT)
+      .setRouting(projectUuid)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), FilterBuilders.termFilter(FIELD_PROJECT_UUID, projectUuid).cache(false)))
+      .setFetchSource(new String[] {FIELD_NAME, FIELD_QUALIFIER, FIELD_ROOT_PROJECT_ID}, null)
+      .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+      .setSize(PAGE_SIZE)
+      .get();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits()) {
+        ComponentDoc doc = new ComponentDoc(hit.getSource());
+        fingerprints.put(hit.getId(), fingerprint(doc.name(), doc.qualifier(), doc.rootProjectId()));
+      }
+      response = esClient.prepareSearchScroll(response.getScrollId())
+        .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+        .get();
+    }
+    return fingerprints;
+  }
+
+  private static String fingerprint(String name, String qualifier, long rootProjectId) {
+    return name + '|' + qualifier + '|' + rootProjectId;
+  }
+
+  private static long createdAt(ComponentDoc doc) {
+    Date createdAt = doc.createdAt();
+    return createdAt != null ? createdAt.getTime() : 0L;
+  }
+
+  private static IndexRequest newIndexRequest(ComponentDoc doc) {
+    return new IndexRequest(INDEX, TYPE_COMPONENT, doc.uuid())
+      .routing(doc.projectUuid())
+      .source(doc.getFields());
+  }
+}
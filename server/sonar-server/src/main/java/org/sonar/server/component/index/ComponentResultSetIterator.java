@@ -0,0 +1,93 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import javax.annotation.Nullable;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+
+/**
+ * Scroll over the enabled components that can be searched by name: projects, modules, views, sub-views
+ * and files. Directories, packages and copies of projects in views are not loaded.
+ */
+class ComponentResultSetIterator extends ResultSetIterator<ComponentDoc> {
+
+  private static final String SQL_ALL = "SELECT p.id, p.uuid, p.project_uuid, root.id, p.name, p.qualifier, p.created_at " +
+    "FROM projects p " +
+    "LEFT OUTER JOIN projects root ON root.uuid=p.project_uuid " +
+    "WHERE p.enabled=? AND p.copy_resource_id IS NULL AND p.project_uuid IS NOT NULL AND p.name IS NOT NULL " +
+    "AND ((p.scope=? AND p.qualifier IN (?,?,?,?)) OR (p.scope=? AND p.qualifier IN (?,?,?)))";
+
+  private static final String SQL_PROJECT = SQL_ALL + " AND p.project_uuid=?";
+
+  static ComponentResultSetIterator create(DbClient dbClient, Connection connection, @Nullable String projectUuid) {
+    try {
+      String sql = projectUuid == null ? SQL_ALL : SQL_PROJECT;
+      PreparedStatement stmt = dbClient.newScrollingSelectStatement(connection, sql);
+      stmt.setBoolean(1, true);
+      stmt.setString(2, Scopes.PROJECT);
+      stmt.setString(3, Qualifiers.PROJECT);
+      stmt.setString(4, Qualifiers.MODULE);
+      stmt.setString(5, Qualifiers.VIEW);
+      stmt.setString(6, Qualifiers.SUBVIEW);
+      stmt.setString(7, Scopes.FILE);
+      stmt.setString(8, Qualifiers.FILE);
+      stmt.setString(9, Qualifiers.UNIT_TEST_FILE);
+      stmt.setString(10, Qualifiers.CLASS);
+      if (projectUuid != null) {
+        stmt.setString(11, projectUuid);
+      }
+      return new ComponentResultSetIterator(stmt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select components", e);
+    }
+  }
+
+  private ComponentResultSetIterator(PreparedStatement stmt) throws SQLException {
+    super(stmt);
+  }
+
+  @Override
+  protected ComponentDoc read(ResultSet rs) throws SQLException {
+    long id = rs.getLong(1);
+    long rootProjectId = rs.getLong(4);
+    if (rs.wasNull()) {
+      // the project of the component has not been found
+      rootProjectId = id;
+    }
+    Timestamp createdAt = rs.getTimestamp(7);
+    return new ComponentDoc()
+      .setId(id)
+      .setUuid(rs.getString(2))
+      .setProjectUuid(rs.getString(3))
+      .setRootProjectId(rootProjectId)
+      .setName(rs.getString(5))
+      .setQualifier(rs.getString(6))
+      .setCreatedAt(createdAt != null ? new Date(createdAt.getTime()) : null);
+  }
+}
@@ -22,8 +22,10 @@ package org.sonar.server.component.ws;
 
 import com.google.common.collect.Sets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.RequestHandler;
 import org.sonar.api.server.ws.Response;
@@ -34,6 +36,7 @@ import org.sonar.api.web.UserRole;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
+import org.sonar.server.component.index.ComponentIndex;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.SearchOptions;
 import org.sonar.server.user.UserSession;
@@ -44,15 +47,15 @@ import static org.sonar.api.server.ws.WebService.Param.PAGE_SIZE;
 
 public class SearchAction implements RequestHandler {
 
-  private static final short MINIMUM_SEARCH_CHARACTERS = 2;
-
   private static final String PARAM_COMPONENT_UUID = "componentUuid";
 
   private final DbClient dbClient;
+  private final ComponentIndex componentIndex;
   private final UserSession userSession;
 
-  public SearchAction(DbClient dbClient, UserSession userSession) {
+  public SearchAction(DbClient dbClient, ComponentIndex componentIndex, UserSession userSession) {
     this.dbClient = dbClient;
+    this.componentIndex = componentIndex;
     this.userSession = userSession;
   }
 
@@ -81,8 +84,8 @@ public class SearchAction implements RequestHandler {
   @Override
   public void handle(Request request, Response response) {
     String query = request.mandatoryParam(Param.TEXT_QUERY);
-    if (query.length() < MINIMUM_SEARCH_CHARACTERS) {
-      throw new IllegalArgumentException(String.format("Minimum search is %s characters", MINIMUM_SEARCH_CHARACTERS));
+    if (query.length() < ComponentIndex.MINIMUM_SEARCH_CHARACTERS) {
+      throw new IllegalArgumentException(String.format("Minimum search is %s characters", ComponentIndex.MINIMUM_SEARCH_CHARACTERS));
     }
     String viewOrSubUuid = request.mandatoryParam(PARAM_COMPONENT_UUID);
 
@@ -94,7 +97,8 @@ public class SearchAction implements RequestHandler {
       ComponentDto componentDto = dbClient.componentDao().selectByUuid(session, viewOrSubUuid);
       userSession.checkProjectUuidPermission(UserRole.USER, componentDto.projectUuid());
 
-      Set<Long> projectIds = newLinkedHashSet(dbClient.componentIndexDao().selectProjectIdsFromQueryAndViewOrSubViewUuid(session, query, componentDto.uuid()));
+      List<Long> projectIdsInView = dbClient.componentIndexDao().selectProjectIdsFromViewOrSubViewUuid(session, componentDto.uuid());
+      Set<Long> projectIds = newLinkedHashSet(componentIndex.searchIdsByName(query, Collections.singleton(Qualifiers.PROJECT), projectIdsInView));
       Collection<Long> authorizedProjectIds = dbClient.authorizationDao().keepAuthorizedProjectIds(session, projectIds, userSession.getUserId(), UserRole.USER);
 
       SearchOptions options = new SearchOptions();
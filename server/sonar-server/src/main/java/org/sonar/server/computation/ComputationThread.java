@@ -27,7 +27,7 @@ import org.sonar.server.computation.container.ComputeEngineContainer;
 import org.sonar.server.computation.container.ContainerFactory;
 
 /**
- * This thread pops a report from the queue and integrate it.
+ * This thread pops the reports from the queue and integrate them, until the queue is empty.
  */
 public class ComputationThread implements Runnable {
 
@@ -36,15 +36,30 @@ public class ComputationThread implements Runnable {
   private final ReportQueue queue;
   private final ComponentContainer sqContainer;
   private final ContainerFactory containerFactory;
+  private final ComputationWorkersStatistics statistics;
+  private final ProjectPurgeScheduler purgeScheduler;
 
-  public ComputationThread(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory) {
+  public ComputationThread(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory, ComputationWorkersStatistics statistics,
+    ProjectPurgeScheduler purgeScheduler) {
     this.queue = queue;
+    this.purgeScheduler = purgeScheduler;
     this.sqContainer = sqContainer;
     this.containerFactory = containerFactory;
+    this.statistics = statistics;
   }
 
   @Override
   public void run() {
+    boolean processed;
+    do {
+      processed = processNextReport();
+    } while (processed);
+  }
+
+  /**
+   * @return false if the queue has no available report
+   */
+  private boolean processNextReport() {
     ReportQueue.Item item = null;
     try {
       item = queue.pop();
@@ -52,20 +67,40 @@ public class ComputationThread implements Runnable {
       LOG.error("Failed to pop the queue of analysis reports", e);
     }
     if (item == null) {
-      return;
+      return false;
     }
 
-    ComputeEngineContainer computeEngineContainer = containerFactory.create(sqContainer, item);
     try {
-      computeEngineContainer.process();
+      processReport(item);
     } catch (Throwable e) {
       LOG.error(String.format(
         "Failed to process analysis report %d of project %s", item.dto.getId(), item.dto.getProjectKey()), e);
     } finally {
-      computeEngineContainer.cleanup();
-
       removeSilentlyFromQueue(item);
     }
+    return true;
+  }
+
+  private void processReport(ReportQueue.Item item) {
+    String projectKey = item.dto.getProjectKey();
+    // the project must not be purged while its snapshots are being persisted
+    purgeScheduler.lock(projectKey);
+    try {
+      ComputationWorkersStatistics.Worker worker = statistics.forCurrentThread();
+      worker.startReport(statistics.now());
+      try {
+        ComputeEngineContainer computeEngineContainer = containerFactory.create(sqContainer, item);
+        try {
+          computeEngineContainer.process();
+        } finally {
+          computeEngineContainer.cleanup();
+        }
+      } finally {
+        worker.finishReport(statistics.now());
+      }
+    } finally {
+      purgeScheduler.unlock(projectKey);
+    }
   }
 
   private void removeSilentlyFromQueue(ReportQueue.Item item) {
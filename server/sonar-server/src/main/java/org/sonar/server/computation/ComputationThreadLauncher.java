@@ -26,44 +26,57 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.picocontainer.Startable;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
 import org.sonar.api.platform.ServerStartHandler;
+import org.sonar.api.utils.System2;
 import org.sonar.core.platform.ComponentContainer;
 import org.sonar.server.computation.container.ContainerFactory;
 import org.sonar.server.computation.container.ContainerFactoryImpl;
 
+/**
+ * Starts the pool of workers of the compute engine. Workers are woken up as soon as a report
+ * is submitted (see {@link #startAnalysisTaskNow()}) and then process the queue until it's empty.
+ * Polling the queue every 10 seconds is kept as a fallback, for example for the reports
+ * that are still pending when server starts.
+ * The number of workers is defined by the property {@link #WORKERS_PROPERTY}. Two reports
+ * of the same project are never processed concurrently, see {@link ReportQueue#pop()}.
+ */
 public class ComputationThreadLauncher implements Startable, ServerStartHandler {
 
   public static final String THREAD_NAME_PREFIX = "computation-";
+  public static final String WORKERS_PROPERTY = "sonar.computationEngine.workers";
+  static final int DEFAULT_WORKERS = 1;
 
   private final ReportQueue queue;
   private final ComponentContainer sqContainer;
   private final ScheduledExecutorService executorService;
   private final ContainerFactory containerFactory;
+  private final ComputationWorkersStatistics statistics;
+  private final ProjectPurgeScheduler purgeScheduler;
+  private final AtomicInteger pendingWakeUps = new AtomicInteger(0);
 
+  private final int workers;
   private final long delayBetweenTasks;
   private final long delayForFirstStart;
   private final TimeUnit timeUnit;
 
-  public ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer) {
-    this.queue = queue;
-    this.sqContainer = sqContainer;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
-    this.containerFactory = new ContainerFactoryImpl();
-
-    this.delayBetweenTasks = 10;
-    this.delayForFirstStart = 0;
-    this.timeUnit = TimeUnit.SECONDS;
+  public ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, ProjectPurgeScheduler purgeScheduler, Settings settings) {
+    this(queue, sqContainer, new ContainerFactoryImpl(), purgeScheduler, numberOfWorkers(settings), 0, 10, TimeUnit.SECONDS);
   }
 
   @VisibleForTesting
-  ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory,
-    long delayForFirstStart, long delayBetweenTasks, TimeUnit timeUnit) {
+  ComputationThreadLauncher(ReportQueue queue, ComponentContainer sqContainer, ContainerFactory containerFactory, ProjectPurgeScheduler purgeScheduler,
+    int workers, long delayForFirstStart, long delayBetweenTasks, TimeUnit timeUnit) {
     this.queue = queue;
+    this.purgeScheduler = purgeScheduler;
     this.sqContainer = sqContainer;
     this.containerFactory = containerFactory;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+    this.workers = workers;
+    this.executorService = Executors.newScheduledThreadPool(workers, newThreadFactory());
+    this.statistics = new ComputationWorkersStatistics(System2.INSTANCE);
 
     this.delayBetweenTasks = delayBetweenTasks;
     this.delayForFirstStart = delayForFirstStart;
@@ -80,13 +93,53 @@ public class ComputationThreadLauncher implements Startable, ServerStartHandler
     executorService.shutdown();
   }
 
+  /**
+   * Wakes up a worker. Calls are ignored when all the workers are already going to poll the queue,
+   * as they process the queue until it's empty.
+   */
   public void startAnalysisTaskNow() {
-    executorService.execute(new ComputationThread(queue, sqContainer, containerFactory));
+    if (pendingWakeUps.incrementAndGet() > workers) {
+      pendingWakeUps.decrementAndGet();
+      return;
+    }
+    final ComputationThread thread = newComputationThread();
+    executorService.execute(new Runnable() {
+      @Override
+      public void run() {
+        pendingWakeUps.decrementAndGet();
+        thread.run();
+      }
+    });
   }
 
   @Override
   public void onServerStart(Server server) {
-    executorService.scheduleAtFixedRate(new ComputationThread(queue, sqContainer, containerFactory), delayForFirstStart, delayBetweenTasks, timeUnit);
+    for (int i = 0; i < workers; i++) {
+      executorService.scheduleAtFixedRate(newComputationThread(), delayForFirstStart, delayBetweenTasks, timeUnit);
+    }
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public ComputationWorkersStatistics getStatistics() {
+    return statistics;
+  }
+
+  private ComputationThread newComputationThread() {
+    return new ComputationThread(queue, sqContainer, containerFactory, statistics, purgeScheduler);
+  }
+
+  private static int numberOfWorkers(Settings settings) {
+    int workers = settings.getInt(WORKERS_PROPERTY);
+    if (workers < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", WORKERS_PROPERTY, workers));
+    }
+    if (workers == 0) {
+      workers = DEFAULT_WORKERS;
+    }
+    return workers;
   }
 
   private ThreadFactory newThreadFactory() {
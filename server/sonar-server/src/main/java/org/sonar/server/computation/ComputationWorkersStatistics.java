@@ -0,0 +1,123 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package org.sonar.server.computation;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sonar.api.utils.System2;
+
+/**
+ * Activity of the threads of the compute engine, as displayed by the web service api/computation/queue.
+ * Statistics are kept in memory only and are reset when server restarts.
+ */
+public class ComputationWorkersStatistics {
+
+  private final System2 system2;
+  private final ConcurrentMap<String, Worker> workersByName = new ConcurrentHashMap<>();
+
+  public ComputationWorkersStatistics(System2 system2) {
+    this.system2 = system2;
+  }
+
+  /**
+   * Statistics of the worker identified by the current thread. They are created on first call.
+   */
+  public Worker forCurrentThread() {
+    String name = Thread.currentThread().getName();
+    Worker worker = workersByName.get(name);
+    if (worker == null) {
+      Worker newWorker = new Worker(name, system2.now());
+      worker = workersByName.putIfAbsent(name, newWorker);
+      if (worker == null) {
+        worker = newWorker;
+      }
+    }
+    return worker;
+  }
+
+  public List<Worker> all() {
+    return ImmutableList.copyOf(workersByName.values());
+  }
+
+  public long now() {
+    return system2.now();
+  }
+
+  public static class Worker {
+    private final String name;
+    private final long createdAt;
+    private final AtomicLong processedReports = new AtomicLong(0L);
+    private final AtomicLong busyTimeMs = new AtomicLong(0L);
+    private volatile Long currentReportStartedAt = null;
+
+    Worker(String name, long createdAt) {
+      this.name = name;
+      this.createdAt = createdAt;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getProcessedReports() {
+      return processedReports.get();
+    }
+
+    public boolean isBusy() {
+      return currentReportStartedAt != null;
+    }
+
+    /**
+     * Time spent on processing reports, including the report being currently processed.
+     */
+    public long getBusyTimeMs(long now) {
+      Long startedAt = currentReportStartedAt;
+      return busyTimeMs.get() + (startedAt == null ? 0L : (now - startedAt));
+    }
+
+    /**
+     * Percentage of time spent on processing reports since the worker started, between 0 and 100.
+     */
+    public int getUtilisation(long now) {
+      long lifetime = now - createdAt;
+      if (lifetime <= 0L) {
+        return 0;
+      }
+      return (int) Math.min(100L, getBusyTimeMs(now) * 100L / lifetime);
+    }
+
+    void startReport(long now) {
+      currentReportStartedAt = now;
+    }
+
+    void finishReport(long now) {
+      Long startedAt = currentReportStartedAt;
+      if (startedAt != null) {
+        busyTimeMs.addAndGet(now - startedAt);
+        currentReportStartedAt = null;
+      }
+      processedReports.incrementAndGet();
+    }
+  }
+}
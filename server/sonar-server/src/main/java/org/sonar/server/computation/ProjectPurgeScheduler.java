@@ -0,0 +1,260 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.picocontainer.Startable;
+import org.sonar.api.config.Settings;
+import org.sonar.api.server.ServerSide;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.core.computation.dbcleaner.ProjectCleaner;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.MyBatis;
+import org.sonar.core.purge.IdUuidPair;
+import org.sonar.core.purge.PurgeProfiler;
+import org.sonar.server.db.DbClient;
+
+import static org.sonar.server.util.SettingsUtils.getNonNegativeInt;
+import static org.sonar.server.util.SettingsUtils.getPositiveInt;
+
+/**
+ * Purges the projects in background threads, so that the compute engine does not wait for the purge before
+ * processing the next report. A purge is executed {@link #DELAY_PROPERTY} seconds after being requested.
+ * Requests received in the meantime for the same project are coalesced into a single purge, executed with
+ * the latest settings. The number of threads is defined by {@link #THREADS_PROPERTY}.
+ * <p/>
+ * A project is never purged while one of its reports is processed, see {@link #lock(String)}.
+ * On server shutdown, the purges that are being executed are given {@link #STOP_TIMEOUT_SECONDS} seconds to complete,
+ * then they are interrupted. Pending purges are dropped. They are requested again by the next analysis.
+ */
+@ServerSide
+public class ProjectPurgeScheduler implements Startable {
+
+  public static final String THREAD_NAME_PREFIX = "purge-";
+  public static final String THREADS_PROPERTY = "sonar.purge.threads";
+  public static final String DELAY_PROPERTY = "sonar.purge.delaySeconds";
+  static final int DEFAULT_THREADS = 1;
+  static final int DEFAULT_DELAY_SECONDS = 10;
+  static final long STOP_TIMEOUT_SECONDS = 30L;
+
+  private static final Logger LOG = Loggers.get(ProjectPurgeScheduler.class);
+
+  private final DbClient dbClient;
+  private final ProjectCleaner projectCleaner;
+  private final PurgeProfiler profiler;
+  private final int threads;
+  private final long delay;
+  private final TimeUnit timeUnit;
+  private final ScheduledThreadPoolExecutor executorService;
+
+  private final ConcurrentMap<String, Request> pendingByProjectKey = new ConcurrentHashMap<>();
+  private final Set<String> runningProjectKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private final Set<String> lockedProjectKeys = new HashSet<>();
+  private final AtomicLong purges = new AtomicLong(0L);
+  private final AtomicLong failures = new AtomicLong(0L);
+  private final AtomicLong postponements = new AtomicLong(0L);
+  private final ConcurrentMap<String, AtomicLong> durationsByPhase = new ConcurrentHashMap<>();
+
+  public ProjectPurgeScheduler(DbClient dbClient, ProjectCleaner projectCleaner, PurgeProfiler profiler, Settings settings) {
+    this(dbClient, projectCleaner, profiler, getPositiveInt(settings, THREADS_PROPERTY, DEFAULT_THREADS),
+      getNonNegativeInt(settings, DELAY_PROPERTY, DEFAULT_DELAY_SECONDS), TimeUnit.SECONDS);
+  }
+
+  @VisibleForTesting
+  ProjectPurgeScheduler(DbClient dbClient, ProjectCleaner projectCleaner, PurgeProfiler profiler, int threads, long delay, TimeUnit timeUnit) {
+    this.dbClient = dbClient;
+    this.projectCleaner = projectCleaner;
+    this.profiler = profiler;
+    this.threads = threads;
+    this.delay = delay;
+    this.timeUnit = timeUnit;
+    this.executorService = new ScheduledThreadPoolExecutor(threads, new ThreadFactoryBuilder()
+      .setNameFormat(THREAD_NAME_PREFIX + "%d").setPriority(Thread.MIN_PRIORITY).build());
+    // the delayed purges are dropped on shutdown, see stop()
+    this.executorService.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  @Override
+  public void start() {
+    // threads are started on first request
+  }
+
+  @Override
+  public void stop() {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("Purges of projects {} are not completed after {} seconds. They are interrupted.", runningProjectKeys, STOP_TIMEOUT_SECONDS);
+        executorService.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Interrupted while waiting for the completion of purges of projects {}", runningProjectKeys);
+      executorService.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Requests the purge of a project. The call does not wait for the purge to be executed.
+   */
+  public void schedule(String projectKey, IdUuidPair idUuidPair, Settings projectSettings) {
+    Request previous = pendingByProjectKey.put(projectKey, new Request(idUuidPair, projectSettings));
+    if (previous == null) {
+      executorService.schedule(new PurgeTask(projectKey), delay, timeUnit);
+    }
+  }
+
+  /**
+   * Must be called before processing a report of the project. Waits for the completion of the purge
+   * of this project, if any is being executed, then prevents new purges until {@link #unlock(String)} is called.
+   */
+  public synchronized void lock(String projectKey) {
+    while (!lockedProjectKeys.add(projectKey)) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the purge of project " + projectKey, e);
+      }
+    }
+  }
+
+  public synchronized void unlock(String projectKey) {
+    lockedProjectKeys.remove(projectKey);
+    notifyAll();
+  }
+
+  private synchronized boolean tryLock(String projectKey) {
+    return lockedProjectKeys.add(projectKey);
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public int getPendingPurges() {
+    return pendingByProjectKey.size();
+  }
+
+  public long getPurges() {
+    return purges.get();
+  }
+
+  public long getFailures() {
+    return failures.get();
+  }
+
+  @VisibleForTesting
+  long getPostponements() {
+    return postponements.get();
+  }
+
+  /**
+   * Cumulated durations in milliseconds of the phases of the executed purges, sorted by name of phase.
+   */
+  public Map<String, Long> getDurationsByPhase() {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, AtomicLong> entry : durationsByPhase.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().get());
+    }
+    return result;
+  }
+
+  private void purge(String projectKey, Request request) {
+    DbSession session = dbClient.openSession(true);
+    try {
+      projectCleaner.purge(session, request.idUuidPair, request.projectSettings);
+      session.commit();
+      purges.incrementAndGet();
+      addDurations(profiler.getDurations());
+    } catch (Exception e) {
+      failures.incrementAndGet();
+      LOG.error("Fail to purge project " + projectKey, e);
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
+
+  private void addDurations(Map<String, Long> durations) {
+    for (Map.Entry<String, Long> entry : durations.entrySet()) {
+      AtomicLong duration = durationsByPhase.get(entry.getKey());
+      if (duration == null) {
+        AtomicLong newDuration = new AtomicLong(0L);
+        duration = durationsByPhase.putIfAbsent(entry.getKey(), newDuration);
+        if (duration == null) {
+          duration = newDuration;
+        }
+      }
+      duration.addAndGet(entry.getValue());
+    }
+  }
+
+  private class PurgeTask implements Runnable {
+    private final String projectKey;
+
+    PurgeTask(String projectKey) {
+      this.projectKey = projectKey;
+    }
+
+    @Override
+    public void run() {
+      if (!tryLock(projectKey)) {
+        // a report of the project is being processed
+        postponements.incrementAndGet();
+        if (!executorService.isShutdown()) {
+          executorService.schedule(this, delay, timeUnit);
+        }
+        return;
+      }
+      try {
+        Request request = pendingByProjectKey.remove(projectKey);
+        if (request != null) {
+          runningProjectKeys.add(projectKey);
+          purge(projectKey, request);
+        }
+      } finally {
+        runningProjectKeys.remove(projectKey);
+        unlock(projectKey);
+      }
+    }
+  }
+
+  private static class Request {
+    private final IdUuidPair idUuidPair;
+    private final Settings projectSettings;
+
+    Request(IdUuidPair idUuidPair, Settings projectSettings) {
+      this.idUuidPair = idUuidPair;
+      this.projectSettings = projectSettings;
+    }
+  }
+}
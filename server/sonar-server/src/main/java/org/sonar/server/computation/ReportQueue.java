@@ -99,8 +99,13 @@ public class ReportQueue {
     }
   }
 
+  /**
+   * Books the oldest pending report which project is not already being processed. This method
+   * is synchronized so that concurrent workers never book two reports of the same project:
+   * the booking is committed before the lock is released.
+   */
   @CheckForNull
-  public Item pop() {
+  public synchronized Item pop() {
     DbSession session = dbClient.openSession(false);
     try {
       AnalysisReportDto dto = dao().pop(session);
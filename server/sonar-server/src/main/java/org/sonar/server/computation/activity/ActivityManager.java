@@ -52,6 +52,9 @@ public class ActivityManager {
         .setData("submittedAt", formatDateTimeNullSafe(longToDate(report.getCreatedAt())))
         .setData("startedAt", formatDateTimeNullSafe(longToDate(report.getStartedAt())))
         .setData("finishedAt", formatDateTimeNullSafe(longToDate(report.getFinishedAt())));
+    if (report.getWaitingTime() != null) {
+      activity.setData("waitingTimeMs", String.valueOf(report.getWaitingTime()));
+    }
     if (project != null) {
       activity
           .setData("projectName", project.name())
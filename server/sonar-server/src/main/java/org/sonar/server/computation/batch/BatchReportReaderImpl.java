@@ -22,116 +22,205 @@ package org.sonar.server.computation.batch;
 import com.google.common.base.Throwables;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Parser;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.annotation.CheckForNull;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.picocontainer.Startable;
 import org.sonar.batch.protocol.output.BatchReport;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.batch.protocol.output.FileStructure;
+import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.util.CloseableIterator;
 
-public class BatchReportReaderImpl implements BatchReportReader {
-  private final org.sonar.batch.protocol.output.BatchReportReader delegate;
+/**
+ * Reads the zip file of report with random access to its entries (the central directory of
+ * the zip file is the index of entries). The report is not extracted to disk.
+ * <p/>
+ * Components are read by most of the steps, so they are parsed only once and kept in memory
+ * for the whole analysis. The counters of cache hits/misses and of bytes read are logged in
+ * DEBUG level when the reader is stopped.
+ */
+public class BatchReportReaderImpl implements BatchReportReader, Startable {
+  private static final Logger LOG = Loggers.get(BatchReportReaderImpl.class);
+
+  private final File reportFile;
+  // opened on first read
+  private ZipFile archive;
   // caching of metadata which are read often
   private BatchReport.Metadata metadata;
+  // components indexed by ref. Refs are sequential integers starting from 1.
+  private BatchReport.Component[] componentsByRef = new BatchReport.Component[64];
+
+  private final AtomicLong componentCacheHits = new AtomicLong(0L);
+  private final AtomicLong componentCacheMisses = new AtomicLong(0L);
+  private final AtomicLong bytesRead = new AtomicLong(0L);
+
+  public BatchReportReaderImpl(ReportQueue.Item item) {
+    this.reportFile = item.zipFile;
+  }
+
+  @Override
+  public void start() {
+    // archive is opened on first read
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (archive != null) {
+      IOUtils.closeQuietly(archive);
+      archive = null;
+      LOG.debug(String.format("Analysis report read | bytes=%d | component cache hits=%d | component cache misses=%d",
+        getBytesRead(), getComponentCacheHits(), getComponentCacheMisses()));
+    }
+  }
+
+  /**
+   * Number of calls to {@link #readComponent(int)} that did not read the report
+   */
+  public long getComponentCacheHits() {
+    return componentCacheHits.get();
+  }
+
+  /**
+   * Number of calls to {@link #readComponent(int)} that read the report
+   */
+  public long getComponentCacheMisses() {
+    return componentCacheMisses.get();
+  }
 
-  public BatchReportReaderImpl(BatchReportDirectoryHolder batchReportDirectoryHolder) {
-    this.delegate = new org.sonar.batch.protocol.output.BatchReportReader(batchReportDirectoryHolder.getDirectory());
+  /**
+   * Number of uncompressed bytes read from the entries of report
+   */
+  public long getBytesRead() {
+    return bytesRead.get();
   }
 
   @Override
   public BatchReport.Metadata readMetadata() {
     if (this.metadata == null) {
-      this.metadata = delegate.readMetadata();
+      BatchReport.Metadata res = readMessage(FileStructure.METADATA_FILENAME, BatchReport.Metadata.PARSER);
+      if (res == null) {
+        throw new IllegalStateException("Metadata file is missing in analysis report: " + reportFile);
+      }
+      this.metadata = res;
     }
     return this.metadata;
   }
 
   @Override
   public List<BatchReport.Measure> readComponentMeasures(int componentRef) {
-    return delegate.readComponentMeasures(componentRef);
+    // all the measures are loaded in memory
+    BatchReport.Measures measures = readMessage(FileStructure.Domain.MEASURES, componentRef, BatchReport.Measures.PARSER);
+    return measures == null ? Collections.<BatchReport.Measure>emptyList() : measures.getMeasureList();
   }
 
   @Override
   @CheckForNull
   public BatchReport.Changesets readChangesets(int componentRef) {
-    return delegate.readChangesets(componentRef);
+    return readMessage(FileStructure.Domain.CHANGESETS, componentRef, BatchReport.Changesets.PARSER);
   }
 
   @Override
   public BatchReport.Component readComponent(int componentRef) {
-    return delegate.readComponent(componentRef);
+    BatchReport.Component component = getCachedComponent(componentRef);
+    if (component != null) {
+      componentCacheHits.incrementAndGet();
+      return component;
+    }
+    componentCacheMisses.incrementAndGet();
+    component = readMessage(FileStructure.Domain.COMPONENT, componentRef, BatchReport.Component.PARSER);
+    if (component == null) {
+      throw new IllegalStateException("Unable to find report for component #" + componentRef + ". Entry does not exist: "
+        + FileStructure.fileName(FileStructure.Domain.COMPONENT, componentRef));
+    }
+    cacheComponent(componentRef, component);
+    return component;
+  }
+
+  @CheckForNull
+  private synchronized BatchReport.Component getCachedComponent(int componentRef) {
+    if (componentRef >= 0 && componentRef < componentsByRef.length) {
+      return componentsByRef[componentRef];
+    }
+    return null;
+  }
+
+  private synchronized void cacheComponent(int componentRef, BatchReport.Component component) {
+    if (componentRef < 0) {
+      return;
+    }
+    if (componentRef >= componentsByRef.length) {
+      componentsByRef = Arrays.copyOf(componentsByRef, Math.max(componentRef + 1, componentsByRef.length * 2));
+    }
+    componentsByRef[componentRef] = component;
   }
 
   @Override
   public List<BatchReport.Issue> readComponentIssues(int componentRef) {
-    return delegate.readComponentIssues(componentRef);
+    // all the issues are loaded in memory
+    BatchReport.Issues issues = readMessage(FileStructure.Domain.ISSUES, componentRef, BatchReport.Issues.PARSER);
+    return issues == null ? Collections.<BatchReport.Issue>emptyList() : issues.getIssueList();
   }
 
   @Override
   public BatchReport.Issues readDeletedComponentIssues(int deletedComponentRef) {
-    return delegate.readDeletedComponentIssues(deletedComponentRef);
+    // all the issues are loaded in memory
+    BatchReport.Issues issues = readMessage(FileStructure.Domain.ISSUES_ON_DELETED, deletedComponentRef, BatchReport.Issues.PARSER);
+    if (issues == null) {
+      throw new IllegalStateException("Unable to find report for deleted component #" + deletedComponentRef);
+    }
+    return issues;
   }
 
   @Override
   public List<BatchReport.Duplication> readComponentDuplications(int componentRef) {
-    return delegate.readComponentDuplications(componentRef);
+    // all the duplications are loaded in memory
+    BatchReport.Duplications duplications = readMessage(FileStructure.Domain.DUPLICATIONS, componentRef, BatchReport.Duplications.PARSER);
+    return duplications == null ? Collections.<BatchReport.Duplication>emptyList() : duplications.getDuplicationList();
   }
 
   @Override
   public List<BatchReport.Symbols.Symbol> readComponentSymbols(int componentRef) {
-    return delegate.readComponentSymbols(componentRef);
+    // all the symbols are loaded in memory
+    BatchReport.Symbols symbols = readMessage(FileStructure.Domain.SYMBOLS, componentRef, BatchReport.Symbols.PARSER);
+    return symbols == null ? Collections.<BatchReport.Symbols.Symbol>emptyList() : symbols.getSymbolList();
   }
 
   @Override
-  @CheckForNull
   public CloseableIterator<BatchReport.SyntaxHighlighting> readComponentSyntaxHighlighting(int fileRef) {
-    File file = delegate.readComponentSyntaxHighlighting(fileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
-
-    try {
-      return new ParserCloseableIterator<>(BatchReport.SyntaxHighlighting.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readDelimitedMessages(FileStructure.Domain.SYNTAX_HIGHLIGHTINGS, fileRef, BatchReport.SyntaxHighlighting.PARSER);
   }
 
   @Override
   public CloseableIterator<BatchReport.Coverage> readComponentCoverage(int fileRef) {
-    File file = delegate.readComponentCoverage(fileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
-
-    try {
-      return new ParserCloseableIterator<>(BatchReport.Coverage.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readDelimitedMessages(FileStructure.Domain.COVERAGES, fileRef, BatchReport.Coverage.PARSER);
   }
 
   @Override
   public CloseableIterator<String> readFileSource(int fileRef) {
-    File file = delegate.readFileSource(fileRef);
-    if (file == null) {
+    InputStream input = openEntry(FileStructure.fileName(FileStructure.Domain.SOURCE, fileRef));
+    if (input == null) {
       throw new IllegalStateException("Unable to find source for file #" + fileRef);
     }
-
     try {
-      return new CloseableLineIterator(IOUtils.lineIterator(FileUtils.openInputStream(file), StandardCharsets.UTF_8));
+      return new CloseableLineIterator(IOUtils.lineIterator(input, StandardCharsets.UTF_8));
     } catch (IOException e) {
-      throw new IllegalStateException("Fail to traverse file: " + file, e);
+      IOUtils.closeQuietly(input);
+      throw new IllegalStateException("Fail to traverse source of file #" + fileRef, e);
     }
   }
 
@@ -166,49 +255,102 @@ public class BatchReportReaderImpl implements BatchReportReader {
 
   @Override
   public CloseableIterator<BatchReport.Test> readTests(int testFileRef) {
-    File file = delegate.readTests(testFileRef);
-    if (file == null) {
-      return CloseableIterator.emptyCloseableIterator();
-    }
+    return readDelimitedMessages(FileStructure.Domain.TESTS, testFileRef, BatchReport.Test.PARSER);
+  }
 
+  @Override
+  public CloseableIterator<BatchReport.CoverageDetail> readCoverageDetails(int testFileRef) {
+    return readDelimitedMessages(FileStructure.Domain.COVERAGE_DETAILS, testFileRef, BatchReport.CoverageDetail.PARSER);
+  }
+
+  @CheckForNull
+  private <T> T readMessage(FileStructure.Domain domain, int componentRef, Parser<T> parser) {
+    return readMessage(FileStructure.fileName(domain, componentRef), parser);
+  }
+
+  @CheckForNull
+  private <T> T readMessage(String entryName, Parser<T> parser) {
+    InputStream input = openEntry(entryName);
+    if (input == null) {
+      return null;
+    }
     try {
-      return new ParserCloseableIterator<>(BatchReport.Test.PARSER, FileUtils.openInputStream(file));
-    } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
+      return parser.parseFrom(input);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("Fail to read entry " + entryName + " of analysis report: " + reportFile, e);
+    } finally {
+      IOUtils.closeQuietly(input);
     }
   }
 
-  @Override
-  public CloseableIterator<BatchReport.CoverageDetail> readCoverageDetails(int testFileRef) {
-    File file = delegate.readCoverageDetails(testFileRef);
-    if (file == null) {
+  private <T> CloseableIterator<T> readDelimitedMessages(FileStructure.Domain domain, int componentRef, Parser<T> parser) {
+    InputStream input = openEntry(FileStructure.fileName(domain, componentRef));
+    if (input == null) {
       return CloseableIterator.emptyCloseableIterator();
     }
+    return new ParserCloseableIterator<>(parser, input);
+  }
 
+  /**
+   * Returns {@code null} if the entry does not exist in the archive
+   */
+  @CheckForNull
+  private InputStream openEntry(String entryName) {
+    ZipFile zip = archive();
+    ZipEntry entry = zip.getEntry(entryName);
+    if (entry == null || entry.isDirectory()) {
+      return null;
+    }
     try {
-      return new ParserCloseableIterator<>(BatchReport.CoverageDetail.PARSER, FileUtils.openInputStream(file));
+      return new BufferedInputStream(new CountingInputStream(zip.getInputStream(entry), bytesRead));
     } catch (IOException e) {
-      Throwables.propagate(e);
-      // actually never reached
-      return CloseableIterator.emptyCloseableIterator();
+      throw new IllegalStateException("Fail to read entry " + entryName + " of analysis report: " + reportFile, e);
+    }
+  }
+
+  private synchronized ZipFile archive() {
+    if (archive == null) {
+      try {
+        archive = new ZipFile(reportFile);
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to open analysis report: " + reportFile, e);
+      }
+    }
+    return archive;
+  }
+
+  /**
+   * Adds the number of bytes read to a counter shared by all the entries
+   */
+  private static class CountingInputStream extends ProxyInputStream {
+    private final AtomicLong counter;
+
+    CountingInputStream(InputStream input, AtomicLong counter) {
+      super(input);
+      this.counter = counter;
+    }
+
+    @Override
+    protected void afterRead(int n) {
+      if (n > 0) {
+        counter.addAndGet(n);
+      }
     }
   }
 
   private static class ParserCloseableIterator<T> extends CloseableIterator<T> {
     private final Parser<T> parser;
-    private final FileInputStream fileInputStream;
+    private final InputStream inputStream;
 
-    public ParserCloseableIterator(Parser<T> parser, FileInputStream fileInputStream) {
+    public ParserCloseableIterator(Parser<T> parser, InputStream inputStream) {
       this.parser = parser;
-      this.fileInputStream = fileInputStream;
+      this.inputStream = inputStream;
     }
 
     @Override
     protected T doNext() {
       try {
-        return parser.parseDelimitedFrom(fileInputStream);
+        return parser.parseDelimitedFrom(inputStream);
       } catch (InvalidProtocolBufferException e) {
         Throwables.propagate(e);
         // actually never reached
@@ -218,7 +360,7 @@ public class BatchReportReaderImpl implements BatchReportReader {
 
     @Override
     protected void doClose() throws Exception {
-      fileInputStream.close();
+      inputStream.close();
     }
   }
 }
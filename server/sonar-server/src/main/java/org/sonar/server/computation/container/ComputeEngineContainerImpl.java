@@ -34,7 +34,6 @@ import org.sonar.core.platform.ComponentContainer;
 import org.sonar.server.computation.ComputationService;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.computation.activity.ActivityManager;
-import org.sonar.server.computation.batch.BatchReportDirectoryHolderImpl;
 import org.sonar.server.computation.batch.BatchReportReaderImpl;
 import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.ProjectSettingsRepository;
@@ -42,6 +41,7 @@ import org.sonar.server.computation.component.TreeRootHolderImpl;
 import org.sonar.server.computation.event.EventRepositoryImpl;
 import org.sonar.server.computation.issue.IssueCache;
 import org.sonar.server.computation.issue.IssueComputation;
+import org.sonar.server.computation.issue.PersistedIssueCache;
 import org.sonar.server.computation.issue.RuleCache;
 import org.sonar.server.computation.issue.RuleCacheLoader;
 import org.sonar.server.computation.issue.ScmAccountCache;
@@ -50,6 +50,7 @@ import org.sonar.server.computation.issue.SourceLinesCache;
 import org.sonar.server.computation.language.PlatformLanguageRepository;
 import org.sonar.server.computation.measure.MeasureRepositoryImpl;
 import org.sonar.server.computation.measure.MetricCache;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
 import org.sonar.server.computation.step.ComputationStep;
 import org.sonar.server.computation.step.ComputationSteps;
 import org.sonar.server.view.index.ViewIndex;
@@ -117,8 +118,6 @@ public class ComputeEngineContainerImpl extends ComponentContainer implements Co
 
       BatchReportReaderImpl.class,
 
-      BatchReportDirectoryHolderImpl.class,
-
       // repositories
       PlatformLanguageRepository.class,
       MeasureRepositoryImpl.class,
@@ -136,6 +135,8 @@ public class ComputeEngineContainerImpl extends ComponentContainer implements Co
       RuleCache.class,
       RuleCacheLoader.class,
       IssueCache.class,
+      PersistedIssueCache.class,
+      PersistedFileSourceCache.class,
       MetricCache.class,
       UpdateConflictResolver.class,
 
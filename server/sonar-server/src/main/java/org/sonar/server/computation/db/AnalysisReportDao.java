@@ -29,7 +29,9 @@ import org.sonar.core.persistence.DbSession;
 
 import javax.annotation.CheckForNull;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.sonar.core.computation.db.AnalysisReportDto.Status.PENDING;
 import static org.sonar.core.computation.db.AnalysisReportDto.Status.WORKING;
@@ -62,15 +64,25 @@ public class AnalysisReportDao implements DaoComponent {
     return mapper(session).selectById(id);
   }
 
+  /**
+   * Books the oldest available report. When a report is booked concurrently by another session,
+   * for example by another server, the next reports of the same project are ignored and the next
+   * available project is tried.
+   */
   @CheckForNull
   public AnalysisReportDto pop(DbSession session) {
-    List<Long> reportIds = mapper(session).selectAvailables(PENDING, WORKING);
-    if (reportIds.isEmpty()) {
-      return null;
+    List<AnalysisReportDto> availableReports = mapper(session).selectAvailables(PENDING, WORKING);
+    Set<String> projectKeysBookedConcurrently = new HashSet<>();
+    for (AnalysisReportDto availableReport : availableReports) {
+      if (!projectKeysBookedConcurrently.contains(availableReport.getProjectKey())) {
+        AnalysisReportDto report = tryToPop(session, availableReport.getId());
+        if (report != null) {
+          return report;
+        }
+        projectKeysBookedConcurrently.add(availableReport.getProjectKey());
+      }
     }
-
-    long reportId = reportIds.get(0);
-    return tryToPop(session, reportId);
+    return null;
   }
 
   @VisibleForTesting
@@ -0,0 +1,337 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.sonar.api.issue.IssueComment;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.Duration;
+import org.sonar.server.util.cache.DataStreamCodec;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format of {@link DefaultIssue} in {@link IssueCache}. It is much faster and smaller
+ * than Java serialization, which writes class descriptors and field names.
+ * <p/>
+ * Any new field of {@link DefaultIssue} must be added here.
+ */
+public class DefaultIssueCodec extends DataStreamCodec<DefaultIssue> {
+
+  private static final byte VALUE_NULL = 0;
+  private static final byte VALUE_STRING = 1;
+  private static final byte VALUE_LONG = 2;
+  private static final byte VALUE_INTEGER = 3;
+  private static final byte VALUE_DOUBLE = 4;
+  private static final byte VALUE_SERIALIZED = 5;
+
+  @Override
+  protected void write(DefaultIssue issue, DataOutput output) throws IOException {
+    writeNullableString(issue.key(), output);
+    writeNullableString(issue.componentUuid(), output);
+    writeNullableString(issue.componentKey(), output);
+    writeNullableString(issue.moduleUuid(), output);
+    writeNullableString(issue.moduleUuidPath(), output);
+    writeNullableString(issue.projectUuid(), output);
+    writeNullableString(issue.projectKey(), output);
+    RuleKey ruleKey = issue.ruleKey();
+    output.writeBoolean(ruleKey != null);
+    if (ruleKey != null) {
+      writeString(ruleKey.repository(), output);
+      writeString(ruleKey.rule(), output);
+    }
+    writeNullableString(issue.language(), output);
+    writeNullableString(issue.severity(), output);
+    output.writeBoolean(issue.manualSeverity());
+    writeNullableString(issue.message(), output);
+    Integer line = issue.line();
+    output.writeInt(line == null ? 0 : line);
+    Double effortToFix = issue.effortToFix();
+    output.writeBoolean(effortToFix != null);
+    if (effortToFix != null) {
+      output.writeDouble(effortToFix);
+    }
+    writeNullableLong(issue.debtInMinutes(), output);
+    writeNullableString(issue.status(), output);
+    writeNullableString(issue.resolution(), output);
+    writeNullableString(issue.reporter(), output);
+    writeNullableString(issue.assignee(), output);
+    writeNullableString(issue.checksum(), output);
+    writeAttributes(issue.attributes(), output);
+    writeNullableString(issue.authorLogin(), output);
+    writeNullableString(issue.actionPlanKey(), output);
+    writeComments(issue.comments(), output);
+    writeTags(issue.tags(), output);
+    writeNullableDate(issue.creationDate(), output);
+    writeNullableDate(issue.updateDate(), output);
+    writeNullableDate(issue.closeDate(), output);
+    writeChanges(issue, output);
+    output.writeBoolean(issue.isNew());
+    output.writeBoolean(issue.isEndOfLife());
+    output.writeBoolean(issue.isOnDisabledRule());
+    output.writeBoolean(issue.isChanged());
+    output.writeBoolean(issue.mustSendNotifications());
+    writeNullableLong(issue.selectedAt(), output);
+  }
+
+  @Override
+  protected DefaultIssue read(DataInput input) throws IOException {
+    DefaultIssue issue = new DefaultIssue();
+    issue.setKey(readNullableString(input));
+    issue.setComponentUuid(readNullableString(input));
+    issue.setComponentKey(readNullableString(input));
+    issue.setModuleUuid(readNullableString(input));
+    issue.setModuleUuidPath(readNullableString(input));
+    issue.setProjectUuid(readNullableString(input));
+    issue.setProjectKey(readNullableString(input));
+    if (input.readBoolean()) {
+      issue.setRuleKey(RuleKey.of(readString(input), readString(input)));
+    }
+    issue.setLanguage(readNullableString(input));
+    issue.setSeverity(readNullableString(input));
+    issue.setManualSeverity(input.readBoolean());
+    issue.setMessage(readNullableString(input));
+    int line = input.readInt();
+    issue.setLine(line == 0 ? null : line);
+    if (input.readBoolean()) {
+      issue.setEffortToFix(input.readDouble());
+    }
+    Long debt = readNullableLong(input);
+    issue.setDebt(debt == null ? null : Duration.create(debt));
+    String status = readNullableString(input);
+    if (status != null) {
+      issue.setStatus(status);
+    }
+    issue.setResolution(readNullableString(input));
+    issue.setReporter(readNullableString(input));
+    issue.setAssignee(readNullableString(input));
+    issue.setChecksum(readNullableString(input));
+    readAttributes(issue, input);
+    issue.setAuthorLogin(readNullableString(input));
+    issue.setActionPlanKey(readNullableString(input));
+    readComments(issue, input);
+    readTags(issue, input);
+    issue.setCreationDate(readNullableDate(input));
+    issue.setUpdateDate(readNullableDate(input));
+    issue.setCloseDate(readNullableDate(input));
+    readChanges(issue, input);
+    issue.setNew(input.readBoolean());
+    issue.setEndOfLife(input.readBoolean());
+    issue.setOnDisabledRule(input.readBoolean());
+    issue.setChanged(input.readBoolean());
+    issue.setSendNotifications(input.readBoolean());
+    issue.setSelectedAt(readNullableLong(input));
+    return issue;
+  }
+
+  private static void writeAttributes(Map<String, String> attributes, DataOutput output) throws IOException {
+    output.writeInt(attributes.size());
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      writeString(attribute.getKey(), output);
+      writeString(attribute.getValue(), output);
+    }
+  }
+
+  private static void readAttributes(DefaultIssue issue, DataInput input) throws IOException {
+    int size = input.readInt();
+    for (int i = 0; i < size; i++) {
+      issue.setAttribute(readString(input), readString(input));
+    }
+  }
+
+  private static void writeComments(List<IssueComment> comments, DataOutput output) throws IOException {
+    output.writeInt(comments.size());
+    for (IssueComment comment : comments) {
+      writeNullableString(comment.issueKey(), output);
+      writeNullableString(comment.key(), output);
+      writeNullableString(comment.userLogin(), output);
+      writeNullableString(comment.markdownText(), output);
+      writeNullableDate(comment.createdAt(), output);
+      writeNullableDate(comment.updatedAt(), output);
+      output.writeBoolean(((DefaultIssueComment) comment).isNew());
+    }
+  }
+
+  private static void readComments(DefaultIssue issue, DataInput input) throws IOException {
+    int size = input.readInt();
+    for (int i = 0; i < size; i++) {
+      DefaultIssueComment comment = new DefaultIssueComment()
+        .setIssueKey(readNullableString(input))
+        .setKey(readNullableString(input))
+        .setUserLogin(readNullableString(input))
+        .setMarkdownText(readNullableString(input))
+        .setCreatedAt(readNullableDate(input))
+        .setUpdatedAt(readNullableDate(input))
+        .setNew(input.readBoolean());
+      issue.addComment(comment);
+    }
+  }
+
+  private static void writeTags(Collection<String> tags, DataOutput output) throws IOException {
+    output.writeInt(tags.size());
+    for (String tag : tags) {
+      writeString(tag, output);
+    }
+  }
+
+  private static void readTags(DefaultIssue issue, DataInput input) throws IOException {
+    int size = input.readInt();
+    if (size > 0) {
+      List<String> tags = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        tags.add(readString(input));
+      }
+      issue.setTags(tags);
+    }
+  }
+
+  /**
+   * The current change is usually referenced several times in the list of changes, so
+   * references are kept instead of writing copies.
+   */
+  private static void writeChanges(DefaultIssue issue, DataOutput output) throws IOException {
+    FieldDiffs currentChange = issue.currentChange();
+    output.writeBoolean(currentChange != null);
+    if (currentChange != null) {
+      writeFieldDiffs(currentChange, output);
+    }
+    List<FieldDiffs> changes = issue.changes();
+    output.writeInt(changes.size());
+    for (FieldDiffs change : changes) {
+      boolean isCurrentChange = change == currentChange;
+      output.writeBoolean(isCurrentChange);
+      if (!isCurrentChange) {
+        writeFieldDiffs(change, output);
+      }
+    }
+  }
+
+  private static void readChanges(DefaultIssue issue, DataInput input) throws IOException {
+    FieldDiffs currentChange = null;
+    if (input.readBoolean()) {
+      currentChange = readFieldDiffs(input);
+      issue.setCurrentChange(currentChange);
+    }
+    int size = input.readInt();
+    if (size > 0) {
+      List<FieldDiffs> changes = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        changes.add(input.readBoolean() ? currentChange : readFieldDiffs(input));
+      }
+      // replaces the list initialized by setCurrentChange()
+      issue.setChanges(changes);
+    }
+  }
+
+  private static void writeFieldDiffs(FieldDiffs diffs, DataOutput output) throws IOException {
+    writeNullableString(diffs.issueKey(), output);
+    writeNullableString(diffs.userLogin(), output);
+    writeNullableDate(diffs.creationDate(), output);
+    output.writeInt(diffs.diffs().size());
+    for (Map.Entry<String, FieldDiffs.Diff> diff : diffs.diffs().entrySet()) {
+      writeString(diff.getKey(), output);
+      writeValue(diff.getValue().oldValue(), output);
+      writeValue(diff.getValue().newValue(), output);
+    }
+  }
+
+  private static FieldDiffs readFieldDiffs(DataInput input) throws IOException {
+    FieldDiffs diffs = new FieldDiffs()
+      .setIssueKey(readNullableString(input))
+      .setUserLogin(readNullableString(input))
+      .setCreationDate(readNullableDate(input));
+    int size = input.readInt();
+    for (int i = 0; i < size; i++) {
+      diffs.setDiff(readString(input), readValue(input), readValue(input));
+    }
+    return diffs;
+  }
+
+  private static void writeValue(@Nullable Serializable value, DataOutput output) throws IOException {
+    if (value == null) {
+      output.writeByte(VALUE_NULL);
+    } else if (value instanceof String) {
+      output.writeByte(VALUE_STRING);
+      writeString((String) value, output);
+    } else if (value instanceof Long) {
+      output.writeByte(VALUE_LONG);
+      output.writeLong((Long) value);
+    } else if (value instanceof Integer) {
+      output.writeByte(VALUE_INTEGER);
+      output.writeInt((Integer) value);
+    } else if (value instanceof Double) {
+      output.writeByte(VALUE_DOUBLE);
+      output.writeDouble((Double) value);
+    } else {
+      // unusual type, for example dates
+      output.writeByte(VALUE_SERIALIZED);
+      byte[] bytes = SerializationUtils.serialize(value);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+  }
+
+  @CheckForNull
+  private static Serializable readValue(DataInput input) throws IOException {
+    byte type = input.readByte();
+    switch (type) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString(input);
+      case VALUE_LONG:
+        return input.readLong();
+      case VALUE_INTEGER:
+        return input.readInt();
+      case VALUE_DOUBLE:
+        return input.readDouble();
+      case VALUE_SERIALIZED:
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return (Serializable) SerializationUtils.deserialize(bytes);
+      default:
+        throw new IllegalStateException("Unsupported type of value: " + type);
+    }
+  }
+
+  private static void writeNullableDate(@Nullable Date date, DataOutput output) throws IOException {
+    writeNullableLong(date == null ? null : date.getTime(), output);
+  }
+
+  @CheckForNull
+  private static Date readNullableDate(DataInput input) throws IOException {
+    Long time = readNullableLong(input);
+    return time == null ? null : new Date(time);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.utils.System2;
+import org.sonar.api.utils.TempFolder;
+import org.sonar.server.util.cache.DataStreamCodec;
+import org.sonar.server.util.cache.DiskCache;
+
+/**
+ * Issues that have been inserted or updated in db during the analysis, in the state they have been
+ * persisted (including the fields merged on update conflicts). They are written by
+ * {@link org.sonar.server.computation.step.PersistIssuesStep} and indexed by
+ * {@link org.sonar.server.computation.step.IndexIssuesStep}, so that issues are not read back from db.
+ */
+public class PersistedIssueCache extends DiskCache<PersistedIssueCache.PersistedIssue> {
+
+  // this constructor is used by picocontainer
+  public PersistedIssueCache(TempFolder tempFolder, System2 system2) {
+    this(tempFolder.newFile("persisted-issues", ".dat"), system2);
+  }
+
+  public PersistedIssueCache(File file, System2 system2) {
+    super(file, system2, new Codec());
+  }
+
+  public static class PersistedIssue implements Serializable {
+    private final DefaultIssue issue;
+    private final long updatedAt;
+
+    public PersistedIssue(DefaultIssue issue, long updatedAt) {
+      this.issue = issue;
+      this.updatedAt = updatedAt;
+    }
+
+    public DefaultIssue getIssue() {
+      return issue;
+    }
+
+    /**
+     * Value of column ISSUES.UPDATED_AT
+     */
+    public long getUpdatedAt() {
+      return updatedAt;
+    }
+  }
+
+  private static class Codec extends DataStreamCodec<PersistedIssue> {
+    private final DefaultIssueCodec issueCodec = new DefaultIssueCodec();
+
+    @Override
+    protected void write(PersistedIssue persistedIssue, DataOutput output) throws IOException {
+      output.writeLong(persistedIssue.updatedAt);
+      issueCodec.write(persistedIssue.issue, output);
+    }
+
+    @Override
+    protected PersistedIssue read(DataInput input) throws IOException {
+      long updatedAt = input.readLong();
+      return new PersistedIssue(issueCodec.read(input), updatedAt);
+    }
+  }
+}
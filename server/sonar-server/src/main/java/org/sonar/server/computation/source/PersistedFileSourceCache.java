@@ -0,0 +1,106 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.source;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import org.sonar.api.utils.System2;
+import org.sonar.api.utils.TempFolder;
+import org.sonar.server.source.db.FileSourceDb;
+import org.sonar.server.util.cache.DataStreamCodec;
+import org.sonar.server.util.cache.DiskCache;
+
+/**
+ * Sources of the files that have been inserted or updated in db during the analysis. They are written
+ * by {@link org.sonar.server.computation.step.PersistFileSourcesStep} and indexed by
+ * {@link org.sonar.server.computation.step.IndexSourceLinesStep}, so that sources are not read back from db.
+ */
+public class PersistedFileSourceCache extends DiskCache<PersistedFileSourceCache.FileSource> {
+
+  // this constructor is used by picocontainer
+  public PersistedFileSourceCache(TempFolder tempFolder, System2 system2) {
+    this(tempFolder.newFile("file-sources", ".dat"), system2);
+  }
+
+  public PersistedFileSourceCache(File file, System2 system2) {
+    super(file, system2, new Codec());
+  }
+
+  public static class FileSource implements Serializable {
+    private final String projectUuid;
+    private final String fileUuid;
+    private final long updatedAt;
+    private final FileSourceDb.Data data;
+
+    public FileSource(String projectUuid, String fileUuid, long updatedAt, FileSourceDb.Data data) {
+      this.projectUuid = projectUuid;
+      this.fileUuid = fileUuid;
+      this.updatedAt = updatedAt;
+      this.data = data;
+    }
+
+    public String getProjectUuid() {
+      return projectUuid;
+    }
+
+    public String getFileUuid() {
+      return fileUuid;
+    }
+
+    /**
+     * Value of column FILE_SOURCES.UPDATED_AT
+     */
+    public long getUpdatedAt() {
+      return updatedAt;
+    }
+
+    public FileSourceDb.Data getData() {
+      return data;
+    }
+  }
+
+  /**
+   * Protobuf messages are not compressed, as the file is read only once, just after being written.
+   */
+  private static class Codec extends DataStreamCodec<FileSource> {
+    @Override
+    protected void write(FileSource source, DataOutput output) throws IOException {
+      writeString(source.projectUuid, output);
+      writeString(source.fileUuid, output);
+      output.writeLong(source.updatedAt);
+      byte[] data = source.data.toByteArray();
+      output.writeInt(data.length);
+      output.write(data);
+    }
+
+    @Override
+    protected FileSource read(DataInput input) throws IOException {
+      String projectUuid = readString(input);
+      String fileUuid = readString(input);
+      long updatedAt = input.readLong();
+      byte[] data = new byte[input.readInt()];
+      input.readFully(data);
+      return new FileSource(projectUuid, fileUuid, updatedAt, FileSourceDb.Data.parseFrom(data));
+    }
+  }
+}
@@ -28,6 +28,7 @@ import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.TreeRootHolder;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.user.ProjectPermissionCache;
 
 /**
  * Apply default permissions on new projects and index issues/authorization
@@ -39,14 +40,16 @@ public class ApplyPermissionsStep implements ComputationStep {
   private final IssueAuthorizationIndexer indexer;
   private final PermissionFacade permissionFacade;
   private final TreeRootHolder treeRootHolder;
+  private final ProjectPermissionCache permissionCache;
 
   public ApplyPermissionsStep(DbClient dbClient, DbIdsRepository dbIdsRepository, IssueAuthorizationIndexer indexer,
-    PermissionFacade permissionFacade, TreeRootHolder treeRootHolder) {
+    PermissionFacade permissionFacade, TreeRootHolder treeRootHolder, ProjectPermissionCache permissionCache) {
     this.dbClient = dbClient;
     this.dbIdsRepository = dbIdsRepository;
     this.indexer = indexer;
     this.permissionFacade = permissionFacade;
     this.treeRootHolder = treeRootHolder;
+    this.permissionCache = permissionCache;
   }
 
   @Override
@@ -57,6 +60,7 @@ public class ApplyPermissionsStep implements ComputationStep {
       if (permissionFacade.countComponentPermissions(session, projectId) == 0) {
         permissionFacade.grantDefaultRoles(session, projectId, Qualifiers.PROJECT);
         session.commit();
+        permissionCache.invalidateAll();
       }
       // As batch is still apply permission on project, indexing of issue authorization must always been done
       indexer.index();
@@ -36,9 +36,6 @@ public class ComputationSteps {
    */
   public List<Class<? extends ComputationStep>> orderedStepClasses() {
     return Arrays.asList(
-      // extract report to a temp directory
-      ReportExtractionStep.class,
-
       // Builds Component tree
       BuildComponentTreeStep.class,
       PopulateComponentsUuidAndKeyStep.class,
@@ -72,6 +69,7 @@ public class ComputationSteps {
       IndexIssuesStep.class,
       IndexSourceLinesStep.class,
       IndexTestsStep.class,
+      IndexMeasuresStep.class,
 
       // notifications are sent at the end, so that webapp displays up-to-date information
       SendIssueNotificationsStep.class);
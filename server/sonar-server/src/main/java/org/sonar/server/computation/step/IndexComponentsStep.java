@@ -20,28 +20,26 @@
 
 package org.sonar.server.computation.step;
 
-import org.sonar.core.resource.ResourceIndexerDao;
-import org.sonar.server.computation.component.DbIdsRepository;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.computation.component.TreeRootHolder;
 
 /**
- * Components are currently indexed in db table RESOURCE_INDEX, not in Elasticsearch
+ * Updates the index used to search for components by name. Only the components that have been added,
+ * renamed or removed by the analysis are re-indexed.
  */
 public class IndexComponentsStep implements ComputationStep {
 
-  private final ResourceIndexerDao resourceIndexerDao;
-  private final DbIdsRepository dbIdsRepository;
+  private final ComponentIndexer indexer;
   private final TreeRootHolder treeRootHolder;
 
-  public IndexComponentsStep(ResourceIndexerDao resourceIndexerDao, DbIdsRepository dbIdsRepository, TreeRootHolder treeRootHolder) {
-    this.resourceIndexerDao = resourceIndexerDao;
-    this.dbIdsRepository = dbIdsRepository;
+  public IndexComponentsStep(ComponentIndexer indexer, TreeRootHolder treeRootHolder) {
+    this.indexer = indexer;
     this.treeRootHolder = treeRootHolder;
   }
 
   @Override
   public void execute() {
-    resourceIndexerDao.indexProject(dbIdsRepository.getComponentId(treeRootHolder.getRoot()));
+    indexer.index(treeRootHolder.getRoot().getUuid());
   }
 
   @Override
@@ -20,19 +20,105 @@
 
 package org.sonar.server.computation.step;
 
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.MyBatis;
+import org.sonar.core.rule.RuleDto;
+import org.sonar.server.computation.issue.PersistedIssueCache;
+import org.sonar.server.computation.issue.RuleCache;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.issue.index.IssueDoc;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.issue.index.IssueResultSetIterator;
+import org.sonar.server.util.CloseableIterator;
 
+/**
+ * Indexes the issues persisted by {@link PersistIssuesStep}. They are read from {@link PersistedIssueCache},
+ * only the components of issues are loaded from db. Issues are read from db if a component is not
+ * found.
+ */
 public class IndexIssuesStep implements ComputationStep {
 
   private final IssueIndexer indexer;
+  private final PersistedIssueCache persistedIssueCache;
+  private final RuleCache ruleCache;
+  private final DbClient dbClient;
 
-  public IndexIssuesStep(IssueIndexer indexer) {
+  public IndexIssuesStep(IssueIndexer indexer, PersistedIssueCache persistedIssueCache, RuleCache ruleCache, DbClient dbClient) {
     this.indexer = indexer;
+    this.persistedIssueCache = persistedIssueCache;
+    this.ruleCache = ruleCache;
+    this.dbClient = dbClient;
   }
 
   @Override
   public void execute() {
-    indexer.index();
+    Map<String, ComponentDto> componentsByUuid = loadComponents();
+    if (componentsByUuid == null) {
+      indexer.index();
+      return;
+    }
+
+    CloseableIterator<PersistedIssueCache.PersistedIssue> persistedIssues = persistedIssueCache.traverse();
+    try {
+      indexer.indexPersisted(Iterators.transform(persistedIssues, new ToDoc(componentsByUuid)));
+    } finally {
+      persistedIssues.close();
+    }
+  }
+
+  /**
+   * Components of the persisted issues, or {@code null} if some of them are not found in db.
+   */
+  @CheckForNull
+  private Map<String, ComponentDto> loadComponents() {
+    Set<String> componentUuids = new HashSet<>();
+    CloseableIterator<PersistedIssueCache.PersistedIssue> persistedIssues = persistedIssueCache.traverse();
+    try {
+      while (persistedIssues.hasNext()) {
+        componentUuids.add(persistedIssues.next().getIssue().componentUuid());
+      }
+    } finally {
+      persistedIssues.close();
+    }
+
+    Map<String, ComponentDto> componentsByUuid = new HashMap<>();
+    if (!componentUuids.isEmpty()) {
+      DbSession session = dbClient.openSession(false);
+      try {
+        for (ComponentDto component : dbClient.componentDao().selectByUuids(session, componentUuids)) {
+          componentsByUuid.put(component.uuid(), component);
+        }
+      } finally {
+        MyBatis.closeQuietly(session);
+      }
+    }
+    return componentsByUuid.size() == componentUuids.size() ? componentsByUuid : null;
+  }
+
+  private class ToDoc implements Function<PersistedIssueCache.PersistedIssue, IssueDoc> {
+    private final Map<String, ComponentDto> componentsByUuid;
+
+    ToDoc(Map<String, ComponentDto> componentsByUuid) {
+      this.componentsByUuid = componentsByUuid;
+    }
+
+    @Override
+    public IssueDoc apply(@Nonnull PersistedIssueCache.PersistedIssue persistedIssue) {
+      DefaultIssue issue = persistedIssue.getIssue();
+      RuleDto rule = ruleCache.getNullable(issue.ruleKey());
+      return IssueResultSetIterator.toDoc(issue, persistedIssue.getUpdatedAt(), componentsByUuid.get(issue.componentUuid()),
+        rule == null ? null : rule.getLanguage());
+    }
   }
 
   @Override
@@ -19,22 +19,38 @@
  */
 package org.sonar.server.computation.step;
 
-import org.sonar.server.computation.component.TreeRootHolder;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import java.util.Date;
+import javax.annotation.Nonnull;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
+import org.sonar.server.source.index.FileSourcesUpdaterHelper;
 import org.sonar.server.source.index.SourceLineIndexer;
+import org.sonar.server.source.index.SourceLineResultSetIterator;
+import org.sonar.server.util.CloseableIterator;
 
+/**
+ * Indexes the sources persisted by {@link PersistFileSourcesStep}. They are read from
+ * {@link PersistedFileSourceCache}, not from db.
+ */
 public class IndexSourceLinesStep implements ComputationStep {
 
   private final SourceLineIndexer indexer;
-  private final TreeRootHolder treeRootHolder;
+  private final PersistedFileSourceCache persistedFileSourceCache;
 
-  public IndexSourceLinesStep(SourceLineIndexer indexer, TreeRootHolder treeRootHolder) {
+  public IndexSourceLinesStep(SourceLineIndexer indexer, PersistedFileSourceCache persistedFileSourceCache) {
     this.indexer = indexer;
-    this.treeRootHolder = treeRootHolder;
+    this.persistedFileSourceCache = persistedFileSourceCache;
   }
 
   @Override
   public void execute() {
-    indexer.index(treeRootHolder.getRoot().getUuid());
+    CloseableIterator<PersistedFileSourceCache.FileSource> sources = persistedFileSourceCache.traverse();
+    try {
+      indexer.indexPersisted(Iterators.transform(sources, ToRow.INSTANCE));
+    } finally {
+      sources.close();
+    }
   }
 
   @Override
@@ -42,4 +58,13 @@ public class IndexSourceLinesStep implements ComputationStep {
     return "Index source lines";
   }
 
+  private enum ToRow implements Function<PersistedFileSourceCache.FileSource, FileSourcesUpdaterHelper.Row> {
+    INSTANCE;
+
+    @Override
+    public FileSourcesUpdaterHelper.Row apply(@Nonnull PersistedFileSourceCache.FileSource source) {
+      return SourceLineResultSetIterator.toRow(source.getProjectUuid(), source.getFileUuid(), new Date(source.getUpdatedAt()), source.getData());
+    }
+  }
+
 }
@@ -20,11 +20,20 @@
 
 package org.sonar.server.computation.step;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -43,35 +52,72 @@ import org.sonar.server.computation.source.CoverageLineReader;
 import org.sonar.server.computation.source.DuplicationLineReader;
 import org.sonar.server.computation.source.HighlightingLineReader;
 import org.sonar.server.computation.source.LineReader;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
 import org.sonar.server.computation.source.ScmLineReader;
 import org.sonar.server.computation.source.SymbolsLineReader;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.source.db.FileSourceDb;
 import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.cache.DiskCache;
 
 import static org.sonar.server.computation.component.DepthTraversalTypeAwareVisitor.Order.PRE_ORDER;
 
+/**
+ * Sources of files are computed (merge of coverage, SCM, highlighting, symbols and duplications), encoded and hashed
+ * by a pool of threads. The results are persisted in the order of the component tree by the step thread, which is the
+ * only one to use the DB session.
+ * Memory is bounded by the number of files being computed or waiting for persistence, see {@link #maxPendingFiles}.
+ * The sources that are inserted or updated are also appended to {@link PersistedFileSourceCache}, in order to be indexed
+ * without being read back from db.
+ */
 public class PersistFileSourcesStep implements ComputationStep {
 
+  private static final String THREAD_NAME_PREFIX = "file-sources-";
+
+  /**
+   * Number of files persisted between two commits
+   */
+  private static final int FILES_PER_COMMIT = 100;
+
   private final DbClient dbClient;
   private final System2 system2;
   private final TreeRootHolder treeRootHolder;
   private final BatchReportReader reportReader;
+  private final PersistedFileSourceCache persistedFileSourceCache;
+  private final int threads;
+  private final int maxPendingFiles;
 
-  public PersistFileSourcesStep(DbClient dbClient, System2 system2, TreeRootHolder treeRootHolder, BatchReportReader reportReader) {
+  public PersistFileSourcesStep(DbClient dbClient, System2 system2, TreeRootHolder treeRootHolder, BatchReportReader reportReader,
+    PersistedFileSourceCache persistedFileSourceCache) {
+    this(dbClient, system2, treeRootHolder, reportReader, persistedFileSourceCache, Runtime.getRuntime().availableProcessors());
+  }
+
+  @VisibleForTesting
+  public PersistFileSourcesStep(DbClient dbClient, System2 system2, TreeRootHolder treeRootHolder, BatchReportReader reportReader,
+    PersistedFileSourceCache persistedFileSourceCache, int threads) {
     this.dbClient = dbClient;
     this.system2 = system2;
     this.treeRootHolder = treeRootHolder;
     this.reportReader = reportReader;
+    this.persistedFileSourceCache = persistedFileSourceCache;
+    this.threads = threads;
+    this.maxPendingFiles = 2 * threads;
   }
 
   @Override
   public void execute() {
     // Don't use batch insert for file_sources since keeping all data in memory can produce OOM for big files
     DbSession session = dbClient.openSession(false);
+    ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_PREFIX + "%d").build());
+    DiskCache<PersistedFileSourceCache.FileSource>.DiskAppender persistedSources = persistedFileSourceCache.newAppender();
     try {
-      new FileSourceVisitor(session).visit(treeRootHolder.getRoot());
+      FileSourceVisitor visitor = new FileSourceVisitor(session, executorService, persistedSources);
+      visitor.visit(treeRootHolder.getRoot());
+      visitor.persistPendingFiles();
+      session.commit();
     } finally {
+      executorService.shutdownNow();
+      persistedSources.close();
       MyBatis.closeQuietly(session);
     }
   }
@@ -79,13 +125,19 @@ public class PersistFileSourcesStep implements ComputationStep {
   private class FileSourceVisitor extends DepthTraversalTypeAwareVisitor {
 
     private final DbSession session;
+    private final ExecutorService executorService;
+    private final DiskCache<PersistedFileSourceCache.FileSource>.DiskAppender persistedSources;
+    private final Deque<Future<ComputedFileSource>> pendingFiles = new ArrayDeque<>();
 
     private Map<String, FileSourceDto> previousFileSourcesByUuid = new HashMap<>();
     private String projectUuid;
+    private int uncommittedFiles = 0;
 
-    private FileSourceVisitor(DbSession session) {
+    private FileSourceVisitor(DbSession session, ExecutorService executorService, DiskCache<PersistedFileSourceCache.FileSource>.DiskAppender persistedSources) {
       super(Component.Type.FILE, PRE_ORDER);
       this.session = session;
+      this.executorService = executorService;
+      this.persistedSources = persistedSources;
     }
 
     @Override
@@ -103,65 +155,130 @@ public class PersistFileSourcesStep implements ComputationStep {
 
     @Override
     public void visitFile(Component file) {
-      int fileRef = file.getRef();
-      BatchReport.Component component = reportReader.readComponent(fileRef);
-      CloseableIterator<String> linesIterator = reportReader.readFileSource(fileRef);
-      LineReaders lineReaders = new LineReaders(reportReader, fileRef);
-      try {
-        ComputeFileSourceData computeFileSourceData = new ComputeFileSourceData(linesIterator, lineReaders.readers(), component.getLines());
-        ComputeFileSourceData.Data fileSourceData = computeFileSourceData.compute();
-        persistSource(fileSourceData, file.getUuid());
-      } catch (Exception e) {
-        throw new IllegalStateException(String.format("Cannot persist sources of %s", file.getKey()), e);
-      } finally {
-        linesIterator.close();
-        lineReaders.close();
+      while (pendingFiles.size() >= maxPendingFiles) {
+        persistNextPendingFile();
       }
+      pendingFiles.add(executorService.submit(new ComputeFileSource(file)));
     }
 
-    private void persistSource(ComputeFileSourceData.Data fileSourceData, String componentUuid) {
-      FileSourceDb.Data fileData = fileSourceData.getFileSourceData();
+    private void persistPendingFiles() {
+      while (!pendingFiles.isEmpty()) {
+        persistNextPendingFile();
+      }
+    }
 
-      byte[] data = FileSourceDto.encodeSourceData(fileData);
-      String dataHash = DigestUtils.md5Hex(data);
-      String srcHash = fileSourceData.getSrcHash();
-      String lineHashes = fileSourceData.getLineHashes();
+    private void persistNextPendingFile() {
+      ComputedFileSource fileSource = waitFor(pendingFiles.poll());
+      persistSource(fileSource);
+      uncommittedFiles++;
+      if (uncommittedFiles >= FILES_PER_COMMIT) {
+        session.commit();
+        uncommittedFiles = 0;
+      }
+    }
+
+    private void persistSource(ComputedFileSource fileSource) {
+      String componentUuid = fileSource.componentUuid;
       FileSourceDto previousDto = previousFileSourcesByUuid.get(componentUuid);
+      long now = system2.now();
 
       if (previousDto == null) {
         FileSourceDto dto = new FileSourceDto()
           .setProjectUuid(projectUuid)
           .setFileUuid(componentUuid)
           .setDataType(Type.SOURCE)
-          .setBinaryData(data)
-          .setSrcHash(srcHash)
-          .setDataHash(dataHash)
-          .setLineHashes(lineHashes)
-          .setCreatedAt(system2.now())
-          .setUpdatedAt(system2.now());
+          .setBinaryData(fileSource.data)
+          .setSrcHash(fileSource.srcHash)
+          .setDataHash(fileSource.dataHash)
+          .setLineHashes(fileSource.lineHashes)
+          .setCreatedAt(now)
+          .setUpdatedAt(now);
         dbClient.fileSourceDao().insert(session, dto);
-        session.commit();
+        persistedSources.append(new PersistedFileSourceCache.FileSource(projectUuid, componentUuid, now, fileSource.fileData));
       } else {
         // Update only if data_hash has changed or if src_hash is missing (progressive migration)
-        boolean binaryDataUpdated = !dataHash.equals(previousDto.getDataHash());
-        boolean srcHashUpdated = !srcHash.equals(previousDto.getSrcHash());
+        boolean binaryDataUpdated = !fileSource.dataHash.equals(previousDto.getDataHash());
+        boolean srcHashUpdated = !fileSource.srcHash.equals(previousDto.getSrcHash());
         if (binaryDataUpdated || srcHashUpdated) {
           previousDto
-            .setBinaryData(data)
-            .setDataHash(dataHash)
-            .setSrcHash(srcHash)
-            .setLineHashes(lineHashes);
+            .setBinaryData(fileSource.data)
+            .setDataHash(fileSource.dataHash)
+            .setSrcHash(fileSource.srcHash)
+            .setLineHashes(fileSource.lineHashes);
           // Optimization only change updated at when updating binary data to avoid unnecessary indexation by E/S
           if (binaryDataUpdated) {
-            previousDto.setUpdatedAt(system2.now());
+            previousDto.setUpdatedAt(now);
+            persistedSources.append(new PersistedFileSourceCache.FileSource(projectUuid, componentUuid, now, fileSource.fileData));
           }
-          dbClient.fileSourceDao().update(previousDto);
-          session.commit();
+          dbClient.fileSourceDao().update(session, previousDto);
         }
       }
     }
   }
 
+  private static ComputedFileSource waitFor(Future<ComputedFileSource> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while persisting file sources", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * CPU-intensive part of the step. It does not access DB.
+   */
+  private class ComputeFileSource implements Callable<ComputedFileSource> {
+    private final Component file;
+
+    private ComputeFileSource(Component file) {
+      this.file = file;
+    }
+
+    @Override
+    public ComputedFileSource call() {
+      int fileRef = file.getRef();
+      BatchReport.Component component = reportReader.readComponent(fileRef);
+      CloseableIterator<String> linesIterator = reportReader.readFileSource(fileRef);
+      LineReaders lineReaders = new LineReaders(reportReader, fileRef);
+      try {
+        ComputeFileSourceData computeFileSourceData = new ComputeFileSourceData(linesIterator, lineReaders.readers(), component.getLines());
+        ComputeFileSourceData.Data fileSourceData = computeFileSourceData.compute();
+        FileSourceDb.Data fileData = fileSourceData.getFileSourceData();
+        byte[] data = FileSourceDto.encodeSourceData(fileData);
+        return new ComputedFileSource(file.getUuid(), fileData, data, DigestUtils.md5Hex(data), fileSourceData.getSrcHash(), fileSourceData.getLineHashes());
+      } catch (Exception e) {
+        throw new IllegalStateException(String.format("Cannot persist sources of %s", file.getKey()), e);
+      } finally {
+        linesIterator.close();
+        lineReaders.close();
+      }
+    }
+  }
+
+  private static class ComputedFileSource {
+    private final String componentUuid;
+    private final FileSourceDb.Data fileData;
+    private final byte[] data;
+    private final String dataHash;
+    private final String srcHash;
+    private final String lineHashes;
+
+    private ComputedFileSource(String componentUuid, FileSourceDb.Data fileData, byte[] data, String dataHash, String srcHash, String lineHashes) {
+      this.componentUuid = componentUuid;
+      this.fileData = fileData;
+      this.data = data;
+      this.dataHash = dataHash;
+      this.srcHash = srcHash;
+      this.lineHashes = lineHashes;
+    }
+  }
+
   private static class LineReaders {
     private final List<LineReader> readers = new ArrayList<>();
     private final List<CloseableIterator<?>> iterators = new ArrayList<>();
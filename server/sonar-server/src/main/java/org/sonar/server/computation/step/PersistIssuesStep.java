@@ -33,10 +33,16 @@ import org.sonar.core.issue.db.UpdateConflictResolver;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.server.computation.issue.IssueCache;
+import org.sonar.server.computation.issue.PersistedIssueCache;
 import org.sonar.server.computation.issue.RuleCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.cache.DiskCache;
 
+/**
+ * Inserts and updates the issues of {@link IssueCache}. Persisted issues are also written to
+ * {@link PersistedIssueCache} in order to be indexed by {@link IndexIssuesStep}.
+ */
 public class PersistIssuesStep implements ComputationStep {
 
   private final DbClient dbClient;
@@ -44,14 +50,16 @@ public class PersistIssuesStep implements ComputationStep {
   private final UpdateConflictResolver conflictResolver;
   private final RuleCache ruleCache;
   private final IssueCache issueCache;
+  private final PersistedIssueCache persistedIssueCache;
 
   public PersistIssuesStep(DbClient dbClient, System2 system2, UpdateConflictResolver conflictResolver,
-    RuleCache ruleCache, IssueCache issueCache) {
+    RuleCache ruleCache, IssueCache issueCache, PersistedIssueCache persistedIssueCache) {
     this.dbClient = dbClient;
     this.system2 = system2;
     this.conflictResolver = conflictResolver;
     this.ruleCache = ruleCache;
     this.issueCache = issueCache;
+    this.persistedIssueCache = persistedIssueCache;
   }
 
   @Override
@@ -61,16 +69,18 @@ public class PersistIssuesStep implements ComputationStep {
     IssueChangeMapper changeMapper = session.getMapper(IssueChangeMapper.class);
 
     CloseableIterator<DefaultIssue> issues = issueCache.traverse();
+    DiskCache<PersistedIssueCache.PersistedIssue>.DiskAppender persistedIssues = persistedIssueCache.newAppender();
+    long now = system2.now();
     try {
       while (issues.hasNext()) {
         DefaultIssue issue = issues.next();
         boolean saved = false;
         if (issue.isNew()) {
           Integer ruleId = ruleCache.get(issue.ruleKey()).getId();
-          mapper.insert(IssueDto.toDtoForComputationInsert(issue, ruleId, system2.now()));
+          mapper.insert(IssueDto.toDtoForComputationInsert(issue, ruleId, now));
           saved = true;
         } else if (issue.isChanged()) {
-          IssueDto dto = IssueDto.toDtoForUpdate(issue, system2.now());
+          IssueDto dto = IssueDto.toDtoForUpdate(issue, now);
           if (Issue.STATUS_CLOSED.equals(issue.status()) || issue.selectedAt() == null) {
             // Issue is closed by scan or changed by end-user
             mapper.update(dto);
@@ -86,6 +96,7 @@ public class PersistIssuesStep implements ComputationStep {
         }
         if (saved) {
           insertChanges(changeMapper, issue);
+          persistedIssues.append(new PersistedIssueCache.PersistedIssue(issue, now));
         }
       }
       session.flushStatements();
@@ -93,6 +104,7 @@ public class PersistIssuesStep implements ComputationStep {
     } finally {
       MyBatis.closeQuietly(session);
       issues.close();
+      persistedIssues.close();
     }
   }
 
@@ -20,28 +20,27 @@
 
 package org.sonar.server.computation.step;
 
-import org.sonar.core.computation.dbcleaner.ProjectCleaner;
-import org.sonar.core.persistence.DbSession;
-import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.ProjectSettingsRepository;
 import org.sonar.server.computation.component.TreeRootHolder;
-import org.sonar.server.db.DbClient;
 
+/**
+ * Requests the purge of the project. The purge is executed in background, after the report is processed,
+ * see {@link ProjectPurgeScheduler}.
+ */
 public class PurgeDatastoresStep implements ComputationStep {
 
-  private final ProjectCleaner projectCleaner;
-  private final DbClient dbClient;
+  private final ProjectPurgeScheduler purgeScheduler;
   private final DbIdsRepository dbIdsRepository;
   private final TreeRootHolder treeRootHolder;
   private final ProjectSettingsRepository projectSettingsRepository;
 
-  public PurgeDatastoresStep(DbClient dbClient, ProjectCleaner projectCleaner, DbIdsRepository dbIdsRepository, TreeRootHolder treeRootHolder,
+  public PurgeDatastoresStep(ProjectPurgeScheduler purgeScheduler, DbIdsRepository dbIdsRepository, TreeRootHolder treeRootHolder,
     ProjectSettingsRepository projectSettingsRepository) {
-    this.projectCleaner = projectCleaner;
-    this.dbClient = dbClient;
+    this.purgeScheduler = purgeScheduler;
     this.dbIdsRepository = dbIdsRepository;
     this.treeRootHolder = treeRootHolder;
     this.projectSettingsRepository = projectSettingsRepository;
@@ -49,14 +48,9 @@ public class PurgeDatastoresStep implements ComputationStep {
 
   @Override
   public void execute() {
-    DbSession session = dbClient.openSession(true);
-    try {
-      Component project = treeRootHolder.getRoot();
-      projectCleaner.purge(session, new IdUuidPair(dbIdsRepository.getComponentId(project), project.getUuid()), projectSettingsRepository.getProjectSettings(project.getKey()));
-      session.commit();
-    } finally {
-      MyBatis.closeQuietly(session);
-    }
+    Component project = treeRootHolder.getRoot();
+    purgeScheduler.schedule(project.getKey(), new IdUuidPair(dbIdsRepository.getComponentId(project), project.getUuid()),
+      projectSettingsRepository.getProjectSettings(project.getKey()));
   }
 
   @Override
@@ -25,9 +25,13 @@ import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.utils.text.JsonWriter;
 import org.sonar.core.computation.db.AnalysisReportDto;
+import org.sonar.server.computation.ComputationThreadLauncher;
+import org.sonar.server.computation.ComputationWorkersStatistics;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.ReportQueue;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.sonar.api.utils.DateUtils.longToDate;
 
@@ -36,16 +40,20 @@ import static org.sonar.api.utils.DateUtils.longToDate;
  */
 public class QueueAction implements ComputationWsAction {
   private final ReportQueue queue;
+  private final ComputationThreadLauncher workerLauncher;
+  private final ProjectPurgeScheduler purgeScheduler;
 
-  public QueueAction(ReportQueue queue) {
+  public QueueAction(ReportQueue queue, ComputationThreadLauncher workerLauncher, ProjectPurgeScheduler purgeScheduler) {
     this.queue = queue;
+    this.workerLauncher = workerLauncher;
+    this.purgeScheduler = purgeScheduler;
   }
 
   @Override
   public void define(WebService.NewController controller) {
     controller
       .createAction("queue")
-      .setDescription("List all the active analysis reports")
+      .setDescription("List all the active analysis reports, the activity of the compute engine workers and the statistics of the purges of projects")
       .setSince("5.0")
       .setInternal(true)
       .setHandler(this);
@@ -54,16 +62,24 @@ public class QueueAction implements ComputationWsAction {
   @Override
   public void handle(Request request, Response response) throws Exception {
     List<AnalysisReportDto> reports = queue.all();
+    ComputationWorkersStatistics statistics = workerLauncher.getStatistics();
+    long now = statistics.now();
 
     JsonWriter json = response.newJsonWriter().beginObject();
-    writeReports(reports, json);
+    writeReports(reports, now, json);
+    writeWorkers(statistics, now, json);
+    writePurges(json);
     json.endObject();
     json.close();
   }
 
-  private void writeReports(List<AnalysisReportDto> reports, JsonWriter json) {
+  private static void writeReports(List<AnalysisReportDto> reports, long now, JsonWriter json) {
+    int pendingReports = 0;
     json.name("reports").beginArray();
     for (AnalysisReportDto report : reports) {
+      if (report.getStatus() == AnalysisReportDto.Status.PENDING) {
+        pendingReports++;
+      }
       json.beginObject();
       json.prop("key", report.getId());
       json.prop("projectKey", report.getProjectKey());
@@ -72,9 +88,48 @@ public class QueueAction implements ComputationWsAction {
       json.propDateTime("finishedAt", longToDate(report.getFinishedAt()));
       json.propDateTime("submittedAt", longToDate(report.getCreatedAt()));
       json.prop("status", report.getStatus().toString());
+      json.prop("waitingTimeMs", waitingTime(report, now));
       json.endObject();
     }
     json.endArray();
+    json.prop("pendingReports", pendingReports);
+  }
+
+  /**
+   * Reports that are not started yet are still waiting.
+   */
+  private static long waitingTime(AnalysisReportDto report, long now) {
+    Long waitingTime = report.getWaitingTime();
+    return waitingTime == null ? (now - report.getCreatedAt()) : waitingTime;
+  }
+
+  private void writeWorkers(ComputationWorkersStatistics statistics, long now, JsonWriter json) {
+    json.prop("workerCount", workerLauncher.getWorkers());
+    json.name("workers").beginArray();
+    for (ComputationWorkersStatistics.Worker worker : statistics.all()) {
+      json.beginObject();
+      json.prop("name", worker.getName());
+      json.prop("busy", worker.isBusy());
+      json.prop("processedReports", worker.getProcessedReports());
+      json.prop("busyTimeMs", worker.getBusyTimeMs(now));
+      json.prop("utilisation", worker.getUtilisation(now));
+      json.endObject();
+    }
+    json.endArray();
+  }
+
+  private void writePurges(JsonWriter json) {
+    json.name("purges").beginObject();
+    json.prop("threads", purgeScheduler.getThreads());
+    json.prop("pending", purgeScheduler.getPendingPurges());
+    json.prop("executed", purgeScheduler.getPurges());
+    json.prop("failed", purgeScheduler.getFailures());
+    json.name("durationsMs").beginObject();
+    for (Map.Entry<String, Long> duration : purgeScheduler.getDurationsByPhase().entrySet()) {
+      json.prop(duration.getKey(), duration.getValue());
+    }
+    json.endObject();
+    json.endObject();
   }
 
 }
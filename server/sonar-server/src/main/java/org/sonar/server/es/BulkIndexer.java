@@ -77,7 +77,7 @@ public class BulkIndexer implements Startable {
     this.client = client;
     this.indexName = indexName;
     this.progress = new ProgressLogger(String.format("Progress[BulkIndexer[%s]]", indexName), counter, LOGGER)
-      .setPluralLabel("requests");
+      .setPluralLabel("documents");
 
     this.concurrentRequests = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
     this.semaphore = new Semaphore(concurrentRequests);
@@ -98,6 +98,15 @@ public class BulkIndexer implements Startable {
     return this;
   }
 
+  /**
+   * Number of documents expected to be indexed, if known. It is used to log the progress
+   * and the estimated remaining time of large indexing.
+   */
+  public BulkIndexer setExpectedSize(long size) {
+    progress.setTotal(size);
+    return this;
+  }
+
   /**
    * By default refresh of index is executed in method {@link #stop()}. Set to true
    * to disable refresh.
@@ -193,6 +202,10 @@ public class BulkIndexer implements Startable {
       throw new IllegalStateException("Elasticsearch bulk requests still being executed after 10 minutes", e);
     }
     progress.stop();
+    if (large) {
+      // final status of long-running indexing
+      progress.log();
+    }
 
     if (!disableRefresh) {
       client.prepareRefresh(indexName).get();
@@ -58,11 +58,30 @@ public class IssueIndexer extends BaseIndexer {
     doIndex(createBulkIndexer(false), issues);
   }
 
+  /**
+   * Indexes issues that have just been persisted, without reading them back from db. Nothing
+   * is done if the indexer is disabled.
+   */
+  public void indexPersisted(final Iterator<IssueDoc> persistedIssues) {
+    super.index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        doIndex(createBulkIndexer(false), persistedIssues);
+        // issues committed concurrently by other writers may be older than the persisted ones. They
+        // must not be skipped by the next incremental indexing, so the date of last update is not changed.
+        return lastUpdatedAt;
+      }
+    });
+  }
+
   private long doIndex(BulkIndexer bulk, long lastUpdatedAt) {
     DbSession dbSession = dbClient.openSession(false);
     Connection dbConnection = dbSession.getConnection();
     long maxDate;
     try {
+      if (lastUpdatedAt == 0L) {
+        bulk.setExpectedSize(IssueResultSetIterator.countAll(dbConnection));
+      }
       IssueResultSetIterator rowIt = IssueResultSetIterator.create(dbClient, dbConnection, lastUpdatedAt);
       maxDate = doIndex(bulk, rowIt);
       rowIt.close();
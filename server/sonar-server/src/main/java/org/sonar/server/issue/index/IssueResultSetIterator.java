@@ -24,9 +24,13 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
+import org.apache.commons.dbutils.DbUtils;
 import org.apache.commons.lang.StringUtils;
+import org.sonar.api.issue.internal.DefaultIssue;
 import org.sonar.api.resources.Scopes;
 import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.KeyValueFormat;
+import org.sonar.core.component.ComponentDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.db.ResultSetIterator;
 import org.sonar.server.db.migrations.SqlUtil;
@@ -47,7 +51,7 @@ import static org.sonar.server.db.migrations.SqlUtil.getLong;
  * Scrolls over table ISSUES and reads documents to populate
  * the issues index
  */
-class IssueResultSetIterator extends ResultSetIterator<IssueDoc> {
+public class IssueResultSetIterator extends ResultSetIterator<IssueDoc> {
 
   private static final String[] FIELDS = {
     // column 1
@@ -113,6 +117,66 @@ class IssueResultSetIterator extends ResultSetIterator<IssueDoc> {
     }
   }
 
+  /**
+   * Number of rows of table ISSUES, used to estimate the progress of initial indexing
+   */
+  static long countAll(Connection connection) {
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    try {
+      stmt = connection.prepareStatement("select count(1) from issues");
+      rs = stmt.executeQuery();
+      return rs.next() ? rs.getLong(1) : 0L;
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to count issues", e);
+    } finally {
+      DbUtils.closeQuietly(rs);
+      DbUtils.closeQuietly(stmt);
+    }
+  }
+
+  /**
+   * Converts an issue that has just been persisted by the compute engine to the document that
+   * would be read from db. Fields that are not stored in table ISSUES are loaded from the component
+   * and from the rule.
+   */
+  public static IssueDoc toDoc(DefaultIssue issue, long updatedAt, ComponentDto component, @Nullable String language) {
+    IssueDoc doc = new IssueDoc(Maps.<String, Object>newHashMapWithExpectedSize(30));
+
+    // all the fields must be present, even if value is null
+    doc.setKey(issue.key());
+    doc.setProjectUuid(issue.projectUuid());
+    doc.setTechnicalUpdateDate(new Date(updatedAt));
+    doc.setActionPlanKey(issue.actionPlanKey());
+    doc.setAssignee(issue.assignee());
+    doc.setEffortToFix(issue.effortToFix());
+    doc.setAttributes(KeyValueFormat.format(issue.attributes()));
+    doc.setLine(issue.line());
+    doc.setMessage(issue.message());
+    doc.setResolution(issue.resolution());
+    doc.setSeverity(issue.severity());
+    doc.setManualSeverity(issue.manualSeverity());
+    doc.setChecksum(issue.checksum());
+    doc.setStatus(issue.status());
+    doc.setDebt(issue.debtInMinutes());
+    doc.setReporter(issue.reporter());
+    doc.setAuthorLogin(issue.authorLogin());
+    doc.setFuncCloseDate(issue.closeDate());
+    doc.setFuncCreationDate(issue.creationDate());
+    doc.setFuncUpdateDate(issue.updateDate());
+    doc.setRuleKey(issue.ruleKey().toString());
+    doc.setLanguage(language);
+    doc.setComponentUuid(component.uuid());
+    String moduleUuidPath = component.moduleUuidPath();
+    doc.setModuleUuid(extractModule(moduleUuidPath));
+    doc.setModuleUuidPath(moduleUuidPath);
+    String filePath = extractFilePath(component.path(), component.scope());
+    doc.setFilePath(filePath);
+    doc.setDirectoryPath(extractDirPath(filePath, component.scope()));
+    doc.setTags(ImmutableList.copyOf(issue.tags()));
+    return doc;
+  }
+
   @CheckForNull
   private static String extractDirPath(@Nullable String filePath, String scope) {
     if (filePath != null) {
@@ -0,0 +1,69 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.ws;
+
+import org.sonar.api.config.Settings;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.server.ServerSide;
+import org.sonar.api.user.User;
+import org.sonar.api.utils.System2;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.server.rule.Rule;
+import org.sonar.server.util.cache.ExpiringMemoryCache;
+
+import static org.sonar.server.util.SettingsUtils.getPositiveInt;
+
+/**
+ * Reference data that is requested by each search of issues, shared by all the requests.
+ * Entries expire after the configured time-to-live. They are also invalidated when rules, users
+ * or project keys are updated, so that changes are visible immediately on the server that applied them.
+ */
+@ServerSide
+public class ReferenceDataCache {
+
+  public static final String MAX_SIZE_PROPERTY = "sonar.issues.referenceCache.maxSize";
+  public static final String TTL_PROPERTY = "sonar.issues.referenceCache.ttlSeconds";
+  static final int DEFAULT_MAX_SIZE = 10_000;
+  static final int DEFAULT_TTL_SECONDS = 60;
+
+  private final ExpiringMemoryCache<RuleKey, Rule> rules;
+  private final ExpiringMemoryCache<String, User> usersByLogin;
+  private final ExpiringMemoryCache<String, ComponentDto> projectsByUuid;
+
+  public ReferenceDataCache(Settings settings, System2 system) {
+    int maxSize = getPositiveInt(settings, MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+    long ttlMs = getPositiveInt(settings, TTL_PROPERTY, DEFAULT_TTL_SECONDS) * 1000L;
+    this.rules = new ExpiringMemoryCache<>(maxSize, ttlMs, system);
+    this.usersByLogin = new ExpiringMemoryCache<>(maxSize, ttlMs, system);
+    this.projectsByUuid = new ExpiringMemoryCache<>(maxSize, ttlMs, system);
+  }
+
+  public ExpiringMemoryCache<RuleKey, Rule> rules() {
+    return rules;
+  }
+
+  public ExpiringMemoryCache<String, User> usersByLogin() {
+    return usersByLogin;
+  }
+
+  public ExpiringMemoryCache<String, ComponentDto> projectsByUuid() {
+    return projectsByUuid;
+  }
+}
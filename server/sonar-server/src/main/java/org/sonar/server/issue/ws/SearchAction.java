@@ -19,14 +19,12 @@
  */
 package org.sonar.server.issue.ws;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.io.Resources;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,36 +46,36 @@ import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.user.User;
-import org.sonar.api.user.UserFinder;
 import org.sonar.api.utils.DateUtils;
 import org.sonar.api.utils.Duration;
 import org.sonar.api.utils.Durations;
+import org.sonar.api.utils.System2;
 import org.sonar.api.utils.text.JsonWriter;
 import org.sonar.core.component.ComponentDto;
-import org.sonar.core.persistence.DbSession;
 import org.sonar.markdown.Markdown;
-import org.sonar.server.db.DbClient;
 import org.sonar.server.es.SearchOptions;
 import org.sonar.server.es.SearchResult;
 import org.sonar.server.issue.IssueQuery;
 import org.sonar.server.issue.IssueQueryService;
 import org.sonar.server.issue.IssueService;
-import org.sonar.server.issue.actionplan.ActionPlanService;
 import org.sonar.server.issue.filter.IssueFilterParameters;
 import org.sonar.server.issue.index.IssueDoc;
 import org.sonar.server.issue.index.IssueIndex;
 import org.sonar.server.rule.Rule;
-import org.sonar.server.rule.RuleService;
 import org.sonar.server.user.UserSession;
+import org.sonar.server.ws.ResponseWithHeaders;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newHashSet;
 
 public class SearchAction implements IssuesWsAction {
 
   public static final String SEARCH_ACTION = "search";
 
+  /**
+   * Durations of the different steps of the request, see https://www.w3.org/TR/server-timing/
+   */
+  static final String TIMING_HEADER = "Server-Timing";
+
   private static final String ACTIONS_EXTRA_FIELD = "actions";
   private static final String TRANSITIONS_EXTRA_FIELD = "transitions";
   private static final String ASSIGNEE_NAME_EXTRA_FIELD = "assigneeName";
@@ -92,29 +90,24 @@ public class SearchAction implements IssuesWsAction {
   private final IssueActionsWriter actionsWriter;
 
   private final IssueQueryService issueQueryService;
-  private final RuleService ruleService;
-  private final DbClient dbClient;
-  private final ActionPlanService actionPlanService;
-  private final UserFinder userFinder;
+  private final SearchResponseLoader responseLoader;
   private final I18n i18n;
   private final Durations durations;
   private final Languages languages;
   private final UserSession userSession;
+  private final System2 system;
 
-  public SearchAction(DbClient dbClient, IssueService service, IssueActionsWriter actionsWriter, IssueQueryService issueQueryService,
-    RuleService ruleService, ActionPlanService actionPlanService, UserFinder userFinder, I18n i18n, Durations durations, Languages languages,
-    UserSession userSession) {
-    this.dbClient = dbClient;
+  public SearchAction(IssueService service, IssueActionsWriter actionsWriter, IssueQueryService issueQueryService,
+    SearchResponseLoader responseLoader, I18n i18n, Durations durations, Languages languages, UserSession userSession, System2 system) {
     this.service = service;
     this.actionsWriter = actionsWriter;
     this.issueQueryService = issueQueryService;
-    this.ruleService = ruleService;
-    this.actionPlanService = actionPlanService;
-    this.userFinder = userFinder;
+    this.responseLoader = responseLoader;
     this.i18n = i18n;
     this.durations = durations;
     this.languages = languages;
     this.userSession = userSession;
+    this.system = system;
   }
 
   @Override
@@ -125,6 +118,7 @@ public class SearchAction implements IssuesWsAction {
       .setDescription(
         "Get a list of issues. Requires Browse permission on project(s)")
       .setSince("3.6")
+      .setStreamed(true)
       .setResponseExample(Resources.getResource(this.getClass(), "example-search.json"));
 
     action.addPagingParams(100);
@@ -283,19 +277,39 @@ public class SearchAction implements IssuesWsAction {
     options.addFacets(request.paramAsStrings(WebService.Param.FACETS));
 
     IssueQuery query = issueQueryService.createFromRequest(request);
+    long start = system.now();
     SearchResult<IssueDoc> result = execute(query, options);
+    long searchDuration = system.now() - start;
+
+    SearchResponseData data = loadResponseData(request, result);
+
+    // headers must be set before writing the response, which is streamed
+    ((ResponseWithHeaders) response).setHeader(TIMING_HEADER, formatTimings(searchDuration, data.getDurationsMs()));
 
     JsonWriter json = response.newJsonWriter().beginObject();
     options.writeJson(json, result.getTotal());
     options.writeDeprecatedJson(json, result.getTotal());
 
-    writeResponse(request, result, json);
+    writeResponse(request, result, data, json);
     if (!options.getFacets().isEmpty()) {
       writeFacets(request, options, result, json);
     }
     json.endObject().close();
   }
 
+  /**
+   * Durations in milliseconds of the search and of the loading of data, for example
+   * "search;dur=12, comments;dur=2, users;dur=1, components;dur=4, actionPlans;dur=0, rules;dur=3"
+   */
+  private static String formatTimings(long searchDuration, Map<String, Long> loadingDurations) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("search;dur=").append(searchDuration);
+    for (Map.Entry<String, Long> entry : loadingDurations.entrySet()) {
+      sb.append(", ").append(entry.getKey()).append(";dur=").append(entry.getValue());
+    }
+    return sb.toString();
+  }
+
   private boolean shouldIgnorePaging(Request request) {
     List<String> componentUuids = request.paramAsStrings(IssueFilterParameters.COMPONENT_UUIDS);
     // Paging can be ignored only when querying issues for a single component (e.g in component viewer)
@@ -311,94 +325,52 @@ public class SearchAction implements IssuesWsAction {
     return service.search(query, options);
   }
 
-  private void writeResponse(Request request, SearchResult<IssueDoc> result, JsonWriter json) {
-    List<String> issueKeys = newArrayList();
-    Set<RuleKey> ruleKeys = newHashSet();
-    Set<String> projectUuids = newHashSet();
-    Set<String> componentUuids = newHashSet();
-    Set<String> actionPlanKeys = newHashSet();
-    List<String> userLogins = newArrayList();
-    Map<String, User> usersByLogin = newHashMap();
-    Map<String, ComponentDto> componentsByUuid = newHashMap();
-    Multimap<String, DefaultIssueComment> commentsByIssues = ArrayListMultimap.create();
-    Collection<ComponentDto> componentDtos = newHashSet();
-    Map<String, ComponentDto> projectsByComponentUuid = newHashMap();
-
+  private SearchResponseData loadResponseData(Request request, SearchResult<IssueDoc> result) {
+    SearchResponseLoader.Collector collector = new SearchResponseLoader.Collector();
     for (IssueDoc issueDoc : result.getDocs()) {
-      issueKeys.add(issueDoc.key());
-      ruleKeys.add(issueDoc.ruleKey());
-      projectUuids.add(issueDoc.projectUuid());
-      componentUuids.add(issueDoc.componentUuid());
-      actionPlanKeys.add(issueDoc.actionPlanKey());
-      if (issueDoc.reporter() != null) {
-        userLogins.add(issueDoc.reporter());
-      }
-      if (issueDoc.assignee() != null) {
-        userLogins.add(issueDoc.assignee());
-      }
+      collector.addIssueKey(issueDoc.key());
+      collector.addRuleKey(issueDoc.ruleKey());
+      collector.addProjectUuid(issueDoc.projectUuid());
+      collector.addComponentUuid(issueDoc.componentUuid());
+      collector.addActionPlanKey(issueDoc.actionPlanKey());
+      collector.addUserLogin(issueDoc.reporter());
+      collector.addUserLogin(issueDoc.assignee());
     }
 
-    collectRuleKeys(request, result, ruleKeys);
+    collectRuleKeys(request, result, collector);
 
-    collectFacetsData(request, result, projectUuids, componentUuids, userLogins, actionPlanKeys);
+    collectFacetsData(request, result, collector);
 
     if (userSession.isLoggedIn()) {
-      userLogins.add(userSession.getLogin());
-    }
-
-    DbSession session = dbClient.openSession(false);
-    try {
-      if (!BooleanUtils.isTrue(request.paramAsBoolean(IssueFilterParameters.HIDE_COMMENTS))) {
-        List<DefaultIssueComment> comments = dbClient.issueChangeDao().selectCommentsByIssues(session, issueKeys);
-        for (DefaultIssueComment issueComment : comments) {
-          userLogins.add(issueComment.userLogin());
-          commentsByIssues.put(issueComment.issueKey(), issueComment);
-        }
-      }
-      usersByLogin = getUsersByLogin(userLogins);
-
-      List<ComponentDto> fileDtos = dbClient.componentDao().selectByUuids(session, componentUuids);
-      List<ComponentDto> subProjectDtos = dbClient.componentDao().selectSubProjectsByComponentUuids(session, componentUuids);
-      componentDtos.addAll(fileDtos);
-      componentDtos.addAll(subProjectDtos);
-      for (ComponentDto component : componentDtos) {
-        projectUuids.add(component.projectUuid());
-      }
-
-      List<ComponentDto> projectDtos = dbClient.componentDao().selectByUuids(session, projectUuids);
-      componentDtos.addAll(projectDtos);
-      for (ComponentDto componentDto : componentDtos) {
-        componentsByUuid.put(componentDto.uuid(), componentDto);
-      }
-      projectsByComponentUuid = getProjectsByComponentUuid(componentDtos, projectDtos);
-
-      writeProjects(json, projectDtos);
-      writeComponents(json, componentDtos, projectsByComponentUuid);
-    } finally {
-      session.close();
+      collector.addUserLogin(userSession.getLogin());
     }
+    collector.setLoadComments(!BooleanUtils.isTrue(request.paramAsBoolean(IssueFilterParameters.HIDE_COMMENTS)));
+    collector.setLoadRules(!request.mandatoryParamAsBoolean(IssueFilterParameters.HIDE_RULES));
+    return responseLoader.load(collector);
+  }
 
-    Map<String, ActionPlan> actionPlanByKeys = getActionPlanByKeys(actionPlanKeys);
-
-    writeIssues(result, commentsByIssues, usersByLogin, actionPlanByKeys, componentsByUuid, projectsByComponentUuid,
-      request.paramAsStrings(EXTRA_FIELDS_PARAM), json);
-    writeRules(json, !request.mandatoryParamAsBoolean(IssueFilterParameters.HIDE_RULES) ? ruleService.getByKeys(ruleKeys) : Collections.<Rule>emptyList());
-    writeUsers(json, usersByLogin);
-    writeActionPlans(json, actionPlanByKeys.values());
+  private void writeResponse(Request request, SearchResult<IssueDoc> result, SearchResponseData data, JsonWriter json) {
+    writeProjects(json, data.getProjects());
+    writeComponents(json, data.getComponents(), data.getProjectsByComponentUuid());
+    writeIssues(result, data.getCommentsByIssueKey(), data.getUsersByLogin(), data.getActionPlansByKey(), data.getComponentsByUuid(),
+      data.getProjectsByComponentUuid(), request.paramAsStrings(EXTRA_FIELDS_PARAM), json);
+    writeRules(json, data.getRules());
+    writeUsers(json, data.getUsersByLogin());
+    writeActionPlans(json, data.getActionPlansByKey().values());
     writeLanguages(json);
   }
 
-  private void collectRuleKeys(Request request, SearchResult<IssueDoc> result, Set<RuleKey> ruleKeys) {
+  private void collectRuleKeys(Request request, SearchResult<IssueDoc> result, SearchResponseLoader.Collector collector) {
     Set<String> facetRules = result.getFacets().getBucketKeys(IssueFilterParameters.RULES);
     if (facetRules != null) {
       for (String rule : facetRules) {
-        ruleKeys.add(RuleKey.parse(rule));
+        collector.addRuleKey(RuleKey.parse(rule));
       }
     }
     List<String> rulesFromRequest = request.paramAsStrings(IssueFilterParameters.RULES);
     if (rulesFromRequest != null) {
       for (String ruleKey : rulesFromRequest) {
-        ruleKeys.add(RuleKey.parse(ruleKey));
+        collector.addRuleKey(RuleKey.parse(ruleKey));
       }
     }
   }
@@ -456,11 +428,12 @@ public class SearchAction implements IssuesWsAction {
     json.endArray();
   }
 
-  private void collectFacetsData(Request request, SearchResult<IssueDoc> result, Set<String> projectUuids, Set<String> componentUuids, List<String> userLogins,
-    Set<String> actionPlanKeys) {
+  private void collectFacetsData(Request request, SearchResult<IssueDoc> result, SearchResponseLoader.Collector collector) {
+    List<String> projectUuids = newArrayList();
     collectBucketKeys(result, IssueFilterParameters.PROJECT_UUIDS, projectUuids);
     collectParameterValues(request, IssueFilterParameters.PROJECT_UUIDS, projectUuids);
 
+    List<String> componentUuids = newArrayList();
     collectBucketKeys(result, IssueFilterParameters.COMPONENT_UUIDS, componentUuids);
     collectParameterValues(request, IssueFilterParameters.COMPONENT_UUIDS, componentUuids);
     collectBucketKeys(result, IssueFilterParameters.FILE_UUIDS, componentUuids);
@@ -470,12 +443,28 @@ public class SearchAction implements IssuesWsAction {
     collectParameterValues(request, IssueFilterParameters.MODULE_UUIDS, componentUuids);
     collectParameterValues(request, IssueFilterParameters.COMPONENT_ROOT_UUIDS, componentUuids);
 
+    List<String> userLogins = newArrayList();
     collectBucketKeys(result, IssueFilterParameters.ASSIGNEES, userLogins);
     collectParameterValues(request, IssueFilterParameters.ASSIGNEES, userLogins);
     collectBucketKeys(result, IssueFilterParameters.REPORTERS, userLogins);
     collectParameterValues(request, IssueFilterParameters.REPORTERS, userLogins);
+
+    List<String> actionPlanKeys = newArrayList();
     collectBucketKeys(result, IssueFilterParameters.ACTION_PLANS, actionPlanKeys);
     collectParameterValues(request, IssueFilterParameters.ACTION_PLANS, actionPlanKeys);
+
+    for (String projectUuid : projectUuids) {
+      collector.addProjectUuid(projectUuid);
+    }
+    for (String componentUuid : componentUuids) {
+      collector.addComponentUuid(componentUuid);
+    }
+    for (String userLogin : userLogins) {
+      collector.addUserLogin(userLogin);
+    }
+    for (String actionPlanKey : actionPlanKeys) {
+      collector.addActionPlanKey(actionPlanKey);
+    }
   }
 
   private void collectBucketKeys(SearchResult<IssueDoc> result, String facetName, Collection<String> bucketKeys) {
@@ -733,55 +722,6 @@ public class SearchAction implements IssuesWsAction {
     }
   }
 
-  private Map<String, User> getUsersByLogin(List<String> userLogins) {
-    Map<String, User> usersByLogin = newHashMap();
-    for (User user : userFinder.findByLogins(userLogins)) {
-      usersByLogin.put(user.login(), user);
-    }
-    return usersByLogin;
-  }
-
-  private Map<String, ActionPlan> getActionPlanByKeys(Collection<String> actionPlanKeys) {
-    Map<String, ActionPlan> actionPlans = newHashMap();
-    for (ActionPlan actionPlan : actionPlanService.findByKeys(actionPlanKeys)) {
-      actionPlans.put(actionPlan.key(), actionPlan);
-    }
-    return actionPlans;
-  }
-
-  private Map<String, ComponentDto> getProjectsByComponentUuid(Collection<ComponentDto> components, Collection<ComponentDto> projects) {
-    Map<String, ComponentDto> projectsByUuid = buildProjectsByUuid(projects);
-    return buildProjectsByComponentUuid(components, projectsByUuid);
-  }
-
-  private Map<String, ComponentDto> buildProjectsByUuid(Collection<ComponentDto> projects) {
-    Map<String, ComponentDto> projectsByUuid = newHashMap();
-    for (ComponentDto project : projects) {
-      if (project == null) {
-        throw new IllegalStateException("Found a null project in issues");
-      }
-      if (project.uuid() == null) {
-        throw new IllegalStateException("Project has no UUID: " + project.getKey());
-      }
-      projectsByUuid.put(project.uuid(), project);
-    }
-    return projectsByUuid;
-  }
-
-  private Map<String, ComponentDto> buildProjectsByComponentUuid(Collection<ComponentDto> components, Map<String, ComponentDto> projectsByUuid) {
-    Map<String, ComponentDto> projectsByComponentUuid = newHashMap();
-    for (ComponentDto component : components) {
-      if (component.uuid() == null) {
-        throw new IllegalStateException("Component has no UUID: " + component.getKey());
-      }
-      if (!projectsByUuid.containsKey(component.projectUuid())) {
-        throw new IllegalStateException("Project cannot be found for component: " + component.getKey() + " / " + component.uuid());
-      }
-      projectsByComponentUuid.put(component.uuid(), projectsByUuid.get(component.projectUuid()));
-    }
-    return projectsByComponentUuid;
-  }
-
   @CheckForNull
   private String isoDate(@Nullable Date date) {
     if (date != null) {
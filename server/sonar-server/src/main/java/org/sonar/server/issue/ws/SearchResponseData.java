@@ -0,0 +1,98 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.ws;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.sonar.api.issue.ActionPlan;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.user.User;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.server.rule.Rule;
+
+/**
+ * Data loaded by {@link SearchResponseLoader} to complete the issues of a search response
+ */
+public class SearchResponseData {
+
+  private final Multimap<String, DefaultIssueComment> commentsByIssueKey = ArrayListMultimap.create();
+  private final Map<String, User> usersByLogin = new HashMap<>();
+  private final Map<String, ComponentDto> componentsByUuid = new HashMap<>();
+  private final List<ComponentDto> components = new ArrayList<>();
+  private final List<ComponentDto> projects = new ArrayList<>();
+  private final Map<String, ComponentDto> projectsByComponentUuid = new HashMap<>();
+  private final Map<String, ActionPlan> actionPlansByKey = new HashMap<>();
+  private final Map<RuleKey, Rule> rulesByKey = new LinkedHashMap<>();
+  private final Map<String, Long> durationsMs = new LinkedHashMap<>();
+
+  public Multimap<String, DefaultIssueComment> getCommentsByIssueKey() {
+    return commentsByIssueKey;
+  }
+
+  public Map<String, User> getUsersByLogin() {
+    return usersByLogin;
+  }
+
+  public Map<String, ComponentDto> getComponentsByUuid() {
+    return componentsByUuid;
+  }
+
+  /**
+   * Files, sub-projects and projects
+   */
+  public List<ComponentDto> getComponents() {
+    return components;
+  }
+
+  public List<ComponentDto> getProjects() {
+    return projects;
+  }
+
+  public Map<String, ComponentDto> getProjectsByComponentUuid() {
+    return projectsByComponentUuid;
+  }
+
+  public Map<String, ActionPlan> getActionPlansByKey() {
+    return actionPlansByKey;
+  }
+
+  public Collection<Rule> getRules() {
+    return Collections.unmodifiableCollection(rulesByKey.values());
+  }
+
+  Map<RuleKey, Rule> getRulesByKey() {
+    return rulesByKey;
+  }
+
+  /**
+   * Durations of the loading of each kind of data
+   */
+  public Map<String, Long> getDurationsMs() {
+    return durationsMs;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.ws;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.sonar.api.issue.ActionPlan;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.server.ServerSide;
+import org.sonar.api.user.User;
+import org.sonar.api.utils.System2;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.user.UserDto;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.issue.actionplan.ActionPlanService;
+import org.sonar.server.rule.Rule;
+import org.sonar.server.rule.RuleService;
+import org.sonar.server.util.cache.BulkCacheLoader;
+
+/**
+ * Loads all the data referenced by the issues of a search response (comments, users, components,
+ * action plans and rules) with one request per kind of data. Rules, users and projects are
+ * read from {@link ReferenceDataCache} when possible. A single db session is used per search.
+ */
+@ServerSide
+public class SearchResponseLoader {
+
+  private final DbClient dbClient;
+  private final RuleService ruleService;
+  private final ActionPlanService actionPlanService;
+  private final ReferenceDataCache cache;
+  private final System2 system;
+
+  public SearchResponseLoader(DbClient dbClient, RuleService ruleService, ActionPlanService actionPlanService, ReferenceDataCache cache, System2 system) {
+    this.dbClient = dbClient;
+    this.ruleService = ruleService;
+    this.actionPlanService = actionPlanService;
+    this.cache = cache;
+    this.system = system;
+  }
+
+  public SearchResponseData load(Collector collector) {
+    SearchResponseData data = new SearchResponseData();
+    DbSession session = dbClient.openSession(false);
+    try {
+      long start = system.now();
+      if (collector.loadComments) {
+        loadComments(collector, session, data);
+        start = logDuration(data, "comments", start);
+      }
+      loadUsers(collector, session, data);
+      start = logDuration(data, "users", start);
+      loadComponents(collector, session, data);
+      start = logDuration(data, "components", start);
+      loadActionPlans(collector, data);
+      start = logDuration(data, "actionPlans", start);
+      if (collector.loadRules) {
+        loadRules(collector, data);
+        logDuration(data, "rules", start);
+      }
+      return data;
+    } finally {
+      session.close();
+    }
+  }
+
+  private long logDuration(SearchResponseData data, String name, long start) {
+    long now = system.now();
+    data.getDurationsMs().put(name, now - start);
+    return now;
+  }
+
+  private void loadComments(Collector collector, DbSession session, SearchResponseData data) {
+    if (collector.issueKeys.isEmpty()) {
+      return;
+    }
+    List<DefaultIssueComment> comments = dbClient.issueChangeDao().selectCommentsByIssues(session, collector.issueKeys);
+    for (DefaultIssueComment comment : comments) {
+      if (comment.userLogin() != null) {
+        collector.userLogins.add(comment.userLogin());
+      }
+      data.getCommentsByIssueKey().put(comment.issueKey(), comment);
+    }
+  }
+
+  private void loadUsers(Collector collector, final DbSession session, SearchResponseData data) {
+    if (collector.userLogins.isEmpty()) {
+      return;
+    }
+    data.getUsersByLogin().putAll(cache.usersByLogin().getAll(collector.userLogins, new BulkCacheLoader<String, User>() {
+      @Override
+      public Map<String, User> loadAll(Collection<? extends String> logins) {
+        Map<String, User> result = new HashMap<>();
+        for (UserDto dto : dbClient.userDao().selectUsersByLogins(session, new ArrayList<>(logins))) {
+          result.put(dto.getLogin(), dto.toUser());
+        }
+        return result;
+      }
+    }));
+  }
+
+  private void loadComponents(Collector collector, final DbSession session, SearchResponseData data) {
+    Map<String, ComponentDto> componentsByUuid = new LinkedHashMap<>();
+    if (!collector.componentUuids.isEmpty()) {
+      for (ComponentDto component : dbClient.componentDao().selectByUuids(session, collector.componentUuids)) {
+        componentsByUuid.put(component.uuid(), component);
+      }
+      for (ComponentDto component : dbClient.componentDao().selectSubProjectsByComponentUuids(session, collector.componentUuids)) {
+        componentsByUuid.put(component.uuid(), component);
+      }
+    }
+    for (ComponentDto component : componentsByUuid.values()) {
+      collector.projectUuids.add(component.projectUuid());
+    }
+
+    Map<String, ComponentDto> projectsByUuid = new HashMap<>();
+    if (!collector.projectUuids.isEmpty()) {
+      projectsByUuid.putAll(cache.projectsByUuid().getAll(collector.projectUuids, new BulkCacheLoader<String, ComponentDto>() {
+        @Override
+        public Map<String, ComponentDto> loadAll(Collection<? extends String> uuids) {
+          Map<String, ComponentDto> result = new HashMap<>();
+          for (ComponentDto project : dbClient.componentDao().selectByUuids(session, new ArrayList<>(uuids))) {
+            result.put(project.uuid(), project);
+          }
+          return result;
+        }
+      }));
+    }
+    for (String projectUuid : collector.projectUuids) {
+      ComponentDto project = projectsByUuid.get(projectUuid);
+      if (project != null) {
+        data.getProjects().add(project);
+        componentsByUuid.put(project.uuid(), project);
+      }
+    }
+
+    data.getComponentsByUuid().putAll(componentsByUuid);
+    data.getComponents().addAll(componentsByUuid.values());
+    for (ComponentDto component : componentsByUuid.values()) {
+      if (component.uuid() == null) {
+        throw new IllegalStateException("Component has no UUID: " + component.getKey());
+      }
+      ComponentDto project = projectsByUuid.get(component.projectUuid());
+      if (project == null) {
+        throw new IllegalStateException("Project cannot be found for component: " + component.getKey() + " / " + component.uuid());
+      }
+      data.getProjectsByComponentUuid().put(component.uuid(), project);
+    }
+  }
+
+  private void loadActionPlans(Collector collector, SearchResponseData data) {
+    if (collector.actionPlanKeys.isEmpty()) {
+      return;
+    }
+    for (ActionPlan actionPlan : actionPlanService.findByKeys(collector.actionPlanKeys)) {
+      data.getActionPlansByKey().put(actionPlan.key(), actionPlan);
+    }
+  }
+
+  private void loadRules(Collector collector, SearchResponseData data) {
+    if (collector.ruleKeys.isEmpty()) {
+      return;
+    }
+    Map<RuleKey, Rule> rulesByKey = cache.rules().getAll(collector.ruleKeys, new BulkCacheLoader<RuleKey, Rule>() {
+      @Override
+      public Map<RuleKey, Rule> loadAll(Collection<? extends RuleKey> keys) {
+        Map<RuleKey, Rule> result = new HashMap<>();
+        for (Rule rule : ruleService.getByKeys(new ArrayList<RuleKey>(keys))) {
+          result.put(rule.key(), rule);
+        }
+        return result;
+      }
+    });
+    for (RuleKey ruleKey : collector.ruleKeys) {
+      Rule rule = rulesByKey.get(ruleKey);
+      if (rule != null) {
+        data.getRulesByKey().put(ruleKey, rule);
+      }
+    }
+  }
+
+  /**
+   * Keys of the data to be loaded. Null keys are ignored.
+   */
+  public static class Collector {
+    private final Set<String> issueKeys = new LinkedHashSet<>();
+    private final Set<RuleKey> ruleKeys = new LinkedHashSet<>();
+    private final Set<String> projectUuids = new LinkedHashSet<>();
+    private final Set<String> componentUuids = new LinkedHashSet<>();
+    private final Set<String> actionPlanKeys = new LinkedHashSet<>();
+    private final Set<String> userLogins = new LinkedHashSet<>();
+    private boolean loadComments = true;
+    private boolean loadRules = true;
+
+    public Collector addIssueKey(@Nullable String s) {
+      addNotNull(issueKeys, s);
+      return this;
+    }
+
+    public Collector addRuleKey(@Nullable RuleKey key) {
+      addNotNull(ruleKeys, key);
+      return this;
+    }
+
+    public Collector addProjectUuid(@Nullable String s) {
+      addNotNull(projectUuids, s);
+      return this;
+    }
+
+    public Collector addComponentUuid(@Nullable String s) {
+      addNotNull(componentUuids, s);
+      return this;
+    }
+
+    public Collector addActionPlanKey(@Nullable String s) {
+      addNotNull(actionPlanKeys, s);
+      return this;
+    }
+
+    public Collector addUserLogin(@Nullable String s) {
+      addNotNull(userLogins, s);
+      return this;
+    }
+
+    public Collector setLoadComments(boolean b) {
+      this.loadComments = b;
+      return this;
+    }
+
+    public Collector setLoadRules(boolean b) {
+      this.loadRules = b;
+      return this;
+    }
+
+    private static <T> void addNotNull(Collection<T> collection, @Nullable T value) {
+      if (value != null) {
+        collection.add(value);
+      }
+    }
+  }
+}
@@ -23,11 +23,15 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 import org.sonar.core.component.SnapshotDto;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.util.List;
+
 class MeasureFilterContext {
   private Long userId = null;
   private SnapshotDto baseSnapshot = null;
+  private List<Long> componentIdsMatchingName = null;
   private String sql;
   private String data;
 
@@ -49,6 +53,21 @@ class MeasureFilterContext {
     return this;
   }
 
+  /**
+   * Ids of the components whose name contains the text of the filter, as returned by the index
+   * of components. {@code null} if the filter is not on name, or if the text is too short to be
+   * searched in the index.
+   */
+  @CheckForNull
+  List<Long> getComponentIdsMatchingName() {
+    return componentIdsMatchingName;
+  }
+
+  MeasureFilterContext setComponentIdsMatchingName(@Nullable List<Long> ids) {
+    this.componentIdsMatchingName = ids;
+    return this;
+  }
+
   String getSql() {
     return sql;
   }
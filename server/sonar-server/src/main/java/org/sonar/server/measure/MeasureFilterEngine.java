@@ -37,10 +37,12 @@ public class MeasureFilterEngine {
 
   private final MeasureFilterFactory factory;
   private final MeasureFilterExecutor executor;
+  private final MeasureFilterIndexExecutor indexExecutor;
 
-  public MeasureFilterEngine(MeasureFilterFactory factory, MeasureFilterExecutor executor) {
+  public MeasureFilterEngine(MeasureFilterFactory factory, MeasureFilterExecutor executor, MeasureFilterIndexExecutor indexExecutor) {
     this.executor = executor;
     this.factory = factory;
+    this.indexExecutor = indexExecutor;
   }
 
   public MeasureFilterResult execute(Map<String, Object> filterMap, @Nullable Long userId) {
@@ -52,7 +54,13 @@ public class MeasureFilterEngine {
     try {
       profiler.addContext("request", context.getData());
       MeasureFilter filter = factory.create(filterMap);
-      List<MeasureFilterRow> rows = executor.execute(filter, context);
+      List<MeasureFilterRow> rows;
+      if (MeasureFilterIndexExecutor.supports(filter)) {
+        profiler.addContext("index", true);
+        rows = indexExecutor.execute(filter);
+      } else {
+        rows = executor.execute(filter, context);
+      }
       result.setRows(rows);
 
     } catch (NumberFormatException e) {
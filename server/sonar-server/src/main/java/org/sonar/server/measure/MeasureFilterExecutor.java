@@ -21,11 +21,13 @@ package org.sonar.server.measure;
 
 import com.google.common.base.Strings;
 import org.apache.commons.dbutils.DbUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.ibatis.session.SqlSession;
 import org.sonar.api.server.ServerSide;
 import org.sonar.core.persistence.Database;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.resource.ResourceDao;
+import org.sonar.server.component.index.ComponentIndex;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -38,11 +40,13 @@ public class MeasureFilterExecutor {
   private MyBatis mybatis;
   private Database database;
   private ResourceDao resourceDao;
+  private ComponentIndex componentIndex;
 
-  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao) {
+  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao, ComponentIndex componentIndex) {
     this.mybatis = mybatis;
     this.database = database;
     this.resourceDao = resourceDao;
+    this.componentIndex = componentIndex;
   }
 
   public List<MeasureFilterRow> execute(MeasureFilter filter, MeasureFilterContext context) throws SQLException {
@@ -78,12 +82,17 @@ public class MeasureFilterExecutor {
     if (filter.getBaseResourceKey() != null) {
       context.setBaseSnapshot(resourceDao.getLastSnapshot(filter.getBaseResourceKey(), session));
     }
+    String resourceName = StringUtils.trimToEmpty(filter.getResourceName());
+    if (resourceName.length() >= ComponentIndex.MINIMUM_SEARCH_CHARACTERS) {
+      context.setComponentIdsMatchingName(componentIndex.searchIdsByName(resourceName, filter.getResourceQualifiers(), null));
+    }
   }
 
   static boolean isValid(MeasureFilter filter, MeasureFilterContext context) {
     boolean valid = Strings.isNullOrEmpty(filter.getBaseResourceKey()) || context.getBaseSnapshot() != null;
     valid &= !(filter.isOnBaseResourceChildren() && context.getBaseSnapshot() == null);
     valid &= !(filter.isOnFavourites() && context.getUserId() == null);
+    valid &= context.getComponentIdsMatchingName() == null || !context.getComponentIdsMatchingName().isEmpty();
     valid &= validateMeasureConditions(filter);
     valid &= validateSort(filter);
     return valid;
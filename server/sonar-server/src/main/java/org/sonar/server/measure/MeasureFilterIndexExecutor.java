@@ -0,0 +1,236 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.apache.commons.lang.StringUtils;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.AndFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeFilterBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.api.server.ServerSide;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.search.IndexField;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ANALYSED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_COMPONENT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_CREATED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_DESCRIPTION;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_KEY;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURES;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ROOT_COMPONENT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SCOPE;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SHORT_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SNAPSHOT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_VERSION;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.INDEX;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.TYPE_COMPONENT;
+
+/**
+ * Executes measure filters on the Elasticsearch index {@link org.sonar.server.measure.index.MeasureIndexDefinition}, which
+ * contains the last analyses of projects and modules. Conditions and sorting are processed by Elasticsearch, then all the
+ * matching documents are scrolled. Paging is done by the caller on the returned rows. Filters that are not supported by
+ * the index (see {@link #supports(MeasureFilter)}) are executed in db by {@link MeasureFilterExecutor}.
+ */
+@ServerSide
+public class MeasureFilterIndexExecutor {
+
+  private static final Set<String> INDEXED_QUALIFIERS = ImmutableSet.of(Qualifiers.PROJECT, Qualifiers.MODULE);
+  private static final int SCROLL_TIME_IN_MINUTES = 3;
+  private static final int PAGE_SIZE = 500;
+
+  private final EsClient esClient;
+  private final ComponentIndex componentIndex;
+
+  public MeasureFilterIndexExecutor(EsClient esClient, ComponentIndex componentIndex) {
+    this.esClient = esClient;
+    this.componentIndex = componentIndex;
+  }
+
+  /**
+   * The index does not support filters on favourites, on the components of a base resource, on variations, on text measures
+   * or on other qualifiers than projects and modules.
+   */
+  static boolean supports(MeasureFilter filter) {
+    if (filter.isEmpty() || !Strings.isNullOrEmpty(filter.getBaseResourceKey()) || filter.isOnFavourites()) {
+      return false;
+    }
+    if (filter.getResourceQualifiers().isEmpty() || !INDEXED_QUALIFIERS.containsAll(filter.getResourceQualifiers())) {
+      return false;
+    }
+    if (!ImmutableSet.of(Scopes.PROJECT).containsAll(filter.getResourceScopes())) {
+      return false;
+    }
+    for (MeasureFilterCondition condition : filter.getMeasureConditions()) {
+      if (!supports(condition)) {
+        return false;
+      }
+    }
+    MeasureFilterSort sort = filter.sort();
+    return sort.period() == null && (!sort.onMeasures() || sort.isOnNumericMeasure());
+  }
+
+  private static boolean supports(MeasureFilterCondition condition) {
+    return condition.metric() != null && condition.metric().isNumericType() && condition.period() == null
+      && condition.textValue() == null && condition.operator() != MeasureFilterCondition.Operator.IN;
+  }
+
+  public List<MeasureFilterRow> execute(MeasureFilter filter) {
+    AndFilterBuilder esFilter = createFilter(filter);
+    String resourceName = StringUtils.trimToEmpty(filter.getResourceName());
+    if (resourceName.length() >= ComponentIndex.MINIMUM_SEARCH_CHARACTERS) {
+      List<Long> componentIds = componentIndex.searchIdsByName(resourceName, filter.getResourceQualifiers(), null);
+      if (componentIds.isEmpty()) {
+        return Collections.emptyList();
+      }
+      esFilter.add(FilterBuilders.termsFilter(FIELD_COMPONENT_ID, componentIds));
+    } else if (!resourceName.isEmpty()) {
+      // text is too short to be searched in the index of components
+      esFilter.add(containsFilter(FIELD_SHORT_NAME, resourceName));
+    }
+
+    SearchRequestBuilder request = esClient.prepareSearch(INDEX)
+      .setTypes(TYPE_COMPONENT)
+      .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+      .setSize(PAGE_SIZE)
+      .setFetchSource(new String[] {FIELD_SNAPSHOT_ID, FIELD_COMPONENT_ID, FIELD_ROOT_COMPONENT_ID}, null)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), esFilter))
+      .addSort(SortBuilders.fieldSort(sortField(filter.sort()))
+        .order(filter.sort().isAsc() ? SortOrder.ASC : SortOrder.DESC)
+        .missing("_last")
+        .ignoreUnmapped(true));
+
+    List<MeasureFilterRow> rows = Lists.newArrayList();
+    SearchResponse response = request.get();
+    while (response.getHits().getHits().length > 0) {
+      for (SearchHit hit : response.getHits()) {
+        Map<String, Object> source = hit.getSource();
+        rows.add(new MeasureFilterRow(
+          ((Number) source.get(FIELD_SNAPSHOT_ID)).longValue(),
+          ((Number) source.get(FIELD_COMPONENT_ID)).longValue(),
+          ((Number) source.get(FIELD_ROOT_COMPONENT_ID)).longValue()));
+      }
+      response = esClient.prepareSearchScroll(response.getScrollId())
+        .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+        .get();
+    }
+    return rows;
+  }
+
+  private static AndFilterBuilder createFilter(MeasureFilter filter) {
+    AndFilterBuilder and = FilterBuilders.andFilter(FilterBuilders.termsFilter(FIELD_QUALIFIER, filter.getResourceQualifiers()));
+    if (!filter.getResourceScopes().isEmpty()) {
+      and.add(FilterBuilders.termsFilter(FIELD_SCOPE, filter.getResourceScopes()));
+    }
+    Date fromDate = filter.getFromDate();
+    Date toDate = filter.getToDate();
+    if (fromDate != null || toDate != null) {
+      RangeFilterBuilder range = FilterBuilders.rangeFilter(FIELD_ANALYSED_AT);
+      if (fromDate != null) {
+        range.gte(fromDate);
+      }
+      if (toDate != null) {
+        range.lte(toDate);
+      }
+      and.add(range);
+    }
+    if (StringUtils.isNotBlank(filter.getResourceKey())) {
+      and.add(containsFilter(FIELD_KEY, filter.getResourceKey()));
+    }
+    for (MeasureFilterCondition condition : filter.getMeasureConditions()) {
+      and.add(conditionFilter(condition));
+    }
+    return and;
+  }
+
+  /**
+   * Case-insensitive search of a part of the value, as done by SQL "LIKE %value%" on the lower-cased sortable sub-field
+   */
+  private static FilterBuilder containsFilter(String field, String value) {
+    String escaped = StringUtils.lowerCase(value).replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+    return FilterBuilders.queryFilter(QueryBuilders.wildcardQuery(sortSubField(field), "*" + escaped + "*"));
+  }
+
+  private static FilterBuilder conditionFilter(MeasureFilterCondition condition) {
+    String field = FIELD_MEASURES + "." + condition.metric().getKey();
+    double value = condition.value();
+    switch (condition.operator()) {
+      case EQUALS:
+        return FilterBuilders.termFilter(field, value);
+      case GREATER:
+        return FilterBuilders.rangeFilter(field).gt(value);
+      case GREATER_OR_EQUALS:
+        return FilterBuilders.rangeFilter(field).gte(value);
+      case LESS:
+        return FilterBuilders.rangeFilter(field).lt(value);
+      case LESS_OR_EQUALS:
+        return FilterBuilders.rangeFilter(field).lte(value);
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + condition.operator());
+    }
+  }
+
+  private static String sortField(MeasureFilterSort sort) {
+    switch (sort.field()) {
+      case KEY:
+        return sortSubField(FIELD_KEY);
+      case NAME:
+        return sortSubField(FIELD_NAME);
+      case SHORT_NAME:
+        return sortSubField(FIELD_SHORT_NAME);
+      case DESCRIPTION:
+        return sortSubField(FIELD_DESCRIPTION);
+      case VERSION:
+        return sortSubField(FIELD_VERSION);
+      case DATE:
+        return FIELD_ANALYSED_AT;
+      case PROJECT_CREATION_DATE:
+        return FIELD_CREATED_AT;
+      case METRIC:
+        return FIELD_MEASURES + "." + sort.metric().getKey();
+      default:
+        throw new IllegalArgumentException("Unsupported sorting: " + sort.field());
+    }
+  }
+
+  private static String sortSubField(String field) {
+    return field + "." + IndexField.SORT_SUFFIX;
+  }
+}
@@ -20,6 +20,7 @@
 package org.sonar.server.measure;
 
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
@@ -218,15 +219,25 @@ class MeasureFilterSql {
 
   private void appendResourceNameCondition(StringBuilder sb) {
     if (StringUtils.isNotBlank(filter.getResourceName())) {
-      sb.append(" AND s.project_id IN (SELECT rindex.resource_id FROM resource_index rindex WHERE rindex.kee LIKE '");
-      sb.append(escapePercentAndUnderscrore(StringEscapeUtils.escapeSql(StringUtils.lowerCase(filter.getResourceName()))));
-      sb.append("%'");
-      appendEscapeForSomeDb(sb);
-      if (!filter.getResourceQualifiers().isEmpty()) {
-        sb.append(" AND rindex.qualifier IN ");
-        appendInStatement(filter.getResourceQualifiers(), sb);
+      List<Long> componentIds = context.getComponentIdsMatchingName();
+      if (componentIds == null) {
+        // text is too short to be searched in the index of components
+        sb.append(" AND LOWER(p.name) LIKE '%");
+        sb.append(escapePercentAndUnderscrore(StringEscapeUtils.escapeSql(StringUtils.lowerCase(filter.getResourceName()))));
+        sb.append("%'");
+        appendEscapeForSomeDb(sb);
+      } else {
+        // ids are partitioned because of the limitation of Oracle on the size of IN statements
+        sb.append(" AND (");
+        List<List<Long>> partitions = Lists.partition(componentIds, 1000);
+        for (int i = 0; i < partitions.size(); i++) {
+          if (i > 0) {
+            sb.append(" OR ");
+          }
+          sb.append("s.project_id IN (").append(Joiner.on(',').join(partitions.get(i))).append(")");
+        }
+        sb.append(") ");
       }
-      sb.append(") ");
     }
   }
 
@@ -0,0 +1,166 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Maps;
+import org.sonar.server.search.BaseDoc;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ANALYSED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_COMPONENT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_CREATED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_DESCRIPTION;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_KEY;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_MEASURES;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_PROJECT_UUID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_QUALIFIER;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ROOT_COMPONENT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SCOPE;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SHORT_NAME;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_SNAPSHOT_ID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_UUID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_VERSION;
+
+public class MeasureDoc extends BaseDoc {
+
+  public MeasureDoc(Map<String, Object> fields) {
+    super(fields);
+  }
+
+  public MeasureDoc() {
+    super(Maps.<String, Object>newHashMapWithExpectedSize(16));
+    setField(FIELD_MEASURES, Maps.<String, Object>newHashMap());
+  }
+
+  public String uuid() {
+    return getField(FIELD_UUID);
+  }
+
+  public MeasureDoc setUuid(String s) {
+    setField(FIELD_UUID, s);
+    return this;
+  }
+
+  public String projectUuid() {
+    return getField(FIELD_PROJECT_UUID);
+  }
+
+  public MeasureDoc setProjectUuid(String s) {
+    setField(FIELD_PROJECT_UUID, s);
+    return this;
+  }
+
+  public long snapshotId() {
+    return ((Number) getField(FIELD_SNAPSHOT_ID)).longValue();
+  }
+
+  public MeasureDoc setSnapshotId(long l) {
+    setField(FIELD_SNAPSHOT_ID, l);
+    return this;
+  }
+
+  public long componentId() {
+    return ((Number) getField(FIELD_COMPONENT_ID)).longValue();
+  }
+
+  public MeasureDoc setComponentId(long l) {
+    setField(FIELD_COMPONENT_ID, l);
+    return this;
+  }
+
+  public long rootComponentId() {
+    return ((Number) getField(FIELD_ROOT_COMPONENT_ID)).longValue();
+  }
+
+  public MeasureDoc setRootComponentId(long l) {
+    setField(FIELD_ROOT_COMPONENT_ID, l);
+    return this;
+  }
+
+  public String key() {
+    return getField(FIELD_KEY);
+  }
+
+  public MeasureDoc setKey(String s) {
+    setField(FIELD_KEY, s);
+    return this;
+  }
+
+  public MeasureDoc setName(@Nullable String s) {
+    setField(FIELD_NAME, s);
+    return this;
+  }
+
+  public MeasureDoc setShortName(@Nullable String s) {
+    setField(FIELD_SHORT_NAME, s);
+    return this;
+  }
+
+  public MeasureDoc setDescription(@Nullable String s) {
+    setField(FIELD_DESCRIPTION, s);
+    return this;
+  }
+
+  public MeasureDoc setVersion(@Nullable String s) {
+    setField(FIELD_VERSION, s);
+    return this;
+  }
+
+  public MeasureDoc setQualifier(String s) {
+    setField(FIELD_QUALIFIER, s);
+    return this;
+  }
+
+  public MeasureDoc setScope(String s) {
+    setField(FIELD_SCOPE, s);
+    return this;
+  }
+
+  public MeasureDoc setAnalysedAt(Date d) {
+    setField(FIELD_ANALYSED_AT, d);
+    return this;
+  }
+
+  public MeasureDoc setCreatedAt(@Nullable Date d) {
+    setField(FIELD_CREATED_AT, d);
+    return this;
+  }
+
+  public Map<String, Object> measures() {
+    return getField(FIELD_MEASURES);
+  }
+
+  @CheckForNull
+  public Double measure(String metricKey) {
+    Number value = (Number) measures().get(metricKey);
+    return value != null ? value.doubleValue() : null;
+  }
+
+  public MeasureDoc setMeasure(String metricKey, double value) {
+    measures().put(metricKey, value);
+    return this;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.ImmutableMap;
+import org.sonar.api.config.Settings;
+import org.sonar.server.es.IndexDefinition;
+import org.sonar.server.es.NewIndex;
+
+/**
+ * Definition of ES index "measures", used by measure filters. A document is the last analysis of a project
+ * or of a module, with the values of its measures. Measures are stored in the object {@link #FIELD_MEASURES}, with a
+ * field per metric key.
+ */
+public class MeasureIndexDefinition implements IndexDefinition {
+
+  public static final String INDEX = "measures";
+
+  public static final String TYPE_COMPONENT = "component";
+
+  public static final String FIELD_UUID = "uuid";
+  public static final String FIELD_PROJECT_UUID = "projectUuid";
+  public static final String FIELD_SNAPSHOT_ID = "snapshotId";
+  public static final String FIELD_COMPONENT_ID = "componentId";
+  public static final String FIELD_ROOT_COMPONENT_ID = "rootComponentId";
+  public static final String FIELD_KEY = "key";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_SHORT_NAME = "shortName";
+  public static final String FIELD_DESCRIPTION = "description";
+  public static final String FIELD_VERSION = "version";
+  public static final String FIELD_QUALIFIER = "qualifier";
+  public static final String FIELD_SCOPE = "scope";
+  public static final String FIELD_ANALYSED_AT = "analysedAt";
+  public static final String FIELD_CREATED_AT = "createdAt";
+  public static final String FIELD_MEASURES = "measures";
+
+  private final Settings settings;
+
+  public MeasureIndexDefinition(Settings settings) {
+    this.settings = settings;
+  }
+
+  @Override
+  public void define(IndexDefinitionContext context) {
+    NewIndex index = context.create(INDEX);
+
+    index.refreshHandledByIndexer();
+    index.setShards(settings);
+
+    // type "component"
+    NewIndex.NewIndexType mapping = index.createType(TYPE_COMPONENT);
+    mapping.setAttribute("_id", ImmutableMap.of("path", FIELD_UUID));
+    mapping.setAttribute("_routing", ImmutableMap.of("required", true, "path", FIELD_PROJECT_UUID));
+    mapping.stringFieldBuilder(FIELD_UUID).build();
+    mapping.stringFieldBuilder(FIELD_PROJECT_UUID).build();
+    mapping.createLongField(FIELD_SNAPSHOT_ID);
+    mapping.createLongField(FIELD_COMPONENT_ID);
+    mapping.createLongField(FIELD_ROOT_COMPONENT_ID);
+    mapping.stringFieldBuilder(FIELD_KEY).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_SHORT_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_DESCRIPTION).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_VERSION).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_QUALIFIER).build();
+    mapping.stringFieldBuilder(FIELD_SCOPE).build();
+    mapping.createDateTimeField(FIELD_ANALYSED_AT);
+    mapping.createDateTimeField(FIELD_CREATED_AT);
+    // a double field is created on the fly for each metric
+    mapping.setProperty(FIELD_MEASURES, ImmutableMap.of("type", "object", "dynamic", "true"));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.es.BulkIndexer;
+import org.sonar.server.es.EsClient;
+
+import javax.annotation.Nullable;
+
+import java.util.Date;
+import java.util.Iterator;
+
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_ANALYSED_AT;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.FIELD_PROJECT_UUID;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.INDEX;
+import static org.sonar.server.measure.index.MeasureIndexDefinition.TYPE_COMPONENT;
+
+/**
+ * Add to Elasticsearch index {@link MeasureIndexDefinition} the measures of the last analyses
+ * of projects and modules.
+ */
+public class MeasureIndexer extends BaseIndexer {
+
+  private final DbClient dbClient;
+
+  public MeasureIndexer(DbClient dbClient, EsClient esClient) {
+    super(esClient, 300, INDEX, TYPE_COMPONENT, FIELD_ANALYSED_AT);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Index all the projects if the index is empty (only used on startup). Afterwards the index is
+   * updated by the compute engine, see {@link #index(String)}.
+   */
+  @Override
+  protected long doIndex(long lastUpdatedAt) {
+    long count = esClient.prepareCount(INDEX).setTypes(TYPE_COMPONENT).get().getCount();
+    if (count == 0) {
+      return doIndex(null);
+    }
+    return 0L;
+  }
+
+  /**
+   * Replace the documents of a project and of its modules by their last analysis.
+   * Used by the compute engine once the snapshot of the analysis is flagged as the last one.
+   */
+  public void index(final String projectUuid) {
+    super.index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        deleteByProject(projectUuid);
+        return doIndex(projectUuid);
+      }
+    });
+  }
+
+  private long doIndex(@Nullable String projectUuid) {
+    BulkIndexer bulk = new BulkIndexer(esClient, INDEX);
+    bulk.setLarge(projectUuid == null);
+
+    DbSession dbSession = dbClient.openSession(false);
+    try {
+      MeasureResultSetIterator rowIt = MeasureResultSetIterator.create(dbClient, dbSession.getConnection(), projectUuid);
+      long maxAnalysedAt = doIndex(bulk, rowIt);
+      rowIt.close();
+      return maxAnalysedAt;
+    } finally {
+      dbSession.close();
+    }
+  }
+
+  /**
+   * Rows are sorted by snapshot, so that a document is complete when the snapshot of the next row changes
+   */
+  private static long doIndex(BulkIndexer bulk, Iterator<MeasureResultSetIterator.Row> rows) {
+    long maxAnalysedAt = 0L;
+    bulk.start();
+    MeasureDoc doc = null;
+    long snapshotId = -1L;
+    while (rows.hasNext()) {
+      MeasureResultSetIterator.Row row = rows.next();
+      if (doc == null || row.getSnapshotId() != snapshotId) {
+        if (doc != null) {
+          bulk.add(newIndexRequest(doc));
+        }
+        doc = toDoc(row);
+        snapshotId = row.getSnapshotId();
+        maxAnalysedAt = Math.max(maxAnalysedAt, row.getAnalysedAt());
+      }
+      if (row.hasMeasure()) {
+        doc.setMeasure(row.getMetricKey(), row.getValue());
+      }
+    }
+    if (doc != null) {
+      bulk.add(newIndexRequest(doc));
+    }
+    bulk.stop();
+    return maxAnalysedAt;
+  }
+
+  private static MeasureDoc toDoc(MeasureResultSetIterator.Row row) {
+    Long createdAt = row.getCreatedAt();
+    return new MeasureDoc()
+      .setUuid(row.getUuid())
+      .setProjectUuid(row.getProjectUuid())
+      .setSnapshotId(row.getSnapshotId())
+      .setComponentId(row.getComponentId())
+      .setRootComponentId(row.getRootComponentId())
+      .setKey(row.getKey())
+      .setName(row.getName())
+      .setShortName(row.getShortName())
+      .setDescription(row.getDescription())
+      .setVersion(row.getVersion())
+      .setQualifier(row.getQualifier())
+      .setScope(row.getScope())
+      .setAnalysedAt(new Date(row.getAnalysedAt()))
+      .setCreatedAt(createdAt != null ? new Date(createdAt) : null);
+  }
+
+  private static IndexRequest newIndexRequest(MeasureDoc doc) {
+    return new IndexRequest(INDEX, TYPE_COMPONENT, doc.uuid())
+      .routing(doc.projectUuid())
+      .source(doc.getFields());
+  }
+
+  public void deleteByProject(String projectUuid) {
+    SearchRequestBuilder searchRequest = esClient.prepareSearch(INDEX)
+      .setRouting(projectUuid)
+      .setTypes(TYPE_COMPONENT)
+      .setQuery(QueryBuilders.filteredQuery(
+        QueryBuilders.matchAllQuery(),
+        FilterBuilders.termFilter(FIELD_PROJECT_UUID, projectUuid).cache(false)));
+    BulkIndexer.delete(esClient, INDEX, searchRequest);
+  }
+}
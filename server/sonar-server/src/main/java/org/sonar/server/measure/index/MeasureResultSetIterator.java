@@ -0,0 +1,196 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Scroll over the measures of the last analyses of projects and modules. Rows are sorted by snapshot, so
+ * that the measures of a component are consecutive. Components without measures are returned with a single row
+ * with a {@code null} metric.
+ */
+class MeasureResultSetIterator extends ResultSetIterator<MeasureResultSetIterator.Row> {
+
+  private static final String SQL_ALL = "SELECT s.id, p.id, s.root_project_id, p.uuid, p.project_uuid, p.kee, p.long_name, p.name, p.description, " +
+    "p.qualifier, p.scope, s.version, s.created_at, p.created_at, m.name, pm.value " +
+    "FROM snapshots s " +
+    "INNER JOIN projects p ON p.id=s.project_id " +
+    "LEFT OUTER JOIN project_measures pm ON pm.snapshot_id=s.id AND pm.value IS NOT NULL " +
+    "AND pm.rule_id IS NULL AND pm.rule_priority IS NULL AND pm.characteristic_id IS NULL AND pm.person_id IS NULL " +
+    "LEFT OUTER JOIN metrics m ON m.id=pm.metric_id " +
+    "WHERE s.islast=? AND s.scope=? AND s.qualifier IN (?,?) AND p.enabled=?";
+
+  private static final String SQL_PROJECT = SQL_ALL + " AND p.project_uuid=?";
+
+  private static final String ORDER_BY = " ORDER BY s.id";
+
+  static MeasureResultSetIterator create(DbClient dbClient, Connection connection, @Nullable String projectUuid) {
+    try {
+      String sql = projectUuid == null ? SQL_ALL : SQL_PROJECT;
+      PreparedStatement stmt = dbClient.newScrollingSelectStatement(connection, sql + ORDER_BY);
+      stmt.setBoolean(1, true);
+      stmt.setString(2, Scopes.PROJECT);
+      stmt.setString(3, Qualifiers.PROJECT);
+      stmt.setString(4, Qualifiers.MODULE);
+      stmt.setBoolean(5, true);
+      if (projectUuid != null) {
+        stmt.setString(6, projectUuid);
+      }
+      return new MeasureResultSetIterator(stmt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select measures", e);
+    }
+  }
+
+  private MeasureResultSetIterator(PreparedStatement stmt) throws SQLException {
+    super(stmt);
+  }
+
+  @Override
+  protected Row read(ResultSet rs) throws SQLException {
+    Row row = new Row();
+    row.snapshotId = rs.getLong(1);
+    row.componentId = rs.getLong(2);
+    row.rootComponentId = rs.getLong(3);
+    row.uuid = rs.getString(4);
+    row.projectUuid = rs.getString(5);
+    row.key = rs.getString(6);
+    row.name = rs.getString(7);
+    row.shortName = rs.getString(8);
+    row.description = rs.getString(9);
+    row.qualifier = rs.getString(10);
+    row.scope = rs.getString(11);
+    row.version = rs.getString(12);
+    row.analysedAt = rs.getLong(13);
+    Timestamp createdAt = rs.getTimestamp(14);
+    row.createdAt = createdAt != null ? createdAt.getTime() : null;
+    row.metricKey = rs.getString(15);
+    double value = rs.getDouble(16);
+    row.value = rs.wasNull() ? null : value;
+    return row;
+  }
+
+  static class Row {
+    private long snapshotId;
+    private long componentId;
+    private long rootComponentId;
+    private String uuid;
+    private String projectUuid;
+    private String key;
+    private String name;
+    private String shortName;
+    private String description;
+    private String qualifier;
+    private String scope;
+    private String version;
+    private long analysedAt;
+    private Long createdAt;
+    private String metricKey;
+    private Double value;
+
+    long getSnapshotId() {
+      return snapshotId;
+    }
+
+    long getComponentId() {
+      return componentId;
+    }
+
+    long getRootComponentId() {
+      return rootComponentId;
+    }
+
+    String getUuid() {
+      return uuid;
+    }
+
+    String getProjectUuid() {
+      return projectUuid;
+    }
+
+    String getKey() {
+      return key;
+    }
+
+    @CheckForNull
+    String getName() {
+      return name;
+    }
+
+    @CheckForNull
+    String getShortName() {
+      return shortName;
+    }
+
+    @CheckForNull
+    String getDescription() {
+      return description;
+    }
+
+    String getQualifier() {
+      return qualifier;
+    }
+
+    String getScope() {
+      return scope;
+    }
+
+    @CheckForNull
+    String getVersion() {
+      return version;
+    }
+
+    long getAnalysedAt() {
+      return analysedAt;
+    }
+
+    @CheckForNull
+    Long getCreatedAt() {
+      return createdAt;
+    }
+
+    @CheckForNull
+    String getMetricKey() {
+      return metricKey;
+    }
+
+    @CheckForNull
+    Double getValue() {
+      return value;
+    }
+
+    boolean hasMeasure() {
+      return StringUtils.isNotEmpty(metricKey) && value != null;
+    }
+  }
+}
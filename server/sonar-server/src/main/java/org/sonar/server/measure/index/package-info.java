@@ -17,18 +17,8 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
 
-import java.io.File;
+@ParametersAreNonnullByDefault
+package org.sonar.server.measure.index;
 
-public interface MutableBatchReportDirectoryHolder extends BatchReportDirectoryHolder {
-  /**
-   * Sets the File of the directory in the BatchReportDirectoryHolder. Settings a File more than once is allowed but it
-   * can never be set to {@code null}.
-   *
-   * @param newDirectory a {@link File}, can not be {@code null}
-   *
-   * @throws NullPointerException if {@code newDirectory} is {@code null}
-   */
-  void setDirectory(File newDirectory);
-}
+import javax.annotation.ParametersAreNonnullByDefault;
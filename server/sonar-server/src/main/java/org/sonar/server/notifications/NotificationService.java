@@ -23,14 +23,22 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
 import org.picocontainer.Startable;
 import org.sonar.api.Properties;
 import org.sonar.api.Property;
@@ -45,7 +53,13 @@ import org.sonar.core.notification.DefaultNotificationManager;
 import org.sonar.jpa.session.DatabaseSessionFactory;
 import org.sonar.server.db.DbClient;
 
+import static org.sonar.server.util.SettingsUtils.getPositiveInt;
+
 /**
+ * Notifications of the queue are processed by batches on a single thread. For each notification, recipients are resolved
+ * by dispatchers (subscribers are cached during a batch), then notifications are delivered to channels by a
+ * bounded pool of threads. The number of deliveries per second can be limited for each channel.
+ *
  * @since 2.10
  */
 @Properties({
@@ -60,6 +74,24 @@ import org.sonar.server.db.DbClient;
     defaultValue = "600",
     name = "Delay before reporting notification status, in seconds",
     project = false,
+    global = false),
+  @Property(
+    key = NotificationService.PROPERTY_BATCH_SIZE,
+    defaultValue = "" + NotificationService.DEFAULT_BATCH_SIZE,
+    name = "Number of notifications read at once from queue",
+    project = false,
+    global = false),
+  @Property(
+    key = NotificationService.PROPERTY_DELIVERY_THREADS,
+    defaultValue = "" + NotificationService.DEFAULT_DELIVERY_THREADS,
+    name = "Number of threads delivering notifications to channels",
+    project = false,
+    global = false),
+  @Property(
+    key = NotificationService.PROPERTY_MAX_DELIVERIES_PER_SECOND,
+    defaultValue = "0",
+    name = "Maximum number of deliveries per second for each channel, 0 for no limit",
+    project = false,
     global = false)
 })
 @ServerSide
@@ -69,16 +101,36 @@ public class NotificationService implements Startable {
 
   public static final String PROPERTY_DELAY = "sonar.notifications.delay";
   public static final String PROPERTY_DELAY_BEFORE_REPORTING_STATUS = "sonar.notifications.runningDelayBeforeReportingStatus";
+  public static final String PROPERTY_BATCH_SIZE = "sonar.notifications.batchSize";
+  public static final String PROPERTY_DELIVERY_THREADS = "sonar.notifications.delivery.threads";
+  public static final String PROPERTY_MAX_DELIVERIES_PER_SECOND = "sonar.notifications.delivery.maxPerSecond";
+
+  static final int DEFAULT_BATCH_SIZE = 100;
+  static final int DEFAULT_DELIVERY_THREADS = 4;
+
+  /**
+   * Maximum number of deliveries waiting for a thread. When reached, or when the pool is shut down, deliveries
+   * are executed by the caller thread.
+   */
+  private static final int MAX_PENDING_DELIVERIES = 1000;
 
   private final long delayInSeconds;
   private final long delayBeforeReportingStatusInSeconds;
+  private final int batchSize;
+  private final int deliveryThreads;
+  private final int maxDeliveriesPerSecond;
   private final DatabaseSessionFactory databaseSessionFactory;
   private final DefaultNotificationManager manager;
   private final List<NotificationDispatcher> dispatchers;
   private final DbClient dbClient;
+  private final ConcurrentMap<String, RateLimit> rateLimitsByChannel = new ConcurrentHashMap<>();
+  private final AtomicLong deliveredCount = new AtomicLong();
+  private final AtomicLong failedDeliveryCount = new AtomicLong();
 
   private ScheduledExecutorService executorService;
-  private boolean stopping = false;
+  private ThreadPoolExecutor deliveryExecutorService;
+  private long startedAt;
+  private volatile boolean stopping = false;
 
   /**
    * Constructor for {@link NotificationService}
@@ -87,6 +139,9 @@ public class NotificationService implements Startable {
     this.databaseSessionFactory = databaseSessionFactory;
     this.delayInSeconds = settings.getLong(PROPERTY_DELAY);
     this.delayBeforeReportingStatusInSeconds = settings.getLong(PROPERTY_DELAY_BEFORE_REPORTING_STATUS);
+    this.batchSize = getPositiveInt(settings, PROPERTY_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+    this.deliveryThreads = getPositiveInt(settings, PROPERTY_DELIVERY_THREADS, DEFAULT_DELIVERY_THREADS);
+    this.maxDeliveriesPerSecond = getPositiveInt(settings, PROPERTY_MAX_DELIVERIES_PER_SECOND, 0);
     this.manager = manager;
     this.dbClient = dbClient;
     this.dispatchers = ImmutableList.copyOf(dispatchers);
@@ -101,6 +156,11 @@ public class NotificationService implements Startable {
 
   @Override
   public void start() {
+    startedAt = System.currentTimeMillis();
+    deliveryExecutorService = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<Runnable>(MAX_PENDING_DELIVERIES),
+      new ThreadFactoryBuilder().setNameFormat("notification-delivery-%d").build(),
+      new RunOnCallerThread());
     executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.scheduleWithFixedDelay(new Runnable() {
       @Override
@@ -116,17 +176,28 @@ public class NotificationService implements Startable {
         }
       }
     }, 0, delayInSeconds, TimeUnit.SECONDS);
-    LOG.info("Notification service started (delay {} sec.)", delayInSeconds);
+    LOG.info("Notification service started (delay {} sec., {} delivery threads)", delayInSeconds, deliveryThreads);
   }
 
+  /**
+   * Notifications taken from the queue are already removed from db, so the batch being processed and all
+   * the pending deliveries are completed before stopping, without timeout.
+   */
   @Override
   public void stop() {
     try {
       stopping = true;
       executorService.shutdown();
-      executorService.awaitTermination(5, TimeUnit.SECONDS);
+      while (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+        LOG.info("Waiting for the end of processing of notifications");
+      }
+      deliveryExecutorService.shutdown();
+      while (!deliveryExecutorService.awaitTermination(5, TimeUnit.SECONDS)) {
+        LOG.info("Waiting for {} pending deliveries of notifications", getPendingDeliveryCount());
+      }
     } catch (InterruptedException e) {
-      LOG.error("Error during stop of notification service", e);
+      LOG.error("Interrupted during stop of notification service, {} pending deliveries are not sent", getPendingDeliveryCount());
+      Thread.currentThread().interrupt();
     }
     LOG.info("Notification service stopped");
   }
@@ -137,21 +208,28 @@ public class NotificationService implements Startable {
     long lastLog = start;
     long notifSentCount = 0;
 
-    Notification notifToSend = manager.getFromQueue();
-    while (notifToSend != null) {
-      deliver(notifToSend);
-      notifSentCount++;
+    List<Notification> notifsToSend = manager.getFromQueue(batchSize);
+    while (!notifsToSend.isEmpty()) {
+      manager.startRecipientsCache();
+      try {
+        for (Notification notifToSend : notifsToSend) {
+          deliver(notifToSend);
+          notifSentCount++;
+          long now = now();
+          if (now - lastLog > delayBeforeReportingStatusInSeconds * 1000) {
+            long remainingNotifCount = manager.count();
+            lastLog = now;
+            long spentTimeInMinutes = (now - start) / (60 * 1000);
+            log(notifSentCount, remainingNotifCount, spentTimeInMinutes);
+          }
+        }
+      } finally {
+        manager.stopRecipientsCache();
+      }
       if (stopping) {
         break;
       }
-      long now = now();
-      if (now - lastLog > delayBeforeReportingStatusInSeconds * 1000) {
-        long remainingNotifCount = manager.count();
-        lastLog = now;
-        long spentTimeInMinutes = (now - start) / (60 * 1000);
-        log(notifSentCount, remainingNotifCount, spentTimeInMinutes);
-      }
-      notifToSend = manager.getFromQueue();
+      notifsToSend = manager.getFromQueue(batchSize);
     }
   }
 
@@ -165,6 +243,10 @@ public class NotificationService implements Startable {
     return System.currentTimeMillis();
   }
 
+  /**
+   * Recipients are resolved by the current thread. Deliveries to channels are executed by the pool of threads
+   * when service is running, else by the current thread.
+   */
   public void deliver(Notification notification) {
     final SetMultimap<String, NotificationChannel> recipients = HashMultimap.create();
     for (NotificationDispatcher dispatcher : dispatchers) {
@@ -197,16 +279,139 @@ public class NotificationService implements Startable {
       Collection<NotificationChannel> userChannels = entry.getValue();
       LOG.debug("For user {} via {}", username, userChannels);
       for (NotificationChannel channel : userChannels) {
-        try {
-          channel.deliver(notification, username);
-        } catch (Exception e) {
-          // catch all exceptions in order to deliver via other channels
-          LOG.warn("Unable to deliver notification " + notification + " for user " + username + " via " + channel, e);
+        Delivery delivery = new Delivery(notification, username, channel);
+        ThreadPoolExecutor executor = deliveryExecutorService;
+        if (executor == null) {
+          delivery.run();
+        } else {
+          executor.execute(delivery);
+        }
+      }
+    }
+  }
+
+  private class Delivery implements Runnable {
+    private final Notification notification;
+    private final String username;
+    private final NotificationChannel channel;
+
+    private Delivery(Notification notification, String username, NotificationChannel channel) {
+      this.notification = notification;
+      this.username = username;
+      this.channel = channel;
+    }
+
+    @Override
+    public void run() {
+      try {
+        RateLimit rateLimit = rateLimit(channel);
+        if (rateLimit != null) {
+          rateLimit.acquire();
         }
+        channel.deliver(notification, username);
+        deliveredCount.incrementAndGet();
+      } catch (InterruptedException e) {
+        failedDeliveryCount.incrementAndGet();
+        LOG.warn("Interrupted before delivering notification " + notification + " for user " + username + " via " + channel);
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        // catch all exceptions in order to deliver via other channels
+        failedDeliveryCount.incrementAndGet();
+        LOG.warn("Unable to deliver notification " + notification + " for user " + username + " via " + channel, e);
       }
     }
   }
 
+  /**
+   * Unlike {@link ThreadPoolExecutor.CallerRunsPolicy}, rejected deliveries are not discarded once the pool is shut down
+   */
+  private static class RunOnCallerThread implements RejectedExecutionHandler {
+    @Override
+    public void rejectedExecution(Runnable delivery, ThreadPoolExecutor executor) {
+      delivery.run();
+    }
+  }
+
+  @CheckForNull
+  private RateLimit rateLimit(NotificationChannel channel) {
+    if (maxDeliveriesPerSecond == 0) {
+      return null;
+    }
+    String channelKey = channel.getKey();
+    RateLimit rateLimit = rateLimitsByChannel.get(channelKey);
+    if (rateLimit == null) {
+      rateLimitsByChannel.putIfAbsent(channelKey, new RateLimit(maxDeliveriesPerSecond));
+      rateLimit = rateLimitsByChannel.get(channelKey);
+    }
+    return rateLimit;
+  }
+
+  /**
+   * Deliveries of a channel are spaced by a fixed interval
+   */
+  private static class RateLimit {
+    private final long intervalNanos;
+    private long nextSlotNanos = System.nanoTime();
+
+    private RateLimit(int maxPerSecond) {
+      this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+    }
+
+    private synchronized long reserve() {
+      long now = System.nanoTime();
+      long slot = Math.max(now, nextSlotNanos);
+      nextSlotNanos = slot + intervalNanos;
+      return slot - now;
+    }
+
+    void acquire() throws InterruptedException {
+      long waitNanos = reserve();
+      if (waitNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+    }
+  }
+
+  /**
+   * Number of successful deliveries to channels since startup
+   */
+  public long getDeliveredCount() {
+    return deliveredCount.get();
+  }
+
+  /**
+   * Number of failed deliveries to channels since startup
+   */
+  public long getFailedDeliveryCount() {
+    return failedDeliveryCount.get();
+  }
+
+  /**
+   * Number of deliveries waiting for a thread
+   */
+  public int getPendingDeliveryCount() {
+    ThreadPoolExecutor executor = deliveryExecutorService;
+    return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  /**
+   * Number of notifications in queue, not processed yet
+   */
+  public long getQueueSize() {
+    return manager.count();
+  }
+
+  /**
+   * Average number of successful deliveries per minute since startup
+   */
+  public long getDeliveriesPerMinute() {
+    long elapsedMs = System.currentTimeMillis() - startedAt;
+    if (startedAt == 0L || elapsedMs <= 0L) {
+      return 0L;
+    }
+    return deliveredCount.get() * 60_000L / elapsedMs;
+  }
+
   @VisibleForTesting
   protected List<NotificationDispatcher> getDispatchers() {
     return dispatchers;
@@ -38,6 +38,7 @@ import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.UserSession;
 
 /**
@@ -59,14 +60,16 @@ public class InternalPermissionService {
   private final PermissionFinder finder;
   private final IssueAuthorizationIndexer issueAuthorizationIndexer;
   private final UserSession userSession;
+  private final ProjectPermissionCache permissionCache;
 
   public InternalPermissionService(DbClient dbClient, PermissionFacade permissionFacade, PermissionFinder finder,
-    IssueAuthorizationIndexer issueAuthorizationIndexer, UserSession userSession) {
+    IssueAuthorizationIndexer issueAuthorizationIndexer, UserSession userSession, ProjectPermissionCache permissionCache) {
     this.dbClient = dbClient;
     this.permissionFacade = permissionFacade;
     this.finder = finder;
     this.issueAuthorizationIndexer = issueAuthorizationIndexer;
     this.userSession = userSession;
+    this.permissionCache = permissionCache;
   }
 
   public List<String> globalPermissions() {
@@ -277,6 +280,7 @@ public class InternalPermissionService {
   }
 
   private void indexProjectPermissions() {
+    permissionCache.invalidateAll();
     issueAuthorizationIndexer.index();
   }
 }
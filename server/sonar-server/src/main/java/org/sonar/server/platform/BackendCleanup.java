@@ -28,8 +28,10 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.persistence.DatabaseVersion;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
+import org.sonar.server.component.index.ComponentIndexDefinition;
 import org.sonar.server.es.EsClient;
 import org.sonar.server.issue.index.IssueIndexDefinition;
+import org.sonar.server.measure.index.MeasureIndexDefinition;
 import org.sonar.server.search.IndexDefinition;
 import org.sonar.server.source.index.SourceLineIndexDefinition;
 import org.sonar.server.view.index.ViewIndexDefinition;
@@ -39,7 +41,7 @@ public class BackendCleanup {
 
   private static final String[] INSPECTION_TABLES = {
     "action_plans", "authors", "dependencies", "duplications_index", "events", "issues", "issue_changes", "manual_measures",
-    "notifications", "project_links", "project_measures", "projects", "resource_index",
+    "notifications", "project_links", "project_measures", "projects",
     "semaphores", "snapshots", "file_sources"
   };
   private static final String[] RESOURCE_RELATED_TABLES = {
@@ -130,6 +132,8 @@ public class BackendCleanup {
       clearIndex(IssueIndexDefinition.INDEX);
       clearIndex(SourceLineIndexDefinition.INDEX);
       clearIndex(ViewIndexDefinition.INDEX);
+      clearIndex(MeasureIndexDefinition.INDEX);
+      clearIndex(ComponentIndexDefinition.INDEX);
 
     } finally {
       dbSession.close();
@@ -0,0 +1,77 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package org.sonar.server.platform.monitoring;
+
+import java.util.LinkedHashMap;
+import org.sonar.server.notifications.NotificationService;
+
+/**
+ * Backlog and throughput of delivery of notifications
+ */
+public class NotificationsMonitor extends BaseMonitorMBean implements NotificationsMonitorMBean {
+
+  private final NotificationService notificationService;
+
+  public NotificationsMonitor(NotificationService notificationService) {
+    this.notificationService = notificationService;
+  }
+
+  @Override
+  public String name() {
+    return "Notifications";
+  }
+
+  @Override
+  public long getQueueSize() {
+    return notificationService.getQueueSize();
+  }
+
+  @Override
+  public int getPendingDeliveries() {
+    return notificationService.getPendingDeliveryCount();
+  }
+
+  @Override
+  public long getDeliveredNotifications() {
+    return notificationService.getDeliveredCount();
+  }
+
+  @Override
+  public long getFailedDeliveries() {
+    return notificationService.getFailedDeliveryCount();
+  }
+
+  @Override
+  public long getDeliveriesPerMinute() {
+    return notificationService.getDeliveriesPerMinute();
+  }
+
+  @Override
+  public LinkedHashMap<String, Object> attributes() {
+    LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Queue Size", getQueueSize());
+    attributes.put("Pending Deliveries", getPendingDeliveries());
+    attributes.put("Delivered Notifications", getDeliveredNotifications());
+    attributes.put("Failed Deliveries", getFailedDeliveries());
+    attributes.put("Deliveries Per Minute", getDeliveriesPerMinute());
+    return attributes;
+  }
+}
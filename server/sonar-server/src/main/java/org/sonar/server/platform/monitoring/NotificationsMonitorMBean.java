@@ -0,0 +1,49 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package org.sonar.server.platform.monitoring;
+
+public interface NotificationsMonitorMBean {
+
+  /**
+   * Number of notifications waiting in database to be processed
+   */
+  long getQueueSize();
+
+  /**
+   * Number of deliveries to channels waiting for a thread
+   */
+  int getPendingDeliveries();
+
+  /**
+   * Number of successful deliveries to channels since startup
+   */
+  long getDeliveredNotifications();
+
+  /**
+   * Number of failed deliveries to channels since startup
+   */
+  long getFailedDeliveries();
+
+  /**
+   * Average number of successful deliveries per minute since startup
+   */
+  long getDeliveriesPerMinute();
+}
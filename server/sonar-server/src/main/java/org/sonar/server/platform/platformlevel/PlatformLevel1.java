@@ -68,6 +68,7 @@ import org.sonar.server.rule.index.RuleNormalizer;
 import org.sonar.server.search.EsSearchModule;
 import org.sonar.server.search.IndexQueue;
 import org.sonar.server.source.db.FileSourceDao;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.ThreadLocalUserSession;
 import org.sonar.server.user.db.GroupDao;
 import org.sonar.server.user.db.UserDao;
@@ -114,6 +115,7 @@ public class PlatformLevel1 extends PlatformLevel {
 
       // user session
       ThreadLocalUserSession.class,
+      ProjectPermissionCache.class,
 
       // DB
       DbClient.class,
@@ -65,10 +65,14 @@ import org.sonar.server.component.ComponentCleanerService;
 import org.sonar.server.component.ComponentService;
 import org.sonar.server.component.DefaultComponentFinder;
 import org.sonar.server.component.DefaultRubyComponentService;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexDefinition;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.component.ws.ComponentsWs;
 import org.sonar.server.component.ws.EventsWs;
 import org.sonar.server.component.ws.ResourcesWs;
 import org.sonar.server.computation.ComputationThreadLauncher;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.computation.ws.ComputationWs;
 import org.sonar.server.computation.ws.HistoryAction;
@@ -164,6 +168,9 @@ import org.sonar.server.language.ws.LanguageWs;
 import org.sonar.server.measure.MeasureFilterEngine;
 import org.sonar.server.measure.MeasureFilterExecutor;
 import org.sonar.server.measure.MeasureFilterFactory;
+import org.sonar.server.measure.MeasureFilterIndexExecutor;
+import org.sonar.server.measure.index.MeasureIndexDefinition;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.measure.template.MyFavouritesFilter;
 import org.sonar.server.measure.template.ProjectFilter;
 import org.sonar.server.measure.ws.ManualMeasuresWs;
@@ -181,6 +188,7 @@ import org.sonar.server.platform.SettingsChangeNotifier;
 import org.sonar.server.platform.monitoring.DatabaseMonitor;
 import org.sonar.server.platform.monitoring.EsMonitor;
 import org.sonar.server.platform.monitoring.JvmPropertiesMonitor;
+import org.sonar.server.platform.monitoring.NotificationsMonitor;
 import org.sonar.server.platform.monitoring.PluginsMonitor;
 import org.sonar.server.platform.monitoring.SonarQubeMonitor;
 import org.sonar.server.platform.monitoring.SystemMonitor;
@@ -486,6 +494,9 @@ public class PlatformLevel4 extends PlatformLevel {
 
       MeasureFilterFactory.class,
       MeasureFilterExecutor.class,
+      MeasureFilterIndexExecutor.class,
+      MeasureIndexDefinition.class,
+      MeasureIndexer.class,
       MeasureFilterEngine.class,
       ProjectFilter.class,
       MyFavouritesFilter.class,
@@ -569,6 +580,9 @@ public class PlatformLevel4 extends PlatformLevel {
       DefaultComponentFinder.class,
       DefaultRubyComponentService.class,
       ComponentService.class,
+      ComponentIndexDefinition.class,
+      ComponentIndexer.class,
+      ComponentIndex.class,
       ResourcesWs.class,
       ComponentsWs.class,
       org.sonar.server.component.ws.AppAction.class,
@@ -601,6 +615,8 @@ public class PlatformLevel4 extends PlatformLevel {
       IssuesWs.class,
       org.sonar.server.issue.ws.ShowAction.class,
       org.sonar.server.issue.ws.SearchAction.class,
+      org.sonar.server.issue.ws.SearchResponseLoader.class,
+      org.sonar.server.issue.ws.ReferenceDataCache.class,
       org.sonar.server.issue.ws.TagsAction.class,
       SetTagsAction.class,
       ComponentTagsAction.class,
@@ -716,6 +732,7 @@ public class PlatformLevel4 extends PlatformLevel {
       PluginsMonitor.class,
       JvmPropertiesMonitor.class,
       DatabaseMonitor.class,
+      NotificationsMonitor.class,
 
       // Plugins WS
       PluginWSCommons.class,
@@ -739,6 +756,7 @@ public class PlatformLevel4 extends PlatformLevel {
       HistoryAction.class,
       DefaultPeriodCleaner.class,
       ProjectCleaner.class,
+      ProjectPurgeScheduler.class,
       ProjectSettingsFactory.class,
       IndexPurgeListener.class,
 
@@ -127,6 +127,7 @@ public class QProfileReset {
   private BulkChangeResult doReset(DbSession dbSession, QualityProfileDto profile, Collection<RuleActivation> activations) {
     Preconditions.checkNotNull(profile.getId(), "Quality profile must be persisted");
     BulkChangeResult result = new BulkChangeResult(profile);
+    RuleActivatorCache cache = activator.createCache(dbSession, profile);
     Set<RuleKey> ruleToBeDeactivated = Sets.newHashSet();
     // Keep reference to all the activated rules before backup restore
     for (ActiveRuleDto activeRuleDto : db.activeRuleDao().findByProfileKey(dbSession, profile.getKee())) {
@@ -138,7 +139,7 @@ public class QProfileReset {
 
     for (RuleActivation activation : activations) {
       try {
-        List<ActiveRuleChange> changes = activator.activate(dbSession, activation, profile.getKey());
+        List<ActiveRuleChange> changes = activator.activate(dbSession, activation, profile.getKey(), cache);
         ruleToBeDeactivated.remove(activation.getRuleKey());
         result.incrementSucceeded();
         result.addChanges(changes);
@@ -150,11 +151,12 @@ public class QProfileReset {
 
     for (RuleKey ruleKey : ruleToBeDeactivated) {
       try {
-        activator.deactivate(dbSession, ActiveRuleKey.of(profile.getKee(), ruleKey));
+        activator.deactivate(dbSession, ActiveRuleKey.of(profile.getKee(), ruleKey), cache);
       } catch (BadRequestException e) {
         // ignore, probably a rule inherited from parent that can't be deactivated
       }
     }
+    activator.flush(dbSession, cache);
     return result;
   }
 
@@ -80,20 +80,29 @@ public class RuleActivator {
 
   public List<ActiveRuleChange> activate(DbSession dbSession, RuleActivation activation, String profileKey) {
     RuleActivatorContext context = contextFactory.create(profileKey, activation.getRuleKey(), dbSession);
-    return doActivate(dbSession, activation, context);
+    return doActivate(dbSession, activation, context, null);
+  }
+
+  /**
+   * Same as {@link #activate(DbSession, RuleActivation, String)}, but rules and active rules are read from the cache,
+   * and updates of profile dates and activities are deferred to {@link #flush(DbSession, RuleActivatorCache)}.
+   */
+  List<ActiveRuleChange> activate(DbSession dbSession, RuleActivation activation, String profileKey, RuleActivatorCache cache) {
+    RuleActivatorContext context = contextFactory.create(cache, profileKey, activation.getRuleKey());
+    return doActivate(dbSession, activation, context, cache);
   }
 
   public List<ActiveRuleChange> activate(DbSession dbSession, RuleActivation activation, QProfileName profileName) {
     RuleActivatorContext context = contextFactory.create(profileName, activation.getRuleKey(), dbSession);
-    return doActivate(dbSession, activation, context);
+    return doActivate(dbSession, activation, context, null);
   }
 
   List<ActiveRuleChange> activate(DbSession dbSession, RuleActivation activation, QualityProfileDto profileDto) {
     RuleActivatorContext context = contextFactory.create(profileDto, activation.getRuleKey(), dbSession);
-    return doActivate(dbSession, activation, context);
+    return doActivate(dbSession, activation, context, null);
   }
 
-  private List<ActiveRuleChange> doActivate(DbSession dbSession, RuleActivation activation, RuleActivatorContext context) {
+  private List<ActiveRuleChange> doActivate(DbSession dbSession, RuleActivation activation, RuleActivatorContext context, @Nullable RuleActivatorCache cache) {
     context.verifyForActivation();
     List<ActiveRuleChange> changes = Lists.newArrayList();
     ActiveRuleChange change;
@@ -138,22 +147,45 @@ public class RuleActivator {
 
     if (change != null) {
       changes.add(change);
-      persist(change, context, dbSession);
+      persist(change, context, dbSession, cache);
     }
 
     if (!stopPropagation) {
-      changes.addAll(cascadeActivation(dbSession, activation, context.profile().getKey()));
+      changes.addAll(cascadeActivation(dbSession, activation, context.profile().getKey(), cache));
     }
 
     if (!changes.isEmpty()) {
-      updateProfileDate(dbSession, context);
+      updateProfileDate(dbSession, context, cache);
     }
     return changes;
   }
 
-  private void updateProfileDate(DbSession dbSession, RuleActivatorContext context) {
-    context.profile().setRulesUpdatedAtAsDate(context.getInitDate());
-    db.qualityProfileDao().update(dbSession, context.profile());
+  private void updateProfileDate(DbSession dbSession, RuleActivatorContext context, @Nullable RuleActivatorCache cache) {
+    if (cache != null) {
+      cache.addUpdatedProfile(context.profile());
+    } else {
+      context.profile().setRulesUpdatedAtAsDate(context.getInitDate());
+      db.qualityProfileDao().update(dbSession, context.profile());
+    }
+  }
+
+  /**
+   * Loads the data required to activate or deactivate many rules on the given profile and on its descendants.
+   * The cache must not be shared between db sessions.
+   */
+  RuleActivatorCache createCache(DbSession dbSession, QualityProfileDto profile) {
+    return contextFactory.createCache(dbSession, profile);
+  }
+
+  /**
+   * Persists the changes deferred by the activations and deactivations that use the cache. Does not commit.
+   */
+  void flush(DbSession dbSession, RuleActivatorCache cache) {
+    for (QualityProfileDto profile : cache.updatedProfiles()) {
+      profile.setRulesUpdatedAtAsDate(cache.getInitDate());
+      db.qualityProfileDao().update(dbSession, profile);
+    }
+    activityService.save(cache.activities());
   }
 
   /**
@@ -219,19 +251,29 @@ public class RuleActivator {
     return null;
   }
 
-  private List<ActiveRuleChange> cascadeActivation(DbSession session, RuleActivation activation, String profileKey) {
+  private List<ActiveRuleChange> cascadeActivation(DbSession session, RuleActivation activation, String profileKey, @Nullable RuleActivatorCache cache) {
     List<ActiveRuleChange> changes = Lists.newArrayList();
 
     // get all inherited profiles
-    List<QualityProfileDto> children = db.qualityProfileDao().findChildren(session, profileKey);
-    for (QualityProfileDto child : children) {
+    for (QualityProfileDto child : findChildren(session, profileKey, cache)) {
       RuleActivation childActivation = new RuleActivation(activation).setCascade(true);
-      changes.addAll(activate(session, childActivation, child.getKey()));
+      if (cache != null) {
+        changes.addAll(activate(session, childActivation, child.getKey(), cache));
+      } else {
+        changes.addAll(activate(session, childActivation, child.getKey()));
+      }
     }
     return changes;
   }
 
-  private ActiveRuleDto persist(ActiveRuleChange change, RuleActivatorContext context, DbSession dbSession) {
+  private List<QualityProfileDto> findChildren(DbSession session, String profileKey, @Nullable RuleActivatorCache cache) {
+    if (cache != null) {
+      return cache.children(profileKey);
+    }
+    return db.qualityProfileDao().findChildren(session, profileKey);
+  }
+
+  private ActiveRuleDto persist(ActiveRuleChange change, RuleActivatorContext context, DbSession dbSession, @Nullable RuleActivatorCache cache) {
     ActiveRuleDto activeRule = null;
     if (change.getType() == ActiveRuleChange.Type.ACTIVATED) {
       activeRule = doInsert(change, context, dbSession);
@@ -243,7 +285,16 @@ public class RuleActivator {
     } else if (change.getType() == ActiveRuleChange.Type.UPDATED) {
       activeRule = doUpdate(change, context, dbSession);
     }
-    activityService.save(change.toActivity());
+    if (cache != null) {
+      if (activeRule != null) {
+        cache.putActiveRule(activeRule, context.activeRuleParamsAsMap().values());
+      } else {
+        cache.removeActiveRule(change.getKey());
+      }
+      cache.addActivity(change.toActivity());
+    } else {
+      activityService.save(change.toActivity());
+    }
     return activeRule;
   }
 
@@ -260,11 +311,13 @@ public class RuleActivator {
       activeRule.setInheritance(inheritance.name());
     }
     dao.insert(dbSession, activeRule);
+    context.setActiveRule(activeRule).setActiveRuleParams(null);
     for (Map.Entry<String, String> param : change.getParameters().entrySet()) {
       if (param.getValue() != null) {
         ActiveRuleParamDto paramDto = ActiveRuleParamDto.createFor(context.ruleParamsByKeys().get(param.getKey()));
         paramDto.setValue(param.getValue());
         dao.addParam(dbSession, activeRule, paramDto);
+        context.activeRuleParamsAsMap().put(paramDto.getKey(), paramDto);
       }
     }
     return activeRule;
@@ -292,6 +345,7 @@ public class RuleActivator {
             activeRuleParamDto = ActiveRuleParamDto.createFor(context.ruleParamsByKeys().get(param.getKey()));
             activeRuleParamDto.setValue(param.getValue());
             dao.addParam(dbSession, activeRule, activeRuleParamDto);
+            context.activeRuleParamsAsMap().put(activeRuleParamDto.getKey(), activeRuleParamDto);
           }
         } else {
           if (param.getValue() != null) {
@@ -299,6 +353,7 @@ public class RuleActivator {
             dao.updateParam(dbSession, activeRule, activeRuleParamDto);
           } else {
             dao.deleteParam(dbSession, activeRule, activeRuleParamDto);
+            context.activeRuleParamsAsMap().remove(param.getKey());
           }
         }
       }
@@ -328,6 +383,14 @@ public class RuleActivator {
     return deactivate(dbSession, key, false);
   }
 
+  /**
+   * Same as {@link #deactivate(DbSession, ActiveRuleKey)}, but rules and active rules are read from the cache,
+   * and updates of profile dates and activities are deferred to {@link #flush(DbSession, RuleActivatorCache)}.
+   */
+  List<ActiveRuleChange> deactivate(DbSession dbSession, ActiveRuleKey key, RuleActivatorCache cache) {
+    return cascadeDeactivation(key, dbSession, false, false, cache);
+  }
+
   /**
    * Deactivate a rule on a Quality profile WITHOUT committing db session, WITHOUT checking permissions, and forcing removal of inherited rules
    */
@@ -344,12 +407,17 @@ public class RuleActivator {
    * @param force if true then inherited rules are deactivated
    */
   public List<ActiveRuleChange> deactivate(DbSession dbSession, ActiveRuleKey key, boolean force) {
-    return cascadeDeactivation(key, dbSession, false, force);
+    return cascadeDeactivation(key, dbSession, false, force, null);
   }
 
-  private List<ActiveRuleChange> cascadeDeactivation(ActiveRuleKey key, DbSession dbSession, boolean isCascade, boolean force) {
+  private List<ActiveRuleChange> cascadeDeactivation(ActiveRuleKey key, DbSession dbSession, boolean isCascade, boolean force, @Nullable RuleActivatorCache cache) {
     List<ActiveRuleChange> changes = Lists.newArrayList();
-    RuleActivatorContext context = contextFactory.create(key.qProfile(), key.ruleKey(), dbSession);
+    RuleActivatorContext context;
+    if (cache != null) {
+      context = contextFactory.create(cache, key.qProfile(), key.ruleKey());
+    } else {
+      context = contextFactory.create(key.qProfile(), key.ruleKey(), dbSession);
+    }
     ActiveRuleChange change;
     ActiveRuleDto activeRuleDto = context.activeRule();
     if (activeRuleDto == null) {
@@ -360,18 +428,16 @@ public class RuleActivator {
     }
     change = ActiveRuleChange.createFor(ActiveRuleChange.Type.DEACTIVATED, key);
     changes.add(change);
-    persist(change, context, dbSession);
+    persist(change, context, dbSession, cache);
 
     // get all inherited profiles
-    List<QualityProfileDto> profiles = db.qualityProfileDao().findChildren(dbSession, key.qProfile());
-
-    for (QualityProfileDto profile : profiles) {
+    for (QualityProfileDto profile : findChildren(dbSession, key.qProfile(), cache)) {
       ActiveRuleKey activeRuleKey = ActiveRuleKey.of(profile.getKey(), key.ruleKey());
-      changes.addAll(cascadeDeactivation(activeRuleKey, dbSession, true, force));
+      changes.addAll(cascadeDeactivation(activeRuleKey, dbSession, true, force, cache));
     }
 
     if (!changes.isEmpty()) {
-      updateProfileDate(dbSession, context);
+      updateProfileDate(dbSession, context, cache);
     }
 
     return changes;
@@ -396,6 +462,7 @@ public class RuleActivator {
     RuleIndex ruleIndex = index.get(RuleIndex.class);
     DbSession dbSession = db.openSession(false);
     try {
+      RuleActivatorCache cache = contextFactory.createCache(dbSession, db.qualityProfileDao().getByKey(dbSession, profileKey));
       Result<Rule> ruleSearchResult = ruleIndex.search(ruleQuery, new QueryContext(userSession).setScroll(true)
         .setFieldsToReturn(Arrays.asList(RuleNormalizer.RuleField.KEY.field())));
       Iterator<Rule> rules = ruleSearchResult.scroll();
@@ -404,7 +471,7 @@ public class RuleActivator {
         try {
           RuleActivation activation = new RuleActivation(rule.key());
           activation.setSeverity(severity);
-          List<ActiveRuleChange> changes = activate(dbSession, activation, profileKey);
+          List<ActiveRuleChange> changes = activate(dbSession, activation, profileKey, cache);
           result.addChanges(changes);
           if (!changes.isEmpty()) {
             result.incrementSucceeded();
@@ -416,6 +483,7 @@ public class RuleActivator {
           result.getErrors().add(e.errors());
         }
       }
+      flush(dbSession, cache);
       dbSession.commit();
     } finally {
       dbSession.close();
@@ -428,6 +496,7 @@ public class RuleActivator {
     try {
       RuleIndex ruleIndex = index.get(RuleIndex.class);
       BulkChangeResult result = new BulkChangeResult();
+      RuleActivatorCache cache = contextFactory.createCache(dbSession, db.qualityProfileDao().getByKey(dbSession, profile));
       Result<Rule> ruleSearchResult = ruleIndex.search(ruleQuery, new QueryContext(userSession).setScroll(true)
         .setFieldsToReturn(Arrays.asList(RuleNormalizer.RuleField.KEY.field())));
       Iterator<Rule> rules = ruleSearchResult.scroll();
@@ -435,7 +504,7 @@ public class RuleActivator {
         try {
           Rule rule = rules.next();
           ActiveRuleKey key = ActiveRuleKey.of(profile, rule.key());
-          List<ActiveRuleChange> changes = deactivate(dbSession, key);
+          List<ActiveRuleChange> changes = deactivate(dbSession, key, cache);
           result.addChanges(changes);
           if (!changes.isEmpty()) {
             result.incrementSucceeded();
@@ -446,6 +515,7 @@ public class RuleActivator {
           result.getErrors().add(e.errors());
         }
       }
+      flush(dbSession, cache);
       dbSession.commit();
       return result;
     } finally {
@@ -0,0 +1,154 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.qualityprofile;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.core.qualityprofile.db.ActiveRuleDto;
+import org.sonar.core.qualityprofile.db.ActiveRuleKey;
+import org.sonar.core.qualityprofile.db.ActiveRuleParamDto;
+import org.sonar.core.qualityprofile.db.QualityProfileDto;
+import org.sonar.core.rule.RuleDto;
+import org.sonar.core.rule.RuleParamDto;
+import org.sonar.server.activity.Activity;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rules, profiles and active rules loaded once when activating or deactivating many rules on a profile
+ * and on its descendants (see {@link RuleActivatorContextFactory#createCache(org.sonar.core.persistence.DbSession, QualityProfileDto)}).
+ * It is kept up-to-date by {@link RuleActivator} when changes are persisted, so that the cascade on descendants
+ * does not request db. Updates of profile dates and activities are kept until {@link RuleActivator#flush(org.sonar.core.persistence.DbSession, RuleActivatorCache)}.
+ */
+class RuleActivatorCache {
+
+  private final Date initDate = new Date();
+  private final Map<String, QualityProfileDto> profilesByKey = Maps.newHashMap();
+  private final ListMultimap<String, QualityProfileDto> childrenByParentKey = ArrayListMultimap.create();
+  private final Map<RuleKey, RuleDto> rulesByKey = Maps.newHashMap();
+  private final ListMultimap<Integer, RuleParamDto> ruleParamsByRuleId = ArrayListMultimap.create();
+  private final Map<ActiveRuleKey, ActiveRuleDto> activeRulesByKey = Maps.newHashMap();
+  private final ListMultimap<Integer, ActiveRuleParamDto> activeRuleParamsByActiveRuleId = ArrayListMultimap.create();
+  private final Set<QualityProfileDto> updatedProfiles = Sets.newLinkedHashSet();
+  private final List<Activity> activities = Lists.newArrayList();
+
+  Date getInitDate() {
+    return initDate;
+  }
+
+  @CheckForNull
+  QualityProfileDto profile(String profileKey) {
+    return profilesByKey.get(profileKey);
+  }
+
+  List<QualityProfileDto> children(String profileKey) {
+    return childrenByParentKey.get(profileKey);
+  }
+
+  RuleActivatorCache addProfile(QualityProfileDto profile) {
+    profilesByKey.put(profile.getKey(), profile);
+    return this;
+  }
+
+  RuleActivatorCache addChild(QualityProfileDto child) {
+    addProfile(child);
+    childrenByParentKey.put(child.getParentKee(), child);
+    return this;
+  }
+
+  @CheckForNull
+  RuleDto rule(RuleKey ruleKey) {
+    return rulesByKey.get(ruleKey);
+  }
+
+  List<RuleParamDto> ruleParams(RuleDto rule) {
+    return ruleParamsByRuleId.get(rule.getId());
+  }
+
+  RuleActivatorCache addRule(RuleDto rule) {
+    rulesByKey.put(rule.getKey(), rule);
+    return this;
+  }
+
+  RuleActivatorCache addRuleParam(RuleParamDto param) {
+    ruleParamsByRuleId.put(param.getRuleId(), param);
+    return this;
+  }
+
+  @CheckForNull
+  ActiveRuleDto activeRule(ActiveRuleKey key) {
+    return activeRulesByKey.get(key);
+  }
+
+  List<ActiveRuleParamDto> activeRuleParams(ActiveRuleDto activeRule) {
+    return activeRuleParamsByActiveRuleId.get(activeRule.getId());
+  }
+
+  RuleActivatorCache addActiveRule(ActiveRuleDto activeRule) {
+    activeRulesByKey.put(activeRule.getKey(), activeRule);
+    return this;
+  }
+
+  RuleActivatorCache addActiveRuleParam(ActiveRuleParamDto param) {
+    activeRuleParamsByActiveRuleId.put(param.getActiveRuleId(), param);
+    return this;
+  }
+
+  /**
+   * Replaces the active rule with the same key, including its parameters
+   */
+  void putActiveRule(ActiveRuleDto activeRule, Collection<ActiveRuleParamDto> params) {
+    activeRulesByKey.put(activeRule.getKey(), activeRule);
+    activeRuleParamsByActiveRuleId.replaceValues(activeRule.getId(), Lists.newArrayList(params));
+  }
+
+  void removeActiveRule(ActiveRuleKey key) {
+    ActiveRuleDto activeRule = activeRulesByKey.remove(key);
+    if (activeRule != null) {
+      activeRuleParamsByActiveRuleId.removeAll(activeRule.getId());
+    }
+  }
+
+  void addUpdatedProfile(QualityProfileDto profile) {
+    updatedProfiles.add(profile);
+  }
+
+  Collection<QualityProfileDto> updatedProfiles() {
+    return updatedProfiles;
+  }
+
+  void addActivity(Activity activity) {
+    activities.add(activity);
+  }
+
+  List<Activity> activities() {
+    return activities;
+  }
+}
@@ -27,9 +27,12 @@ import org.sonar.core.qualityprofile.db.ActiveRuleKey;
 import org.sonar.core.qualityprofile.db.ActiveRuleParamDto;
 import org.sonar.core.qualityprofile.db.QualityProfileDto;
 import org.sonar.core.rule.RuleDto;
+import org.sonar.core.rule.RuleParamDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 
+import javax.annotation.Nullable;
+
 import java.util.Collection;
 
 @ServerSide
@@ -65,6 +68,71 @@ public class RuleActivatorContextFactory {
     return create(ruleKey, session, new RuleActivatorContext().setProfile(profile));
   }
 
+  /**
+   * Same as {@link #create(String, RuleKey, DbSession)}, but without requesting db
+   */
+  RuleActivatorContext create(RuleActivatorCache cache, String profileKey, RuleKey ruleKey) {
+    QualityProfileDto profile = cache.profile(profileKey);
+    if (profile == null) {
+      throw new BadRequestException("Quality profile not found: " + profileKey);
+    }
+    RuleDto rule = cache.rule(ruleKey);
+    if (rule == null) {
+      throw new BadRequestException("Rule not found: " + ruleKey);
+    }
+    RuleActivatorContext context = new RuleActivatorContext()
+      .setProfile(profile)
+      .setRule(rule)
+      .setRuleParams(cache.ruleParams(rule));
+    ActiveRuleDto activeRule = cache.activeRule(ActiveRuleKey.of(profileKey, ruleKey));
+    context.setActiveRule(activeRule);
+    context.setActiveRuleParams(activeRule != null ? cache.activeRuleParams(activeRule) : null);
+    String parentKee = profile.getParentKee();
+    if (parentKee != null) {
+      ActiveRuleDto parentActiveRule = cache.activeRule(ActiveRuleKey.of(parentKee, ruleKey));
+      context.setParentActiveRule(parentActiveRule);
+      context.setParentActiveRuleParams(parentActiveRule != null ? cache.activeRuleParams(parentActiveRule) : null);
+    }
+    return context;
+  }
+
+  /**
+   * Loads at once all the rules, the profile, its parent, its descendants and their active rules. The cache is empty
+   * of profiles if the profile is {@code null}, so that each activation fails as with {@link #create(String, RuleKey, DbSession)}.
+   */
+  RuleActivatorCache createCache(DbSession session, @Nullable QualityProfileDto profile) {
+    RuleActivatorCache cache = new RuleActivatorCache();
+    for (RuleDto rule : db.ruleDao().findAll(session)) {
+      cache.addRule(rule);
+    }
+    for (RuleParamDto ruleParam : db.ruleDao().findAllRuleParams(session)) {
+      cache.addRuleParam(ruleParam);
+    }
+    if (profile != null) {
+      String parentKee = profile.getParentKee();
+      if (parentKee != null) {
+        QualityProfileDto parent = db.qualityProfileDao().getByKey(session, parentKee);
+        if (parent != null) {
+          loadActiveRules(session, cache.addProfile(parent), parentKee);
+        }
+      }
+      loadActiveRules(session, cache.addProfile(profile), profile.getKey());
+      for (QualityProfileDto descendant : db.qualityProfileDao().findDescendants(session, profile.getKey())) {
+        loadActiveRules(session, cache.addChild(descendant), descendant.getKey());
+      }
+    }
+    return cache;
+  }
+
+  private void loadActiveRules(DbSession session, RuleActivatorCache cache, String profileKey) {
+    for (ActiveRuleDto activeRule : db.activeRuleDao().findByProfileKey(session, profileKey)) {
+      cache.addActiveRule(activeRule);
+    }
+    for (ActiveRuleParamDto activeRuleParam : db.activeRuleDao().findParamsByProfileKey(session, profileKey)) {
+      cache.addActiveRuleParam(activeRuleParam);
+    }
+  }
+
   private RuleActivatorContext create(RuleKey ruleKey, DbSession session, RuleActivatorContext context) {
     initRule(ruleKey, context, session);
     initActiveRules(context.profile().getKey(), ruleKey, context, session, false);
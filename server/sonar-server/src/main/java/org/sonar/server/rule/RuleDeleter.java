@@ -26,6 +26,7 @@ import org.sonar.api.rule.RuleStatus;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.qualityprofile.RuleActivator;
 import org.sonar.server.rule.index.RuleDoc;
 
@@ -34,10 +35,12 @@ public class RuleDeleter {
 
   private final DbClient dbClient;
   private final RuleActivator ruleActivator;
+  private final ReferenceDataCache referenceDataCache;
 
-  public RuleDeleter(DbClient dbClient, RuleActivator ruleActivator) {
+  public RuleDeleter(DbClient dbClient, RuleActivator ruleActivator, ReferenceDataCache referenceDataCache) {
     this.dbClient = dbClient;
     this.ruleActivator = ruleActivator;
+    this.referenceDataCache = referenceDataCache;
   }
 
   public void delete(RuleKey ruleKey) {
@@ -57,6 +60,7 @@ public class RuleDeleter {
       dbClient.ruleDao().update(dbSession, rule);
 
       dbSession.commit();
+      referenceDataCache.rules().invalidate(ruleKey);
     } finally {
       dbSession.close();
     }
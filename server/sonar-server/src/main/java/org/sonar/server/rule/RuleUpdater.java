@@ -41,6 +41,7 @@ import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.core.technicaldebt.db.CharacteristicDto;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.user.UserSession;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -50,10 +51,12 @@ public class RuleUpdater {
 
   private final DbClient dbClient;
   private final System2 system;
+  private final ReferenceDataCache referenceDataCache;
 
-  public RuleUpdater(DbClient dbClient, System2 system) {
+  public RuleUpdater(DbClient dbClient, System2 system, ReferenceDataCache referenceDataCache) {
     this.dbClient = dbClient;
     this.system = system;
+    this.referenceDataCache = referenceDataCache;
   }
 
   /**
@@ -72,6 +75,7 @@ public class RuleUpdater {
       dbClient.ruleDao().update(dbSession, context.rule);
       updateParameters(dbSession, update, context);
       dbSession.commit();
+      referenceDataCache.rules().invalidate(update.getRuleKey());
       return true;
 
     } finally {
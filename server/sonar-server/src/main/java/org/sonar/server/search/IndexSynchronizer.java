@@ -19,16 +19,29 @@
  */
 package org.sonar.server.search;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.sonar.api.config.Settings;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.server.activity.index.ActivityIndexer;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.Dao;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.qualityprofile.index.ActiveRuleIndex;
 import org.sonar.server.rule.index.RuleIndex;
 import org.sonar.server.source.index.SourceLineIndexer;
@@ -38,6 +51,12 @@ import org.sonar.server.view.index.ViewIndexer;
 
 public class IndexSynchronizer {
 
+  /**
+   * Number of indices that are synchronized concurrently at startup
+   */
+  public static final String THREADS_PROPERTY = "sonar.search.synchronization.threads";
+  static final int DEFAULT_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
   private static final Logger LOG = Loggers.get(IndexSynchronizer.class);
 
   private final DbClient db;
@@ -49,6 +68,8 @@ public class IndexSynchronizer {
   private final UserIndexer userIndexer;
   private final ViewIndexer viewIndexer;
   private final ActivityIndexer activityIndexer;
+  private final MeasureIndexer measureIndexer;
+  private final ComponentIndexer componentIndexer;
   private final Settings settings;
 
   /**
@@ -58,7 +79,8 @@ public class IndexSynchronizer {
    */
   public IndexSynchronizer(DbClient db, IndexClient index, SourceLineIndexer sourceLineIndexer,
     TestIndexer testIndexer, IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-    UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer, Settings settings) {
+    UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer, MeasureIndexer measureIndexer,
+    ComponentIndexer componentIndexer, Settings settings) {
     this.db = db;
     this.index = index;
     this.sourceLineIndexer = sourceLineIndexer;
@@ -68,6 +90,8 @@ public class IndexSynchronizer {
     this.userIndexer = userIndexer;
     this.viewIndexer = viewIndexer;
     this.activityIndexer = activityIndexer;
+    this.measureIndexer = measureIndexer;
+    this.componentIndexer = componentIndexer;
     this.settings = settings;
   }
 
@@ -84,25 +108,46 @@ public class IndexSynchronizer {
 
   public void execute() {
     if (!settings.getBoolean("sonar.internal.es.disableIndexes")) {
-      LOG.info("Index activities");
-      activityIndexer.setEnabled(true).index();
-
-      LOG.info("Index issues");
-      issueAuthorizationIndexer.setEnabled(true).index();
-      issueIndexer.setEnabled(true).index();
-
-      LOG.info("Index source lines");
-      sourceLineIndexer.setEnabled(true).index();
-
-      LOG.info("Index tests");
-      testIndexer.setEnabled(true).index();
+      List<IndexTask> tasks = Arrays.asList(
+        new IndexTask("activities", activityIndexer),
+        // authorization must be indexed before issues
+        new IndexTask("issues", issueAuthorizationIndexer, issueIndexer),
+        new IndexTask("source lines", sourceLineIndexer),
+        new IndexTask("tests", testIndexer),
+        new IndexTask("users", userIndexer),
+        new IndexTask("views", viewIndexer),
+        new IndexTask("measures", measureIndexer),
+        new IndexTask("components", componentIndexer));
+      execute(tasks, Math.min(getThreads(settings), tasks.size()));
+    }
+  }
 
-      LOG.info("Index users");
-      userIndexer.setEnabled(true).index();
+  private static void execute(List<IndexTask> tasks, int threads) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+      .setNameFormat("es-synchronizer-%d")
+      .setDaemon(true)
+      .build());
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (IndexTask task : tasks) {
+        futures.add(executor.submit(task));
+      }
+      for (Future<?> future : futures) {
+        Uninterruptibles.getUninterruptibly(future);
+      }
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-      LOG.info("Index views");
-      viewIndexer.setEnabled(true).index();
+  static int getThreads(Settings settings) {
+    int threads = settings.getInt(THREADS_PROPERTY);
+    if (threads < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", THREADS_PROPERTY, threads));
     }
+    return threads == 0 ? DEFAULT_THREADS : threads;
   }
 
   void synchronize(DbSession session, Dao dao, Index index) {
@@ -115,4 +160,24 @@ public class IndexSynchronizer {
       dao.synchronizeAfter(session, lastSynch);
     }
   }
+
+  private static class IndexTask implements Runnable {
+    private final String label;
+    private final BaseIndexer[] indexers;
+
+    IndexTask(String label, BaseIndexer... indexers) {
+      this.label = label;
+      this.indexers = indexers;
+    }
+
+    @Override
+    public void run() {
+      LOG.info("Index {}", label);
+      long start = System.currentTimeMillis();
+      for (BaseIndexer indexer : indexers) {
+        indexer.setEnabled(true).index();
+      }
+      LOG.info("Index {} done in {} ms", label, System.currentTimeMillis() - start);
+    }
+  }
 }
@@ -21,6 +21,7 @@ package org.sonar.server.source.index;
 
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.index.query.BoolFilterBuilder;
 import org.elasticsearch.index.query.FilterBuilders;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.sonar.core.persistence.DbSession;
@@ -32,9 +33,13 @@ import org.sonar.server.es.EsClient;
 import javax.annotation.Nullable;
 
 import java.sql.Connection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_FILE_UUID;
+import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_LINE;
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_PROJECT_UUID;
 
 /**
@@ -43,6 +48,11 @@ import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_PROJ
  */
 public class SourceLineIndexer extends BaseIndexer {
 
+  /**
+   * Maximum number of files processed by a single search of the lines to be deleted
+   */
+  static final int DELETION_BATCH_SIZE = 500;
+
   private final DbClient dbClient;
 
   public SourceLineIndexer(DbClient dbClient, EsClient esClient) {
@@ -81,6 +91,21 @@ public class SourceLineIndexer extends BaseIndexer {
     }
   }
 
+  /**
+   * Indexes rows that have just been persisted, without reading them back from db. As for
+   * {@link #index(String)}, nothing is done if the indexer is disabled.
+   */
+  public void indexPersisted(final Iterator<FileSourcesUpdaterHelper.Row> persistedRows) {
+    super.index(new IndexerTask() {
+      @Override
+      public long index(long lastUpdatedAt) {
+        SourceLineIndexer.this.index(persistedRows);
+        // the date of last update is not changed, see IssueIndexer#indexPersisted(Iterator)
+        return lastUpdatedAt;
+      }
+    });
+  }
+
   public long index(Iterator<FileSourcesUpdaterHelper.Row> dbRows) {
     BulkIndexer bulk = new BulkIndexer(esClient, SourceLineIndexDefinition.INDEX);
     return doIndex(bulk, dbRows);
@@ -88,15 +113,17 @@ public class SourceLineIndexer extends BaseIndexer {
 
   private long doIndex(BulkIndexer bulk, Iterator<FileSourcesUpdaterHelper.Row> dbRows) {
     long maxUpdatedAt = 0L;
+    LinesDeletion linesDeletion = new LinesDeletion(bulk);
     bulk.start();
     while (dbRows.hasNext()) {
       FileSourcesUpdaterHelper.Row row = dbRows.next();
-      addDeleteRequestsForLinesGreaterThan(bulk, row);
+      linesDeletion.add(row);
       for (UpdateRequest updateRequest : row.getUpdateRequests()) {
         bulk.add(updateRequest);
       }
       maxUpdatedAt = Math.max(maxUpdatedAt, row.getUpdatedAt());
     }
+    linesDeletion.flush();
     bulk.stop();
     return maxUpdatedAt;
   }
@@ -106,20 +133,53 @@ public class SourceLineIndexer extends BaseIndexer {
    * - file had 10 lines in previous analysis
    * - same file has now 5 lines
    * Lines 6 to 10 must be removed from index.
+   * <p/>
+   * Searching these lines is blocking, so files are grouped by project and a single search
+   * is executed for {@link #DELETION_BATCH_SIZE} files, instead of one search per file.
    */
-  private void addDeleteRequestsForLinesGreaterThan(BulkIndexer bulk, FileSourcesUpdaterHelper.Row fileRow) {
-    int numberOfLines = fileRow.getUpdateRequests().size();
-    SearchRequestBuilder searchRequest = esClient.prepareSearch(SourceLineIndexDefinition.INDEX)
-      .setTypes(SourceLineIndexDefinition.TYPE)
-      .setRouting(fileRow.getProjectUuid())
-      .setQuery(QueryBuilders.filteredQuery(
-        QueryBuilders.matchAllQuery(),
-        FilterBuilders.boolFilter()
-          .must(FilterBuilders.termFilter(FIELD_FILE_UUID, fileRow.getFileUuid()).cache(false))
-          .must(FilterBuilders.rangeFilter(SourceLineIndexDefinition.FIELD_LINE).gt(numberOfLines).cache(false))
-          .cache(false)
-      ));
-    bulk.addDeletion(searchRequest);
+  private class LinesDeletion {
+    private final BulkIndexer bulk;
+    // number of lines of files, grouped by project uuid (used for routing)
+    private final Map<String, Map<String, Integer>> numberOfLinesByProject = new HashMap<>();
+
+    LinesDeletion(BulkIndexer bulk) {
+      this.bulk = bulk;
+    }
+
+    void add(FileSourcesUpdaterHelper.Row fileRow) {
+      Map<String, Integer> numberOfLinesByFile = numberOfLinesByProject.get(fileRow.getProjectUuid());
+      if (numberOfLinesByFile == null) {
+        numberOfLinesByFile = new LinkedHashMap<>();
+        numberOfLinesByProject.put(fileRow.getProjectUuid(), numberOfLinesByFile);
+      }
+      numberOfLinesByFile.put(fileRow.getFileUuid(), fileRow.getUpdateRequests().size());
+      if (numberOfLinesByFile.size() >= DELETION_BATCH_SIZE) {
+        delete(fileRow.getProjectUuid(), numberOfLinesByFile);
+        numberOfLinesByProject.remove(fileRow.getProjectUuid());
+      }
+    }
+
+    void flush() {
+      for (Map.Entry<String, Map<String, Integer>> entry : numberOfLinesByProject.entrySet()) {
+        delete(entry.getKey(), entry.getValue());
+      }
+      numberOfLinesByProject.clear();
+    }
+
+    private void delete(String projectUuid, Map<String, Integer> numberOfLinesByFile) {
+      BoolFilterBuilder filesFilter = FilterBuilders.boolFilter();
+      for (Map.Entry<String, Integer> entry : numberOfLinesByFile.entrySet()) {
+        filesFilter.should(FilterBuilders.boolFilter()
+          .must(FilterBuilders.termFilter(FIELD_FILE_UUID, entry.getKey()).cache(false))
+          .must(FilterBuilders.rangeFilter(FIELD_LINE).gt(entry.getValue()).cache(false))
+          .cache(false));
+      }
+      SearchRequestBuilder searchRequest = esClient.prepareSearch(SourceLineIndexDefinition.INDEX)
+        .setTypes(SourceLineIndexDefinition.TYPE)
+        .setRouting(projectUuid)
+        .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), filesFilter.cache(false)));
+      bulk.addDeletion(searchRequest);
+    }
   }
 
   public void deleteByFile(String fileUuid) {
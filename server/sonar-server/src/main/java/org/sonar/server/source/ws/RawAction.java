@@ -54,6 +54,7 @@ public class RawAction implements SourcesWsAction {
       .setDescription("Get source code as plain text. Require See Source Code permission on file")
       .setSince("5.0")
       .setResponseExample(Resources.getResource(getClass(), "example-raw.txt"))
+      .setStreamed(true)
       .setHandler(this);
 
     action
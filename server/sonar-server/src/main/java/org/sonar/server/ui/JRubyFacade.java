@@ -41,15 +41,18 @@ import org.sonar.api.web.Footer;
 import org.sonar.api.web.Page;
 import org.sonar.api.web.RubyRailsWebservice;
 import org.sonar.api.web.Widget;
+import org.sonar.core.component.ComponentDto;
 import org.sonar.core.persistence.Database;
 import org.sonar.core.persistence.DatabaseVersion;
+import org.sonar.core.persistence.DbSession;
 import org.sonar.core.platform.ComponentContainer;
 import org.sonar.core.platform.PluginInfo;
 import org.sonar.core.platform.PluginRepository;
-import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.timemachine.Periods;
 import org.sonar.process.ProcessProperties;
 import org.sonar.server.component.ComponentCleanerService;
+import org.sonar.server.component.index.ComponentIndexer;
+import org.sonar.server.db.DbClient;
 import org.sonar.server.db.migrations.DatabaseMigration;
 import org.sonar.server.db.migrations.DatabaseMigrator;
 import org.sonar.server.measure.MeasureFilterEngine;
@@ -304,11 +307,28 @@ public final class JRubyFacade {
   }
 
   public void indexProjects() {
-    get(ResourceIndexerDao.class).indexProjects();
+    get(ComponentIndexer.class).indexAll();
   }
 
+  /**
+   * Used by migration 287. Indexer is not available while database is being upgraded, nothing is done
+   * as the whole index is built at startup when it is empty.
+   */
   public void indexResource(long resourceId) {
-    get(ResourceIndexerDao.class).indexResource(resourceId);
+    ComponentIndexer indexer = get(ComponentIndexer.class);
+    if (indexer == null) {
+      return;
+    }
+    DbClient dbClient = get(DbClient.class);
+    DbSession session = dbClient.openSession(false);
+    try {
+      ComponentDto component = dbClient.componentDao().selectNullableById(resourceId, session);
+      if (component != null) {
+        indexer.index(component.projectUuid());
+      }
+    } finally {
+      session.close();
+    }
   }
 
   /*
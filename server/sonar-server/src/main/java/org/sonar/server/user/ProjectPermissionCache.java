@@ -0,0 +1,122 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.user;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.sonar.api.config.Settings;
+import org.sonar.api.server.ServerSide;
+import org.sonar.api.utils.System2;
+import org.sonar.core.user.AuthorizationDao;
+import org.sonar.server.util.cache.BulkCacheLoader;
+import org.sonar.server.util.cache.ExpiringMemoryCache;
+
+import static org.sonar.server.util.SettingsUtils.getPositiveInt;
+
+/**
+ * Results of the checks of project permissions, shared by all the user sessions. Entries are evicted
+ * when the cache is full (least recently used first), when they are older than the configured time-to-live,
+ * and on every change of permissions (see {@link #invalidateAll()}).
+ */
+@ServerSide
+public class ProjectPermissionCache {
+
+  public static final String MAX_SIZE_PROPERTY = "sonar.authorization.cache.maxSize";
+  public static final String TTL_PROPERTY = "sonar.authorization.cache.ttlSeconds";
+  static final int DEFAULT_MAX_SIZE = 10_000;
+  static final int DEFAULT_TTL_SECONDS = 60;
+
+  private final ExpiringMemoryCache<Key, Boolean> entries;
+  private final BulkCacheLoader<Key, Boolean> loader;
+
+  public ProjectPermissionCache(final AuthorizationDao authorizationDao, Settings settings, System2 system) {
+    int maxSize = getPositiveInt(settings, MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+    long ttlMs = getPositiveInt(settings, TTL_PROPERTY, DEFAULT_TTL_SECONDS) * 1000L;
+    this.entries = new ExpiringMemoryCache<>(maxSize, ttlMs, system);
+    this.loader = new BulkCacheLoader<Key, Boolean>() {
+      @Override
+      public Map<Key, Boolean> loadAll(Collection<? extends Key> keys) {
+        Map<Key, Boolean> result = new HashMap<>();
+        for (Key key : keys) {
+          boolean authorized = key.projectKey != null ?
+            authorizationDao.isAuthorizedRootProjectKey(key.userId, key.permission, key.projectKey) :
+            authorizationDao.isAuthorizedRootProjectUuid(key.userId, key.permission, key.projectUuid);
+          result.put(key, authorized);
+        }
+        return result;
+      }
+    };
+  }
+
+  public boolean hasProjectPermission(@Nullable Integer userId, String permission, String projectKey) {
+    return entries.get(new Key(userId, permission, projectKey, null), loader);
+  }
+
+  public boolean hasProjectPermissionByUuid(@Nullable Integer userId, String permission, String projectUuid) {
+    return entries.get(new Key(userId, permission, null, projectUuid), loader);
+  }
+
+  /**
+   * Must be called when permissions of users, of groups or of projects are changed. A single change
+   * on a group or on a permission template can impact many users, so all the entries are dropped.
+   */
+  public void invalidateAll() {
+    entries.invalidateAll();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private static class Key {
+    private final Integer userId;
+    private final String permission;
+    private final String projectKey;
+    private final String projectUuid;
+
+    Key(@Nullable Integer userId, String permission, @Nullable String projectKey, @Nullable String projectUuid) {
+      this.userId = userId;
+      this.permission = permission;
+      this.projectKey = projectKey;
+      this.projectUuid = projectUuid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key other = (Key) o;
+      return Objects.equals(userId, other.userId) && permission.equals(other.permission)
+        && Objects.equals(projectKey, other.projectKey) && Objects.equals(projectUuid, other.projectUuid);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(userId, permission, projectKey, projectUuid);
+    }
+  }
+}
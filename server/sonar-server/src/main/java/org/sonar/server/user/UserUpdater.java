@@ -44,6 +44,7 @@ import org.sonar.core.user.UserGroupDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.Message;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.user.index.UserIndexer;
 import org.sonar.server.util.Validation;
 
@@ -67,14 +68,19 @@ public class UserUpdater {
   private final UserIndexer userIndexer;
   private final System2 system2;
   private final SecurityRealmFactory realmFactory;
+  private final ReferenceDataCache referenceDataCache;
+  private final ProjectPermissionCache permissionCache;
 
-  public UserUpdater(NewUserNotifier newUserNotifier, Settings settings, DbClient dbClient, UserIndexer userIndexer, System2 system2, SecurityRealmFactory realmFactory) {
+  public UserUpdater(NewUserNotifier newUserNotifier, Settings settings, DbClient dbClient, UserIndexer userIndexer, System2 system2, SecurityRealmFactory realmFactory,
+    ReferenceDataCache referenceDataCache, ProjectPermissionCache permissionCache) {
     this.newUserNotifier = newUserNotifier;
     this.settings = settings;
     this.dbClient = dbClient;
     this.userIndexer = userIndexer;
     this.system2 = system2;
     this.realmFactory = realmFactory;
+    this.referenceDataCache = referenceDataCache;
+    this.permissionCache = permissionCache;
   }
 
   /**
@@ -120,6 +126,7 @@ public class UserUpdater {
       updateUserDto(dbSession, updateUser, user);
       updateUser(dbSession, user);
       dbSession.commit();
+      referenceDataCache.usersByLogin().invalidate(user.getLogin());
       notifyNewUser(user.getLogin(), user.getName(), user.getEmail());
       userIndexer.index();
     } finally {
@@ -129,6 +136,8 @@ public class UserUpdater {
 
   public void deactivateUserByLogin(String login) {
     dbClient.userDao().deactivateUserByLogin(login);
+    referenceDataCache.usersByLogin().invalidate(login);
+    permissionCache.invalidateAll();
     userIndexer.index();
   }
 
@@ -31,6 +31,7 @@ import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.user.GroupDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.UserSession;
 
 public class DeleteAction implements UserGroupsWsAction {
@@ -40,11 +41,13 @@ public class DeleteAction implements UserGroupsWsAction {
   private final DbClient dbClient;
   private final UserSession userSession;
   private final Settings settings;
+  private final ProjectPermissionCache permissionCache;
 
-  public DeleteAction(DbClient dbClient, UserSession userSession, Settings settings) {
+  public DeleteAction(DbClient dbClient, UserSession userSession, Settings settings, ProjectPermissionCache permissionCache) {
     this.dbClient = dbClient;
     this.userSession = userSession;
     this.settings = settings;
+    this.permissionCache = permissionCache;
   }
 
   @Override
@@ -80,6 +83,7 @@ public class DeleteAction implements UserGroupsWsAction {
       dbClient.groupDao().deleteById(dbSession, groupId);
 
       dbSession.commit();
+      permissionCache.invalidateAll();
       response.noContent();
     } finally {
       MyBatis.closeQuietly(dbSession);
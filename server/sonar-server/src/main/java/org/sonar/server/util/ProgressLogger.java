@@ -53,6 +53,7 @@ public class ProgressLogger {
    * Warning, does not check if already started.
    */
   public void start() {
+    task.previousTime = System.currentTimeMillis();
     // first log after {periodMs} milliseconds
     timer.schedule(task, periodMs, periodMs);
   }
@@ -86,6 +87,19 @@ public class ProgressLogger {
     return task.pluralLabel;
   }
 
+  /**
+   * Expected final value of the counter, if known. Progress percentage and estimated remaining
+   * time are logged when set. Default is 0 (unknown).
+   */
+  public ProgressLogger setTotal(long l) {
+    task.total = l;
+    return this;
+  }
+
+  public long getTotal() {
+    return task.total;
+  }
+
   public void log() {
     task.log();
   }
@@ -94,7 +108,9 @@ public class ProgressLogger {
     private final AtomicLong counter;
     private final Logger logger;
     private String pluralLabel = "rows";
+    private volatile long total = 0L;
     private long previousCounter = 0L;
+    private long previousTime = System.currentTimeMillis();
 
     private LoggerTimerTask(AtomicLong counter, Logger logger) {
       this.counter = counter;
@@ -106,10 +122,32 @@ public class ProgressLogger {
       log();
     }
 
-    private void log() {
+    private synchronized void log() {
       long current = counter.get();
-      logger.info(String.format("%d %s processed (%d items/sec)", current, pluralLabel, 1000 * (current-previousCounter) / periodMs));
+      long now = System.currentTimeMillis();
+      long itemsPerSec = 1000 * (current - previousCounter) / Math.max(1L, now - previousTime);
+      if (total > 0L) {
+        logger.info(String.format("%d/%d %s processed (%d%%, %d items/sec, %s)", current, total, pluralLabel,
+          Math.min(100L, 100 * current / total), itemsPerSec, formatRemainingTime(total - current, itemsPerSec)));
+      } else {
+        logger.info(String.format("%d %s processed (%d items/sec)", current, pluralLabel, itemsPerSec));
+      }
       previousCounter = current;
+      previousTime = now;
+    }
+  }
+
+  static String formatRemainingTime(long remainingItems, long itemsPerSec) {
+    if (remainingItems <= 0L) {
+      return "done";
+    }
+    if (itemsPerSec <= 0L) {
+      return "remaining time unknown";
+    }
+    long seconds = remainingItems / itemsPerSec;
+    if (seconds < 60L) {
+      return String.format("about %d sec remaining", seconds);
     }
+    return String.format("about %d min remaining", seconds / 60L);
   }
 }
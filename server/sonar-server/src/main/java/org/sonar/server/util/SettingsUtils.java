@@ -0,0 +1,64 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.config.Settings;
+
+/**
+ * Reading of the numeric settings of server components
+ */
+public class SettingsUtils {
+
+  private SettingsUtils() {
+    // only static methods
+  }
+
+  /**
+   * Value of a setting which must not be negative. The default value is used when the setting
+   * is not set or when it is set to 0.
+   *
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public static int getPositiveInt(Settings settings, String key, int defaultValue) {
+    int value = settings.getInt(key);
+    if (value < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", key, value));
+    }
+    return value == 0 ? defaultValue : value;
+  }
+
+  /**
+   * Value of a setting which must not be negative. Contrary to {@link #getPositiveInt(Settings, String, int)},
+   * 0 is a valid value. The default value is used only when the setting is not set.
+   *
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public static int getNonNegativeInt(Settings settings, String key, int defaultValue) {
+    if (StringUtils.isEmpty(settings.getString(key))) {
+      return defaultValue;
+    }
+    int value = settings.getInt(key);
+    if (value < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", key, value));
+    }
+    return value;
+  }
+}
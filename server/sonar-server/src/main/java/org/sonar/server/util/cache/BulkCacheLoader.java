@@ -17,17 +17,18 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.server.util.cache;
 
-import java.io.File;
-import org.sonar.server.computation.ReportQueue;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Loader of {@link ExpiringMemoryCache}, which requests all the missing keys at once
+ */
+public interface BulkCacheLoader<K, V> {
 
-public interface BatchReportDirectoryHolder {
   /**
-   * The File of the directory where the Batch report files for the current {@link ReportQueue.Item} are stored.
-   *
-   * @throws IllegalStateException if the holder is empty (ie. there is no directory yet)
+   * Keys that are not found can be missing from the map result, or be associated with null.
    */
-  File getDirectory();
-
+  Map<K, V> loadAll(Collection<? extends K> keys);
 }
@@ -0,0 +1,137 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util.cache;
+
+import com.google.common.base.Throwables;
+import org.apache.commons.io.IOUtils;
+import org.sonar.server.util.CloseableIterator;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base class of compact binary codecs, that write fields one by one with {@link DataOutput}.
+ * Each object is prefixed by a marker byte, so that the end of file can be detected.
+ */
+public abstract class DataStreamCodec<O> implements DiskCacheCodec<O> {
+
+  private static final int OBJECT_MARKER = 1;
+
+  protected abstract void write(O object, DataOutput output) throws IOException;
+
+  protected abstract O read(DataInput input) throws IOException;
+
+  @Override
+  public void writeHeader(OutputStream output) {
+    // no header
+  }
+
+  @Override
+  public Encoder<O> newEncoder(OutputStream output) {
+    final DataOutputStream dataOutput = new DataOutputStream(output);
+    return new Encoder<O>() {
+      @Override
+      public void encode(O object) throws IOException {
+        dataOutput.writeByte(OBJECT_MARKER);
+        write(object, dataOutput);
+      }
+
+      @Override
+      public void close() throws IOException {
+        dataOutput.close();
+      }
+    };
+  }
+
+  @Override
+  public CloseableIterator<O> newDecoder(InputStream input) {
+    final DataInputStream dataInput = new DataInputStream(input);
+    return new CloseableIterator<O>() {
+      @Override
+      protected O doNext() {
+        try {
+          int marker = dataInput.read();
+          if (marker < 0) {
+            return null;
+          }
+          if (marker != OBJECT_MARKER) {
+            throw new IllegalStateException("Corrupted stream: unexpected byte " + marker);
+          }
+          return read(dataInput);
+        } catch (IOException e) {
+          throw Throwables.propagate(e);
+        }
+      }
+
+      @Override
+      protected void doClose() {
+        IOUtils.closeQuietly(dataInput);
+      }
+    };
+  }
+
+  /**
+   * Unlike {@link DataOutput#writeUTF(String)}, the length of string is not limited to 64Kb.
+   */
+  protected static void writeString(String s, DataOutput output) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  protected static String readString(DataInput input) throws IOException {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  protected static void writeNullableString(@Nullable String s, DataOutput output) throws IOException {
+    output.writeBoolean(s != null);
+    if (s != null) {
+      writeString(s, output);
+    }
+  }
+
+  @CheckForNull
+  protected static String readNullableString(DataInput input) throws IOException {
+    return input.readBoolean() ? readString(input) : null;
+  }
+
+  protected static void writeNullableLong(@Nullable Long l, DataOutput output) throws IOException {
+    output.writeBoolean(l != null);
+    if (l != null) {
+      output.writeLong(l);
+    }
+  }
+
+  @CheckForNull
+  protected static Long readNullableLong(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readLong() : null;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util.cache;
+
+import org.sonar.api.utils.System2;
+
+import javax.annotation.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe in-memory cache, bounded in size and in time. Least recently used entries are evicted
+ * when the cache is full. Missing elements are loaded in a single call to {@link BulkCacheLoader#loadAll(Collection)}.
+ * Contrary to {@link MemoryCache}, keys that are not found are not cached.
+ */
+public class ExpiringMemoryCache<K, V> {
+
+  private final System2 system;
+  private final long ttlMs;
+  private final Map<K, Entry<V>> entries;
+
+  /**
+   * Incremented on each invalidation, so that values loaded before an invalidation
+   * are not stored afterwards.
+   */
+  private long generation = 0L;
+
+  public ExpiringMemoryCache(final int maxSize, long ttlMs, System2 system) {
+    this.system = system;
+    this.ttlMs = ttlMs;
+    this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get values associated with keys. Keys that are not found are not included in the Map result.
+   */
+  public Map<K, V> getAll(Collection<K> keys, BulkCacheLoader<K, V> loader) {
+    Map<K, V> result = new HashMap<>();
+    List<K> missingKeys = new ArrayList<>();
+    long loadedGeneration;
+    synchronized (this) {
+      loadedGeneration = generation;
+      long now = system.now();
+      for (K key : keys) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || now - entry.loadedAt > ttlMs) {
+          missingKeys.add(key);
+        } else {
+          result.put(key, entry.value);
+        }
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      // database and index are requested outside the lock
+      Map<K, V> missingValues = loader.loadAll(missingKeys);
+      synchronized (this) {
+        long now = system.now();
+        for (Map.Entry<K, V> missingValue : missingValues.entrySet()) {
+          if (missingValue.getValue() != null) {
+            result.put(missingValue.getKey(), missingValue.getValue());
+            if (loadedGeneration == generation) {
+              entries.put(missingValue.getKey(), new Entry<>(missingValue.getValue(), now));
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the value associated with key. Null if key is not found.
+   */
+  @CheckForNull
+  public V get(K key, BulkCacheLoader<K, V> loader) {
+    return getAll(Collections.singletonList(key), loader).get(key);
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+    generation++;
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+    generation++;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long loadedAt;
+
+    Entry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
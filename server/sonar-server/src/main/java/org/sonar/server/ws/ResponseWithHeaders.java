@@ -17,24 +17,20 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.server.ws;
 
-import java.io.File;
-import java.util.Objects;
+import org.sonar.api.server.ws.Response;
 
-public class BatchReportDirectoryHolderImpl implements MutableBatchReportDirectoryHolder {
-  private File directory;
+/**
+ * Response which accepts HTTP headers. All the responses given by {@link WebServiceEngine} to the
+ * request handlers implement this interface, which is not part of the plugin API.
+ */
+public interface ResponseWithHeaders extends Response {
 
-  @Override
-  public void setDirectory(File newDirectory) {
-    this.directory = Objects.requireNonNull(newDirectory);
-  }
+  /**
+   * Set a HTTP header. It must be called before writing the response, as headers are
+   * sent to the client with the beginning of content of streamed responses.
+   */
+  ResponseWithHeaders setHeader(String name, String value);
 
-  @Override
-  public File getDirectory() {
-    if (this.directory == null) {
-      throw new IllegalStateException("Directory has not been set yet");
-    }
-    return this.directory;
-  }
 }
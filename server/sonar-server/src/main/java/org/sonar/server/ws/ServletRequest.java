@@ -68,6 +68,11 @@ public class ServletRequest extends ValidatingRequest {
     return null;
   }
 
+  @Override
+  public String header(String name) {
+    return source.getHeader(name);
+  }
+
   @Override
   public String toString() {
     StringBuffer url = source.getRequestURL();
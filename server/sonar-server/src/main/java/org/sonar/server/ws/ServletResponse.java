@@ -25,18 +25,39 @@ import org.sonar.api.utils.text.XmlWriter;
 import org.sonar.server.plugins.MimeTypes;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class ServletResponse implements Response {
+public class ServletResponse implements ResponseWithHeaders {
+
+  /**
+   * Size of the content buffered in memory before being sent to client when the action
+   * is streamed. See {@link org.sonar.api.server.ws.WebService.NewAction#setStreamed(boolean)}
+   */
+  static final int STREAMING_BUFFER_SIZE = 32 * 1024;
 
   public static class ServletStream implements Stream {
     private String mediaType;
     private int httpStatus = 200;
-    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final HttpServletResponse source;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final OutputStream output = new StreamOutput();
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private boolean streamed = false;
+    // not null when status, headers and beginning of content have been sent to client
+    private OutputStream sourceOutput = null;
+
+    ServletStream(@Nullable HttpServletResponse source) {
+      this.source = source;
+    }
 
     @CheckForNull
     public String mediaType() {
@@ -64,17 +85,116 @@ public class ServletResponse implements Response {
       return output;
     }
 
+    /**
+     * Headers that have not been written to the servlet response yet
+     */
+    public Map<String, String> headers() {
+      return headers;
+    }
+
+    /**
+     * Content is written to the servlet response as soon as the buffer is full. Streaming
+     * is disabled when the servlet response is not available.
+     */
+    ServletStream setStreamed(boolean b) {
+      this.streamed = b;
+      return this;
+    }
+
+    /**
+     * True if the content has been (at least partially) written to the servlet response. Status and
+     * media type can't be changed anymore.
+     */
+    public boolean isCommitted() {
+      return sourceOutput != null;
+    }
+
+    /**
+     * Content that has not been written to the servlet response yet
+     */
+    public byte[] outputAsBytes() {
+      return buffer.toByteArray();
+    }
+
     public String outputAsString() {
-      return new String(output.toByteArray(), StandardCharsets.UTF_8);
+      return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
     }
 
     public ServletStream reset() {
-      output.reset();
+      if (isCommitted()) {
+        throw new IllegalStateException("Response is already committed");
+      }
+      buffer.reset();
       return this;
     }
+
+    private void commitIfFull() throws IOException {
+      if (streamed && source != null && buffer.size() >= STREAMING_BUFFER_SIZE) {
+        source.setStatus(httpStatus);
+        if (mediaType != null) {
+          source.setContentType(mediaType);
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+          source.setHeader(header.getKey(), header.getValue());
+        }
+        headers.clear();
+        sourceOutput = source.getOutputStream();
+        buffer.writeTo(sourceOutput);
+        buffer.reset();
+      }
+    }
+
+    private class StreamOutput extends OutputStream {
+      @Override
+      public void write(int b) throws IOException {
+        if (isCommitted()) {
+          sourceOutput.write(b);
+        } else {
+          buffer.write(b);
+          commitIfFull();
+        }
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        if (isCommitted()) {
+          sourceOutput.write(b, off, len);
+        } else {
+          buffer.write(b, off, len);
+          commitIfFull();
+        }
+      }
+
+      /**
+       * Does not commit the response, so that errors raised afterwards can still be
+       * sent to client with the correct status.
+       */
+      @Override
+      public void flush() throws IOException {
+        if (isCommitted()) {
+          sourceOutput.flush();
+        }
+      }
+
+      /**
+       * The servlet output is not closed as it's managed by the servlet container
+       */
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    }
+  }
+
+  private final ServletStream stream;
+
+  public ServletResponse() {
+    this(null);
   }
 
-  private final ServletStream stream = new ServletStream();
+  public ServletResponse(@Nullable HttpServletResponse source) {
+    this.stream = new ServletStream(source);
+  }
 
   @Override
   public JsonWriter newJsonWriter() {
@@ -93,6 +213,15 @@ public class ServletResponse implements Response {
     return stream;
   }
 
+  @Override
+  public ServletResponse setHeader(String name, String value) {
+    if (stream.isCommitted()) {
+      throw new IllegalStateException("Response is already committed");
+    }
+    stream.headers.put(name, value);
+    return this;
+  }
+
   @Override
   public Response noContent() {
     stream.setStatus(204);
@@ -81,6 +81,7 @@ public class WebServiceEngine implements Startable {
     try {
       WebService.Action action = getAction(controllerPath, actionKey);
       request.setAction(action);
+      response.stream().setStreamed(action.isStreamed());
       verifyRequest(action, request);
       action.handler().handle(request, response);
 
@@ -111,6 +112,11 @@ public class WebServiceEngine implements Startable {
 
   private void sendErrors(ServletResponse response, int status, Errors errors) {
     ServletResponse.ServletStream stream = response.stream();
+    if (stream.isCommitted()) {
+      // status and beginning of content have already been sent. The client gets a truncated response.
+      Loggers.get(getClass()).error("Fail to send error {} as response is already committed", status);
+      return;
+    }
     stream.reset();
     stream.setStatus(status);
     stream.setMediaType(MimeTypes.JSON);
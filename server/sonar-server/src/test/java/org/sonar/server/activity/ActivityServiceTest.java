@@ -19,6 +19,7 @@
  */
 package org.sonar.server.activity;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.assertj.core.data.MapEntry;
@@ -56,6 +57,8 @@ public class ActivityServiceTest {
 
   @Before
   public void before() {
+    db.truncateTables();
+    es.truncateIndices();
     ActivityDao activityDao = new ActivityDao(db.myBatis(), system);
     IssueDao issueDao = new IssueDao(db.myBatis());
     DbClient dbClient = new DbClient(db.database(), db.myBatis(), issueDao, activityDao);
@@ -90,4 +93,22 @@ public class ActivityServiceTest {
     assertThat(docs.get(0).getDetails()).containsOnly(MapEntry.entry("foo", "bar"));
   }
 
+  @Test
+  public void insert_and_index_many_activities() {
+    when(system.now()).thenReturn(1_500_000_000_000L);
+
+    service.save(Arrays.asList(newActivity("FIRST"), newActivity("SECOND")));
+
+    assertThat(db.countRowsOfTable("activities")).isEqualTo(2);
+    List<ActivityDoc> docs = es.getDocuments("activities", "activity", ActivityDoc.class);
+    assertThat(docs).extracting("action").containsOnly("FIRST", "SECOND");
+  }
+
+  private static Activity newActivity(String action) {
+    Activity activity = new Activity();
+    activity.setType(Activity.Type.QPROFILE);
+    activity.setAction(action);
+    return activity;
+  }
+
 }
@@ -19,6 +19,7 @@
  */
 package org.sonar.server.batch;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.CharUtils;
 import org.junit.Before;
@@ -69,6 +70,16 @@ public class BatchIndexTest {
     batchIndex.stop();
   }
 
+  @Test
+  public void get_hashes() {
+    BatchIndex batchIndex = new BatchIndex(server);
+    batchIndex.start();
+
+    assertThat(batchIndex.getFileHash("sonar-batch.jar")).isEqualTo("acbd18db4cc2f85cedef654fccc4a4d8");
+    assertThat(batchIndex.getFileHash("other.jar")).isNull();
+    assertThat(batchIndex.getIndexHash()).isEqualTo(DigestUtils.md5Hex("sonar-batch.jar|acbd18db4cc2f85cedef654fccc4a4d8" + CharUtils.LF));
+  }
+
   @Test
   public void get_file() {
     BatchIndex batchIndex = new BatchIndex(server);
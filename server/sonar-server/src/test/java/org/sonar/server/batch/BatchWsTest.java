@@ -83,4 +83,53 @@ public class BatchWsTest {
     assertThat(jar).isEqualTo("foo");
   }
 
+  @Test
+  public void index_and_files_are_tagged_by_their_hashes() throws Exception {
+    String filename = "sonar-batch.jar";
+    File file = temp.newFile(filename);
+    when(batchIndex.getIndex()).thenReturn("sonar-batch.jar|acbd18db4cc2f85cedef654fccc4a4d8");
+    when(batchIndex.getIndexHash()).thenReturn("c6a9bf8f3b0bd9d7a5d5d4a4b1e24bd3");
+    when(batchIndex.getFile(filename)).thenReturn(file);
+    when(batchIndex.getFileHash(filename)).thenReturn("acbd18db4cc2f85cedef654fccc4a4d8");
+
+    WsTester.Result result = tester.newGetRequest("batch", "index").execute();
+    assertThat(result.header("ETag")).isEqualTo("\"c6a9bf8f3b0bd9d7a5d5d4a4b1e24bd3\"");
+
+    result = tester.newGetRequest("batch", "file").setParam("name", filename).execute();
+    assertThat(result.header("ETag")).isEqualTo("\"acbd18db4cc2f85cedef654fccc4a4d8\"");
+  }
+
+  @Test
+  public void do_not_send_index_if_not_modified() throws Exception {
+    when(batchIndex.getIndex()).thenReturn("sonar-batch.jar|acbd18db4cc2f85cedef654fccc4a4d8");
+    when(batchIndex.getIndexHash()).thenReturn("c6a9bf8f3b0bd9d7a5d5d4a4b1e24bd3");
+
+    WsTester.Result result = tester.newGetRequest("batch", "index")
+      .setHeader("If-None-Match", "\"c6a9bf8f3b0bd9d7a5d5d4a4b1e24bd3\"")
+      .execute();
+    result.assertNotModified();
+    assertThat(result.outputAsString()).isEmpty();
+
+    // index has changed
+    result = tester.newGetRequest("batch", "index")
+      .setHeader("If-None-Match", "\"00000000000000000000000000000000\"")
+      .execute();
+    assertThat(result.outputAsString()).isEqualTo("sonar-batch.jar|acbd18db4cc2f85cedef654fccc4a4d8");
+  }
+
+  @Test
+  public void do_not_send_file_if_not_modified() throws Exception {
+    String filename = "sonar-batch.jar";
+    File file = temp.newFile(filename);
+    FileUtils.writeStringToFile(file, "foo");
+    when(batchIndex.getFile(filename)).thenReturn(file);
+    when(batchIndex.getFileHash(filename)).thenReturn("acbd18db4cc2f85cedef654fccc4a4d8");
+
+    WsTester.Result result = tester.newGetRequest("batch", "file").setParam("name", filename)
+      .setHeader("If-None-Match", "\"acbd18db4cc2f85cedef654fccc4a4d8\"")
+      .execute();
+    result.assertNotModified();
+    assertThat(result.outputAsString()).isEmpty();
+  }
+
 }
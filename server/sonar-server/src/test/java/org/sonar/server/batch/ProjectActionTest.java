@@ -20,6 +20,8 @@
 
 package org.sonar.server.batch;
 
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -67,4 +69,24 @@ public class ProjectActionTest {
     assertThat(queryArgumentCaptor.getValue().isPreview()).isFalse();
   }
 
+  @Test
+  public void project_referentials_in_protobuf() throws Exception {
+    ProjectRepositories projectReferentials = new ProjectRepositories();
+    projectReferentials.setTimestamp(10L);
+    projectReferentials.addSettings("org.codehaus.sonar:sonar", ImmutableMap.of("foo", "bar"));
+
+    ArgumentCaptor<ProjectRepositoryQuery> queryArgumentCaptor = ArgumentCaptor.forClass(ProjectRepositoryQuery.class);
+    when(projectRepositoryLoader.load(queryArgumentCaptor.capture())).thenReturn(projectReferentials);
+
+    WsTester.TestRequest request = tester.newGetRequest("batch", "project")
+      .setParam("key", "org.codehaus.sonar:sonar")
+      .setParam("format", "protobuf");
+    ProjectRepositories result = ProjectRepositories.readFrom(new ByteArrayInputStream(request.execute().output()));
+
+    assertThat(result.timestamp()).isEqualTo(10L);
+    assertThat(result.settings("org.codehaus.sonar:sonar")).containsEntry("foo", "bar");
+    // file data are loaded separately
+    assertThat(queryArgumentCaptor.getValue().isWithFileData()).isFalse();
+  }
+
 }
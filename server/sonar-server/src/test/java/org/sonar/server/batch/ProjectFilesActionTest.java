@@ -0,0 +1,67 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.core.component.FilePathWithHashDto;
+import org.sonar.server.ws.WsTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectFilesActionTest {
+
+  ProjectRepositoryLoader projectRepositoryLoader = mock(ProjectRepositoryLoader.class);
+  WsTester tester;
+
+  @Before
+  public void setUp() {
+    tester = new WsTester(new BatchWs(mock(BatchIndex.class), new ProjectFilesAction(projectRepositoryLoader)));
+  }
+
+  @Test
+  public void return_files_of_module() throws Exception {
+    FilePathWithHashDto file1 = new FilePathWithHashDto();
+    file1.setPath("src/Foo.java");
+    file1.setSrcHash("123");
+    FilePathWithHashDto file2 = new FilePathWithHashDto();
+    file2.setPath("src/Bar.java");
+    when(projectRepositoryLoader.loadModuleFiles("org.codehaus.sonar:sonar-core", true)).thenReturn(Arrays.asList(file1, file2));
+
+    WsTester.TestRequest request = tester.newGetRequest("batch", "project_files")
+      .setParam("key", "org.codehaus.sonar:sonar-core")
+      .setParam("preview", "true");
+    ByteArrayInputStream input = new ByteArrayInputStream(request.execute().output());
+
+    BatchInput.FileDataItem item = BatchInput.FileDataItem.parseDelimitedFrom(input);
+    assertThat(item.getPath()).isEqualTo("src/Foo.java");
+    assertThat(item.getHash()).isEqualTo("123");
+    assertThat(item.getNeedBlame()).isTrue();
+    item = BatchInput.FileDataItem.parseDelimitedFrom(input);
+    assertThat(item.getPath()).isEqualTo("src/Bar.java");
+    assertThat(item.hasHash()).isFalse();
+    assertThat(BatchInput.FileDataItem.parseDelimitedFrom(input)).isNull();
+  }
+}
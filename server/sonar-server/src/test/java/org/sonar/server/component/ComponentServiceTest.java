@@ -30,6 +30,7 @@ import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
 import org.sonar.api.i18n.I18n;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.utils.System2;
@@ -38,19 +39,22 @@ import org.sonar.core.component.ComponentDto;
 import org.sonar.core.permission.GlobalPermissions;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.DbTester;
-import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.resource.ResourceKeyUpdaterDao;
 import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.issue.ws.ReferenceDataCache;
+import org.sonar.server.measure.index.MeasureIndexer;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Category(DbTests.class)
@@ -65,6 +69,8 @@ public class ComponentServiceTest {
   DbClient dbClient;
   DbSession session;
   I18n i18n = mock(I18n.class);
+  ComponentIndexer componentIndexer = mock(ComponentIndexer.class);
+  MeasureIndexer measureIndexer = mock(MeasureIndexer.class);
   ComponentService service;
 
   @Before
@@ -75,8 +81,8 @@ public class ComponentServiceTest {
 
     when(i18n.message(Locale.getDefault(), "qualifier.TRK", "Project")).thenReturn("Project");
 
-    service = new ComponentService(dbClient, new ResourceKeyUpdaterDao(dbTester.myBatis()), i18n, new ResourceIndexerDao(dbTester.myBatis()),
-      userSessionRule, System2.INSTANCE);
+    service = new ComponentService(dbClient, new ResourceKeyUpdaterDao(dbTester.myBatis()), i18n, componentIndexer,
+      measureIndexer, userSessionRule, System2.INSTANCE, new ReferenceDataCache(new Settings(), System2.INSTANCE));
   }
 
   @After
@@ -129,6 +135,8 @@ public class ComponentServiceTest {
     // Check file key has been updated
     assertThat(service.getNullableByKey(file.key())).isNull();
     assertThat(service.getNullableByKey("sample2:root:src/File.xoo")).isNotNull();
+
+    verify(measureIndexer).index(project.uuid());
   }
 
   @Test
@@ -156,6 +164,8 @@ public class ComponentServiceTest {
     // Check file key has been updated
     assertThat(service.getNullableByKey(file.key())).isNull();
     assertThat(service.getNullableByKey("sample:root2:module:src/File.xoo")).isNotNull();
+
+    verify(measureIndexer).index(project.uuid());
   }
 
   @Test
@@ -252,6 +262,8 @@ public class ComponentServiceTest {
     // Check file key has been updated
     assertThat(service.getNullableByKey(file.key())).isNull();
     assertThat(service.getNullableByKey("sample2:root:module:src/File.xoo")).isNotNull();
+
+    verify(measureIndexer).index(project.uuid());
   }
 
   @Test
@@ -295,6 +307,7 @@ public class ComponentServiceTest {
     assertThat(project.scope()).isEqualTo("PRJ");
     assertThat(project.qualifier()).isEqualTo("TRK");
     assertThat(project.getCreatedAt()).isNotNull();
+    verify(componentIndexer).index(project.uuid());
   }
 
   @Test
@@ -435,6 +435,25 @@ public class ComponentDaoTest {
     assertThat(sut.selectEnabledFilesFromProject(session, "unknown")).isEmpty();
   }
 
+  @Test
+  public void select_enabled_module_files() {
+    db.prepareDbUnit(getClass(), "select_module_files_tree.xml");
+
+    // root project has no files
+    assertThat(sut.selectEnabledModuleFiles(session, "ABCD")).isEmpty();
+
+    // files of sub module are excluded
+    List<FilePathWithHashDto> files = sut.selectEnabledModuleFiles(session, "EFGH");
+    assertThat(files).extracting("uuid").containsOnly("EFGHI");
+    assertThat(files).extracting("srcHash").containsOnly("srcEFGHI");
+    assertThat(files).extracting("path").containsOnly("src/org/struts/pom.xml");
+
+    files = sut.selectEnabledModuleFiles(session, "FGHI");
+    assertThat(files).extracting("uuid").containsOnly("HIJK");
+
+    assertThat(sut.selectEnabledModuleFiles(session, "unknown")).isEmpty();
+  }
+
   @Test
   public void select_components_from_project() {
     db.prepareDbUnit(getClass(), "multi-modules.xml");
@@ -54,13 +54,11 @@ public class ComponentIndexDaoTest {
   }
 
   @Test
-  public void select_project_ids_from_query_and_view_or_sub_view_uuid() {
-    dbTester.prepareDbUnit(getClass(), "select_project_ids_from_query_and_view_or_sub_view_uuid.xml");
-    String viewUuid = "EFGH";
+  public void select_project_ids_from_view_or_sub_view_uuid() {
+    dbTester.prepareDbUnit(getClass(), "select_project_ids_from_view_or_sub_view_uuid.xml");
 
-    assertThat(dao.selectProjectIdsFromQueryAndViewOrSubViewUuid(session, "project", viewUuid)).containsOnly(1L, 2L);
-    assertThat(dao.selectProjectIdsFromQueryAndViewOrSubViewUuid(session, "one", viewUuid)).containsOnly(1L);
-    assertThat(dao.selectProjectIdsFromQueryAndViewOrSubViewUuid(session, "two", viewUuid)).containsOnly(2L);
-    assertThat(dao.selectProjectIdsFromQueryAndViewOrSubViewUuid(session, "unknown", viewUuid)).isEmpty();
+    assertThat(dao.selectProjectIdsFromViewOrSubViewUuid(session, "EFGH")).containsOnly(1L, 2L);
+    assertThat(dao.selectProjectIdsFromViewOrSubViewUuid(session, "ABCD")).isEmpty();
+    assertThat(dao.selectProjectIdsFromViewOrSubViewUuid(session, "unknown")).isEmpty();
   }
 }
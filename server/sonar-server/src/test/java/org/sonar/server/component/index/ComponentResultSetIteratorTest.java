@@ -0,0 +1,99 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.component.index;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.server.db.DbClient;
+import org.sonar.test.DbTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(DbTests.class)
+public class ComponentResultSetIteratorTest {
+
+  @ClassRule
+  public static DbTester db = new DbTester();
+
+  DbClient dbClient;
+  Connection connection;
+  ComponentResultSetIterator underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    db.truncateTables();
+    dbClient = new DbClient(db.database(), db.myBatis());
+    connection = db.openConnection();
+  }
+
+  @After
+  public void after() throws Exception {
+    if (underTest != null) {
+      underTest.close();
+    }
+    connection.close();
+  }
+
+  @Test
+  public void traverse_searchable_components() {
+    db.prepareDbUnit(getClass(), "shared.xml");
+
+    underTest = ComponentResultSetIterator.create(dbClient, connection, null);
+    Map<String, ComponentDoc> docsByUuid = toMap(underTest);
+
+    assertThat(docsByUuid.keySet()).containsOnly("ABCD", "CDEF", "EFGH");
+    ComponentDoc file = docsByUuid.get("CDEF");
+    assertThat(file.id()).isEqualTo(3L);
+    assertThat(file.projectUuid()).isEqualTo("ABCD");
+    assertThat(file.rootProjectId()).isEqualTo(1L);
+    assertThat(file.name()).isEqualTo("Action.java");
+    assertThat(file.nameSize()).isEqualTo(11);
+    assertThat(file.qualifier()).isEqualTo("FIL");
+    assertThat(file.createdAt()).isNull();
+  }
+
+  @Test
+  public void filter_by_project() {
+    db.prepareDbUnit(getClass(), "shared.xml");
+
+    underTest = ComponentResultSetIterator.create(dbClient, connection, "ABCD");
+    assertThat(toMap(underTest).keySet()).containsOnly("ABCD", "CDEF");
+    underTest.close();
+
+    underTest = ComponentResultSetIterator.create(dbClient, connection, "UNKNOWN");
+    assertThat(underTest.hasNext()).isFalse();
+  }
+
+  private static Map<String, ComponentDoc> toMap(ComponentResultSetIterator it) {
+    Map<String, ComponentDoc> docsByUuid = new HashMap<>();
+    while (it.hasNext()) {
+      ComponentDoc doc = it.next();
+      docsByUuid.put(doc.uuid(), doc);
+    }
+    return docsByUuid;
+  }
+}
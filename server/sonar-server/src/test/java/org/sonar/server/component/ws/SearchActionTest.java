@@ -25,13 +25,18 @@ import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
 import org.sonar.api.server.ws.WebService.Param;
 import org.sonar.api.web.UserRole;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.core.user.AuthorizationDao;
 import org.sonar.server.component.db.ComponentDao;
 import org.sonar.server.component.db.ComponentIndexDao;
+import org.sonar.server.component.index.ComponentIndex;
+import org.sonar.server.component.index.ComponentIndexDefinition;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.ws.WsTester;
 import org.sonar.test.DbTests;
@@ -45,23 +50,27 @@ public class SearchActionTest {
 
   @ClassRule
   public static DbTester dbTester = new DbTester();
+  @ClassRule
+  public static EsTester es = new EsTester().addDefinitions(new ComponentIndexDefinition(new Settings()));
   @Rule
   public UserSessionRule userSessionRule = UserSessionRule.standalone();
 
+  DbClient dbClient;
   WsTester tester;
 
   @Before
   public void setUp() {
     dbTester.truncateTables();
-    DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(),
+    es.truncateIndices();
+    dbClient = new DbClient(dbTester.database(), dbTester.myBatis(),
       new ComponentDao(), new AuthorizationDao(dbTester.myBatis()), new ComponentIndexDao()
       );
-    tester = new WsTester(new ComponentsWs(mock(AppAction.class), new SearchAction(dbClient, userSessionRule)));
+    tester = new WsTester(new ComponentsWs(mock(AppAction.class), new SearchAction(dbClient, new ComponentIndex(es.client()), userSessionRule)));
   }
 
   @Test
   public void return_projects_from_view() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareDbUnitAndIndex("shared.xml");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st");
@@ -70,7 +79,7 @@ public class SearchActionTest {
 
   @Test
   public void return_projects_from_subview() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareDbUnitAndIndex("shared.xml");
     userSessionRule.login("john").addComponentUuidPermission(UserRole.USER, "EFGH", "FGHI");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "FGHI").setParam("q", "st");
@@ -79,7 +88,7 @@ public class SearchActionTest {
 
   @Test
   public void return_only_authorized_projects_from_view() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "return_only_authorized_projects_from_view.xml");
+    prepareDbUnitAndIndex("return_only_authorized_projects_from_view.xml");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st");
@@ -88,7 +97,7 @@ public class SearchActionTest {
 
   @Test
   public void return_paged_result() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareDbUnitAndIndex("shared.xml");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st").setParam(Param.PAGE, "2")
@@ -98,7 +107,7 @@ public class SearchActionTest {
 
   @Test
   public void return_only_first_page() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareDbUnitAndIndex("shared.xml");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "st").setParam(Param.PAGE, "1")
@@ -108,7 +117,7 @@ public class SearchActionTest {
 
   @Test
   public void fail_when_search_param_is_too_short() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "shared.xml");
+    prepareDbUnitAndIndex("shared.xml");
     userSessionRule.login("john").addProjectUuidPermissions(UserRole.USER, "EFGH");
 
     WsTester.TestRequest request = tester.newGetRequest("api/components", "search").setParam("componentUuid", "EFGH").setParam("q", "s");
@@ -120,4 +129,9 @@ public class SearchActionTest {
       assertThat(e).hasMessage("Minimum search is 2 characters");
     }
   }
+
+  private void prepareDbUnitAndIndex(String dataset) {
+    dbTester.prepareDbUnit(getClass(), dataset);
+    new ComponentIndexer(dbClient, es.client()).setEnabled(true).index();
+  }
 }
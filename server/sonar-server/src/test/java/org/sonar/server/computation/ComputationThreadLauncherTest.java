@@ -20,6 +20,7 @@
 
 package org.sonar.server.computation;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
@@ -28,13 +29,20 @@ import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
 import org.junit.rules.TestRule;
 import org.junit.rules.Timeout;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
 import org.sonar.core.platform.ComponentContainer;
 import org.sonar.server.computation.container.ContainerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ComputationThreadLauncherTest {
 
@@ -45,22 +53,26 @@ public class ComputationThreadLauncherTest {
   ReportQueue queue;
   ComponentContainer componentContainer;
   ContainerFactory containerFactory;
+  ProjectPurgeScheduler purgeScheduler;
 
   @Before
   public void before() {
     this.queue = mock(ReportQueue.class);
     this.componentContainer = mock(ComponentContainer.class);
     this.containerFactory = mock(ContainerFactory.class);
+    this.purgeScheduler = mock(ProjectPurgeScheduler.class);
   }
 
   @After
   public void after() {
-    sut.stop();
+    if (sut != null) {
+      sut.stop();
+    }
   }
 
   @Test
   public void call_findAndBook_when_launching_a_recurrent_task() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 0, 1, TimeUnit.MILLISECONDS);
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, purgeScheduler, 1, 0, 1, TimeUnit.MILLISECONDS);
 
     sut.onServerStart(mock(Server.class));
 
@@ -71,7 +83,7 @@ public class ComputationThreadLauncherTest {
 
   @Test
   public void call_findAndBook_when_executing_task_immediately() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, 1, 1, TimeUnit.HOURS);
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, purgeScheduler, 1, 1, 1, TimeUnit.HOURS);
     sut.start();
 
     sut.startAnalysisTaskNow();
@@ -81,10 +93,66 @@ public class ComputationThreadLauncherTest {
     verify(queue, atLeastOnce()).pop();
   }
 
+  @Test
+  public void ignore_wake_ups_when_all_workers_are_going_to_poll_the_queue() throws Exception {
+    final CountDownLatch popStarted = new CountDownLatch(1);
+    final CountDownLatch releasePop = new CountDownLatch(1);
+    when(queue.pop()).thenAnswer(new Answer<ReportQueue.Item>() {
+      @Override
+      public ReportQueue.Item answer(InvocationOnMock invocation) throws Throwable {
+        popStarted.countDown();
+        releasePop.await();
+        return null;
+      }
+    });
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, purgeScheduler, 1, 1, 1, TimeUnit.HOURS);
+
+    sut.startAnalysisTaskNow();
+    popStarted.await();
+    // the single worker is busy, only one of the next wake-ups is kept
+    sut.startAnalysisTaskNow();
+    sut.startAnalysisTaskNow();
+    sut.startAnalysisTaskNow();
+    releasePop.countDown();
+
+    sleep();
+
+    verify(queue, times(2)).pop();
+  }
+
+  @Test
+  public void pop_queue_from_every_worker() throws Exception {
+    sut = new ComputationThreadLauncher(queue, componentContainer, containerFactory, purgeScheduler, 3, 0, 1, TimeUnit.MILLISECONDS);
+
+    sut.onServerStart(mock(Server.class));
+
+    sleep();
+
+    verify(queue, atLeast(3)).pop();
+  }
+
   @Test
   public void test_real_constructor() throws Exception {
-    sut = new ComputationThreadLauncher(queue, componentContainer);
+    sut = new ComputationThreadLauncher(queue, componentContainer, purgeScheduler, new Settings());
     sut.start();
+
+    assertThat(sut.getWorkers()).isEqualTo(1);
+  }
+
+  @Test
+  public void number_of_workers_is_configurable() throws Exception {
+    Settings settings = new Settings();
+    settings.setProperty(ComputationThreadLauncher.WORKERS_PROPERTY, 4);
+    sut = new ComputationThreadLauncher(queue, componentContainer, purgeScheduler, settings);
+
+    assertThat(sut.getWorkers()).isEqualTo(4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_negative_number_of_workers() throws Exception {
+    Settings settings = new Settings();
+    settings.setProperty(ComputationThreadLauncher.WORKERS_PROPERTY, -1);
+    sut = new ComputationThreadLauncher(queue, componentContainer, purgeScheduler, settings);
   }
 
   private void sleep() throws InterruptedException {
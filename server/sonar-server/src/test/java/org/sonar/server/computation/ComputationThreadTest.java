@@ -24,6 +24,8 @@ import java.io.IOException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+import org.sonar.api.utils.System2;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.core.computation.db.AnalysisReportDto;
 import org.sonar.core.platform.ComponentContainer;
@@ -33,7 +35,10 @@ import org.sonar.server.computation.container.ContainerFactory;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -48,7 +53,9 @@ public class ComputationThreadTest {
   ReportQueue queue = mock(ReportQueue.class);
   ComponentContainer componentContainer = mock(ComponentContainer.class);
   ContainerFactory containerFactory = mock(ContainerFactory.class);
-  ComputationThread sut = new ComputationThread(queue, componentContainer, containerFactory);
+  ComputationWorkersStatistics statistics = new ComputationWorkersStatistics(System2.INSTANCE);
+  ProjectPurgeScheduler purgeScheduler = mock(ProjectPurgeScheduler.class);
+  ComputationThread sut = new ComputationThread(queue, componentContainer, containerFactory, statistics, purgeScheduler);
 
   @Test
   public void do_nothing_if_queue_empty() {
@@ -62,16 +69,70 @@ public class ComputationThreadTest {
 
   @Test
   public void pop_queue_and_integrate_report() throws IOException {
-    AnalysisReportDto report = AnalysisReportDto.newForTests(1L);
+    AnalysisReportDto report = AnalysisReportDto.newForTests(1L).setProjectKey("P1");
     ReportQueue.Item item = new ReportQueue.Item(report, temp.newFile());
 
-    when(queue.pop()).thenReturn(item);
-    when(containerFactory.create(componentContainer, item)).thenReturn(mock(ComputeEngineContainer.class));
+    when(queue.pop()).thenReturn(item, null);
+    ComputeEngineContainer computeEngineContainer = mock(ComputeEngineContainer.class);
+    when(containerFactory.create(componentContainer, item)).thenReturn(computeEngineContainer);
 
     sut.run();
 
-    verify(queue).pop();
+    verify(queue, times(2)).pop();
     verify(containerFactory).create(componentContainer, item);
+    // project is not purged while the report is processed
+    InOrder inOrder = inOrder(purgeScheduler, computeEngineContainer);
+    inOrder.verify(purgeScheduler).lock("P1");
+    inOrder.verify(computeEngineContainer).process();
+    inOrder.verify(purgeScheduler).unlock("P1");
+    assertThat(statistics.all()).hasSize(1);
+    assertThat(statistics.all().get(0).getProcessedReports()).isEqualTo(1L);
+    assertThat(statistics.all().get(0).isBusy()).isFalse();
+  }
+
+  @Test
+  public void pop_queue_until_empty() throws IOException {
+    ReportQueue.Item item1 = new ReportQueue.Item(AnalysisReportDto.newForTests(1L), temp.newFile());
+    ReportQueue.Item item2 = new ReportQueue.Item(AnalysisReportDto.newForTests(2L), temp.newFile());
+    when(queue.pop()).thenReturn(item1, item2, null);
+    when(containerFactory.create(any(ComponentContainer.class), any(ReportQueue.Item.class))).thenReturn(mock(ComputeEngineContainer.class));
+
+    sut.run();
+
+    verify(queue, times(3)).pop();
+    verify(containerFactory).create(componentContainer, item1);
+    verify(containerFactory).create(componentContainer, item2);
+    assertThat(statistics.all().get(0).getProcessedReports()).isEqualTo(2L);
+  }
+
+  @Test
+  public void remove_report_and_process_next_one_if_project_can_not_be_locked() throws IOException {
+    ReportQueue.Item item1 = new ReportQueue.Item(AnalysisReportDto.newForTests(1L).setProjectKey("P1"), temp.newFile());
+    ReportQueue.Item item2 = new ReportQueue.Item(AnalysisReportDto.newForTests(2L).setProjectKey("P2"), temp.newFile());
+    when(queue.pop()).thenReturn(item1, item2, null);
+    doThrow(new IllegalStateException("Interrupted")).when(purgeScheduler).lock("P1");
+    when(containerFactory.create(any(ComponentContainer.class), any(ReportQueue.Item.class))).thenReturn(mock(ComputeEngineContainer.class));
+
+    sut.run();
+
+    verify(purgeScheduler, never()).unlock("P1");
+    verify(queue).remove(item1);
+    verify(containerFactory, never()).create(componentContainer, item1);
+    verify(containerFactory).create(componentContainer, item2);
+    assertThat(logTester.logs()).contains("Failed to process analysis report 1 of project P1");
+  }
+
+  @Test
+  public void unlock_project_and_remove_report_if_container_can_not_be_created() throws IOException {
+    ReportQueue.Item item = new ReportQueue.Item(AnalysisReportDto.newForTests(1L).setProjectKey("P1"), temp.newFile());
+    when(queue.pop()).thenReturn(item, null);
+    when(containerFactory.create(componentContainer, item)).thenThrow(new IllegalStateException("pb"));
+
+    sut.run();
+
+    verify(purgeScheduler).unlock("P1");
+    verify(queue).remove(item);
+    assertThat(statistics.all().get(0).isBusy()).isFalse();
   }
 
   @Test
@@ -89,7 +150,7 @@ public class ComputationThreadTest {
 
     AnalysisReportDto report = AnalysisReportDto.newForTests(1L).setProjectKey("P1");
     ReportQueue.Item item = new ReportQueue.Item(report, temp.newFile());
-    when(queue.pop()).thenReturn(item);
+    when(queue.pop()).thenReturn(item, null);
     doThrow(new IllegalStateException("pb")).when(queue).remove(item);
 
     sut.run();
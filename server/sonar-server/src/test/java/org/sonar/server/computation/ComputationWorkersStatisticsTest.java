@@ -0,0 +1,63 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package org.sonar.server.computation;
+
+import org.junit.Test;
+import org.sonar.api.utils.System2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ComputationWorkersStatisticsTest {
+
+  System2 system2 = mock(System2.class);
+  ComputationWorkersStatistics sut = new ComputationWorkersStatistics(system2);
+
+  @Test
+  public void one_worker_per_thread() {
+    when(system2.now()).thenReturn(1_000L);
+
+    ComputationWorkersStatistics.Worker worker = sut.forCurrentThread();
+
+    assertThat(sut.forCurrentThread()).isSameAs(worker);
+    assertThat(worker.getName()).isEqualTo(Thread.currentThread().getName());
+    assertThat(sut.all()).containsOnly(worker);
+  }
+
+  @Test
+  public void compute_busy_time_and_utilisation() {
+    when(system2.now()).thenReturn(1_000L);
+    ComputationWorkersStatistics.Worker worker = sut.forCurrentThread();
+    assertThat(worker.isBusy()).isFalse();
+    assertThat(worker.getUtilisation(1_000L)).isEqualTo(0);
+
+    worker.startReport(1_100L);
+    assertThat(worker.isBusy()).isTrue();
+    assertThat(worker.getBusyTimeMs(1_150L)).isEqualTo(50L);
+
+    worker.finishReport(1_300L);
+    assertThat(worker.isBusy()).isFalse();
+    assertThat(worker.getProcessedReports()).isEqualTo(1L);
+    assertThat(worker.getBusyTimeMs(2_000L)).isEqualTo(200L);
+    assertThat(worker.getUtilisation(2_000L)).isEqualTo(20);
+  }
+}
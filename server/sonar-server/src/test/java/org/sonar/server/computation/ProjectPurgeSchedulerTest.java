@@ -0,0 +1,226 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.api.config.Settings;
+import org.sonar.core.computation.dbcleaner.ProjectCleaner;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.purge.IdUuidPair;
+import org.sonar.core.purge.PurgeProfiler;
+import org.sonar.server.db.DbClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProjectPurgeSchedulerTest {
+
+  @Rule
+  public TestRule timeout = new DisableOnDebug(Timeout.seconds(5));
+
+  static final IdUuidPair PROJECT = new IdUuidPair(1L, "ABCD");
+
+  DbClient dbClient = mock(DbClient.class);
+  DbSession session = mock(DbSession.class);
+  ProjectCleaner projectCleaner = mock(ProjectCleaner.class);
+  PurgeProfiler profiler = mock(PurgeProfiler.class);
+  ProjectPurgeScheduler underTest;
+
+  @After
+  public void tearDown() {
+    if (underTest != null) {
+      underTest.stop();
+    }
+  }
+
+  @Test
+  public void purge_in_background() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    when(profiler.getDurations()).thenReturn(ImmutableMap.of("deleteSnapshots (snapshots)", 10L));
+    underTest = newScheduler(1L);
+    Settings settings = new Settings();
+
+    underTest.schedule("P1", PROJECT, settings);
+    waitForPurges(1);
+
+    verify(projectCleaner).purge(session, PROJECT, settings);
+    verify(session).commit();
+    verify(session, timeout(1000)).close();
+    assertThat(underTest.getPendingPurges()).isEqualTo(0);
+    assertThat(underTest.getFailures()).isEqualTo(0L);
+    assertThat(underTest.getDurationsByPhase()).containsOnly(entry("deleteSnapshots (snapshots)", 10L));
+
+    underTest.schedule("P1", PROJECT, settings);
+    waitForPurges(2);
+    assertThat(underTest.getDurationsByPhase()).containsOnly(entry("deleteSnapshots (snapshots)", 20L));
+  }
+
+  @Test
+  public void coalesce_requests_of_same_project() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    underTest = newScheduler(1L);
+    Settings latestSettings = new Settings();
+
+    // prevent the purge until all the requests are received
+    underTest.lock("P1");
+    underTest.schedule("P1", PROJECT, new Settings());
+    underTest.schedule("P1", PROJECT, new Settings());
+    underTest.schedule("P1", PROJECT, latestSettings);
+    assertThat(underTest.getPendingPurges()).isEqualTo(1);
+    underTest.unlock("P1");
+    waitForPurges(1);
+
+    assertThat(underTest.getPurges()).isEqualTo(1L);
+    assertThat(underTest.getPendingPurges()).isEqualTo(0);
+    verify(projectCleaner).purge(eq(session), eq(PROJECT), same(latestSettings));
+  }
+
+  @Test
+  public void do_not_purge_project_while_its_report_is_processed() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    underTest = newScheduler(1L);
+
+    underTest.lock("P1");
+    underTest.schedule("P1", PROJECT, new Settings());
+    while (underTest.getPostponements() < 2L) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+    verify(projectCleaner, never()).purge(any(DbSession.class), any(IdUuidPair.class), any(Settings.class));
+    assertThat(underTest.getPendingPurges()).isEqualTo(1);
+
+    underTest.unlock("P1");
+    waitForPurges(1);
+  }
+
+  @Test
+  public void count_failures() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    doThrow(new IllegalStateException("pb")).when(projectCleaner).purge(any(DbSession.class), any(IdUuidPair.class), any(Settings.class));
+    underTest = newScheduler(1L);
+
+    underTest.schedule("P1", PROJECT, new Settings());
+    while (underTest.getFailures() == 0L) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+
+    assertThat(underTest.getPurges()).isEqualTo(0L);
+    verify(session, timeout(1000)).close();
+  }
+
+  @Test
+  public void number_of_threads_is_configurable() {
+    underTest = new ProjectPurgeScheduler(dbClient, projectCleaner, profiler, new Settings());
+    assertThat(underTest.getThreads()).isEqualTo(ProjectPurgeScheduler.DEFAULT_THREADS);
+    underTest.stop();
+
+    Settings settings = new Settings();
+    settings.setProperty(ProjectPurgeScheduler.THREADS_PROPERTY, 3);
+    underTest = new ProjectPurgeScheduler(dbClient, projectCleaner, profiler, settings);
+    assertThat(underTest.getThreads()).isEqualTo(3);
+  }
+
+  @Test
+  public void fail_if_negative_delay() {
+    Settings settings = new Settings();
+    settings.setProperty(ProjectPurgeScheduler.DELAY_PROPERTY, -1);
+    try {
+      new ProjectPurgeScheduler(dbClient, projectCleaner, profiler, settings);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of sonar.purge.delaySeconds: -1");
+    }
+  }
+
+  @Test
+  public void zero_delay_means_immediate_purge() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    Settings settings = new Settings();
+    settings.setProperty(ProjectPurgeScheduler.DELAY_PROPERTY, 0);
+    underTest = new ProjectPurgeScheduler(dbClient, projectCleaner, profiler, settings);
+
+    underTest.schedule("P1", PROJECT, new Settings());
+
+    // the default delay (10 seconds) would exceed the timeout of test
+    waitForPurges(1L);
+  }
+
+  @Test
+  public void complete_running_purge_on_stop() throws Exception {
+    when(dbClient.openSession(true)).thenReturn(session);
+    final CountDownLatch purgeStarted = new CountDownLatch(1);
+    final CountDownLatch purgeReleased = new CountDownLatch(1);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        purgeStarted.countDown();
+        purgeReleased.await();
+        return null;
+      }
+    }).when(projectCleaner).purge(any(DbSession.class), any(IdUuidPair.class), any(Settings.class));
+    underTest = newScheduler(1L);
+    underTest.schedule("P1", PROJECT, new Settings());
+    purgeStarted.await();
+
+    Thread stopper = new Thread() {
+      @Override
+      public void run() {
+        underTest.stop();
+      }
+    };
+    stopper.start();
+    stopper.join(100L);
+    assertThat(stopper.isAlive()).isTrue();
+
+    purgeReleased.countDown();
+    stopper.join();
+    assertThat(underTest.getPurges()).isEqualTo(1L);
+  }
+
+  private ProjectPurgeScheduler newScheduler(long delayMs) {
+    return new ProjectPurgeScheduler(dbClient, projectCleaner, profiler, 1, delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void waitForPurges(long purges) throws InterruptedException {
+    while (underTest.getPurges() < purges) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+  }
+}
@@ -71,6 +71,16 @@ public class ActivityManagerTest {
     assertThat(activityArgumentCaptor.getValue().getData().get("projectUuid")).isEqualTo("ABCD");
   }
 
+  @Test
+  public void save_waiting_time() throws Exception {
+    reportDto.setCreatedAt(1_000L).setStartedAt(3_500L);
+
+    underTest.saveActivity(reportDto);
+
+    verify(activityService).save(activityArgumentCaptor.capture());
+    assertThat(activityArgumentCaptor.getValue().getData()).containsEntry("waitingTimeMs", "2500");
+  }
+
   @Test
   public void process_new_project() throws Exception {
     underTest.saveActivity(reportDto);
@@ -37,7 +37,11 @@ import org.sonar.test.DbTests;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.sonar.core.computation.db.AnalysisReportDto.Status.PENDING;
 import static org.sonar.core.computation.db.AnalysisReportDto.Status.WORKING;
@@ -140,6 +144,31 @@ public class AnalysisReportDaoTest {
     assertThat(nextAvailableReport.getProjectKey()).isEqualTo("P2");
   }
 
+  @Test
+  public void do_not_pop_two_reports_of_the_same_project() {
+    db.prepareDbUnit(getClass(), "pop_oldest_pending.xml");
+
+    AnalysisReportDto firstReport = sut.pop(session);
+    AnalysisReportDto secondReport = sut.pop(session);
+
+    assertThat(firstReport.getId()).isEqualTo(3);
+    // report 4 is on project P2, which is now being processed
+    assertThat(secondReport).isNull();
+  }
+
+  @Test
+  public void do_not_pop_next_report_of_project_booked_by_another_session() {
+    db.prepareDbUnit(getClass(), "pop_project_booked_by_another_session.xml");
+    AnalysisReportDao underTest = spy(sut);
+    // report 1 is booked by another server between the selection of available reports and the booking
+    doReturn(null).when(underTest).tryToPop(session, 1L);
+
+    AnalysisReportDto report = underTest.pop(session);
+
+    assertThat(report.getId()).isEqualTo(3L);
+    verify(underTest, never()).tryToPop(session, 2L);
+  }
+
   @Test
   public void pop_null_if_no_pending_reports() {
     db.prepareDbUnit(getClass(), "pop_null_if_no_pending_reports.xml");
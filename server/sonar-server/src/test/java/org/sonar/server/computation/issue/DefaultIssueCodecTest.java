@@ -0,0 +1,203 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.issue.internal.IssueChangeContext;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.Duration;
+import org.sonar.api.utils.System2;
+import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.cache.DiskCache;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class DefaultIssueCodecTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void write_and_read_all_fields() throws Exception {
+    DefaultIssue issue = new DefaultIssue()
+      .setKey("ISSUE_1")
+      .setComponentUuid("FILE_UUID")
+      .setComponentKey("FILE_KEY")
+      .setModuleUuid("MODULE_UUID")
+      .setModuleUuidPath(".MODULE_UUID.")
+      .setProjectUuid("PROJECT_UUID")
+      .setProjectKey("PROJECT_KEY")
+      .setRuleKey(RuleKey.of("xoo", "S01"))
+      .setLanguage("xoo")
+      .setSeverity(Severity.BLOCKER)
+      .setManualSeverity(true)
+      .setMessage("the message")
+      .setLine(42)
+      .setEffortToFix(3.14)
+      .setDebt(Duration.create(10L))
+      .setStatus(Issue.STATUS_RESOLVED)
+      .setResolution(Issue.RESOLUTION_FIXED)
+      .setReporter("reporter")
+      .setAssignee("assignee")
+      .setChecksum("checksum")
+      .setAttributes(ImmutableMap.of("jira", "SONAR-1234"))
+      .setAuthorLogin("author")
+      .setActionPlanKey("PLAN_1")
+      .setTags(Arrays.asList("bug", "performance"))
+      .setCreationDate(new Date(1_400_000_000_000L))
+      .setUpdateDate(new Date(1_500_000_000_000L))
+      .setCloseDate(new Date(1_600_000_000_000L))
+      .setNew(false)
+      .setEndOfLife(true)
+      .setOnDisabledRule(true)
+      .setChanged(true)
+      .setSendNotifications(true)
+      .setSelectedAt(1_450_000_000_000L);
+    issue.addComment(new DefaultIssueComment()
+      .setIssueKey("ISSUE_1").setKey("COMMENT_1").setUserLogin("john").setMarkdownText("*the* comment")
+      .setCreatedAt(new Date(1_410_000_000_000L)).setUpdatedAt(new Date(1_420_000_000_000L)).setNew(true));
+    issue.addChange(new FieldDiffs().setIssueKey("ISSUE_1").setUserLogin("john").setCreationDate(new Date(1_430_000_000_000L))
+      .setDiff("severity", Severity.MINOR, Severity.MAJOR));
+    IssueChangeContext context = IssueChangeContext.createUser(new Date(1_440_000_000_000L), "jane");
+    issue.setFieldChange(context, "effort", 1L, 2L);
+    issue.setFieldChange(context, "line", 5, 8);
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.key()).isEqualTo("ISSUE_1");
+    assertThat(read.componentUuid()).isEqualTo("FILE_UUID");
+    assertThat(read.componentKey()).isEqualTo("FILE_KEY");
+    assertThat(read.moduleUuid()).isEqualTo("MODULE_UUID");
+    assertThat(read.moduleUuidPath()).isEqualTo(".MODULE_UUID.");
+    assertThat(read.projectUuid()).isEqualTo("PROJECT_UUID");
+    assertThat(read.projectKey()).isEqualTo("PROJECT_KEY");
+    assertThat(read.ruleKey()).isEqualTo(RuleKey.of("xoo", "S01"));
+    assertThat(read.language()).isEqualTo("xoo");
+    assertThat(read.severity()).isEqualTo(Severity.BLOCKER);
+    assertThat(read.manualSeverity()).isTrue();
+    assertThat(read.message()).isEqualTo("the message");
+    assertThat(read.line()).isEqualTo(42);
+    assertThat(read.effortToFix()).isEqualTo(3.14);
+    assertThat(read.debtInMinutes()).isEqualTo(10L);
+    assertThat(read.status()).isEqualTo(Issue.STATUS_RESOLVED);
+    assertThat(read.resolution()).isEqualTo(Issue.RESOLUTION_FIXED);
+    assertThat(read.reporter()).isEqualTo("reporter");
+    assertThat(read.assignee()).isEqualTo("assignee");
+    assertThat(read.checksum()).isEqualTo("checksum");
+    assertThat(read.attributes()).containsOnly(entry("jira", "SONAR-1234"));
+    assertThat(read.authorLogin()).isEqualTo("author");
+    assertThat(read.actionPlanKey()).isEqualTo("PLAN_1");
+    assertThat(read.tags()).containsExactly("bug", "performance");
+    assertThat(read.creationDate()).isEqualTo(new Date(1_400_000_000_000L));
+    assertThat(read.updateDate()).isEqualTo(new Date(1_500_000_000_000L));
+    assertThat(read.closeDate()).isEqualTo(new Date(1_600_000_000_000L));
+    assertThat(read.isNew()).isFalse();
+    assertThat(read.isEndOfLife()).isTrue();
+    assertThat(read.isOnDisabledRule()).isTrue();
+    assertThat(read.isChanged()).isTrue();
+    assertThat(read.mustSendNotifications()).isTrue();
+    assertThat(read.selectedAt()).isEqualTo(1_450_000_000_000L);
+
+    assertThat(read.comments()).hasSize(1);
+    DefaultIssueComment comment = (DefaultIssueComment) read.comments().get(0);
+    assertThat(comment.issueKey()).isEqualTo("ISSUE_1");
+    assertThat(comment.key()).isEqualTo("COMMENT_1");
+    assertThat(comment.userLogin()).isEqualTo("john");
+    assertThat(comment.markdownText()).isEqualTo("*the* comment");
+    assertThat(comment.createdAt()).isEqualTo(new Date(1_410_000_000_000L));
+    assertThat(comment.updatedAt()).isEqualTo(new Date(1_420_000_000_000L));
+    assertThat(comment.isNew()).isTrue();
+
+    // the current change is referenced twice, by the two calls to setFieldChange()
+    assertThat(read.changes()).hasSize(3);
+    assertThat(read.changes().get(0).toString()).isEqualTo(issue.changes().get(0).toString());
+    assertThat(read.changes().get(0).userLogin()).isEqualTo("john");
+    assertThat(read.changes().get(0).creationDate()).isEqualTo(new Date(1_430_000_000_000L));
+    assertThat(read.currentChange()).isSameAs(read.changes().get(1)).isSameAs(read.changes().get(2));
+    assertThat(read.currentChange().userLogin()).isEqualTo("jane");
+    assertThat(read.currentChange().get("effort").oldValue()).isEqualTo(1L);
+    assertThat(read.currentChange().get("effort").newValue()).isEqualTo(2L);
+    assertThat(read.currentChange().get("line").newValue()).isEqualTo(8);
+  }
+
+  @Test
+  public void write_and_read_minimal_issue() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE_1").setStatus(Issue.STATUS_OPEN);
+
+    DefaultIssue read = writeAndRead(issue);
+
+    assertThat(read.key()).isEqualTo("ISSUE_1");
+    assertThat(read.status()).isEqualTo(Issue.STATUS_OPEN);
+    assertThat(read.ruleKey()).isNull();
+    assertThat(read.line()).isNull();
+    assertThat(read.effortToFix()).isNull();
+    assertThat(read.debt()).isNull();
+    assertThat(read.creationDate()).isNull();
+    assertThat(read.attributes()).isEmpty();
+    assertThat(read.comments()).isEmpty();
+    assertThat(read.tags()).isEmpty();
+    assertThat(read.changes()).isEmpty();
+    assertThat(read.currentChange()).isNull();
+    assertThat(read.isNew()).isTrue();
+  }
+
+  @Test
+  public void write_and_read_several_issues() throws Exception {
+    IssueCache cache = new IssueCache(temp.newFile(), System2.INSTANCE);
+    DiskCache<DefaultIssue>.DiskAppender appender = cache.newAppender();
+    for (int i = 0; i < 1000; i++) {
+      appender.append(new DefaultIssue().setKey("ISSUE_" + i).setStatus(Issue.STATUS_OPEN).setLine(i + 1));
+    }
+    appender.close();
+
+    int count = 0;
+    try (CloseableIterator<DefaultIssue> traverse = cache.traverse()) {
+      while (traverse.hasNext()) {
+        DefaultIssue issue = traverse.next();
+        assertThat(issue.key()).isEqualTo("ISSUE_" + count);
+        assertThat(issue.line()).isEqualTo(count + 1);
+        count++;
+      }
+    }
+    assertThat(count).isEqualTo(1000);
+  }
+
+  private DefaultIssue writeAndRead(DefaultIssue issue) throws Exception {
+    IssueCache cache = new IssueCache(temp.newFile(), System2.INSTANCE);
+    cache.newAppender().append(issue).close();
+    try (CloseableIterator<DefaultIssue> traverse = cache.traverse()) {
+      DefaultIssue read = traverse.next();
+      assertThat(traverse.hasNext()).isFalse();
+      return read;
+    }
+  }
+}
@@ -23,7 +23,6 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import java.io.IOException;
 import java.util.Arrays;
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -87,11 +86,6 @@ public class IssueComputationTest {
     sut = new IssueComputation(ruleCache, lineCache, scmAccountCache, outputIssues, userIndex, projectSettingsRepository, reportReader);
   }
 
-  @After
-  public void after() {
-    sut.afterReportProcessing();
-  }
-
   @Test
   public void store_issues_on_disk() {
     process();
@@ -222,5 +216,7 @@ public class IssueComputationTest {
 
   private void process() {
     sut.processComponentIssues(Arrays.asList(inputIssue.build()), "FILE_A", 1, PROJECT_KEY, "PROJECT_UUID");
+    // issues are flushed to disk when closing the cache appender
+    sut.afterReportProcessing();
   }
 }
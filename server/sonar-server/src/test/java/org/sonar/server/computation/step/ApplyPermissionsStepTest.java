@@ -51,9 +51,13 @@ import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexDefinition;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @Category(DbTests.class)
 public class ApplyPermissionsStepTest extends BaseStepTest {
@@ -79,6 +83,7 @@ public class ApplyPermissionsStepTest extends BaseStepTest {
   DbIdsRepository dbIdsRepository;
 
   IssueAuthorizationIndexer issueAuthorizationIndexer;
+  ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
   ApplyPermissionsStep step;
 
   @Before
@@ -99,7 +104,7 @@ public class ApplyPermissionsStepTest extends BaseStepTest {
     dbIdsRepository = new DbIdsRepository();
 
     step = new ApplyPermissionsStep(dbClient, dbIdsRepository, issueAuthorizationIndexer, new PermissionFacade(roleDao, null,
-      new ResourceDao(dbTester.myBatis(), System2.INSTANCE), permissionTemplateDao, settings), treeRootHolder);
+      new ResourceDao(dbTester.myBatis(), System2.INSTANCE), permissionTemplateDao, settings), treeRootHolder, permissionCache);
   }
 
   @After
@@ -133,6 +138,7 @@ public class ApplyPermissionsStepTest extends BaseStepTest {
     assertThat(issueAhutorization.get("project")).isEqualTo(PROJECT_UUID);
     assertThat((List<String>) issueAhutorization.get("groups")).containsOnly(DefaultGroups.ANYONE);
     assertThat((List<String>) issueAhutorization.get("users")).isEmpty();
+    verify(permissionCache).invalidateAll();
   }
 
   @Test
@@ -155,6 +161,7 @@ public class ApplyPermissionsStepTest extends BaseStepTest {
 
     // Check that authorization updated at has not been changed -> Nothing has been done
     assertThat(projectDto.getAuthorizationUpdatedAt()).isEqualTo(authorizationUpdatedAt);
+    verifyZeroInteractions(permissionCache);
   }
 
   @Override
@@ -23,11 +23,9 @@ package org.sonar.server.computation.step;
 import java.io.IOException;
 import org.junit.Rule;
 import org.junit.Test;
-import org.sonar.core.resource.ResourceIndexerDao;
-import org.sonar.server.computation.batch.BatchReportReaderRule;
+import org.sonar.server.component.index.ComponentIndexer;
 import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
-import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.DumbComponent;
 
 import static org.mockito.Mockito.mock;
@@ -40,22 +38,17 @@ public class IndexComponentsStepTest extends BaseStepTest {
   @Rule
   public TreeRootHolderRule treeRootHolder = new TreeRootHolderRule();
 
-  @Rule
-  public BatchReportReaderRule reportReader = new BatchReportReaderRule();
-
-  ResourceIndexerDao resourceIndexerDao = mock(ResourceIndexerDao.class);
-  DbIdsRepository dbIdsRepository = new DbIdsRepository();
-  IndexComponentsStep sut = new IndexComponentsStep(resourceIndexerDao, dbIdsRepository, treeRootHolder);
+  ComponentIndexer indexer = mock(ComponentIndexer.class);
+  IndexComponentsStep sut = new IndexComponentsStep(indexer, treeRootHolder);
 
   @Test
-  public void call_indexProject_of_dao() throws IOException {
+  public void index_components_of_project() throws IOException {
     Component project = new DumbComponent(Component.Type.PROJECT, 1, "PROJECT_UUID", PROJECT_KEY);
-    dbIdsRepository.setComponentId(project, 123L);
     treeRootHolder.setRoot(project);
 
     sut.execute();
 
-    verify(resourceIndexerDao).indexProject(123L);
+    verify(indexer).index("PROJECT_UUID");
   }
 
   @Override
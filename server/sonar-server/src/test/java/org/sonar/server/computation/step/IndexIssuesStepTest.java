@@ -20,23 +20,126 @@
 
 package org.sonar.server.computation.step;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.System2;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.rule.RuleDto;
+import org.sonar.server.component.ComponentTesting;
+import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.computation.issue.PersistedIssueCache;
+import org.sonar.server.computation.issue.RuleCache;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.issue.index.IssueDoc;
 import org.sonar.server.issue.index.IssueIndexer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 public class IndexIssuesStepTest {
 
+  static final RuleKey RULE_KEY = RuleKey.of("xoo", "S01");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  IssueIndexer issueIndexer = mock(IssueIndexer.class);
+  RuleCache ruleCache = mock(RuleCache.class);
+  ComponentDao componentDao = mock(ComponentDao.class);
+  DbClient dbClient = mock(DbClient.class);
+  PersistedIssueCache persistedIssueCache;
+  List<IssueDoc> indexedDocs = Lists.newArrayList();
   IndexIssuesStep sut;
 
+  @Before
+  public void setUp() throws Exception {
+    when(dbClient.openSession(anyBoolean())).thenReturn(mock(DbSession.class));
+    when(dbClient.componentDao()).thenReturn(componentDao);
+    when(ruleCache.getNullable(RULE_KEY)).thenReturn(new RuleDto().setLanguage("xoo"));
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        Iterators.addAll(indexedDocs, (Iterator<IssueDoc>) invocation.getArguments()[0]);
+        return null;
+      }
+    }).when(issueIndexer).indexPersisted(any(Iterator.class));
+    persistedIssueCache = new PersistedIssueCache(temp.newFile(), System2.INSTANCE);
+    sut = new IndexIssuesStep(issueIndexer, persistedIssueCache, ruleCache, dbClient);
+  }
+
+  @Test
+  public void index_persisted_issues() {
+    ComponentDto project = ComponentTesting.newProjectDto("PROJECT");
+    ComponentDto file = ComponentTesting.newFileDto(project, "FILE").setPath("src/Foo.xoo");
+    when(componentDao.selectByUuids(any(DbSession.class), anyCollectionOf(String.class))).thenReturn(Collections.singletonList(file));
+    persistedIssueCache.newAppender().append(new PersistedIssueCache.PersistedIssue(newIssue(), 1_500_000_000_000L)).close();
+
+    sut.execute();
+
+    assertThat(indexedDocs).hasSize(1);
+    IssueDoc doc = indexedDocs.get(0);
+    assertThat(doc.key()).isEqualTo("ISSUE");
+    assertThat(doc.projectUuid()).isEqualTo("PROJECT");
+    assertThat(doc.componentUuid()).isEqualTo("FILE");
+    assertThat(doc.moduleUuid()).isEqualTo("PROJECT");
+    assertThat(doc.filePath()).isEqualTo("src/Foo.xoo");
+    assertThat(doc.directoryPath()).isEqualTo("src");
+    assertThat(doc.language()).isEqualTo("xoo");
+    assertThat(doc.ruleKey()).isEqualTo(RULE_KEY);
+    assertThat(doc.getTechnicalUpdateDate().getTime()).isEqualTo(1_500_000_000_000L);
+    verify(issueIndexer, never()).index();
+  }
+
   @Test
-  public void call_indexers() {
-    IssueIndexer issueIndexer = mock(IssueIndexer.class);
-    sut = new IndexIssuesStep(issueIndexer);
+  public void do_not_load_components_if_no_issues_have_been_persisted() {
+    persistedIssueCache.newAppender().close();
+
+    sut.execute();
+
+    assertThat(indexedDocs).isEmpty();
+    verifyZeroInteractions(componentDao);
+  }
+
+  @Test
+  public void index_from_db_if_component_is_not_found() {
+    when(componentDao.selectByUuids(any(DbSession.class), anyCollectionOf(String.class))).thenReturn(Collections.<ComponentDto>emptyList());
+    persistedIssueCache.newAppender().append(new PersistedIssueCache.PersistedIssue(newIssue(), 1_500_000_000_000L)).close();
 
     sut.execute();
 
     verify(issueIndexer).index();
+    assertThat(indexedDocs).isEmpty();
+  }
+
+  private static DefaultIssue newIssue() {
+    return new DefaultIssue()
+      .setKey("ISSUE")
+      .setRuleKey(RULE_KEY)
+      .setComponentUuid("FILE")
+      .setProjectUuid("PROJECT")
+      .setSeverity(Severity.BLOCKER)
+      .setStatus(Issue.STATUS_OPEN);
   }
 }
@@ -19,61 +19,54 @@
  */
 package org.sonar.server.computation.step;
 
-import java.sql.Connection;
 import java.util.List;
 import org.elasticsearch.search.SearchHit;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sonar.api.config.Settings;
-import org.sonar.core.persistence.DbTester;
-import org.sonar.server.computation.batch.TreeRootHolderRule;
-import org.sonar.server.computation.component.Component;
-import org.sonar.server.computation.component.DumbComponent;
-import org.sonar.server.db.DbClient;
+import org.sonar.api.utils.System2;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
 import org.sonar.server.es.EsTester;
-import org.sonar.server.source.db.FileSourceDao;
 import org.sonar.server.source.db.FileSourceTesting;
 import org.sonar.server.source.index.SourceLineDoc;
 import org.sonar.server.source.index.SourceLineIndexDefinition;
 import org.sonar.server.source.index.SourceLineIndexer;
+import org.sonar.server.util.cache.DiskCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class IndexSourceLinesStepTest extends BaseStepTest {
 
-  @ClassRule
-  public static DbTester dbTester = new DbTester();
-
   @ClassRule
   public static EsTester esTester = new EsTester().addDefinitions(new SourceLineIndexDefinition(new Settings()));
 
   @Rule
-  public TreeRootHolderRule treeRootHolder = new TreeRootHolderRule();
+  public TemporaryFolder temp = new TemporaryFolder();
 
-  DbClient dbClient;
+  PersistedFileSourceCache persistedFileSourceCache;
 
   @Before
-  public void setUp() {
-    dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new FileSourceDao(null));
+  public void setUp() throws Exception {
+    esTester.truncateIndices();
+    persistedFileSourceCache = new PersistedFileSourceCache(temp.newFile(), System2.INSTANCE);
   }
 
   @Override
   protected ComputationStep step() {
-    SourceLineIndexer sourceLineIndexer = new SourceLineIndexer(dbClient, esTester.client());
+    // db is not used, sources are read from the cache
+    SourceLineIndexer sourceLineIndexer = new SourceLineIndexer(null, esTester.client());
     sourceLineIndexer.setEnabled(true);
-    return new IndexSourceLinesStep(sourceLineIndexer, treeRootHolder);
+    return new IndexSourceLinesStep(sourceLineIndexer, persistedFileSourceCache);
   }
 
   @Test
-  public void index_source() throws Exception {
-    dbTester.prepareDbUnit(getClass(), "index_source.xml");
-    Connection connection = dbTester.openConnection();
-    FileSourceTesting.updateDataColumn(connection, "FILE1_UUID", FileSourceTesting.newRandomData(1).build());
-    connection.close();
-
-    treeRootHolder.setRoot(new DumbComponent(Component.Type.PROJECT, 1, "ABCD", "PROJECT_KEY"));
+  public void index_persisted_sources() throws Exception {
+    DiskCache<PersistedFileSourceCache.FileSource>.DiskAppender appender = persistedFileSourceCache.newAppender();
+    appender.append(new PersistedFileSourceCache.FileSource("ABCD", "FILE1_UUID", 1_500_000_000_000L, FileSourceTesting.newRandomData(1).build()));
+    appender.close();
 
     step().execute();
 
@@ -82,5 +75,15 @@ public class IndexSourceLinesStepTest extends BaseStepTest {
     SourceLineDoc doc = new SourceLineDoc(docs.get(0).sourceAsMap());
     assertThat(doc.projectUuid()).isEqualTo("ABCD");
     assertThat(doc.fileUuid()).isEqualTo("FILE1_UUID");
+    assertThat(doc.updateDate().getTime()).isEqualTo(1_500_000_000_000L);
+  }
+
+  @Test
+  public void do_nothing_if_no_sources_have_been_persisted() throws Exception {
+    persistedFileSourceCache.newAppender().close();
+
+    step().execute();
+
+    assertThat(esTester.countDocuments(SourceLineIndexDefinition.INDEX, SourceLineIndexDefinition.TYPE)).isEqualTo(0);
   }
 }
@@ -21,6 +21,7 @@
 package org.sonar.server.computation.step;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.List;
 import org.junit.After;
@@ -43,6 +44,7 @@ import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DumbComponent;
 import org.sonar.server.computation.language.LanguageRepository;
+import org.sonar.server.computation.source.PersistedFileSourceCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.source.db.FileSourceDao;
 import org.sonar.server.source.db.FileSourceDb;
@@ -77,6 +79,7 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
 
   DbSession session;
   DbClient dbClient;
+  PersistedFileSourceCache persistedFileSourceCache;
   PersistFileSourcesStep sut;
 
   long now = 123456789L;
@@ -89,7 +92,8 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
 
     System2 system2 = mock(System2.class);
     when(system2.now()).thenReturn(now);
-    sut = new PersistFileSourcesStep(dbClient, system2, treeRootHolder, reportReader);
+    persistedFileSourceCache = new PersistedFileSourceCache(temp.newFile(), System2.INSTANCE);
+    sut = new PersistFileSourcesStep(dbClient, system2, treeRootHolder, reportReader, persistedFileSourceCache);
   }
 
   @Override
@@ -118,6 +122,12 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     assertThat(fileSourceDto.getCreatedAt()).isEqualTo(now);
     assertThat(fileSourceDto.getUpdatedAt()).isEqualTo(now);
 
+    List<PersistedFileSourceCache.FileSource> persistedSources = persistedSources();
+    assertThat(persistedSources).hasSize(1);
+    assertThat(persistedSources.get(0).getProjectUuid()).isEqualTo(PROJECT_UUID);
+    assertThat(persistedSources.get(0).getFileUuid()).isEqualTo(FILE_UUID);
+    assertThat(persistedSources.get(0).getUpdatedAt()).isEqualTo(now);
+
     FileSourceDb.Data data = FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData());
     assertThat(data.getLinesCount()).isEqualTo(2);
     assertThat(data.getLines(0).getLine()).isEqualTo(1);
@@ -308,6 +318,46 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     assertThat(data.getLines(0).getDuplicationList()).hasSize(1);
   }
 
+  @Test
+  public void persist_sources_of_many_files_using_several_threads() throws Exception {
+    int nbFiles = 250;
+    Component[] files = new Component[nbFiles];
+    BatchReport.Component.Builder module = BatchReport.Component.newBuilder()
+      .setRef(2)
+      .setType(Constants.ComponentType.MODULE);
+    for (int i = 0; i < nbFiles; i++) {
+      int ref = 10 + i;
+      files[i] = new DumbComponent(Component.Type.FILE, ref, "FILE_" + i, "MODULE_KEY:src/Foo" + i + ".java");
+      module.addChildRef(ref);
+      reportReader.putComponent(BatchReport.Component.newBuilder()
+        .setRef(ref)
+        .setType(Constants.ComponentType.FILE)
+        .setLines(1)
+        .build());
+      reportReader.putFileSourceLines(ref, newArrayList("line of file " + i));
+    }
+    treeRootHolder.setRoot(new DumbComponent(Component.Type.PROJECT, 1, PROJECT_UUID, PROJECT_KEY,
+      new DumbComponent(Component.Type.MODULE, 2, "MODULE", "MODULE_KEY", files)));
+    reportReader.putComponent(BatchReport.Component.newBuilder()
+      .setRef(1)
+      .setType(Constants.ComponentType.PROJECT)
+      .addChildRef(2)
+      .build());
+    reportReader.putComponent(module.build());
+
+    System2 system2 = mock(System2.class);
+    when(system2.now()).thenReturn(now);
+    new PersistFileSourcesStep(dbClient, system2, treeRootHolder, reportReader, persistedFileSourceCache, 4).execute();
+
+    assertThat(dbTester.countRowsOfTable("file_sources")).isEqualTo(nbFiles);
+    assertThat(persistedSources()).hasSize(nbFiles);
+    for (int i = 0; i < nbFiles; i++) {
+      FileSourceDto fileSourceDto = dbClient.fileSourceDao().selectSource("FILE_" + i);
+      FileSourceDb.Data data = FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData());
+      assertThat(data.getLines(0).getSource()).isEqualTo("line of file " + i);
+    }
+  }
+
   @Test
   public void not_update_sources_when_nothing_has_changed() throws Exception {
     // Existing sources
@@ -344,6 +394,8 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     assertThat(fileSourceDto.getDataHash()).isEqualTo(dataHash);
     assertThat(fileSourceDto.getCreatedAt()).isEqualTo(past);
     assertThat(fileSourceDto.getUpdatedAt()).isEqualTo(past);
+    // nothing to index
+    assertThat(persistedSources()).isEmpty();
   }
 
   @Test
@@ -375,6 +427,11 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     FileSourceDto fileSourceDto = dbClient.fileSourceDao().selectSource(FILE_UUID);
     assertThat(fileSourceDto.getCreatedAt()).isEqualTo(past);
     assertThat(fileSourceDto.getUpdatedAt()).isEqualTo(now);
+
+    List<PersistedFileSourceCache.FileSource> persistedSources = persistedSources();
+    assertThat(persistedSources).hasSize(1);
+    assertThat(persistedSources.get(0).getUpdatedAt()).isEqualTo(now);
+    assertThat(persistedSources.get(0).getData()).isEqualTo(FileSourceDto.decodeSourceData(fileSourceDto.getBinaryData()));
   }
 
   @Test
@@ -432,6 +489,10 @@ public class PersistFileSourcesStepTest extends BaseStepTest {
     }
   }
 
+  private List<PersistedFileSourceCache.FileSource> persistedSources() {
+    return Lists.newArrayList(persistedFileSourceCache.traverse());
+  }
+
   private void initBasicReport(int numberOfLines) throws IOException {
     treeRootHolder.setRoot(new DumbComponent(Component.Type.PROJECT, 1, PROJECT_UUID, PROJECT_KEY,
       new DumbComponent(Component.Type.MODULE, 2, "MODULE", "MODULE_KEY",
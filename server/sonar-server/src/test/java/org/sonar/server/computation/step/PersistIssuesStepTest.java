@@ -20,6 +20,8 @@
 
 package org.sonar.server.computation.step;
 
+import com.google.common.collect.Lists;
+import java.util.List;
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 import org.sonar.api.issue.Issue;
@@ -33,12 +35,14 @@ import org.sonar.core.issue.db.UpdateConflictResolver;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.server.computation.issue.IssueCache;
+import org.sonar.server.computation.issue.PersistedIssueCache;
 import org.sonar.server.computation.issue.RuleCache;
 import org.sonar.server.computation.issue.RuleCacheLoader;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.db.IssueDao;
 import org.sonar.server.rule.db.RuleDao;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +62,8 @@ public class PersistIssuesStepTest extends BaseStepTest {
 
   IssueCache issueCache;
 
+  PersistedIssueCache persistedIssueCache;
+
   ComputationStep step;
 
   @Override
@@ -72,9 +78,10 @@ public class PersistIssuesStepTest extends BaseStepTest {
     dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new IssueDao(dbTester.myBatis()), new RuleDao(system2));
 
     issueCache = new IssueCache(temp.newFile(), System2.INSTANCE);
+    persistedIssueCache = new PersistedIssueCache(temp.newFile(), System2.INSTANCE);
     system2 = mock(System2.class);
     when(system2.now()).thenReturn(1400000000000L);
-    step = new PersistIssuesStep(dbClient, system2, new UpdateConflictResolver(), new RuleCache(new RuleCacheLoader(dbClient)), issueCache);
+    step = new PersistIssuesStep(dbClient, system2, new UpdateConflictResolver(), new RuleCache(new RuleCacheLoader(dbClient)), issueCache, persistedIssueCache);
   }
 
   @After
@@ -99,6 +106,31 @@ public class PersistIssuesStepTest extends BaseStepTest {
     step.execute();
 
     dbTester.assertDbUnit(getClass(), "insert_new_issue-result.xml", new String[]{"id"}, "issues");
+
+    List<PersistedIssueCache.PersistedIssue> persistedIssues = Lists.newArrayList(persistedIssueCache.traverse());
+    assertThat(persistedIssues).hasSize(1);
+    assertThat(persistedIssues.get(0).getIssue().key()).isEqualTo("ISSUE");
+    assertThat(persistedIssues.get(0).getUpdatedAt()).isEqualTo(1400000000000L);
+  }
+
+  @Test
+  public void do_not_persist_unchanged_issue() {
+    dbTester.prepareDbUnit(getClass(), "shared.xml");
+
+    issueCache.newAppender().append(new DefaultIssue()
+        .setKey("ISSUE")
+        .setRuleKey(RuleKey.of("xoo", "S01"))
+        .setComponentUuid("COMPONENT")
+        .setProjectUuid("PROJECT")
+        .setSeverity(Severity.BLOCKER)
+        .setStatus(Issue.STATUS_OPEN)
+        .setNew(false)
+        .setChanged(false)
+    ).close();
+
+    step.execute();
+
+    assertThat(persistedIssueCache.traverse().hasNext()).isFalse();
   }
 
   @Test
@@ -120,6 +152,10 @@ public class PersistIssuesStepTest extends BaseStepTest {
     step.execute();
 
     dbTester.assertDbUnit(getClass(), "close_issue-result.xml", "issues");
+
+    List<PersistedIssueCache.PersistedIssue> persistedIssues = Lists.newArrayList(persistedIssueCache.traverse());
+    assertThat(persistedIssues).hasSize(1);
+    assertThat(persistedIssues.get(0).getIssue().status()).isEqualTo(Issue.STATUS_CLOSED);
   }
 
   @Test
@@ -25,21 +25,19 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.Mockito;
 import org.sonar.api.config.Settings;
 import org.sonar.batch.protocol.output.BatchReport;
-import org.sonar.core.computation.dbcleaner.ProjectCleaner;
-import org.sonar.core.persistence.DbSession;
 import org.sonar.core.purge.IdUuidPair;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.batch.BatchReportReaderRule;
 import org.sonar.server.computation.batch.TreeRootHolderRule;
 import org.sonar.server.computation.component.Component;
 import org.sonar.server.computation.component.DbIdsRepository;
 import org.sonar.server.computation.component.DumbComponent;
 import org.sonar.server.computation.component.ProjectSettingsRepository;
-import org.sonar.server.db.DbClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -57,10 +55,10 @@ public class PurgeDatastoresStepTest extends BaseStepTest {
 
   DbIdsRepository dbIdsRepository = new DbIdsRepository();
 
-  ProjectCleaner projectCleaner = mock(ProjectCleaner.class);
+  ProjectPurgeScheduler purgeScheduler = mock(ProjectPurgeScheduler.class);
   ProjectSettingsRepository projectSettingsRepository = mock(ProjectSettingsRepository.class);
 
-  PurgeDatastoresStep sut = new PurgeDatastoresStep(mock(DbClient.class, Mockito.RETURNS_DEEP_STUBS), projectCleaner, dbIdsRepository, treeRootHolder, projectSettingsRepository);
+  PurgeDatastoresStep sut = new PurgeDatastoresStep(purgeScheduler, dbIdsRepository, treeRootHolder, projectSettingsRepository);
 
   @Before
   public void setUp() throws Exception {
@@ -68,7 +66,7 @@ public class PurgeDatastoresStepTest extends BaseStepTest {
   }
 
   @Test
-  public void call_purge_method_of_the_purge_task() throws IOException {
+  public void schedule_purge_of_project() throws IOException {
     Component project = new DumbComponent(Component.Type.PROJECT, 1, "UUID-1234", PROJECT_KEY);
     treeRootHolder.setRoot(project);
     dbIdsRepository.setComponentId(project, 123L);
@@ -80,7 +78,7 @@ public class PurgeDatastoresStepTest extends BaseStepTest {
     sut.execute();
 
     ArgumentCaptor<IdUuidPair> argumentCaptor = ArgumentCaptor.forClass(IdUuidPair.class);
-    verify(projectCleaner).purge(any(DbSession.class), argumentCaptor.capture(), any(Settings.class));
+    verify(purgeScheduler).schedule(eq(PROJECT_KEY), argumentCaptor.capture(), any(Settings.class));
     assertThat(argumentCaptor.getValue().getId()).isEqualTo(123L);
     assertThat(argumentCaptor.getValue().getUuid()).isEqualTo("UUID-1234");
   }
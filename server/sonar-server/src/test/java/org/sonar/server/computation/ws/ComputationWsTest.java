@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.server.activity.index.ActivityIndex;
 import org.sonar.server.computation.ComputationThreadLauncher;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.user.UserSession;
 import org.sonar.server.ws.WsTester;
@@ -34,7 +35,7 @@ import static org.mockito.Mockito.mock;
 public class ComputationWsTest {
 
   WsTester ws = new WsTester(new ComputationWs(
-    new QueueAction(mock(ReportQueue.class)),
+    new QueueAction(mock(ReportQueue.class), mock(ComputationThreadLauncher.class), mock(ProjectPurgeScheduler.class)),
     new SubmitReportAction(mock(ReportQueue.class), mock(ComputationThreadLauncher.class), mock(UserSession.class)),
     new HistoryAction(mock(ActivityIndex.class), mock(UserSession.class))));
 
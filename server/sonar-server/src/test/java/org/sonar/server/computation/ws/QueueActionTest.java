@@ -25,10 +25,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.utils.DateUtils;
 import org.sonar.core.computation.db.AnalysisReportDto;
+import org.sonar.server.computation.ComputationThreadLauncher;
+import org.sonar.server.computation.ComputationWorkersStatistics;
+import org.sonar.server.computation.ProjectPurgeScheduler;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.ws.WsTester;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -39,11 +45,18 @@ public class QueueActionTest {
 
   WsTester tester;
   private ReportQueue queue;
+  private ComputationWorkersStatistics statistics;
+  private ProjectPurgeScheduler purgeScheduler;
 
   @Before
   public void setup() {
     queue = mock(ReportQueue.class);
-    tester = new WsTester(new ComputationWs(new QueueAction(queue)));
+    statistics = mock(ComputationWorkersStatistics.class);
+    ComputationThreadLauncher workerLauncher = mock(ComputationThreadLauncher.class);
+    when(workerLauncher.getStatistics()).thenReturn(statistics);
+    when(workerLauncher.getWorkers()).thenReturn(2);
+    purgeScheduler = mock(ProjectPurgeScheduler.class);
+    tester = new WsTester(new ComputationWs(new QueueAction(queue, workerLauncher, purgeScheduler)));
   }
 
   @Test
@@ -59,11 +72,52 @@ public class QueueActionTest {
       .setFinishedAt(DateUtils.parseDateTime("2014-10-13T00:00:00+0200").getTime());
     List<AnalysisReportDto> reports = Lists.newArrayList(report);
     when(queue.all()).thenReturn(reports);
+    when(statistics.now()).thenReturn(DateUtils.parseDateTime("2014-10-13T00:00:10+0200").getTime());
 
     WsTester.TestRequest request = tester.newGetRequest(ComputationWs.ENDPOINT, "queue");
     request.execute().assertJson(getClass(), "list_queue_reports.json");
   }
 
+  @Test
+  public void list_workers() throws Exception {
+    long now = DateUtils.parseDateTime("2014-10-13T00:00:10+0200").getTime();
+    AnalysisReportDto report = AnalysisReportDto
+      .newForTests(1L)
+      .setProjectKey("project-key")
+      .setProjectName("Project name")
+      .setStatus(PENDING)
+      .setUuid("PROJECT_UUID")
+      .setCreatedAt(DateUtils.parseDateTime("2014-10-13T00:00:00+0200").getTime());
+    when(queue.all()).thenReturn(Lists.newArrayList(report));
+    ComputationWorkersStatistics.Worker worker = mock(ComputationWorkersStatistics.Worker.class);
+    when(worker.getName()).thenReturn("computation-0");
+    when(worker.isBusy()).thenReturn(true);
+    when(worker.getProcessedReports()).thenReturn(3L);
+    when(worker.getBusyTimeMs(now)).thenReturn(5_000L);
+    when(worker.getUtilisation(now)).thenReturn(50);
+    when(statistics.all()).thenReturn(Lists.newArrayList(worker));
+    when(statistics.now()).thenReturn(now);
+
+    WsTester.TestRequest request = tester.newGetRequest(ComputationWs.ENDPOINT, "queue");
+    request.execute().assertJson(getClass(), "list_workers.json");
+  }
+
+  @Test
+  public void list_purges() throws Exception {
+    when(queue.all()).thenReturn(Collections.<AnalysisReportDto>emptyList());
+    when(purgeScheduler.getThreads()).thenReturn(1);
+    when(purgeScheduler.getPendingPurges()).thenReturn(2);
+    when(purgeScheduler.getPurges()).thenReturn(10L);
+    when(purgeScheduler.getFailures()).thenReturn(1L);
+    Map<String, Long> durations = new TreeMap<>();
+    durations.put("deleteSnapshotMeasures (project_measures)", 1_500L);
+    durations.put("deleteSnapshots (snapshots)", 300L);
+    when(purgeScheduler.getDurationsByPhase()).thenReturn(durations);
+
+    WsTester.TestRequest request = tester.newGetRequest(ComputationWs.ENDPOINT, "queue");
+    request.execute().assertJson(getClass(), "list_purges.json");
+  }
+
   @Test
   public void define() {
     assertThat(tester.controller(ComputationWs.ENDPOINT).action("queue")).isNotNull();
@@ -29,8 +29,10 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
+import org.sonar.server.issue.IssueTesting;
 import org.sonar.test.DbTests;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -96,6 +98,18 @@ public class IssueIndexerTest {
     assertThat(esTester.countDocuments("issues", "issue")).isZero();
   }
 
+  @Test
+  public void indexing_of_persisted_issues_does_not_skip_older_issues_of_db() {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    IssueIndexer indexer = createIndexer();
+
+    IssueDoc persistedIssue = IssueTesting.newDoc().setKey("PERSISTED").setTechnicalUpdateDate(new Date(2_000_000_000_000L));
+    indexer.indexPersisted(Iterators.singletonIterator(persistedIssue));
+    indexer.index();
+
+    assertThat(esTester.<String>getDocumentFieldValues("issues", "issue", IssueIndexDefinition.FIELD_ISSUE_KEY)).containsOnly("PERSISTED", "ABCDE");
+  }
+
   private IssueIndexer createIndexer() {
     IssueIndexer indexer = new IssueIndexer(new DbClient(dbTester.database(), dbTester.myBatis()), esTester.client());
     indexer.setEnabled(true);
@@ -24,6 +24,7 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,8 +39,9 @@ public class MeasureFilterEngineTest {
     MeasureFilter filter = new MeasureFilter();
     when(factory.create(filterMap)).thenReturn(filter);
     MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
+    MeasureFilterIndexExecutor indexExecutor = mock(MeasureFilterIndexExecutor.class);
 
-    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor);
+    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor, indexExecutor);
 
     final long userId = 50L;
     engine.execute(filterMap, userId);
@@ -52,6 +54,24 @@ public class MeasureFilterEngineTest {
       public void describeTo(Description description) {
       }
     }));
+    verifyZeroInteractions(indexExecutor);
+  }
+
+  @Test
+  public void execute_filter_on_index_when_supported() throws Exception {
+    Map<String, Object> filterMap = ImmutableMap.of("qualifiers", (Object) "TRK");
+    MeasureFilterFactory factory = mock(MeasureFilterFactory.class);
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"));
+    when(factory.create(filterMap)).thenReturn(filter);
+    MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
+    MeasureFilterIndexExecutor indexExecutor = mock(MeasureFilterIndexExecutor.class);
+
+    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor, indexExecutor);
+    MeasureFilterResult result = engine.execute(filterMap, null);
+
+    assertThat(result.isSuccess()).isTrue();
+    verify(indexExecutor).execute(filter);
+    verifyZeroInteractions(executor);
   }
 
   @Test
@@ -61,7 +81,7 @@ public class MeasureFilterEngineTest {
     when(factory.create(filterMap)).thenThrow(new IllegalArgumentException());
     MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
 
-    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor);
+    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor, mock(MeasureFilterIndexExecutor.class));
     MeasureFilterResult result = engine.execute(filterMap, 50L);
 
     assertThat(result.isSuccess()).isFalse();
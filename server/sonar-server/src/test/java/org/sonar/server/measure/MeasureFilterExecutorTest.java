@@ -30,6 +30,7 @@ import org.sonar.api.utils.System2;
 import org.sonar.core.component.SnapshotDto;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.core.resource.ResourceDao;
+import org.sonar.server.component.index.ComponentIndex;
 import org.sonar.test.DbTests;
 
 import java.sql.SQLException;
@@ -39,6 +40,8 @@ import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @Category(DbTests.class)
 public class MeasureFilterExecutorTest {
@@ -58,11 +61,12 @@ public class MeasureFilterExecutorTest {
   private static final Metric METRIC_UNKNOWN = new Metric.Builder("unknown", "Unknown", Metric.ValueType.FLOAT).create().setId(4);
   @ClassRule
   public static DbTester db = new DbTester();
+  private ComponentIndex componentIndex = mock(ComponentIndex.class);
   private MeasureFilterExecutor executor;
 
   @Before
   public void before() {
-    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE));
+    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE), componentIndex);
   }
 
   @Test
@@ -458,6 +462,7 @@ public class MeasureFilterExecutorTest {
   @Test
   public void filter_by_component_name() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
+    when(componentIndex.searchIdsByName("PHP Proj", Arrays.asList("TRK"), null)).thenReturn(Arrays.asList(PHP_PROJECT_ID));
     MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setResourceName("PHP Proj");
     List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
 
@@ -465,6 +470,25 @@ public class MeasureFilterExecutorTest {
     verifyPhpProject(rows.get(0));
   }
 
+  @Test
+  public void no_results_if_no_component_names_match() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setResourceName("unknown");
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).isEmpty();
+  }
+
+  @Test
+  public void filter_by_component_name_too_short_for_index() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK")).setResourceName("h");
+    List<MeasureFilterRow> rows = executor.execute(filter, new MeasureFilterContext());
+
+    assertThat(rows).hasSize(1);
+    verifyPhpProject(rows.get(0));
+  }
+
   @Test
   public void filter_by_component_key() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
@@ -499,8 +523,9 @@ public class MeasureFilterExecutorTest {
       new MeasureFilter().setResourceQualifiers(newArrayList("CLA")).setResourceKey("java_"),
       new MeasureFilterContext())).hasSize(2);
 
+    // text is too short to be searched in the index of components
     assertThat(executor.execute(
-      new MeasureFilter().setResourceQualifiers(newArrayList("CLA")).setResourceName("java%"),
+      new MeasureFilter().setResourceQualifiers(newArrayList("CLA")).setResourceName("%"),
       new MeasureFilterContext())).hasSize(2);
   }
 
@@ -0,0 +1,92 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.Test;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeasureFilterIndexExecutorTest {
+
+  private static final Metric METRIC_LINES = new Metric.Builder("lines", "Lines", Metric.ValueType.INT).create().setId(1);
+  private static final Metric METRIC_PROFILE = new Metric.Builder("profile", "Profile", Metric.ValueType.STRING).create().setId(2);
+
+  @Test
+  public void support_filters_on_projects_and_modules() {
+    assertThat(MeasureFilterIndexExecutor.supports(projects())).isTrue();
+    assertThat(MeasureFilterIndexExecutor.supports(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "BRC")))).isTrue();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setResourceScopes(Arrays.asList("PRJ")))).isTrue();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setResourceName("struts").setResourceKey("org.apache"))).isTrue();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setFromDate(new Date()).setToDate(new Date()))).isTrue();
+  }
+
+  @Test
+  public void do_not_support_other_components() {
+    assertThat(MeasureFilterIndexExecutor.supports(new MeasureFilter())).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(new MeasureFilter().setResourceScopes(Arrays.asList("PRJ")))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "FIL")))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setResourceScopes(Arrays.asList("PRJ", "FIL")))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setBaseResourceKey("struts"))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setUserFavourites(true))).isFalse();
+  }
+
+  @Test
+  public void support_conditions_on_numeric_values() {
+    MeasureFilter filter = projects()
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 1000.0))
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.LESS_OR_EQUALS, 2000.0));
+    assertThat(MeasureFilterIndexExecutor.supports(filter)).isTrue();
+  }
+
+  @Test
+  public void do_not_support_conditions_on_variations_and_text_values() {
+    assertThat(MeasureFilterIndexExecutor.supports(projects()
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 1000.0).setPeriod(1)))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects()
+      .addCondition(new MeasureFilterCondition(METRIC_PROFILE, MeasureFilterCondition.Operator.EQUALS, "Sonar way")))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects()
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.IN, 3.0)))).isFalse();
+  }
+
+  @Test
+  public void support_sort_on_fields_and_numeric_measures() {
+    for (MeasureFilterSort.Field field : MeasureFilterSort.Field.values()) {
+      if (field != MeasureFilterSort.Field.METRIC) {
+        assertThat(MeasureFilterIndexExecutor.supports(projects().setSortOn(field))).isTrue();
+      }
+    }
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setSortOnMetric(METRIC_LINES))).isTrue();
+  }
+
+  @Test
+  public void do_not_support_sort_on_variations_and_text_measures() {
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setSortOnMetric(METRIC_LINES).setSortOnPeriod(1))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setSortOnMetric(METRIC_PROFILE))).isFalse();
+    assertThat(MeasureFilterIndexExecutor.supports(projects().setSortOnMetric(CoreMetrics.ALERT_STATUS))).isFalse();
+  }
+
+  private static MeasureFilter projects() {
+    return new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.server.db.DbClient;
+import org.sonar.test.DbTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(DbTests.class)
+public class MeasureResultSetIteratorTest {
+
+  @ClassRule
+  public static DbTester db = new DbTester();
+
+  DbClient dbClient;
+  Connection connection;
+  MeasureResultSetIterator underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    db.truncateTables();
+    dbClient = new DbClient(db.database(), db.myBatis());
+    connection = db.openConnection();
+  }
+
+  @After
+  public void after() throws Exception {
+    if (underTest != null) {
+      underTest.close();
+    }
+    connection.close();
+  }
+
+  @Test
+  public void traverse_last_analyses_of_projects_and_modules() {
+    db.prepareDbUnit(getClass(), "shared.xml");
+
+    underTest = MeasureResultSetIterator.create(dbClient, connection, null);
+    List<MeasureResultSetIterator.Row> rows = toList(underTest);
+
+    assertThat(rows).hasSize(3);
+    MeasureResultSetIterator.Row ncloc = rows.get(0);
+    assertThat(ncloc.getSnapshotId()).isEqualTo(101L);
+    assertThat(ncloc.getComponentId()).isEqualTo(1L);
+    assertThat(ncloc.getRootComponentId()).isEqualTo(1L);
+    assertThat(ncloc.getUuid()).isEqualTo("ABCD");
+    assertThat(ncloc.getProjectUuid()).isEqualTo("ABCD");
+    assertThat(ncloc.getKey()).isEqualTo("struts");
+    assertThat(ncloc.getName()).isEqualTo("Apache Struts");
+    assertThat(ncloc.getShortName()).isEqualTo("Struts");
+    assertThat(ncloc.getQualifier()).isEqualTo("TRK");
+    assertThat(ncloc.getVersion()).isEqualTo("1.0");
+    assertThat(ncloc.getAnalysedAt()).isEqualTo(1229727600000L);
+    assertThat(ncloc.getCreatedAt()).isNotNull();
+
+    assertThat(rows.get(0).getMetricKey()).isIn("ncloc", "coverage");
+    assertThat(rows.get(1).getMetricKey()).isIn("ncloc", "coverage");
+    assertThat(rows.get(0).getValue() + rows.get(1).getValue()).isEqualTo(1075.5);
+
+    // module without measures
+    MeasureResultSetIterator.Row module = rows.get(2);
+    assertThat(module.getSnapshotId()).isEqualTo(102L);
+    assertThat(module.getQualifier()).isEqualTo("BRC");
+    assertThat(module.getMetricKey()).isNull();
+    assertThat(module.getValue()).isNull();
+  }
+
+  @Test
+  public void filter_by_project() {
+    db.prepareDbUnit(getClass(), "shared.xml");
+
+    underTest = MeasureResultSetIterator.create(dbClient, connection, "ABCD");
+    assertThat(toList(underTest)).hasSize(3);
+    underTest.close();
+
+    underTest = MeasureResultSetIterator.create(dbClient, connection, "UNKNOWN");
+    assertThat(underTest.hasNext()).isFalse();
+  }
+
+  private static List<MeasureResultSetIterator.Row> toList(MeasureResultSetIterator it) {
+    List<MeasureResultSetIterator.Row> rows = new ArrayList<>();
+    while (it.hasNext()) {
+      rows.add(it.next());
+    }
+    return rows;
+  }
+}
@@ -32,8 +32,13 @@ import org.sonar.core.properties.PropertiesDao;
 import org.sonar.jpa.session.DatabaseSessionFactory;
 import org.sonar.server.db.DbClient;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -62,7 +67,7 @@ public class NotificationServiceTest {
     when(commentOnIssueCreatedByMe.getType()).thenReturn("issue-changes");
     when(qualityGateChange.getKey()).thenReturn("QGateChange");
     when(qualityGateChange.getType()).thenReturn("qgate-changes");
-    when(manager.getFromQueue()).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(notification)).thenReturn(Collections.<Notification>emptyList());
 
     Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L);
 
@@ -170,7 +175,8 @@ public class NotificationServiceTest {
   @Test
   public void shouldNotStopWhenException() {
     setUpMocks();
-    when(manager.getFromQueue()).thenThrow(new RuntimeException("Unexpected exception")).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenThrow(new RuntimeException("Unexpected exception")).thenReturn(asList(notification))
+      .thenReturn(Collections.<Notification>emptyList());
     doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
     doAnswer(addUser(CREATOR_SIMON, emailChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
 
@@ -212,7 +218,7 @@ public class NotificationServiceTest {
   public void shouldLogEvery10Minutes() {
     setUpMocks();
     // Emulate 2 notifications in DB
-    when(manager.getFromQueue()).thenReturn(notification).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(notification, notification)).thenReturn(Collections.<Notification>emptyList());
     when(manager.count()).thenReturn(1L).thenReturn(0L);
     service = spy(service);
     // Emulate processing of each notification take 10 min to have a log each time
@@ -223,6 +229,130 @@ public class NotificationServiceTest {
     service.stop();
   }
 
+  @Test
+  public void read_queue_by_batches_and_cache_recipients_during_batch() {
+    setUpMocks();
+    Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L).setProperty(NotificationService.PROPERTY_BATCH_SIZE, 2);
+    service = new NotificationService(settings, manager, dbClient, mock(DatabaseSessionFactory.class),
+      new NotificationDispatcher[] {commentOnIssueAssignedToMe});
+    when(manager.getFromQueue(2)).thenReturn(asList(notification, notification)).thenReturn(asList(notification))
+      .thenReturn(Collections.<Notification>emptyList());
+    doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+
+    service.processQueue();
+
+    verify(emailChannel, times(3)).deliver(notification, ASSIGNEE_SIMON);
+    verify(manager, times(2)).startRecipientsCache();
+    verify(manager, times(2)).stopRecipientsCache();
+    assertThat(service.getDeliveredCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void deliver_with_several_threads_and_rate_limit() {
+    setUpMocks();
+    Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L)
+      .setProperty(NotificationService.PROPERTY_DELIVERY_THREADS, 3)
+      .setProperty(NotificationService.PROPERTY_MAX_DELIVERIES_PER_SECOND, 1000);
+    service = new NotificationService(settings, manager, dbClient, mock(DatabaseSessionFactory.class),
+      new NotificationDispatcher[] {commentOnIssueAssignedToMe, commentOnIssueCreatedByMe});
+    List<Notification> notifications = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      notifications.add(notification);
+    }
+    when(manager.getFromQueue(anyInt())).thenReturn(notifications).thenReturn(Collections.<Notification>emptyList());
+    doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doAnswer(addUser(CREATOR_EVGENY, gtalkChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+
+    service.start();
+    verify(emailChannel, timeout(2000).times(20)).deliver(notification, ASSIGNEE_SIMON);
+    verify(gtalkChannel, timeout(2000).times(20)).deliver(notification, CREATOR_EVGENY);
+    service.stop();
+
+    assertThat(service.getDeliveredCount()).isEqualTo(40);
+    assertThat(service.getFailedDeliveryCount()).isEqualTo(0);
+    assertThat(service.getPendingDeliveryCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void complete_pending_deliveries_on_stop() throws Exception {
+    setUpMocks();
+    Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L)
+      .setProperty(NotificationService.PROPERTY_DELIVERY_THREADS, 1);
+    service = new NotificationService(settings, manager, dbClient, mock(DatabaseSessionFactory.class),
+      new NotificationDispatcher[] {commentOnIssueAssignedToMe});
+    List<Notification> notifications = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      notifications.add(notification);
+    }
+    when(manager.getFromQueue(anyInt())).thenReturn(notifications).thenReturn(Collections.<Notification>emptyList());
+    doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    // the single delivery thread is blocked, so that other deliveries are pending
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws InterruptedException {
+        release.await();
+        return null;
+      }
+    }).when(emailChannel).deliver(notification, ASSIGNEE_SIMON);
+
+    service.start();
+    waitFor9PendingDeliveries();
+    Thread stopper = new Thread() {
+      @Override
+      public void run() {
+        service.stop();
+      }
+    };
+    stopper.start();
+    waitForWaitingState(stopper);
+
+    assertThat(stopper.isAlive()).isTrue();
+    release.countDown();
+    stopper.join(10_000L);
+
+    assertThat(stopper.isAlive()).isFalse();
+    assertThat(service.getDeliveredCount()).isEqualTo(10);
+    assertThat(service.getPendingDeliveryCount()).isEqualTo(0);
+
+    // once stopped, deliveries are executed by the caller thread
+    service.deliver(notification);
+    assertThat(service.getDeliveredCount()).isEqualTo(11);
+  }
+
+  private void waitFor9PendingDeliveries() throws InterruptedException {
+    for (int i = 0; i < 200 && service.getPendingDeliveryCount() < 9; i++) {
+      Thread.sleep(10L);
+    }
+    assertThat(service.getPendingDeliveryCount()).isEqualTo(9);
+  }
+
+  private static void waitForWaitingState(Thread thread) throws InterruptedException {
+    for (int i = 0; i < 200 && thread.getState() != Thread.State.TIMED_WAITING; i++) {
+      Thread.sleep(10L);
+    }
+    assertThat(thread.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+  }
+
+  @Test
+  public void count_failed_deliveries() {
+    setUpMocks();
+    doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doThrow(new IllegalStateException("SMTP server is down")).when(emailChannel).deliver(notification, ASSIGNEE_SIMON);
+
+    service.deliver(notification);
+
+    assertThat(service.getDeliveredCount()).isEqualTo(0);
+    assertThat(service.getFailedDeliveryCount()).isEqualTo(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fail_if_negative_number_of_delivery_threads() {
+    Settings settings = new Settings().setProperty(NotificationService.PROPERTY_DELIVERY_THREADS, -1);
+
+    new NotificationService(settings, manager, dbClient, mock(DatabaseSessionFactory.class));
+  }
+
   @Test
   public void hasProjectSubscribersForType() {
     setUpMocks();
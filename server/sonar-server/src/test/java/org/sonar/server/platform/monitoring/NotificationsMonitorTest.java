@@ -0,0 +1,56 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package org.sonar.server.platform.monitoring;
+
+import java.util.LinkedHashMap;
+import org.junit.Test;
+import org.sonar.server.notifications.NotificationService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NotificationsMonitorTest {
+
+  NotificationService notificationService = mock(NotificationService.class);
+  NotificationsMonitor sut = new NotificationsMonitor(notificationService);
+
+  @Test
+  public void name() {
+    assertThat(sut.name()).isEqualTo("Notifications");
+  }
+
+  @Test
+  public void attributes() {
+    when(notificationService.getQueueSize()).thenReturn(12L);
+    when(notificationService.getPendingDeliveryCount()).thenReturn(3);
+    when(notificationService.getDeliveredCount()).thenReturn(150L);
+    when(notificationService.getFailedDeliveryCount()).thenReturn(2L);
+    when(notificationService.getDeliveriesPerMinute()).thenReturn(30L);
+
+    LinkedHashMap<String, Object> attributes = sut.attributes();
+    assertThat(attributes).containsEntry("Queue Size", 12L);
+    assertThat(attributes).containsEntry("Pending Deliveries", 3);
+    assertThat(attributes).containsEntry("Delivered Notifications", 150L);
+    assertThat(attributes).containsEntry("Failed Deliveries", 2L);
+    assertThat(attributes).containsEntry("Deliveries Per Minute", 30L);
+  }
+}
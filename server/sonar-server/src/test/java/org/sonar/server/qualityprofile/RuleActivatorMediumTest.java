@@ -874,6 +874,30 @@ public class RuleActivatorMediumTest {
 
   }
 
+  @Test
+  public void bulk_activation_and_deactivation_propagate_on_child_profiles() {
+    createChildProfiles();
+
+    BulkChangeResult result = ruleActivator.bulkActivate(new RuleQuery(), XOO_P1_KEY, "MINOR");
+
+    dbSession.clearCache();
+    assertThat(result.countSucceeded()).isEqualTo(3);
+    assertThat(db.activeRuleDao().findByProfileKey(dbSession, XOO_P1_KEY)).hasSize(3);
+    assertThat(db.activeRuleDao().findByProfileKey(dbSession, XOO_P3_KEY)).hasSize(3);
+    verifyHasActiveRule(XOO_P1_KEY, RuleTesting.XOO_X1, Severity.MINOR, null, ImmutableMap.of("max", "10"));
+    verifyHasActiveRule(XOO_P2_KEY, RuleTesting.XOO_X1, Severity.MINOR, ActiveRuleDto.INHERITED, ImmutableMap.of("max", "10"));
+    verifyHasActiveRule(XOO_P3_KEY, RuleTesting.XOO_X1, Severity.MINOR, ActiveRuleDto.INHERITED, ImmutableMap.of("max", "10"));
+    assertThat(index.findByProfile(XOO_P3_KEY)).hasSize(3);
+
+    result = ruleActivator.bulkDeactivate(new RuleQuery().setActivation(true).setQProfileKey(XOO_P1_KEY), XOO_P1_KEY);
+
+    dbSession.clearCache();
+    assertThat(result.countSucceeded()).isEqualTo(3);
+    verifyZeroActiveRules(XOO_P1_KEY);
+    verifyZeroActiveRules(XOO_P2_KEY);
+    verifyZeroActiveRules(XOO_P3_KEY);
+  }
+
   @Test
   public void set_and_unset_parent_profile() {
     // x1 is activated on the "future parent" P1
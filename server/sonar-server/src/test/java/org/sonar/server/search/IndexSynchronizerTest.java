@@ -0,0 +1,128 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.sonar.api.config.Settings;
+import org.sonar.server.activity.index.ActivityIndexer;
+import org.sonar.server.component.index.ComponentIndexer;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.MeasureIndexer;
+import org.sonar.server.source.index.SourceLineIndexer;
+import org.sonar.server.test.index.TestIndexer;
+import org.sonar.server.user.index.UserIndexer;
+import org.sonar.server.view.index.ViewIndexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class IndexSynchronizerTest {
+
+  SourceLineIndexer sourceLineIndexer = mockIndexer(SourceLineIndexer.class);
+  TestIndexer testIndexer = mockIndexer(TestIndexer.class);
+  IssueAuthorizationIndexer issueAuthorizationIndexer = mockIndexer(IssueAuthorizationIndexer.class);
+  IssueIndexer issueIndexer = mockIndexer(IssueIndexer.class);
+  UserIndexer userIndexer = mockIndexer(UserIndexer.class);
+  ViewIndexer viewIndexer = mockIndexer(ViewIndexer.class);
+  ActivityIndexer activityIndexer = mockIndexer(ActivityIndexer.class);
+  MeasureIndexer measureIndexer = mockIndexer(MeasureIndexer.class);
+  ComponentIndexer componentIndexer = mockIndexer(ComponentIndexer.class);
+  Settings settings = new Settings();
+  IndexSynchronizer underTest;
+
+  @Before
+  public void setUp() {
+    underTest = new IndexSynchronizer(mock(DbClient.class), mock(IndexClient.class), sourceLineIndexer, testIndexer, issueAuthorizationIndexer,
+      issueIndexer, userIndexer, viewIndexer, activityIndexer, measureIndexer, componentIndexer, settings);
+  }
+
+  @Test
+  public void index_all_indices() {
+    settings.setProperty(IndexSynchronizer.THREADS_PROPERTY, 3);
+
+    underTest.execute();
+
+    for (BaseIndexer indexer : new BaseIndexer[] {sourceLineIndexer, testIndexer, userIndexer, viewIndexer, activityIndexer, measureIndexer, componentIndexer}) {
+      verify(indexer).setEnabled(true);
+      verify(indexer).index();
+    }
+    InOrder inOrder = inOrder(issueAuthorizationIndexer, issueIndexer);
+    inOrder.verify(issueAuthorizationIndexer).index();
+    inOrder.verify(issueIndexer).index();
+  }
+
+  @Test
+  public void do_nothing_if_indexes_are_disabled() {
+    settings.setProperty("sonar.internal.es.disableIndexes", true);
+
+    underTest.execute();
+
+    verifyZeroInteractions(sourceLineIndexer, testIndexer, issueAuthorizationIndexer, issueIndexer, userIndexer, viewIndexer, activityIndexer, measureIndexer,
+      componentIndexer);
+  }
+
+  @Test
+  public void propagate_failure_of_indexer() {
+    doThrow(new IllegalStateException("Fail to index users")).when(userIndexer).index();
+
+    try {
+      underTest.execute();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Fail to index users");
+    }
+  }
+
+  @Test
+  public void default_number_of_threads() {
+    assertThat(IndexSynchronizer.getThreads(settings)).isEqualTo(IndexSynchronizer.DEFAULT_THREADS);
+
+    settings.setProperty(IndexSynchronizer.THREADS_PROPERTY, 2);
+    assertThat(IndexSynchronizer.getThreads(settings)).isEqualTo(2);
+  }
+
+  @Test
+  public void fail_if_negative_number_of_threads() {
+    settings.setProperty(IndexSynchronizer.THREADS_PROPERTY, -2);
+    try {
+      IndexSynchronizer.getThreads(settings);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of sonar.search.synchronization.threads: -2");
+    }
+  }
+
+  private static <T extends BaseIndexer> T mockIndexer(Class<T> clazz) {
+    T indexer = mock(clazz);
+    when(indexer.setEnabled(true)).thenReturn(indexer);
+    return indexer;
+  }
+}
@@ -161,6 +161,36 @@ public class SourceLineIndexerTest {
       );
   }
 
+  @Test
+  public void delete_lines_of_truncated_files() throws Exception {
+    indexLine("P1", "F1", 1);
+    indexLine("P1", "F1", 2);
+    indexLine("P1", "F1", 3);
+    indexLine("P1", "F2", 1);
+    indexLine("P1", "F2", 2);
+    indexLine("P2", "F3", 1);
+    indexLine("P2", "F3", 2);
+
+    // F1 and F3 have lost lines, F2 is unchanged
+    indexer.index(Iterators.forArray(newRow("P1", "F1", 1), newRow("P1", "F2", 2), newRow("P2", "F3", 1)));
+
+    assertThat(countDocuments()).isEqualTo(4L);
+    assertThat(prepareSearch().setQuery(QueryBuilders.termQuery(FIELD_FILE_UUID, "F1")).get().getHits().getTotalHits()).isEqualTo(1L);
+    assertThat(prepareSearch().setQuery(QueryBuilders.termQuery(FIELD_FILE_UUID, "F2")).get().getHits().getTotalHits()).isEqualTo(2L);
+    assertThat(prepareSearch().setQuery(QueryBuilders.termQuery(FIELD_FILE_UUID, "F3")).get().getHits().getTotalHits()).isEqualTo(1L);
+  }
+
+  private static FileSourcesUpdaterHelper.Row newRow(String projectUuid, String fileUuid, int numberOfLines) {
+    FileSourceDb.Data.Builder dataBuilder = FileSourceDb.Data.newBuilder();
+    for (int line = 1; line <= numberOfLines; line++) {
+      dataBuilder.addLinesBuilder()
+        .setLine(line)
+        .setSource("line " + line)
+        .build();
+    }
+    return SourceLineResultSetIterator.toRow(projectUuid, fileUuid, new Date(), dataBuilder.build());
+  }
+
   @Test
   public void delete_file_uuid() throws Exception {
     indexLine("P1", "F1", 1);
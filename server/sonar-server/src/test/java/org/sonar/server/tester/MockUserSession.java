@@ -20,6 +20,7 @@
 package org.sonar.server.tester;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultimap;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -33,6 +34,9 @@ import static com.google.common.collect.Maps.newHashMap;
 
 public class MockUserSession extends AbstractUserSession<MockUserSession> implements UserSession {
   private Map<String, String> projectKeyByComponentKey = newHashMap();
+  private HashMultimap<String, String> projectKeyByPermission = HashMultimap.create();
+  private HashMultimap<String, String> projectUuidByPermission = HashMultimap.create();
+  private List<String> projectPermissions = newArrayList();
 
   protected MockUserSession() {
     super(MockUserSession.class);
@@ -0,0 +1,127 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.user;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.utils.System2;
+import org.sonar.api.web.UserRole;
+import org.sonar.core.user.AuthorizationDao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProjectPermissionCacheTest {
+
+  AuthorizationDao authorizationDao = mock(AuthorizationDao.class);
+  System2 system = mock(System2.class);
+  Settings settings = new Settings();
+
+  @Test
+  public void load_permission_only_once() {
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "P1")).thenReturn(true);
+    ProjectPermissionCache underTest = new ProjectPermissionCache(authorizationDao, settings, system);
+
+    assertThat(underTest.hasProjectPermission(1, UserRole.USER, "P1")).isTrue();
+    assertThat(underTest.hasProjectPermission(1, UserRole.USER, "P1")).isTrue();
+    assertThat(underTest.hasProjectPermission(1, UserRole.USER, "P2")).isFalse();
+    assertThat(underTest.hasProjectPermission(1, UserRole.USER, "P2")).isFalse();
+    assertThat(underTest.hasProjectPermission(2, UserRole.USER, "P1")).isFalse();
+    assertThat(underTest.hasProjectPermission(1, UserRole.ADMIN, "P1")).isFalse();
+
+    verify(authorizationDao, times(1)).isAuthorizedRootProjectKey(1, UserRole.USER, "P1");
+    verify(authorizationDao, times(1)).isAuthorizedRootProjectKey(1, UserRole.USER, "P2");
+    assertThat(underTest.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void keys_and_uuids_are_cached_separately() {
+    when(authorizationDao.isAuthorizedRootProjectUuid(null, UserRole.USER, "ABCD")).thenReturn(true);
+    ProjectPermissionCache underTest = new ProjectPermissionCache(authorizationDao, settings, system);
+
+    assertThat(underTest.hasProjectPermissionByUuid(null, UserRole.USER, "ABCD")).isTrue();
+    assertThat(underTest.hasProjectPermission(null, UserRole.USER, "ABCD")).isFalse();
+    assertThat(underTest.hasProjectPermissionByUuid(null, UserRole.USER, "ABCD")).isTrue();
+
+    verify(authorizationDao, times(1)).isAuthorizedRootProjectUuid(null, UserRole.USER, "ABCD");
+  }
+
+  @Test
+  public void entries_expire() {
+    settings.setProperty(ProjectPermissionCache.TTL_PROPERTY, 10);
+    when(system.now()).thenReturn(1_000L);
+    ProjectPermissionCache underTest = new ProjectPermissionCache(authorizationDao, settings, system);
+
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    when(system.now()).thenReturn(11_000L);
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    verify(authorizationDao, times(1)).isAuthorizedRootProjectKey(1, UserRole.USER, "P1");
+
+    when(system.now()).thenReturn(11_001L);
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    verify(authorizationDao, times(2)).isAuthorizedRootProjectKey(1, UserRole.USER, "P1");
+  }
+
+  @Test
+  public void evict_least_recently_used_entries() {
+    settings.setProperty(ProjectPermissionCache.MAX_SIZE_PROPERTY, 2);
+    ProjectPermissionCache underTest = new ProjectPermissionCache(authorizationDao, settings, system);
+
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    underTest.hasProjectPermission(1, UserRole.USER, "P2");
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    underTest.hasProjectPermission(1, UserRole.USER, "P3");
+    assertThat(underTest.size()).isEqualTo(2);
+
+    // P2 has been evicted, P1 is still cached
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    underTest.hasProjectPermission(1, UserRole.USER, "P2");
+    verify(authorizationDao, times(1)).isAuthorizedRootProjectKey(1, UserRole.USER, "P1");
+    verify(authorizationDao, times(2)).isAuthorizedRootProjectKey(1, UserRole.USER, "P2");
+  }
+
+  @Test
+  public void invalidate_all_entries() {
+    ProjectPermissionCache underTest = new ProjectPermissionCache(authorizationDao, settings, system);
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    underTest.hasProjectPermissionByUuid(1, UserRole.USER, "ABCD");
+
+    underTest.invalidateAll();
+    assertThat(underTest.size()).isEqualTo(0);
+
+    underTest.hasProjectPermission(1, UserRole.USER, "P1");
+    verify(authorizationDao, times(2)).isAuthorizedRootProjectKey(1, UserRole.USER, "P1");
+  }
+
+  @Test
+  public void fail_if_negative_setting() {
+    settings.setProperty(ProjectPermissionCache.TTL_PROPERTY, -1);
+    try {
+      new ProjectPermissionCache(authorizationDao, settings, system);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of sonar.authorization.cache.ttlSeconds: -1");
+    }
+  }
+}
@@ -21,6 +21,8 @@ package org.sonar.server.user;
 
 import java.util.Arrays;
 import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.utils.System2;
 import org.sonar.api.web.UserRole;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.permission.GlobalPermissions;
@@ -30,7 +32,6 @@ import org.sonar.core.user.AuthorizationDao;
 import org.sonar.server.component.ComponentTesting;
 import org.sonar.server.exceptions.ForbiddenException;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -78,7 +79,7 @@ public class ServerUserSessionTest {
   @Test
   public void has_project_permission() {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList("com.foo:Bar"));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "com.foo:Bar")).thenReturn(true);
 
     assertThat(session.hasProjectPermission(UserRole.USER, "com.foo:Bar")).isTrue();
     assertThat(session.hasProjectPermission(UserRole.CODEVIEWER, "com.foo:Bar")).isFalse();
@@ -88,7 +89,7 @@ public class ServerUserSessionTest {
   @Test
   public void has_project_permission_by_uuid() {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
-    when(authorizationDao.selectAuthorizedRootProjectsUuids(1, UserRole.USER)).thenReturn(newArrayList("ABCD"));
+    when(authorizationDao.isAuthorizedRootProjectUuid(1, UserRole.USER, "ABCD")).thenReturn(true);
 
     assertThat(session.hasProjectPermissionByUuid(UserRole.USER, "ABCD")).isTrue();
     assertThat(session.hasProjectPermissionByUuid(UserRole.CODEVIEWER, "ABCD")).isFalse();
@@ -98,7 +99,7 @@ public class ServerUserSessionTest {
   @Test
   public void check_project_permission_ok() {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList("com.foo:Bar"));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "com.foo:Bar")).thenReturn(true);
 
     session.checkProjectPermission(UserRole.USER, "com.foo:Bar");
   }
@@ -106,7 +107,7 @@ public class ServerUserSessionTest {
   @Test(expected = ForbiddenException.class)
   public void check_project_permission_ko() {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList("com.foo:Bar2"));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "com.foo:Bar2")).thenReturn(true);
 
     session.checkProjectPermission(UserRole.USER, "com.foo:Bar");
   }
@@ -116,7 +117,7 @@ public class ServerUserSessionTest {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
 
     ComponentDto project = ComponentTesting.newProjectDto();
-    when(authorizationDao.selectAuthorizedRootProjectsUuids(1, UserRole.USER)).thenReturn(newArrayList(project.uuid()));
+    when(authorizationDao.isAuthorizedRootProjectUuid(1, UserRole.USER, project.uuid())).thenReturn(true);
 
     session.checkProjectUuidPermission(UserRole.USER, project.uuid());
   }
@@ -126,7 +127,7 @@ public class ServerUserSessionTest {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
 
     ComponentDto project = ComponentTesting.newProjectDto();
-    when(authorizationDao.selectAuthorizedRootProjectsUuids(1, UserRole.USER)).thenReturn(newArrayList(project.uuid()));
+    when(authorizationDao.isAuthorizedRootProjectUuid(1, UserRole.USER, project.uuid())).thenReturn(true);
 
     session.checkProjectUuidPermission(UserRole.USER, "another project");
   }
@@ -137,7 +138,7 @@ public class ServerUserSessionTest {
 
     String componentKey = "com.foo:Bar:BarFile.xoo";
     when(resourceDao.getRootProjectByComponentKey(componentKey)).thenReturn(new ResourceDto().setKey(componentKey));
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList(componentKey));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, componentKey)).thenReturn(true);
 
     assertThat(session.hasComponentPermission(UserRole.USER, componentKey)).isTrue();
     assertThat(session.hasComponentPermission(UserRole.CODEVIEWER, componentKey)).isFalse();
@@ -149,7 +150,7 @@ public class ServerUserSessionTest {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
 
     when(resourceDao.getRootProjectByComponentKey("com.foo:Bar:BarFile.xoo")).thenReturn(new ResourceDto().setKey("com.foo:Bar"));
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList("com.foo:Bar"));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "com.foo:Bar")).thenReturn(true);
 
     session.checkComponentPermission(UserRole.USER, "com.foo:Bar:BarFile.xoo");
   }
@@ -159,7 +160,7 @@ public class ServerUserSessionTest {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
 
     when(resourceDao.getRootProjectByComponentKey("com.foo:Bar:BarFile.xoo")).thenReturn(new ResourceDto().setKey("com.foo:Bar2"));
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList("com.foo:Bar"));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, "com.foo:Bar")).thenReturn(true);
 
     session.checkComponentPermission(UserRole.USER, "com.foo:Bar:BarFile.xoo");
   }
@@ -171,7 +172,7 @@ public class ServerUserSessionTest {
     ComponentDto project = ComponentTesting.newProjectDto();
     ComponentDto file = ComponentTesting.newFileDto(project, "file-uuid");
     when(resourceDao.getResource("file-uuid")).thenReturn(new ResourceDto().setProjectUuid(project.uuid()));
-    when(authorizationDao.selectAuthorizedRootProjectsUuids(1, UserRole.USER)).thenReturn(newArrayList(project.uuid()));
+    when(authorizationDao.isAuthorizedRootProjectUuid(1, UserRole.USER, project.uuid())).thenReturn(true);
 
     session.checkComponentUuidPermission(UserRole.USER, file.uuid());
   }
@@ -183,7 +184,7 @@ public class ServerUserSessionTest {
     ComponentDto project = ComponentTesting.newProjectDto();
     ComponentDto file = ComponentTesting.newFileDto(project, "file-uuid");
     when(resourceDao.getResource("file-uuid")).thenReturn(new ResourceDto().setProjectUuid(project.uuid()));
-    when(authorizationDao.selectAuthorizedRootProjectsUuids(1, UserRole.USER)).thenReturn(newArrayList(project.uuid()));
+    when(authorizationDao.isAuthorizedRootProjectUuid(1, UserRole.USER, project.uuid())).thenReturn(true);
 
     session.checkComponentUuidPermission(UserRole.USER, "another-uuid");
   }
@@ -202,13 +203,13 @@ public class ServerUserSessionTest {
     UserSession session = newServerUserSession().setLogin("marius").setUserId(1);
 
     ComponentDto project = ComponentTesting.newProjectDto();
-    when(authorizationDao.selectAuthorizedRootProjectsKeys(1, UserRole.USER)).thenReturn(newArrayList(project.uuid()));
+    when(authorizationDao.isAuthorizedRootProjectKey(1, UserRole.USER, project.uuid())).thenReturn(true);
 
     session.checkComponentPermission(UserRole.USER, "another");
   }
 
   private ServerUserSession newServerUserSession() {
-    return new ServerUserSession(authorizationDao, resourceDao);
+    return new ServerUserSession(authorizationDao, resourceDao, new ProjectPermissionCache(authorizationDao, new Settings(), System2.INSTANCE));
   }
 
 }
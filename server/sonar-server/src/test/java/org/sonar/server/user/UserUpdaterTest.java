@@ -43,6 +43,7 @@ import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.Message;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.user.db.GroupDao;
 import org.sonar.server.user.db.UserDao;
 import org.sonar.server.user.db.UserGroupDao;
@@ -81,6 +82,7 @@ public class UserUpdaterTest {
   GroupDao groupDao;
   GroupMembershipFinder groupMembershipFinder;
   DbSession session;
+  ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
   UserIndexer userIndexer;
 
   UserUpdater userUpdater;
@@ -101,7 +103,7 @@ public class UserUpdaterTest {
     DbClient dbClient = new DbClient(db.database(), db.myBatis(), userDao, groupDao, userGroupDao);
     userIndexer = (UserIndexer) new UserIndexer(dbClient, es.client()).setEnabled(true);
     userUpdater = new UserUpdater(newUserNotifier, settings, dbClient,
-      userIndexer, system2, realmFactory);
+      userIndexer, system2, realmFactory, new ReferenceDataCache(settings, system2), permissionCache);
   }
 
   @After
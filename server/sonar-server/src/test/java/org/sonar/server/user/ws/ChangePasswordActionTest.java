@@ -38,8 +38,10 @@ import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.user.NewUserNotifier;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.SecurityRealmFactory;
 import org.sonar.server.user.UserUpdater;
 import org.sonar.server.user.db.GroupDao;
@@ -79,6 +81,7 @@ public class ChangePasswordActionTest {
   UserIndexer userIndexer;
 
   DbSession session;
+  ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   SecurityRealmFactory realmFactory = mock(SecurityRealmFactory.class);
 
@@ -99,7 +102,8 @@ public class ChangePasswordActionTest {
     userIndexer = (UserIndexer) new UserIndexer(dbClient, esTester.client()).setEnabled(true);
     index = new UserIndex(esTester.client());
     tester = new WsTester(
-      new UsersWs(new ChangePasswordAction(new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, realmFactory), userSessionRule)));
+      new UsersWs(new ChangePasswordAction(new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, realmFactory,
+        new ReferenceDataCache(settings, system2), permissionCache), userSessionRule)));
     controller = tester.controller("api/users");
   }
 
@@ -39,8 +39,10 @@ import org.sonar.core.user.UserDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.ForbiddenException;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.user.NewUserNotifier;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.SecurityRealmFactory;
 import org.sonar.server.user.UserUpdater;
 import org.sonar.server.user.db.GroupDao;
@@ -82,6 +84,7 @@ public class CreateActionTest {
   UserIndexer userIndexer;
 
   DbSession session;
+  ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   I18n i18n = mock(I18n.class);
 
@@ -102,7 +105,8 @@ public class CreateActionTest {
     userIndexer = (UserIndexer) new UserIndexer(dbClient, esTester.client()).setEnabled(true);
     index = new UserIndex(esTester.client());
     tester = new WsTester(new UsersWs(new CreateAction(index,
-      new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, mock(SecurityRealmFactory.class)),
+      new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, mock(SecurityRealmFactory.class),
+        new ReferenceDataCache(settings, system2), permissionCache),
       i18n, userSessionRule)));
     controller = tester.controller("api/users");
 
@@ -39,8 +39,10 @@ import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.issue.ws.ReferenceDataCache;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.user.NewUserNotifier;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.SecurityRealmFactory;
 import org.sonar.server.user.UserUpdater;
 import org.sonar.server.user.db.UserDao;
@@ -53,6 +55,7 @@ import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @Category(DbTests.class)
 public class DeactivateActionTest {
@@ -77,6 +80,7 @@ public class DeactivateActionTest {
   UserIndexer userIndexer;
 
   DbSession session;
+  ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   I18n i18n = mock(I18n.class);
 
@@ -94,7 +98,8 @@ public class DeactivateActionTest {
     userIndexer = (UserIndexer) new UserIndexer(dbClient, esTester.client()).setEnabled(true);
     index = new UserIndex(esTester.client());
     tester = new WsTester(new UsersWs(new DeactivateAction(index,
-      new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, mock(SecurityRealmFactory.class)), userSessionRule)));
+      new UserUpdater(mock(NewUserNotifier.class), settings, dbClient, userIndexer, system2, mock(SecurityRealmFactory.class),
+        new ReferenceDataCache(settings, system2), permissionCache), userSessionRule)));
     controller = tester.controller("api/users");
 
   }
@@ -116,6 +121,7 @@ public class DeactivateActionTest {
 
     UserDoc user = index.getByLogin("john");
     assertThat(user.active()).isFalse();
+    verify(permissionCache).invalidateAll();
   }
 
   @Test(expected = BadRequestException.class)
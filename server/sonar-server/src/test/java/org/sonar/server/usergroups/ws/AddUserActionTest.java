@@ -41,6 +41,7 @@ import org.sonar.core.user.UserGroupDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.NotFoundException;
 import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.db.GroupDao;
 import org.sonar.server.user.db.UserDao;
 import org.sonar.server.user.db.UserGroupDao;
@@ -48,6 +49,8 @@ import org.sonar.server.ws.WsTester;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @Category(DbTests.class)
 public class AddUserActionTest {
@@ -67,6 +70,7 @@ public class AddUserActionTest {
   private GroupMembershipDao groupMembershipDao;
   private UserGroupDao userGroupDao;
   private DbSession session;
+  private ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   @Before
   public void setUp() {
@@ -79,7 +83,7 @@ public class AddUserActionTest {
 
     DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), groupDao, userDao, userGroupDao, groupMembershipDao);
 
-    tester = new WsTester(new UserGroupsWs(new AddUserAction(dbClient, userSession)));
+    tester = new WsTester(new UserGroupsWs(new AddUserAction(dbClient, userSession, permissionCache)));
 
     session = dbClient.openSession(false);
   }
@@ -104,6 +108,7 @@ public class AddUserActionTest {
 
     assertThat(groupMembershipDao.selectGroupsByLogins(session, Arrays.asList(user.getLogin())).get(user.getLogin()))
       .containsOnly(group.getName());
+    verify(permissionCache).invalidateAll();
   }
 
   @Test
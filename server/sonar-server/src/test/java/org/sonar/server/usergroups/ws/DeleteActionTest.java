@@ -41,12 +41,15 @@ import org.sonar.core.user.UserGroupDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.NotFoundException;
 import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.db.GroupDao;
 import org.sonar.server.user.db.UserGroupDao;
 import org.sonar.server.ws.WsTester;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @Category(DbTests.class)
 public class DeleteActionTest {
@@ -68,6 +71,7 @@ public class DeleteActionTest {
   private PermissionTemplateDao permissionTemplateDao;
 
   private DbSession session;
+  private ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   private Long defaultGroupId;
 
@@ -90,7 +94,7 @@ public class DeleteActionTest {
     defaultGroupId = defaultGroup.getId();
     session.commit();
 
-    tester = new WsTester(new UserGroupsWs(new DeleteAction(dbClient, userSession, settings)));
+    tester = new WsTester(new UserGroupsWs(new DeleteAction(dbClient, userSession, settings, permissionCache)));
   }
 
   @After
@@ -107,6 +111,7 @@ public class DeleteActionTest {
     tester.newPostRequest("api/usergroups", "delete")
       .setParam("id", group.getId().toString())
       .execute().assertNoContent();
+    verify(permissionCache).invalidateAll();
   }
 
   @Test
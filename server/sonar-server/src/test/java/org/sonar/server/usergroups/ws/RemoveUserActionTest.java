@@ -40,6 +40,7 @@ import org.sonar.core.user.UserGroupDto;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.NotFoundException;
 import org.sonar.server.tester.UserSessionRule;
+import org.sonar.server.user.ProjectPermissionCache;
 import org.sonar.server.user.db.GroupDao;
 import org.sonar.server.user.db.UserDao;
 import org.sonar.server.user.db.UserGroupDao;
@@ -47,6 +48,8 @@ import org.sonar.server.ws.WsTester;
 import org.sonar.test.DbTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @Category(DbTests.class)
 public class RemoveUserActionTest {
@@ -66,6 +69,7 @@ public class RemoveUserActionTest {
   private GroupMembershipDao groupMembershipDao;
   private UserGroupDao userGroupDao;
   private DbSession session;
+  private ProjectPermissionCache permissionCache = mock(ProjectPermissionCache.class);
 
   @Before
   public void setUp() {
@@ -78,7 +82,7 @@ public class RemoveUserActionTest {
 
     DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), groupDao, userDao, userGroupDao, groupMembershipDao);
 
-    tester = new WsTester(new UserGroupsWs(new RemoveUserAction(dbClient, userSession)));
+    tester = new WsTester(new UserGroupsWs(new RemoveUserAction(dbClient, userSession, permissionCache)));
 
     session = dbClient.openSession(false);
   }
@@ -121,6 +125,7 @@ public class RemoveUserActionTest {
 
     assertThat(groupMembershipDao.selectGroupsByLogins(session, Arrays.asList(user.getLogin())).get(user.getLogin()))
       .isEmpty();
+    verify(permissionCache).invalidateAll();
   }
 
   @Test
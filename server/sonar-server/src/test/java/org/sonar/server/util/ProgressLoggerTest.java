@@ -61,4 +61,24 @@ public class ProgressLoggerTest {
     assertThat(progress.getPluralLabel()).isEqualTo("issues");
 
   }
+
+  @Test(timeout = 1000L)
+  public void log_progress_and_remaining_time_if_total_is_known() throws Exception {
+    Logger logger = mock(Logger.class);
+    AtomicLong counter = new AtomicLong(50L);
+    ProgressLogger progress = new ProgressLogger("ProgressLoggerTest", counter, logger);
+    progress.setTotal(200L).setPluralLabel("documents");
+    assertThat(progress.getTotal()).isEqualTo(200L);
+
+    progress.log();
+    verify(logger).info(startsWith("50/200 documents processed (25%"));
+  }
+
+  @Test
+  public void format_remaining_time() {
+    assertThat(ProgressLogger.formatRemainingTime(0L, 10L)).isEqualTo("done");
+    assertThat(ProgressLogger.formatRemainingTime(100L, 0L)).isEqualTo("remaining time unknown");
+    assertThat(ProgressLogger.formatRemainingTime(100L, 10L)).isEqualTo("about 10 sec remaining");
+    assertThat(ProgressLogger.formatRemainingTime(6000L, 10L)).isEqualTo("about 10 min remaining");
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class SettingsUtilsTest {
+
+  Settings settings = new Settings();
+
+  @Test
+  public void get_positive_int() {
+    settings.setProperty("foo", 5);
+
+    assertThat(SettingsUtils.getPositiveInt(settings, "foo", 10)).isEqualTo(5);
+  }
+
+  @Test
+  public void default_value_of_positive_int_if_absent_or_zero() {
+    assertThat(SettingsUtils.getPositiveInt(settings, "foo", 10)).isEqualTo(10);
+
+    settings.setProperty("foo", 0);
+    assertThat(SettingsUtils.getPositiveInt(settings, "foo", 10)).isEqualTo(10);
+  }
+
+  @Test
+  public void fail_if_negative_positive_int() {
+    settings.setProperty("foo", -1);
+    try {
+      SettingsUtils.getPositiveInt(settings, "foo", 10);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of foo: -1");
+    }
+  }
+
+  @Test
+  public void get_non_negative_int() {
+    settings.setProperty("foo", 5);
+    assertThat(SettingsUtils.getNonNegativeInt(settings, "foo", 10)).isEqualTo(5);
+
+    settings.setProperty("foo", 0);
+    assertThat(SettingsUtils.getNonNegativeInt(settings, "foo", 10)).isEqualTo(0);
+  }
+
+  @Test
+  public void default_value_of_non_negative_int_if_absent() {
+    assertThat(SettingsUtils.getNonNegativeInt(settings, "foo", 10)).isEqualTo(10);
+  }
+
+  @Test
+  public void fail_if_negative_non_negative_int() {
+    settings.setProperty("foo", -1);
+    try {
+      SettingsUtils.getNonNegativeInt(settings, "foo", 10);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of foo: -1");
+    }
+  }
+}
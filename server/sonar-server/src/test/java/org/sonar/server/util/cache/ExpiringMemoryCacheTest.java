@@ -0,0 +1,138 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util.cache;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.api.utils.System2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExpiringMemoryCacheTest {
+
+  BulkCacheLoader<String, String> loader = mock(BulkCacheLoader.class);
+  System2 system = mock(System2.class);
+
+  @Test
+  public void load_missing_keys_in_a_single_call() {
+    ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(10, 1_000L, system);
+    List<String> keys = Arrays.asList("one", "two", "three");
+    when(loader.loadAll(keys)).thenReturn(ImmutableMap.of("one", "un", "two", "deux"));
+
+    assertThat(underTest.getAll(keys, loader)).containsOnly(entry("one", "un"), entry("two", "deux"));
+    assertThat(underTest.size()).isEqualTo(2);
+
+    // only the key that is not found is requested again
+    List<String> missingKeys = Collections.singletonList("three");
+    when(loader.loadAll(missingKeys)).thenReturn(Collections.<String, String>emptyMap());
+    assertThat(underTest.getAll(keys, loader)).hasSize(2);
+    verify(loader, times(1)).loadAll(keys);
+    verify(loader, times(1)).loadAll(missingKeys);
+  }
+
+  @Test
+  public void entries_expire() {
+    ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(10, 1_000L, system);
+    List<String> keys = Collections.singletonList("one");
+    when(loader.loadAll(keys)).thenReturn(ImmutableMap.of("one", "un"));
+    when(system.now()).thenReturn(1_000L);
+    underTest.getAll(keys, loader);
+
+    when(system.now()).thenReturn(2_000L);
+    underTest.getAll(keys, loader);
+    verify(loader, times(1)).loadAll(keys);
+
+    when(system.now()).thenReturn(2_001L);
+    underTest.getAll(keys, loader);
+    verify(loader, times(2)).loadAll(keys);
+  }
+
+  @Test
+  public void evict_least_recently_used_entries() {
+    ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(2, 1_000L, system);
+    when(loader.loadAll(Collections.singletonList("one"))).thenReturn(ImmutableMap.of("one", "un"));
+    when(loader.loadAll(Collections.singletonList("two"))).thenReturn(ImmutableMap.of("two", "deux"));
+    when(loader.loadAll(Collections.singletonList("three"))).thenReturn(ImmutableMap.of("three", "trois"));
+
+    underTest.getAll(Collections.singletonList("one"), loader);
+    underTest.getAll(Collections.singletonList("two"), loader);
+    underTest.getAll(Collections.singletonList("one"), loader);
+    underTest.getAll(Collections.singletonList("three"), loader);
+    assertThat(underTest.size()).isEqualTo(2);
+
+    // "two" has been evicted, "one" is still cached
+    underTest.getAll(Collections.singletonList("one"), loader);
+    underTest.getAll(Collections.singletonList("two"), loader);
+    verify(loader, times(1)).loadAll(Collections.singletonList("one"));
+    verify(loader, times(2)).loadAll(Collections.singletonList("two"));
+  }
+
+  @Test
+  public void invalidate_entries() {
+    ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(10, 1_000L, system);
+    List<String> keys = Arrays.asList("one", "two");
+    when(loader.loadAll(keys)).thenReturn(ImmutableMap.of("one", "un", "two", "deux"));
+    underTest.getAll(keys, loader);
+
+    underTest.invalidate("one");
+    assertThat(underTest.size()).isEqualTo(1);
+
+    underTest.invalidateAll();
+    assertThat(underTest.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void get_single_key() {
+    ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(10, 1_000L, system);
+    when(loader.loadAll(Collections.singletonList("one"))).thenReturn(ImmutableMap.of("one", "un"));
+
+    assertThat(underTest.get("one", loader)).isEqualTo("un");
+    assertThat(underTest.get("two", loader)).isNull();
+    assertThat(underTest.get("one", loader)).isEqualTo("un");
+    verify(loader, times(1)).loadAll(Collections.singletonList("one"));
+  }
+
+  @Test
+  public void do_not_store_values_loaded_before_invalidation() {
+    final ExpiringMemoryCache<String, String> underTest = new ExpiringMemoryCache<>(10, 1_000L, system);
+    List<String> keys = Collections.singletonList("one");
+    BulkCacheLoader<String, String> invalidatingLoader = new BulkCacheLoader<String, String>() {
+      @Override
+      public Map<String, String> loadAll(Collection<? extends String> keys) {
+        // value is updated concurrently while being loaded
+        underTest.invalidate("one");
+        return ImmutableMap.of("one", "un");
+      }
+    };
+
+    assertThat(underTest.getAll(keys, invalidatingLoader)).containsOnly(entry("one", "un"));
+    assertThat(underTest.size()).isEqualTo(0);
+  }
+}
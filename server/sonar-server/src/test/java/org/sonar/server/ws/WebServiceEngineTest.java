@@ -21,6 +21,7 @@ package org.sonar.server.ws;
 
 import com.google.common.collect.Maps;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -38,13 +39,22 @@ import org.sonar.server.plugins.MimeTypes;
 import org.sonar.server.tester.UserSessionRule;
 
 import javax.annotation.Nullable;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class WebServiceEngineTest {
@@ -79,6 +89,11 @@ public class WebServiceEngineTest {
       return param == null ? null : IOUtils.toInputStream(param);
     }
 
+    @Override
+    public String header(String name) {
+      return null;
+    }
+
     public SimpleRequest setParams(Map<String, String> m) {
       this.params = m;
       return this;
@@ -291,6 +306,130 @@ public class WebServiceEngineTest {
     assertThat(response.stream().mediaType()).isEqualTo(MimeTypes.JSON);
   }
 
+  @Test
+  public void stream_response() throws Exception {
+    ValidatingRequest request = new SimpleRequest("GET").setParam("size", "100000");
+    CapturingServletOutput servletOutput = new CapturingServletOutput();
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    when(servletResponse.getOutputStream()).thenReturn(servletOutput);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    engine.execute(request, response, "api/system", "stream");
+
+    assertThat(response.stream().isCommitted()).isTrue();
+    assertThat(response.stream().outputAsBytes()).isEmpty();
+    assertThat(servletOutput.bytes.size()).isEqualTo(100000);
+    verify(servletResponse).setStatus(200);
+    verify(servletResponse).setContentType("text/plain");
+  }
+
+  @Test
+  public void small_streamed_response_is_buffered() {
+    ValidatingRequest request = new SimpleRequest("GET").setParam("size", "10");
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    engine.execute(request, response, "api/system", "stream");
+
+    assertThat(response.stream().isCommitted()).isFalse();
+    assertThat(response.stream().outputAsString()).isEqualTo("aaaaaaaaaa");
+    verifyZeroInteractions(servletResponse);
+  }
+
+  @Test
+  public void send_error_if_streamed_response_is_not_committed() {
+    ValidatingRequest request = new SimpleRequest("GET").setParam("size", "10").setParam("fail", "true");
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    engine.execute(request, response, "api/system", "stream");
+
+    assertThat(response.stream().isCommitted()).isFalse();
+    assertThat(response.stream().outputAsString()).isEqualTo("{\"errors\":[{\"msg\":\"Unexpected\"}]}");
+    assertThat(response.stream().httpStatus()).isEqualTo(500);
+    verifyZeroInteractions(servletResponse);
+  }
+
+  @Test
+  public void truncate_streamed_response_if_failure_after_commit() throws Exception {
+    ValidatingRequest request = new SimpleRequest("GET").setParam("size", "100000").setParam("fail", "true");
+    CapturingServletOutput servletOutput = new CapturingServletOutput();
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    when(servletResponse.getOutputStream()).thenReturn(servletOutput);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    engine.execute(request, response, "api/system", "stream");
+
+    assertThat(response.stream().isCommitted()).isTrue();
+    verify(servletResponse).setStatus(200);
+    assertThat(new String(servletOutput.bytes.toByteArray(), StandardCharsets.UTF_8)).doesNotContain("errors");
+  }
+
+  @Test
+  public void send_headers_with_streamed_response() throws Exception {
+    CapturingServletOutput servletOutput = new CapturingServletOutput();
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    when(servletResponse.getOutputStream()).thenReturn(servletOutput);
+    ServletResponse response = new ServletResponse(servletResponse);
+    response.stream().setStreamed(true);
+
+    response.setHeader("Server-Timing", "search;dur=3");
+    response.stream().output().write(new byte[ServletResponse.STREAMING_BUFFER_SIZE]);
+
+    assertThat(response.stream().isCommitted()).isTrue();
+    verify(servletResponse).setHeader("Server-Timing", "search;dur=3");
+    assertThat(response.stream().headers()).isEmpty();
+    try {
+      response.setHeader("Foo", "bar");
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Response is already committed");
+    }
+  }
+
+  @Test
+  public void keep_headers_of_buffered_response() {
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    response.setHeader("Server-Timing", "search;dur=3");
+
+    assertThat(response.stream().headers()).containsEntry("Server-Timing", "search;dur=3");
+    verifyZeroInteractions(servletResponse);
+  }
+
+  @Test
+  public void do_not_stream_response_by_default() {
+    ValidatingRequest request = new SimpleRequest("GET").setParam("message", StringUtils.repeat("a", 100000));
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    ServletResponse response = new ServletResponse(servletResponse);
+
+    engine.execute(request, response, "api/system", "print");
+
+    assertThat(response.stream().isCommitted()).isFalse();
+    assertThat(response.stream().outputAsString()).hasSize(100000 + " by -".length());
+    verifyZeroInteractions(servletResponse);
+  }
+
+  private static class CapturingServletOutput extends ServletOutputStream {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    @Override
+    public void write(int b) {
+      bytes.write(b);
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
   static class SystemWs implements WebService {
     @Override
     public void define(Context context) {
@@ -356,6 +495,24 @@ public class WebServiceEngineTest {
             throw new BadRequestException(errors);
           }
         });
+      NewAction stream = newController.createAction("stream")
+        .setStreamed(true)
+        .setHandler(new RequestHandler() {
+          @Override
+          public void handle(Request request, Response response) throws Exception {
+            response.stream().setMediaType("text/plain");
+            OutputStream output = response.stream().output();
+            for (int i = 0; i < request.mandatoryParamAsInt("size"); i++) {
+              output.write('a');
+            }
+            output.flush();
+            if (request.mandatoryParamAsBoolean("fail")) {
+              throw new IllegalStateException("Unexpected");
+            }
+          }
+        });
+      stream.createParam("size").setRequired(true);
+      stream.createParam("fail").setDefaultValue(false);
       newController.createAction("alive")
         .setHandler(new RequestHandler() {
           @Override
@@ -39,6 +39,7 @@ import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +54,7 @@ public class WsTester {
 
     private final String method;
     private Map<String, String> params = Maps.newHashMap();
+    private final Map<String, String> headers = Maps.newHashMap();
 
     private TestRequest(String method) {
       this.method = method;
@@ -92,6 +94,16 @@ public class WsTester {
       return param == null ? null : IOUtils.toInputStream(param);
     }
 
+    @Override
+    public String header(String name) {
+      return headers.get(name);
+    }
+
+    public TestRequest setHeader(String name, String value) {
+      headers.put(name, value);
+      return this;
+    }
+
     public Result execute() throws Exception {
       TestResponse response = new TestResponse();
       verifyRequest(action(), this);
@@ -100,7 +112,7 @@ public class WsTester {
     }
   }
 
-  public static class TestResponse implements Response {
+  public static class TestResponse implements ResponseWithHeaders {
 
     private TestStream stream;
 
@@ -136,6 +148,7 @@ public class WsTester {
     }
 
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final Map<String, String> headers = new HashMap<>();
 
     @Override
     public JsonWriter newJsonWriter() {
@@ -162,6 +175,12 @@ public class WsTester {
       return this;
     }
 
+    @Override
+    public ResponseWithHeaders setHeader(String name, String value) {
+      headers.put(name, value);
+      return this;
+    }
+
     public String outputAsString() {
       return new String(output.toByteArray(), StandardCharsets.UTF_8);
     }
@@ -186,6 +205,11 @@ public class WsTester {
       return response.output.toByteArray();
     }
 
+    @CheckForNull
+    public String header(String name) {
+      return response.headers.get(name);
+    }
+
     public Result assertJson(String expectedJson) throws Exception {
       String json = outputAsString();
       JsonAssert.assertJson(json).isSimilarTo(expectedJson);
@@ -29,14 +29,21 @@ class Api::JavaWsController < Api::ApiController
 
   def index
     ws_request = Java::OrgSonarServerWs::ServletRequest.new(servlet_request, params.to_java)
-    ws_response = Java::OrgSonarServerWs::ServletResponse.new()
+    ws_response = Java::OrgSonarServerWs::ServletResponse.new(request.env['java.servlet_response'])
     engine = Java::OrgSonarServerPlatform::Platform.component(Java::OrgSonarServerWs::WebServiceEngine.java_class)
     engine.execute(ws_request, ws_response, params[:wspath], params[:wsaction])
 
-    # response is already written to HttpServletResponse
-    render :text => ws_response.stream().output().toByteArray(),
-           :status => ws_response.stream().httpStatus(),
-           :content_type => ws_response.stream().mediaType()
+    if ws_response.stream().isCommitted()
+      # streamed response is already written to HttpServletResponse
+      render :text => ''
+    else
+      ws_response.stream().headers().each do |name, value|
+        response.headers[name] = value
+      end
+      render :text => ws_response.stream().outputAsBytes(),
+             :status => ws_response.stream().httpStatus(),
+             :content_type => ws_response.stream().mediaType()
+    end
   end
 
   def redirect_to_ws_listing
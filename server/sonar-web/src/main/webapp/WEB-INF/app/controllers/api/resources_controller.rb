@@ -26,7 +26,7 @@ class Api::ResourcesController < Api::ApiController
   # 'display_key' is used to return the resource key instead of the resource id. Default is false
   #
   def search
-    search_text = params[:s]||''
+    search_text = params[:s].to_s.strip
     page=(params[:p] ? params[:p].to_i : 1)
     page_size=(params[:ps] ? params[:ps].to_i : 10)
     display_key=params[:display_key]||false
@@ -43,17 +43,7 @@ class Api::ResourcesController < Api::ApiController
     bad_request("Page index must be greater than 0") if page<=0
     bad_request("Page size must be greater than 0") if page_size<=0
 
-    key = escape_like(search_text).downcase
-    conditions=['kee like ?']
-    condition_values=[key + '%']
-
-    unless qualifiers.empty?
-      conditions<<'qualifier in (?)'
-      condition_values<<qualifiers
-    end
-    indexes = ResourceIndex.all(:select => 'distinct(resource_id),root_project_id,qualifier,name_size', # optimization to not load unused columns like 'kee'
-                                 :conditions => [conditions.join(' and ')].concat(condition_values),
-                                 :order => 'name_size')
+    indexes = ResourceIndex.search(search_text, qualifiers)
 
     indexes = select_authorized(:user, indexes)
     total = indexes.size
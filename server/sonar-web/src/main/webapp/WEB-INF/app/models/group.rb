@@ -40,7 +40,9 @@ class Group < ActiveRecord::Base
     
     new_users=(new_users||[]).compact.uniq
     self.users = User.find(new_users)
-    save
+    result = save
+    Internal.permission_cache.invalidateAll()
+    result
   end
 
   def <=>(other)
@@ -86,6 +86,14 @@ class Internal
     component(Java::OrgSonarServerUi::JRubyI18n.java_class)
   end
 
+  def self.component_index
+    component(Java::OrgSonarServerComponentIndex::ComponentIndex.java_class)
+  end
+
+  def self.permission_cache
+    component(Java::OrgSonarServerUser::ProjectPermissionCache.java_class)
+  end
+
   def self.component(component_java_class)
     Java::OrgSonarServerPlatform::Platform.component(component_java_class)
   end
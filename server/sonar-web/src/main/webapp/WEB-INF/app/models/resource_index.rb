@@ -17,17 +17,27 @@
 # along with this program; if not, write to the Free Software Foundation,
 # Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
 #
-class ResourceIndex < ActiveRecord::Base
+# Result of the search of components by name. Names are indexed in Elasticsearch (see ComponentIndex).
+class ResourceIndex
 
-  set_table_name 'resource_index'
+  MIN_SEARCH_SIZE=2
 
-  belongs_to :resource, :class_name => 'Project', :foreign_key => 'resource_id'
-  belongs_to :root_project, :class_name => 'Project', :foreign_key => 'root_project_id'
+  attr_reader :resource_id, :root_project_id, :qualifier
 
-  MIN_SEARCH_SIZE=2
+  def initialize(resource_id, root_project_id, qualifier)
+    @resource_id=resource_id
+    @root_project_id=root_project_id
+    @qualifier=qualifier
+  end
 
   def resource_id_for_authorization
     root_project_id
   end
 
+  # Components whose name contains the given text, shortest names first
+  def self.search(text, qualifiers=[])
+    docs = Internal.component_index.searchByName(text.to_s.strip, qualifiers, nil)
+    docs.map { |doc| ResourceIndex.new(doc.id, doc.rootProjectId, doc.qualifier) }
+  end
+
 end
@@ -102,7 +102,9 @@ class User < ActiveRecord::Base
 
     new_groups=(new_groups || []).compact.uniq
     self.groups = Group.find(new_groups)
-    save
+    result = save
+    Internal.permission_cache.invalidateAll()
+    result
   end
 
   def <=>(other)
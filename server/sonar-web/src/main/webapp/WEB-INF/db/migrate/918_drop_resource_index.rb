@@ -0,0 +1,34 @@
+#
+# SonarQube, open source software quality management tool.
+# Copyright (C) 2008-2014 SonarSource
+# mailto:contact AT sonarsource DOT com
+#
+# SonarQube is free software; you can redistribute it and/or
+# modify it under the terms of the GNU Lesser General Public
+# License as published by the Free Software Foundation; either
+# version 3 of the License, or (at your option) any later version.
+#
+# SonarQube is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+# Lesser General Public License for more details.
+#
+# You should have received a copy of the GNU Lesser General Public License
+# along with this program; if not, write to the Free Software Foundation,
+# Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+#
+
+#
+# SonarQube 5.2
+# Names of components are indexed in Elasticsearch
+#
+class DropResourceIndex < ActiveRecord::Migration
+
+  def self.up
+    # Oracle trigger is created by migrations 287 and 432. Indices are dropped with the table, and
+    # the Oracle sequence resource_index_seq is dropped by the JDBC adapter.
+    drop_id_trigger('resource_index') if dialect()=='oracle'
+    drop_table 'resource_index'
+  end
+
+end
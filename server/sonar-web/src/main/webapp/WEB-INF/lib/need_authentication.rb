@@ -120,6 +120,7 @@ class PluginRealm
 
     now = java.lang.System.currentTimeMillis
 
+    groups_changed = false
     # SONAR-4950 Use a transaction to prevent multiple insertion of same groups
     User.transaction do
       if !user
@@ -159,10 +160,11 @@ class PluginRealm
       # Note that validation disabled
       user.save(false)
 
-      synchronize_groups(user)
+      groups_changed = synchronize_groups(user)
       user.notify_creation_handlers
-      user
     end
+    # Project permissions granted to groups must be checked again
+    Internal.permission_cache.invalidateAll() if groups_changed
     Internal.users_api.index()
 
     # Return user
@@ -177,6 +179,7 @@ class PluginRealm
         Rails.logger.error("Error from external groups provider: #{e.message}")
       else
         if groups
+          old_group_ids = user.groups.map(&:id).sort
           user.groups = []
           for group_name in groups
             group = Group.find_by_name(group_name)
@@ -184,9 +187,11 @@ class PluginRealm
               user.groups << group
             end
           end
+          return old_group_ids != user.groups.map(&:id).sort
         end
       end
     end
+    false
   end
 
   def editable_password?
@@ -2851,6 +2851,6402 @@ public final class BatchInput {
     // @@protoc_insertion_point(class_scope:User)
   }
 
+  public interface ProjectRepositoriesItemOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ProjectRepositoriesItem)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    boolean hasMetadata();
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata getMetadata();
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder getMetadataOrBuilder();
+
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    boolean hasQprofile();
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile getQprofile();
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder getQprofileOrBuilder();
+
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    boolean hasActiveRule();
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule getActiveRule();
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder getActiveRuleOrBuilder();
+
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    boolean hasModuleSettings();
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings getModuleSettings();
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder getModuleSettingsOrBuilder();
+  }
+  /**
+   * Protobuf type {@code ProjectRepositoriesItem}
+   *
+   * <pre>
+   * Response of WS batch/project when format is protobuf: stream of delimited messages.
+   * Only one field is set on each message. File data are not part of the response, they
+   * are loaded per module from WS batch/project_files.
+   * </pre>
+   */
+  public static final class ProjectRepositoriesItem extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ProjectRepositoriesItem)
+      ProjectRepositoriesItemOrBuilder {
+    // Use ProjectRepositoriesItem.newBuilder() to construct.
+    private ProjectRepositoriesItem(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private ProjectRepositoriesItem(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final ProjectRepositoriesItem defaultInstance;
+    public static ProjectRepositoriesItem getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public ProjectRepositoriesItem getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ProjectRepositoriesItem(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = metadata_.toBuilder();
+              }
+              metadata_ = input.readMessage(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(metadata_);
+                metadata_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+            case 18: {
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000002) == 0x00000002)) {
+                subBuilder = qprofile_.toBuilder();
+              }
+              qprofile_ = input.readMessage(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(qprofile_);
+                qprofile_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000002;
+              break;
+            }
+            case 26: {
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000004) == 0x00000004)) {
+                subBuilder = activeRule_.toBuilder();
+              }
+              activeRule_ = input.readMessage(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(activeRule_);
+                activeRule_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000004;
+              break;
+            }
+            case 34: {
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000008) == 0x00000008)) {
+                subBuilder = moduleSettings_.toBuilder();
+              }
+              moduleSettings_ = input.readMessage(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(moduleSettings_);
+                moduleSettings_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000008;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<ProjectRepositoriesItem> PARSER =
+        new com.google.protobuf.AbstractParser<ProjectRepositoriesItem>() {
+      public ProjectRepositoriesItem parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ProjectRepositoriesItem(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ProjectRepositoriesItem> getParserForType() {
+      return PARSER;
+    }
+
+    public interface MetadataOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:ProjectRepositoriesItem.Metadata)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      boolean hasTimestamp();
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      long getTimestamp();
+
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      boolean hasLastAnalysisDate();
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      long getLastAnalysisDate();
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesItem.Metadata}
+     */
+    public static final class Metadata extends
+        com.google.protobuf.GeneratedMessage implements
+        // @@protoc_insertion_point(message_implements:ProjectRepositoriesItem.Metadata)
+        MetadataOrBuilder {
+      // Use Metadata.newBuilder() to construct.
+      private Metadata(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+        super(builder);
+        this.unknownFields = builder.getUnknownFields();
+      }
+      private Metadata(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+      private static final Metadata defaultInstance;
+      public static Metadata getDefaultInstance() {
+        return defaultInstance;
+      }
+
+      public Metadata getDefaultInstanceForType() {
+        return defaultInstance;
+      }
+
+      private final com.google.protobuf.UnknownFieldSet unknownFields;
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+          getUnknownFields() {
+        return this.unknownFields;
+      }
+      private Metadata(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        initFields();
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 8: {
+                bitField0_ |= 0x00000001;
+                timestamp_ = input.readInt64();
+                break;
+              }
+              case 16: {
+                bitField0_ |= 0x00000002;
+                lastAnalysisDate_ = input.readInt64();
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e.getMessage()).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Metadata_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Metadata_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder.class);
+      }
+
+      public static com.google.protobuf.Parser<Metadata> PARSER =
+          new com.google.protobuf.AbstractParser<Metadata>() {
+        public Metadata parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Metadata(input, extensionRegistry);
+        }
+      };
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Metadata> getParserForType() {
+        return PARSER;
+      }
+
+      private int bitField0_;
+      public static final int TIMESTAMP_FIELD_NUMBER = 1;
+      private long timestamp_;
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public boolean hasTimestamp() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional int64 timestamp = 1;</code>
+       */
+      public long getTimestamp() {
+        return timestamp_;
+      }
+
+      public static final int LAST_ANALYSIS_DATE_FIELD_NUMBER = 2;
+      private long lastAnalysisDate_;
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public boolean hasLastAnalysisDate() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional int64 last_analysis_date = 2;</code>
+       */
+      public long getLastAnalysisDate() {
+        return lastAnalysisDate_;
+      }
+
+      private void initFields() {
+        timestamp_ = 0L;
+        lastAnalysisDate_ = 0L;
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeInt64(1, timestamp_);
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          output.writeInt64(2, lastAnalysisDate_);
+        }
+        getUnknownFields().writeTo(output);
+      }
+
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeInt64Size(1, timestamp_);
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeInt64Size(2, lastAnalysisDate_);
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code ProjectRepositoriesItem.Metadata}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:ProjectRepositoriesItem.Metadata)
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Metadata_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Metadata_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder.class);
+        }
+
+        // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+
+        public Builder clear() {
+          super.clear();
+          timestamp_ = 0L;
+          bitField0_ = (bitField0_ & ~0x00000001);
+          lastAnalysisDate_ = 0L;
+          bitField0_ = (bitField0_ & ~0x00000002);
+          return this;
+        }
+
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Metadata_descriptor;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata getDefaultInstanceForType() {
+          return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance();
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata build() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata buildPartial() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.timestamp_ = timestamp_;
+          if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+            to_bitField0_ |= 0x00000002;
+          }
+          result.lastAnalysisDate_ = lastAnalysisDate_;
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata) {
+            return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata other) {
+          if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance()) return this;
+          if (other.hasTimestamp()) {
+            setTimestamp(other.getTimestamp());
+          }
+          if (other.hasLastAnalysisDate()) {
+            setLastAnalysisDate(other.getLastAnalysisDate());
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata) e.getUnfinishedMessage();
+            throw e;
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private long timestamp_ ;
+        /**
+         * <code>optional int64 timestamp = 1;</code>
+         */
+        public boolean hasTimestamp() {
+          return ((bitField0_ & 0x00000001) == 0x00000001);
+        }
+        /**
+         * <code>optional int64 timestamp = 1;</code>
+         */
+        public long getTimestamp() {
+          return timestamp_;
+        }
+        /**
+         * <code>optional int64 timestamp = 1;</code>
+         */
+        public Builder setTimestamp(long value) {
+          bitField0_ |= 0x00000001;
+          timestamp_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional int64 timestamp = 1;</code>
+         */
+        public Builder clearTimestamp() {
+          bitField0_ = (bitField0_ & ~0x00000001);
+          timestamp_ = 0L;
+          onChanged();
+          return this;
+        }
+
+        private long lastAnalysisDate_ ;
+        /**
+         * <code>optional int64 last_analysis_date = 2;</code>
+         */
+        public boolean hasLastAnalysisDate() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        /**
+         * <code>optional int64 last_analysis_date = 2;</code>
+         */
+        public long getLastAnalysisDate() {
+          return lastAnalysisDate_;
+        }
+        /**
+         * <code>optional int64 last_analysis_date = 2;</code>
+         */
+        public Builder setLastAnalysisDate(long value) {
+          bitField0_ |= 0x00000002;
+          lastAnalysisDate_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional int64 last_analysis_date = 2;</code>
+         */
+        public Builder clearLastAnalysisDate() {
+          bitField0_ = (bitField0_ & ~0x00000002);
+          lastAnalysisDate_ = 0L;
+          onChanged();
+          return this;
+        }
+
+        // @@protoc_insertion_point(builder_scope:ProjectRepositoriesItem.Metadata)
+      }
+
+      static {
+        defaultInstance = new Metadata(true);
+        defaultInstance.initFields();
+      }
+
+      // @@protoc_insertion_point(class_scope:ProjectRepositoriesItem.Metadata)
+    }
+
+    public interface QualityProfileOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:ProjectRepositoriesItem.QualityProfile)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      boolean hasKey();
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      java.lang.String getKey();
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      com.google.protobuf.ByteString
+          getKeyBytes();
+
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      boolean hasName();
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      java.lang.String getName();
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      com.google.protobuf.ByteString
+          getNameBytes();
+
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      boolean hasLanguage();
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      java.lang.String getLanguage();
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      com.google.protobuf.ByteString
+          getLanguageBytes();
+
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      boolean hasRulesUpdatedAt();
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      long getRulesUpdatedAt();
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesItem.QualityProfile}
+     */
+    public static final class QualityProfile extends
+        com.google.protobuf.GeneratedMessage implements
+        // @@protoc_insertion_point(message_implements:ProjectRepositoriesItem.QualityProfile)
+        QualityProfileOrBuilder {
+      // Use QualityProfile.newBuilder() to construct.
+      private QualityProfile(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+        super(builder);
+        this.unknownFields = builder.getUnknownFields();
+      }
+      private QualityProfile(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+      private static final QualityProfile defaultInstance;
+      public static QualityProfile getDefaultInstance() {
+        return defaultInstance;
+      }
+
+      public QualityProfile getDefaultInstanceForType() {
+        return defaultInstance;
+      }
+
+      private final com.google.protobuf.UnknownFieldSet unknownFields;
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+          getUnknownFields() {
+        return this.unknownFields;
+      }
+      private QualityProfile(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        initFields();
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000001;
+                key_ = bs;
+                break;
+              }
+              case 18: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000002;
+                name_ = bs;
+                break;
+              }
+              case 26: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000004;
+                language_ = bs;
+                break;
+              }
+              case 32: {
+                bitField0_ |= 0x00000008;
+                rulesUpdatedAt_ = input.readInt64();
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e.getMessage()).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_QualityProfile_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_QualityProfile_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder.class);
+      }
+
+      public static com.google.protobuf.Parser<QualityProfile> PARSER =
+          new com.google.protobuf.AbstractParser<QualityProfile>() {
+        public QualityProfile parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new QualityProfile(input, extensionRegistry);
+        }
+      };
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<QualityProfile> getParserForType() {
+        return PARSER;
+      }
+
+      private int bitField0_;
+      public static final int KEY_FIELD_NUMBER = 1;
+      private java.lang.Object key_;
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            key_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int NAME_FIELD_NUMBER = 2;
+      private java.lang.Object name_;
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public boolean hasName() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            name_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string name = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int LANGUAGE_FIELD_NUMBER = 3;
+      private java.lang.Object language_;
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public boolean hasLanguage() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public java.lang.String getLanguage() {
+        java.lang.Object ref = language_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            language_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string language = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLanguageBytes() {
+        java.lang.Object ref = language_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          language_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int RULES_UPDATED_AT_FIELD_NUMBER = 4;
+      private long rulesUpdatedAt_;
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public boolean hasRulesUpdatedAt() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional int64 rules_updated_at = 4;</code>
+       */
+      public long getRulesUpdatedAt() {
+        return rulesUpdatedAt_;
+      }
+
+      private void initFields() {
+        key_ = "";
+        name_ = "";
+        language_ = "";
+        rulesUpdatedAt_ = 0L;
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeBytes(1, getKeyBytes());
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          output.writeBytes(2, getNameBytes());
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          output.writeBytes(3, getLanguageBytes());
+        }
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          output.writeInt64(4, rulesUpdatedAt_);
+        }
+        getUnknownFields().writeTo(output);
+      }
+
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(1, getKeyBytes());
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(2, getNameBytes());
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(3, getLanguageBytes());
+        }
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeInt64Size(4, rulesUpdatedAt_);
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code ProjectRepositoriesItem.QualityProfile}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:ProjectRepositoriesItem.QualityProfile)
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_QualityProfile_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_QualityProfile_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder.class);
+        }
+
+        // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+
+        public Builder clear() {
+          super.clear();
+          key_ = "";
+          bitField0_ = (bitField0_ & ~0x00000001);
+          name_ = "";
+          bitField0_ = (bitField0_ & ~0x00000002);
+          language_ = "";
+          bitField0_ = (bitField0_ & ~0x00000004);
+          rulesUpdatedAt_ = 0L;
+          bitField0_ = (bitField0_ & ~0x00000008);
+          return this;
+        }
+
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_QualityProfile_descriptor;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile getDefaultInstanceForType() {
+          return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance();
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile build() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile buildPartial() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.key_ = key_;
+          if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+            to_bitField0_ |= 0x00000002;
+          }
+          result.name_ = name_;
+          if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+            to_bitField0_ |= 0x00000004;
+          }
+          result.language_ = language_;
+          if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+            to_bitField0_ |= 0x00000008;
+          }
+          result.rulesUpdatedAt_ = rulesUpdatedAt_;
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile) {
+            return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile other) {
+          if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance()) return this;
+          if (other.hasKey()) {
+            bitField0_ |= 0x00000001;
+            key_ = other.key_;
+            onChanged();
+          }
+          if (other.hasName()) {
+            bitField0_ |= 0x00000002;
+            name_ = other.name_;
+            onChanged();
+          }
+          if (other.hasLanguage()) {
+            bitField0_ |= 0x00000004;
+            language_ = other.language_;
+            onChanged();
+          }
+          if (other.hasRulesUpdatedAt()) {
+            setRulesUpdatedAt(other.getRulesUpdatedAt());
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile) e.getUnfinishedMessage();
+            throw e;
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private java.lang.Object key_ = "";
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public boolean hasKey() {
+          return ((bitField0_ & 0x00000001) == 0x00000001);
+        }
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public java.lang.String getKey() {
+          java.lang.Object ref = key_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              key_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public com.google.protobuf.ByteString
+            getKeyBytes() {
+          java.lang.Object ref = key_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            key_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public Builder setKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          key_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public Builder clearKey() {
+          bitField0_ = (bitField0_ & ~0x00000001);
+          key_ = getDefaultInstance().getKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string key = 1;</code>
+         */
+        public Builder setKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          key_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object name_ = "";
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public boolean hasName() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public java.lang.String getName() {
+          java.lang.Object ref = name_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              name_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public com.google.protobuf.ByteString
+            getNameBytes() {
+          java.lang.Object ref = name_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            name_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public Builder setName(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+          name_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public Builder clearName() {
+          bitField0_ = (bitField0_ & ~0x00000002);
+          name_ = getDefaultInstance().getName();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string name = 2;</code>
+         */
+        public Builder setNameBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+          name_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object language_ = "";
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public boolean hasLanguage() {
+          return ((bitField0_ & 0x00000004) == 0x00000004);
+        }
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public java.lang.String getLanguage() {
+          java.lang.Object ref = language_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              language_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public com.google.protobuf.ByteString
+            getLanguageBytes() {
+          java.lang.Object ref = language_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            language_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public Builder setLanguage(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+          language_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public Builder clearLanguage() {
+          bitField0_ = (bitField0_ & ~0x00000004);
+          language_ = getDefaultInstance().getLanguage();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string language = 3;</code>
+         */
+        public Builder setLanguageBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+          language_ = value;
+          onChanged();
+          return this;
+        }
+
+        private long rulesUpdatedAt_ ;
+        /**
+         * <code>optional int64 rules_updated_at = 4;</code>
+         */
+        public boolean hasRulesUpdatedAt() {
+          return ((bitField0_ & 0x00000008) == 0x00000008);
+        }
+        /**
+         * <code>optional int64 rules_updated_at = 4;</code>
+         */
+        public long getRulesUpdatedAt() {
+          return rulesUpdatedAt_;
+        }
+        /**
+         * <code>optional int64 rules_updated_at = 4;</code>
+         */
+        public Builder setRulesUpdatedAt(long value) {
+          bitField0_ |= 0x00000008;
+          rulesUpdatedAt_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional int64 rules_updated_at = 4;</code>
+         */
+        public Builder clearRulesUpdatedAt() {
+          bitField0_ = (bitField0_ & ~0x00000008);
+          rulesUpdatedAt_ = 0L;
+          onChanged();
+          return this;
+        }
+
+        // @@protoc_insertion_point(builder_scope:ProjectRepositoriesItem.QualityProfile)
+      }
+
+      static {
+        defaultInstance = new QualityProfile(true);
+        defaultInstance.initFields();
+      }
+
+      // @@protoc_insertion_point(class_scope:ProjectRepositoriesItem.QualityProfile)
+    }
+
+    public interface RuleOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:ProjectRepositoriesItem.Rule)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      boolean hasRepositoryKey();
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      java.lang.String getRepositoryKey();
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      com.google.protobuf.ByteString
+          getRepositoryKeyBytes();
+
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      boolean hasRuleKey();
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      java.lang.String getRuleKey();
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      com.google.protobuf.ByteString
+          getRuleKeyBytes();
+
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      boolean hasTemplateRuleKey();
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      java.lang.String getTemplateRuleKey();
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      com.google.protobuf.ByteString
+          getTemplateRuleKeyBytes();
+
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      boolean hasName();
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      java.lang.String getName();
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      com.google.protobuf.ByteString
+          getNameBytes();
+
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      boolean hasSeverity();
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      java.lang.String getSeverity();
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      com.google.protobuf.ByteString
+          getSeverityBytes();
+
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      boolean hasInternalKey();
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      java.lang.String getInternalKey();
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      com.google.protobuf.ByteString
+          getInternalKeyBytes();
+
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      boolean hasLanguage();
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      java.lang.String getLanguage();
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      com.google.protobuf.ByteString
+          getLanguageBytes();
+
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> 
+          getParamsList();
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      org.sonar.batch.protocol.input.BatchInput.Property getParams(int index);
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      int getParamsCount();
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+          getParamsOrBuilderList();
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getParamsOrBuilder(
+          int index);
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesItem.Rule}
+     */
+    public static final class Rule extends
+        com.google.protobuf.GeneratedMessage implements
+        // @@protoc_insertion_point(message_implements:ProjectRepositoriesItem.Rule)
+        RuleOrBuilder {
+      // Use Rule.newBuilder() to construct.
+      private Rule(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+        super(builder);
+        this.unknownFields = builder.getUnknownFields();
+      }
+      private Rule(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+      private static final Rule defaultInstance;
+      public static Rule getDefaultInstance() {
+        return defaultInstance;
+      }
+
+      public Rule getDefaultInstanceForType() {
+        return defaultInstance;
+      }
+
+      private final com.google.protobuf.UnknownFieldSet unknownFields;
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+          getUnknownFields() {
+        return this.unknownFields;
+      }
+      private Rule(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        initFields();
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000001;
+                repositoryKey_ = bs;
+                break;
+              }
+              case 18: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000002;
+                ruleKey_ = bs;
+                break;
+              }
+              case 26: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000004;
+                templateRuleKey_ = bs;
+                break;
+              }
+              case 34: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000008;
+                name_ = bs;
+                break;
+              }
+              case 42: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000010;
+                severity_ = bs;
+                break;
+              }
+              case 50: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000020;
+                internalKey_ = bs;
+                break;
+              }
+              case 58: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000040;
+                language_ = bs;
+                break;
+              }
+              case 66: {
+                if (!((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+                  params_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.Property>();
+                  mutable_bitField0_ |= 0x00000080;
+                }
+                params_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.Property.PARSER, extensionRegistry));
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e.getMessage()).setUnfinishedMessage(this);
+        } finally {
+          if (((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+            params_ = java.util.Collections.unmodifiableList(params_);
+          }
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Rule_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Rule_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder.class);
+      }
+
+      public static com.google.protobuf.Parser<Rule> PARSER =
+          new com.google.protobuf.AbstractParser<Rule>() {
+        public Rule parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Rule(input, extensionRegistry);
+        }
+      };
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Rule> getParserForType() {
+        return PARSER;
+      }
+
+      private int bitField0_;
+      public static final int REPOSITORY_KEY_FIELD_NUMBER = 1;
+      private java.lang.Object repositoryKey_;
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public boolean hasRepositoryKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public java.lang.String getRepositoryKey() {
+        java.lang.Object ref = repositoryKey_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            repositoryKey_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string repository_key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRepositoryKeyBytes() {
+        java.lang.Object ref = repositoryKey_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          repositoryKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int RULE_KEY_FIELD_NUMBER = 2;
+      private java.lang.Object ruleKey_;
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public boolean hasRuleKey() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public java.lang.String getRuleKey() {
+        java.lang.Object ref = ruleKey_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            ruleKey_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string rule_key = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRuleKeyBytes() {
+        java.lang.Object ref = ruleKey_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          ruleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int TEMPLATE_RULE_KEY_FIELD_NUMBER = 3;
+      private java.lang.Object templateRuleKey_;
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public boolean hasTemplateRuleKey() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public java.lang.String getTemplateRuleKey() {
+        java.lang.Object ref = templateRuleKey_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            templateRuleKey_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string template_rule_key = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTemplateRuleKeyBytes() {
+        java.lang.Object ref = templateRuleKey_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          templateRuleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int NAME_FIELD_NUMBER = 4;
+      private java.lang.Object name_;
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public boolean hasName() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            name_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string name = 4;</code>
+       */
+      public com.google.protobuf.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int SEVERITY_FIELD_NUMBER = 5;
+      private java.lang.Object severity_;
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public boolean hasSeverity() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public java.lang.String getSeverity() {
+        java.lang.Object ref = severity_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            severity_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string severity = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getSeverityBytes() {
+        java.lang.Object ref = severity_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          severity_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int INTERNAL_KEY_FIELD_NUMBER = 6;
+      private java.lang.Object internalKey_;
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public boolean hasInternalKey() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public java.lang.String getInternalKey() {
+        java.lang.Object ref = internalKey_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            internalKey_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string internal_key = 6;</code>
+       */
+      public com.google.protobuf.ByteString
+          getInternalKeyBytes() {
+        java.lang.Object ref = internalKey_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          internalKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int LANGUAGE_FIELD_NUMBER = 7;
+      private java.lang.Object language_;
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public boolean hasLanguage() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public java.lang.String getLanguage() {
+        java.lang.Object ref = language_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            language_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string language = 7;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLanguageBytes() {
+        java.lang.Object ref = language_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          language_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int PARAMS_FIELD_NUMBER = 8;
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> params_;
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> getParamsList() {
+        return params_;
+      }
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+          getParamsOrBuilderList() {
+        return params_;
+      }
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      public int getParamsCount() {
+        return params_.size();
+      }
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.Property getParams(int index) {
+        return params_.get(index);
+      }
+      /**
+       * <code>repeated .Property params = 8;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getParamsOrBuilder(
+          int index) {
+        return params_.get(index);
+      }
+
+      private void initFields() {
+        repositoryKey_ = "";
+        ruleKey_ = "";
+        templateRuleKey_ = "";
+        name_ = "";
+        severity_ = "";
+        internalKey_ = "";
+        language_ = "";
+        params_ = java.util.Collections.emptyList();
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeBytes(1, getRepositoryKeyBytes());
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          output.writeBytes(2, getRuleKeyBytes());
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          output.writeBytes(3, getTemplateRuleKeyBytes());
+        }
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          output.writeBytes(4, getNameBytes());
+        }
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          output.writeBytes(5, getSeverityBytes());
+        }
+        if (((bitField0_ & 0x00000020) == 0x00000020)) {
+          output.writeBytes(6, getInternalKeyBytes());
+        }
+        if (((bitField0_ & 0x00000040) == 0x00000040)) {
+          output.writeBytes(7, getLanguageBytes());
+        }
+        for (int i = 0; i < params_.size(); i++) {
+          output.writeMessage(8, params_.get(i));
+        }
+        getUnknownFields().writeTo(output);
+      }
+
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(1, getRepositoryKeyBytes());
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(2, getRuleKeyBytes());
+        }
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(3, getTemplateRuleKeyBytes());
+        }
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(4, getNameBytes());
+        }
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(5, getSeverityBytes());
+        }
+        if (((bitField0_ & 0x00000020) == 0x00000020)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(6, getInternalKeyBytes());
+        }
+        if (((bitField0_ & 0x00000040) == 0x00000040)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(7, getLanguageBytes());
+        }
+        for (int i = 0; i < params_.size(); i++) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(8, params_.get(i));
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code ProjectRepositoriesItem.Rule}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:ProjectRepositoriesItem.Rule)
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Rule_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Rule_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder.class);
+        }
+
+        // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            getParamsFieldBuilder();
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+
+        public Builder clear() {
+          super.clear();
+          repositoryKey_ = "";
+          bitField0_ = (bitField0_ & ~0x00000001);
+          ruleKey_ = "";
+          bitField0_ = (bitField0_ & ~0x00000002);
+          templateRuleKey_ = "";
+          bitField0_ = (bitField0_ & ~0x00000004);
+          name_ = "";
+          bitField0_ = (bitField0_ & ~0x00000008);
+          severity_ = "";
+          bitField0_ = (bitField0_ & ~0x00000010);
+          internalKey_ = "";
+          bitField0_ = (bitField0_ & ~0x00000020);
+          language_ = "";
+          bitField0_ = (bitField0_ & ~0x00000040);
+          if (paramsBuilder_ == null) {
+            params_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000080);
+          } else {
+            paramsBuilder_.clear();
+          }
+          return this;
+        }
+
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_Rule_descriptor;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule getDefaultInstanceForType() {
+          return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance();
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule build() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule buildPartial() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.repositoryKey_ = repositoryKey_;
+          if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+            to_bitField0_ |= 0x00000002;
+          }
+          result.ruleKey_ = ruleKey_;
+          if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+            to_bitField0_ |= 0x00000004;
+          }
+          result.templateRuleKey_ = templateRuleKey_;
+          if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+            to_bitField0_ |= 0x00000008;
+          }
+          result.name_ = name_;
+          if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+            to_bitField0_ |= 0x00000010;
+          }
+          result.severity_ = severity_;
+          if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+            to_bitField0_ |= 0x00000020;
+          }
+          result.internalKey_ = internalKey_;
+          if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+            to_bitField0_ |= 0x00000040;
+          }
+          result.language_ = language_;
+          if (paramsBuilder_ == null) {
+            if (((bitField0_ & 0x00000080) == 0x00000080)) {
+              params_ = java.util.Collections.unmodifiableList(params_);
+              bitField0_ = (bitField0_ & ~0x00000080);
+            }
+            result.params_ = params_;
+          } else {
+            result.params_ = paramsBuilder_.build();
+          }
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule) {
+            return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule other) {
+          if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance()) return this;
+          if (other.hasRepositoryKey()) {
+            bitField0_ |= 0x00000001;
+            repositoryKey_ = other.repositoryKey_;
+            onChanged();
+          }
+          if (other.hasRuleKey()) {
+            bitField0_ |= 0x00000002;
+            ruleKey_ = other.ruleKey_;
+            onChanged();
+          }
+          if (other.hasTemplateRuleKey()) {
+            bitField0_ |= 0x00000004;
+            templateRuleKey_ = other.templateRuleKey_;
+            onChanged();
+          }
+          if (other.hasName()) {
+            bitField0_ |= 0x00000008;
+            name_ = other.name_;
+            onChanged();
+          }
+          if (other.hasSeverity()) {
+            bitField0_ |= 0x00000010;
+            severity_ = other.severity_;
+            onChanged();
+          }
+          if (other.hasInternalKey()) {
+            bitField0_ |= 0x00000020;
+            internalKey_ = other.internalKey_;
+            onChanged();
+          }
+          if (other.hasLanguage()) {
+            bitField0_ |= 0x00000040;
+            language_ = other.language_;
+            onChanged();
+          }
+          if (paramsBuilder_ == null) {
+            if (!other.params_.isEmpty()) {
+              if (params_.isEmpty()) {
+                params_ = other.params_;
+                bitField0_ = (bitField0_ & ~0x00000080);
+              } else {
+                ensureParamsIsMutable();
+                params_.addAll(other.params_);
+              }
+              onChanged();
+            }
+          } else {
+            if (!other.params_.isEmpty()) {
+              if (paramsBuilder_.isEmpty()) {
+                paramsBuilder_.dispose();
+                paramsBuilder_ = null;
+                params_ = other.params_;
+                bitField0_ = (bitField0_ & ~0x00000080);
+                paramsBuilder_ = 
+                  com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                     getParamsFieldBuilder() : null;
+              } else {
+                paramsBuilder_.addAllMessages(other.params_);
+              }
+            }
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule) e.getUnfinishedMessage();
+            throw e;
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private java.lang.Object repositoryKey_ = "";
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public boolean hasRepositoryKey() {
+          return ((bitField0_ & 0x00000001) == 0x00000001);
+        }
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public java.lang.String getRepositoryKey() {
+          java.lang.Object ref = repositoryKey_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              repositoryKey_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public com.google.protobuf.ByteString
+            getRepositoryKeyBytes() {
+          java.lang.Object ref = repositoryKey_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            repositoryKey_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public Builder setRepositoryKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          repositoryKey_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public Builder clearRepositoryKey() {
+          bitField0_ = (bitField0_ & ~0x00000001);
+          repositoryKey_ = getDefaultInstance().getRepositoryKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string repository_key = 1;</code>
+         */
+        public Builder setRepositoryKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          repositoryKey_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object ruleKey_ = "";
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public boolean hasRuleKey() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public java.lang.String getRuleKey() {
+          java.lang.Object ref = ruleKey_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              ruleKey_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public com.google.protobuf.ByteString
+            getRuleKeyBytes() {
+          java.lang.Object ref = ruleKey_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            ruleKey_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public Builder setRuleKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+          ruleKey_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public Builder clearRuleKey() {
+          bitField0_ = (bitField0_ & ~0x00000002);
+          ruleKey_ = getDefaultInstance().getRuleKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string rule_key = 2;</code>
+         */
+        public Builder setRuleKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+          ruleKey_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object templateRuleKey_ = "";
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public boolean hasTemplateRuleKey() {
+          return ((bitField0_ & 0x00000004) == 0x00000004);
+        }
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public java.lang.String getTemplateRuleKey() {
+          java.lang.Object ref = templateRuleKey_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              templateRuleKey_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public com.google.protobuf.ByteString
+            getTemplateRuleKeyBytes() {
+          java.lang.Object ref = templateRuleKey_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            templateRuleKey_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public Builder setTemplateRuleKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+          templateRuleKey_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public Builder clearTemplateRuleKey() {
+          bitField0_ = (bitField0_ & ~0x00000004);
+          templateRuleKey_ = getDefaultInstance().getTemplateRuleKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string template_rule_key = 3;</code>
+         */
+        public Builder setTemplateRuleKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+          templateRuleKey_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object name_ = "";
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public boolean hasName() {
+          return ((bitField0_ & 0x00000008) == 0x00000008);
+        }
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public java.lang.String getName() {
+          java.lang.Object ref = name_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              name_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public com.google.protobuf.ByteString
+            getNameBytes() {
+          java.lang.Object ref = name_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            name_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public Builder setName(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+          name_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public Builder clearName() {
+          bitField0_ = (bitField0_ & ~0x00000008);
+          name_ = getDefaultInstance().getName();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string name = 4;</code>
+         */
+        public Builder setNameBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+          name_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object severity_ = "";
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public boolean hasSeverity() {
+          return ((bitField0_ & 0x00000010) == 0x00000010);
+        }
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public java.lang.String getSeverity() {
+          java.lang.Object ref = severity_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              severity_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public com.google.protobuf.ByteString
+            getSeverityBytes() {
+          java.lang.Object ref = severity_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            severity_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public Builder setSeverity(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+          severity_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public Builder clearSeverity() {
+          bitField0_ = (bitField0_ & ~0x00000010);
+          severity_ = getDefaultInstance().getSeverity();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string severity = 5;</code>
+         */
+        public Builder setSeverityBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+          severity_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object internalKey_ = "";
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public boolean hasInternalKey() {
+          return ((bitField0_ & 0x00000020) == 0x00000020);
+        }
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public java.lang.String getInternalKey() {
+          java.lang.Object ref = internalKey_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              internalKey_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public com.google.protobuf.ByteString
+            getInternalKeyBytes() {
+          java.lang.Object ref = internalKey_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            internalKey_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public Builder setInternalKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000020;
+          internalKey_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public Builder clearInternalKey() {
+          bitField0_ = (bitField0_ & ~0x00000020);
+          internalKey_ = getDefaultInstance().getInternalKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string internal_key = 6;</code>
+         */
+        public Builder setInternalKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000020;
+          internalKey_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.lang.Object language_ = "";
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public boolean hasLanguage() {
+          return ((bitField0_ & 0x00000040) == 0x00000040);
+        }
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public java.lang.String getLanguage() {
+          java.lang.Object ref = language_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              language_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public com.google.protobuf.ByteString
+            getLanguageBytes() {
+          java.lang.Object ref = language_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            language_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public Builder setLanguage(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+          language_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public Builder clearLanguage() {
+          bitField0_ = (bitField0_ & ~0x00000040);
+          language_ = getDefaultInstance().getLanguage();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string language = 7;</code>
+         */
+        public Builder setLanguageBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+          language_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> params_ =
+          java.util.Collections.emptyList();
+        private void ensureParamsIsMutable() {
+          if (!((bitField0_ & 0x00000080) == 0x00000080)) {
+            params_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.Property>(params_);
+            bitField0_ |= 0x00000080;
+           }
+        }
+
+        private com.google.protobuf.RepeatedFieldBuilder<
+            org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> paramsBuilder_;
+
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> getParamsList() {
+          if (paramsBuilder_ == null) {
+            return java.util.Collections.unmodifiableList(params_);
+          } else {
+            return paramsBuilder_.getMessageList();
+          }
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public int getParamsCount() {
+          if (paramsBuilder_ == null) {
+            return params_.size();
+          } else {
+            return paramsBuilder_.getCount();
+          }
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property getParams(int index) {
+          if (paramsBuilder_ == null) {
+            return params_.get(index);
+          } else {
+            return paramsBuilder_.getMessage(index);
+          }
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder setParams(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (paramsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureParamsIsMutable();
+            params_.set(index, value);
+            onChanged();
+          } else {
+            paramsBuilder_.setMessage(index, value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder setParams(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (paramsBuilder_ == null) {
+            ensureParamsIsMutable();
+            params_.set(index, builderForValue.build());
+            onChanged();
+          } else {
+            paramsBuilder_.setMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder addParams(org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (paramsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureParamsIsMutable();
+            params_.add(value);
+            onChanged();
+          } else {
+            paramsBuilder_.addMessage(value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder addParams(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (paramsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureParamsIsMutable();
+            params_.add(index, value);
+            onChanged();
+          } else {
+            paramsBuilder_.addMessage(index, value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder addParams(
+            org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (paramsBuilder_ == null) {
+            ensureParamsIsMutable();
+            params_.add(builderForValue.build());
+            onChanged();
+          } else {
+            paramsBuilder_.addMessage(builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder addParams(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (paramsBuilder_ == null) {
+            ensureParamsIsMutable();
+            params_.add(index, builderForValue.build());
+            onChanged();
+          } else {
+            paramsBuilder_.addMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder addAllParams(
+            java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.Property> values) {
+          if (paramsBuilder_ == null) {
+            ensureParamsIsMutable();
+            com.google.protobuf.AbstractMessageLite.Builder.addAll(
+                values, params_);
+            onChanged();
+          } else {
+            paramsBuilder_.addAllMessages(values);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder clearParams() {
+          if (paramsBuilder_ == null) {
+            params_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000080);
+            onChanged();
+          } else {
+            paramsBuilder_.clear();
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public Builder removeParams(int index) {
+          if (paramsBuilder_ == null) {
+            ensureParamsIsMutable();
+            params_.remove(index);
+            onChanged();
+          } else {
+            paramsBuilder_.remove(index);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder getParamsBuilder(
+            int index) {
+          return getParamsFieldBuilder().getBuilder(index);
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getParamsOrBuilder(
+            int index) {
+          if (paramsBuilder_ == null) {
+            return params_.get(index);  } else {
+            return paramsBuilder_.getMessageOrBuilder(index);
+          }
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+             getParamsOrBuilderList() {
+          if (paramsBuilder_ != null) {
+            return paramsBuilder_.getMessageOrBuilderList();
+          } else {
+            return java.util.Collections.unmodifiableList(params_);
+          }
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder addParamsBuilder() {
+          return getParamsFieldBuilder().addBuilder(
+              org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance());
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder addParamsBuilder(
+            int index) {
+          return getParamsFieldBuilder().addBuilder(
+              index, org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance());
+        }
+        /**
+         * <code>repeated .Property params = 8;</code>
+         */
+        public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property.Builder> 
+             getParamsBuilderList() {
+          return getParamsFieldBuilder().getBuilderList();
+        }
+        private com.google.protobuf.RepeatedFieldBuilder<
+            org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+            getParamsFieldBuilder() {
+          if (paramsBuilder_ == null) {
+            paramsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+                org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder>(
+                    params_,
+                    ((bitField0_ & 0x00000080) == 0x00000080),
+                    getParentForChildren(),
+                    isClean());
+            params_ = null;
+          }
+          return paramsBuilder_;
+        }
+
+        // @@protoc_insertion_point(builder_scope:ProjectRepositoriesItem.Rule)
+      }
+
+      static {
+        defaultInstance = new Rule(true);
+        defaultInstance.initFields();
+      }
+
+      // @@protoc_insertion_point(class_scope:ProjectRepositoriesItem.Rule)
+    }
+
+    public interface ModuleSettingsOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:ProjectRepositoriesItem.ModuleSettings)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      boolean hasModuleKey();
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      java.lang.String getModuleKey();
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      com.google.protobuf.ByteString
+          getModuleKeyBytes();
+
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> 
+          getPropertiesList();
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      org.sonar.batch.protocol.input.BatchInput.Property getProperties(int index);
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      int getPropertiesCount();
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+          getPropertiesOrBuilderList();
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getPropertiesOrBuilder(
+          int index);
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesItem.ModuleSettings}
+     */
+    public static final class ModuleSettings extends
+        com.google.protobuf.GeneratedMessage implements
+        // @@protoc_insertion_point(message_implements:ProjectRepositoriesItem.ModuleSettings)
+        ModuleSettingsOrBuilder {
+      // Use ModuleSettings.newBuilder() to construct.
+      private ModuleSettings(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+        super(builder);
+        this.unknownFields = builder.getUnknownFields();
+      }
+      private ModuleSettings(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+      private static final ModuleSettings defaultInstance;
+      public static ModuleSettings getDefaultInstance() {
+        return defaultInstance;
+      }
+
+      public ModuleSettings getDefaultInstanceForType() {
+        return defaultInstance;
+      }
+
+      private final com.google.protobuf.UnknownFieldSet unknownFields;
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+          getUnknownFields() {
+        return this.unknownFields;
+      }
+      private ModuleSettings(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        initFields();
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                com.google.protobuf.ByteString bs = input.readBytes();
+                bitField0_ |= 0x00000001;
+                moduleKey_ = bs;
+                break;
+              }
+              case 18: {
+                if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                  properties_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.Property>();
+                  mutable_bitField0_ |= 0x00000002;
+                }
+                properties_.add(input.readMessage(org.sonar.batch.protocol.input.BatchInput.Property.PARSER, extensionRegistry));
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e.getMessage()).setUnfinishedMessage(this);
+        } finally {
+          if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+            properties_ = java.util.Collections.unmodifiableList(properties_);
+          }
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_ModuleSettings_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder.class);
+      }
+
+      public static com.google.protobuf.Parser<ModuleSettings> PARSER =
+          new com.google.protobuf.AbstractParser<ModuleSettings>() {
+        public ModuleSettings parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new ModuleSettings(input, extensionRegistry);
+        }
+      };
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<ModuleSettings> getParserForType() {
+        return PARSER;
+      }
+
+      private int bitField0_;
+      public static final int MODULE_KEY_FIELD_NUMBER = 1;
+      private java.lang.Object moduleKey_;
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public boolean hasModuleKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public java.lang.String getModuleKey() {
+        java.lang.Object ref = moduleKey_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            moduleKey_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>optional string module_key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getModuleKeyBytes() {
+        java.lang.Object ref = moduleKey_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          moduleKey_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      public static final int PROPERTIES_FIELD_NUMBER = 2;
+      private java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> properties_;
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> getPropertiesList() {
+        return properties_;
+      }
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+          getPropertiesOrBuilderList() {
+        return properties_;
+      }
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      public int getPropertiesCount() {
+        return properties_.size();
+      }
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.Property getProperties(int index) {
+        return properties_.get(index);
+      }
+      /**
+       * <code>repeated .Property properties = 2;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getPropertiesOrBuilder(
+          int index) {
+        return properties_.get(index);
+      }
+
+      private void initFields() {
+        moduleKey_ = "";
+        properties_ = java.util.Collections.emptyList();
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeBytes(1, getModuleKeyBytes());
+        }
+        for (int i = 0; i < properties_.size(); i++) {
+          output.writeMessage(2, properties_.get(i));
+        }
+        getUnknownFields().writeTo(output);
+      }
+
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(1, getModuleKeyBytes());
+        }
+        for (int i = 0; i < properties_.size(); i++) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(2, properties_.get(i));
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input);
+      }
+      public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return PARSER.parseFrom(input, extensionRegistry);
+      }
+
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code ProjectRepositoriesItem.ModuleSettings}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:ProjectRepositoriesItem.ModuleSettings)
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_ModuleSettings_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder.class);
+        }
+
+        // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            getPropertiesFieldBuilder();
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+
+        public Builder clear() {
+          super.clear();
+          moduleKey_ = "";
+          bitField0_ = (bitField0_ & ~0x00000001);
+          if (propertiesBuilder_ == null) {
+            properties_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            propertiesBuilder_.clear();
+          }
+          return this;
+        }
+
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings getDefaultInstanceForType() {
+          return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance();
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings build() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings buildPartial() {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.moduleKey_ = moduleKey_;
+          if (propertiesBuilder_ == null) {
+            if (((bitField0_ & 0x00000002) == 0x00000002)) {
+              properties_ = java.util.Collections.unmodifiableList(properties_);
+              bitField0_ = (bitField0_ & ~0x00000002);
+            }
+            result.properties_ = properties_;
+          } else {
+            result.properties_ = propertiesBuilder_.build();
+          }
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings) {
+            return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings other) {
+          if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance()) return this;
+          if (other.hasModuleKey()) {
+            bitField0_ |= 0x00000001;
+            moduleKey_ = other.moduleKey_;
+            onChanged();
+          }
+          if (propertiesBuilder_ == null) {
+            if (!other.properties_.isEmpty()) {
+              if (properties_.isEmpty()) {
+                properties_ = other.properties_;
+                bitField0_ = (bitField0_ & ~0x00000002);
+              } else {
+                ensurePropertiesIsMutable();
+                properties_.addAll(other.properties_);
+              }
+              onChanged();
+            }
+          } else {
+            if (!other.properties_.isEmpty()) {
+              if (propertiesBuilder_.isEmpty()) {
+                propertiesBuilder_.dispose();
+                propertiesBuilder_ = null;
+                properties_ = other.properties_;
+                bitField0_ = (bitField0_ & ~0x00000002);
+                propertiesBuilder_ = 
+                  com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                     getPropertiesFieldBuilder() : null;
+              } else {
+                propertiesBuilder_.addAllMessages(other.properties_);
+              }
+            }
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings) e.getUnfinishedMessage();
+            throw e;
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private java.lang.Object moduleKey_ = "";
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public boolean hasModuleKey() {
+          return ((bitField0_ & 0x00000001) == 0x00000001);
+        }
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public java.lang.String getModuleKey() {
+          java.lang.Object ref = moduleKey_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (bs.isValidUtf8()) {
+              moduleKey_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public com.google.protobuf.ByteString
+            getModuleKeyBytes() {
+          java.lang.Object ref = moduleKey_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            moduleKey_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public Builder setModuleKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          moduleKey_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public Builder clearModuleKey() {
+          bitField0_ = (bitField0_ & ~0x00000001);
+          moduleKey_ = getDefaultInstance().getModuleKey();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>optional string module_key = 1;</code>
+         */
+        public Builder setModuleKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+          moduleKey_ = value;
+          onChanged();
+          return this;
+        }
+
+        private java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> properties_ =
+          java.util.Collections.emptyList();
+        private void ensurePropertiesIsMutable() {
+          if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+            properties_ = new java.util.ArrayList<org.sonar.batch.protocol.input.BatchInput.Property>(properties_);
+            bitField0_ |= 0x00000002;
+           }
+        }
+
+        private com.google.protobuf.RepeatedFieldBuilder<
+            org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> propertiesBuilder_;
+
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property> getPropertiesList() {
+          if (propertiesBuilder_ == null) {
+            return java.util.Collections.unmodifiableList(properties_);
+          } else {
+            return propertiesBuilder_.getMessageList();
+          }
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public int getPropertiesCount() {
+          if (propertiesBuilder_ == null) {
+            return properties_.size();
+          } else {
+            return propertiesBuilder_.getCount();
+          }
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property getProperties(int index) {
+          if (propertiesBuilder_ == null) {
+            return properties_.get(index);
+          } else {
+            return propertiesBuilder_.getMessage(index);
+          }
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder setProperties(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (propertiesBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensurePropertiesIsMutable();
+            properties_.set(index, value);
+            onChanged();
+          } else {
+            propertiesBuilder_.setMessage(index, value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder setProperties(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (propertiesBuilder_ == null) {
+            ensurePropertiesIsMutable();
+            properties_.set(index, builderForValue.build());
+            onChanged();
+          } else {
+            propertiesBuilder_.setMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder addProperties(org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (propertiesBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensurePropertiesIsMutable();
+            properties_.add(value);
+            onChanged();
+          } else {
+            propertiesBuilder_.addMessage(value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder addProperties(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property value) {
+          if (propertiesBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensurePropertiesIsMutable();
+            properties_.add(index, value);
+            onChanged();
+          } else {
+            propertiesBuilder_.addMessage(index, value);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder addProperties(
+            org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (propertiesBuilder_ == null) {
+            ensurePropertiesIsMutable();
+            properties_.add(builderForValue.build());
+            onChanged();
+          } else {
+            propertiesBuilder_.addMessage(builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder addProperties(
+            int index, org.sonar.batch.protocol.input.BatchInput.Property.Builder builderForValue) {
+          if (propertiesBuilder_ == null) {
+            ensurePropertiesIsMutable();
+            properties_.add(index, builderForValue.build());
+            onChanged();
+          } else {
+            propertiesBuilder_.addMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder addAllProperties(
+            java.lang.Iterable<? extends org.sonar.batch.protocol.input.BatchInput.Property> values) {
+          if (propertiesBuilder_ == null) {
+            ensurePropertiesIsMutable();
+            com.google.protobuf.AbstractMessageLite.Builder.addAll(
+                values, properties_);
+            onChanged();
+          } else {
+            propertiesBuilder_.addAllMessages(values);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder clearProperties() {
+          if (propertiesBuilder_ == null) {
+            properties_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000002);
+            onChanged();
+          } else {
+            propertiesBuilder_.clear();
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public Builder removeProperties(int index) {
+          if (propertiesBuilder_ == null) {
+            ensurePropertiesIsMutable();
+            properties_.remove(index);
+            onChanged();
+          } else {
+            propertiesBuilder_.remove(index);
+          }
+          return this;
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder getPropertiesBuilder(
+            int index) {
+          return getPropertiesFieldBuilder().getBuilder(index);
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder getPropertiesOrBuilder(
+            int index) {
+          if (propertiesBuilder_ == null) {
+            return properties_.get(index);  } else {
+            return propertiesBuilder_.getMessageOrBuilder(index);
+          }
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public java.util.List<? extends org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+             getPropertiesOrBuilderList() {
+          if (propertiesBuilder_ != null) {
+            return propertiesBuilder_.getMessageOrBuilderList();
+          } else {
+            return java.util.Collections.unmodifiableList(properties_);
+          }
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder addPropertiesBuilder() {
+          return getPropertiesFieldBuilder().addBuilder(
+              org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance());
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public org.sonar.batch.protocol.input.BatchInput.Property.Builder addPropertiesBuilder(
+            int index) {
+          return getPropertiesFieldBuilder().addBuilder(
+              index, org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance());
+        }
+        /**
+         * <code>repeated .Property properties = 2;</code>
+         */
+        public java.util.List<org.sonar.batch.protocol.input.BatchInput.Property.Builder> 
+             getPropertiesBuilderList() {
+          return getPropertiesFieldBuilder().getBuilderList();
+        }
+        private com.google.protobuf.RepeatedFieldBuilder<
+            org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder> 
+            getPropertiesFieldBuilder() {
+          if (propertiesBuilder_ == null) {
+            propertiesBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+                org.sonar.batch.protocol.input.BatchInput.Property, org.sonar.batch.protocol.input.BatchInput.Property.Builder, org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder>(
+                    properties_,
+                    ((bitField0_ & 0x00000002) == 0x00000002),
+                    getParentForChildren(),
+                    isClean());
+            properties_ = null;
+          }
+          return propertiesBuilder_;
+        }
+
+        // @@protoc_insertion_point(builder_scope:ProjectRepositoriesItem.ModuleSettings)
+      }
+
+      static {
+        defaultInstance = new ModuleSettings(true);
+        defaultInstance.initFields();
+      }
+
+      // @@protoc_insertion_point(class_scope:ProjectRepositoriesItem.ModuleSettings)
+    }
+
+    private int bitField0_;
+    public static final int METADATA_FIELD_NUMBER = 1;
+    private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata metadata_;
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    public boolean hasMetadata() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata getMetadata() {
+      return metadata_;
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder getMetadataOrBuilder() {
+      return metadata_;
+    }
+
+    public static final int QPROFILE_FIELD_NUMBER = 2;
+    private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile qprofile_;
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    public boolean hasQprofile() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile getQprofile() {
+      return qprofile_;
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder getQprofileOrBuilder() {
+      return qprofile_;
+    }
+
+    public static final int ACTIVE_RULE_FIELD_NUMBER = 3;
+    private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule activeRule_;
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    public boolean hasActiveRule() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule getActiveRule() {
+      return activeRule_;
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder getActiveRuleOrBuilder() {
+      return activeRule_;
+    }
+
+    public static final int MODULE_SETTINGS_FIELD_NUMBER = 4;
+    private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings moduleSettings_;
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    public boolean hasModuleSettings() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings getModuleSettings() {
+      return moduleSettings_;
+    }
+    /**
+     * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+     */
+    public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder getModuleSettingsOrBuilder() {
+      return moduleSettings_;
+    }
+
+    private void initFields() {
+      metadata_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance();
+      qprofile_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance();
+      activeRule_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance();
+      moduleSettings_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, metadata_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, qprofile_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeMessage(3, activeRule_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeMessage(4, moduleSettings_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, metadata_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, qprofile_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, activeRule_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, moduleSettings_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ProjectRepositoriesItem}
+     *
+     * <pre>
+     * Response of WS batch/project when format is protobuf: stream of delimited messages.
+     * Only one field is set on each message. File data are not part of the response, they
+     * are loaded per module from WS batch/project_files.
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ProjectRepositoriesItem)
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItemOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.class, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getMetadataFieldBuilder();
+          getQprofileFieldBuilder();
+          getActiveRuleFieldBuilder();
+          getModuleSettingsFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (metadataBuilder_ == null) {
+          metadata_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance();
+        } else {
+          metadataBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (qprofileBuilder_ == null) {
+          qprofile_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance();
+        } else {
+          qprofileBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (activeRuleBuilder_ == null) {
+          activeRule_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance();
+        } else {
+          activeRuleBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        if (moduleSettingsBuilder_ == null) {
+          moduleSettings_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance();
+        } else {
+          moduleSettingsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_ProjectRepositoriesItem_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem build() {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem result = new org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (metadataBuilder_ == null) {
+          result.metadata_ = metadata_;
+        } else {
+          result.metadata_ = metadataBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (qprofileBuilder_ == null) {
+          result.qprofile_ = qprofile_;
+        } else {
+          result.qprofile_ = qprofileBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        if (activeRuleBuilder_ == null) {
+          result.activeRule_ = activeRule_;
+        } else {
+          result.activeRule_ = activeRuleBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        if (moduleSettingsBuilder_ == null) {
+          result.moduleSettings_ = moduleSettings_;
+        } else {
+          result.moduleSettings_ = moduleSettingsBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.getDefaultInstance()) return this;
+        if (other.hasMetadata()) {
+          mergeMetadata(other.getMetadata());
+        }
+        if (other.hasQprofile()) {
+          mergeQprofile(other.getQprofile());
+        }
+        if (other.hasActiveRule()) {
+          mergeActiveRule(other.getActiveRule());
+        }
+        if (other.hasModuleSettings()) {
+          mergeModuleSettings(other.getModuleSettings());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata metadata_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder> metadataBuilder_;
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public boolean hasMetadata() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata getMetadata() {
+        if (metadataBuilder_ == null) {
+          return metadata_;
+        } else {
+          return metadataBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public Builder setMetadata(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata value) {
+        if (metadataBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          metadata_ = value;
+          onChanged();
+        } else {
+          metadataBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public Builder setMetadata(
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder builderForValue) {
+        if (metadataBuilder_ == null) {
+          metadata_ = builderForValue.build();
+          onChanged();
+        } else {
+          metadataBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public Builder mergeMetadata(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata value) {
+        if (metadataBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              metadata_ != org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance()) {
+            metadata_ =
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.newBuilder(metadata_).mergeFrom(value).buildPartial();
+          } else {
+            metadata_ = value;
+          }
+          onChanged();
+        } else {
+          metadataBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public Builder clearMetadata() {
+        if (metadataBuilder_ == null) {
+          metadata_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.getDefaultInstance();
+          onChanged();
+        } else {
+          metadataBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder getMetadataBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getMetadataFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder getMetadataOrBuilder() {
+        if (metadataBuilder_ != null) {
+          return metadataBuilder_.getMessageOrBuilder();
+        } else {
+          return metadata_;
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Metadata metadata = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder> 
+          getMetadataFieldBuilder() {
+        if (metadataBuilder_ == null) {
+          metadataBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Metadata.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.MetadataOrBuilder>(
+                  getMetadata(),
+                  getParentForChildren(),
+                  isClean());
+          metadata_ = null;
+        }
+        return metadataBuilder_;
+      }
+
+      private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile qprofile_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder> qprofileBuilder_;
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public boolean hasQprofile() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile getQprofile() {
+        if (qprofileBuilder_ == null) {
+          return qprofile_;
+        } else {
+          return qprofileBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public Builder setQprofile(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile value) {
+        if (qprofileBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          qprofile_ = value;
+          onChanged();
+        } else {
+          qprofileBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public Builder setQprofile(
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder builderForValue) {
+        if (qprofileBuilder_ == null) {
+          qprofile_ = builderForValue.build();
+          onChanged();
+        } else {
+          qprofileBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public Builder mergeQprofile(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile value) {
+        if (qprofileBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              qprofile_ != org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance()) {
+            qprofile_ =
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.newBuilder(qprofile_).mergeFrom(value).buildPartial();
+          } else {
+            qprofile_ = value;
+          }
+          onChanged();
+        } else {
+          qprofileBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public Builder clearQprofile() {
+        if (qprofileBuilder_ == null) {
+          qprofile_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.getDefaultInstance();
+          onChanged();
+        } else {
+          qprofileBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder getQprofileBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getQprofileFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder getQprofileOrBuilder() {
+        if (qprofileBuilder_ != null) {
+          return qprofileBuilder_.getMessageOrBuilder();
+        } else {
+          return qprofile_;
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.QualityProfile qprofile = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder> 
+          getQprofileFieldBuilder() {
+        if (qprofileBuilder_ == null) {
+          qprofileBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfile.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.QualityProfileOrBuilder>(
+                  getQprofile(),
+                  getParentForChildren(),
+                  isClean());
+          qprofile_ = null;
+        }
+        return qprofileBuilder_;
+      }
+
+      private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule activeRule_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder> activeRuleBuilder_;
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public boolean hasActiveRule() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule getActiveRule() {
+        if (activeRuleBuilder_ == null) {
+          return activeRule_;
+        } else {
+          return activeRuleBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public Builder setActiveRule(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule value) {
+        if (activeRuleBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          activeRule_ = value;
+          onChanged();
+        } else {
+          activeRuleBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public Builder setActiveRule(
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder builderForValue) {
+        if (activeRuleBuilder_ == null) {
+          activeRule_ = builderForValue.build();
+          onChanged();
+        } else {
+          activeRuleBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public Builder mergeActiveRule(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule value) {
+        if (activeRuleBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004) &&
+              activeRule_ != org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance()) {
+            activeRule_ =
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.newBuilder(activeRule_).mergeFrom(value).buildPartial();
+          } else {
+            activeRule_ = value;
+          }
+          onChanged();
+        } else {
+          activeRuleBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public Builder clearActiveRule() {
+        if (activeRuleBuilder_ == null) {
+          activeRule_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.getDefaultInstance();
+          onChanged();
+        } else {
+          activeRuleBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder getActiveRuleBuilder() {
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return getActiveRuleFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder getActiveRuleOrBuilder() {
+        if (activeRuleBuilder_ != null) {
+          return activeRuleBuilder_.getMessageOrBuilder();
+        } else {
+          return activeRule_;
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.Rule active_rule = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder> 
+          getActiveRuleFieldBuilder() {
+        if (activeRuleBuilder_ == null) {
+          activeRuleBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.Rule.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.RuleOrBuilder>(
+                  getActiveRule(),
+                  getParentForChildren(),
+                  isClean());
+          activeRule_ = null;
+        }
+        return activeRuleBuilder_;
+      }
+
+      private org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings moduleSettings_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder> moduleSettingsBuilder_;
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public boolean hasModuleSettings() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings getModuleSettings() {
+        if (moduleSettingsBuilder_ == null) {
+          return moduleSettings_;
+        } else {
+          return moduleSettingsBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public Builder setModuleSettings(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings value) {
+        if (moduleSettingsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          moduleSettings_ = value;
+          onChanged();
+        } else {
+          moduleSettingsBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public Builder setModuleSettings(
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder builderForValue) {
+        if (moduleSettingsBuilder_ == null) {
+          moduleSettings_ = builderForValue.build();
+          onChanged();
+        } else {
+          moduleSettingsBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public Builder mergeModuleSettings(org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings value) {
+        if (moduleSettingsBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008) &&
+              moduleSettings_ != org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance()) {
+            moduleSettings_ =
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.newBuilder(moduleSettings_).mergeFrom(value).buildPartial();
+          } else {
+            moduleSettings_ = value;
+          }
+          onChanged();
+        } else {
+          moduleSettingsBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public Builder clearModuleSettings() {
+        if (moduleSettingsBuilder_ == null) {
+          moduleSettings_ = org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.getDefaultInstance();
+          onChanged();
+        } else {
+          moduleSettingsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder getModuleSettingsBuilder() {
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return getModuleSettingsFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      public org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder getModuleSettingsOrBuilder() {
+        if (moduleSettingsBuilder_ != null) {
+          return moduleSettingsBuilder_.getMessageOrBuilder();
+        } else {
+          return moduleSettings_;
+        }
+      }
+      /**
+       * <code>optional .ProjectRepositoriesItem.ModuleSettings module_settings = 4;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder> 
+          getModuleSettingsFieldBuilder() {
+        if (moduleSettingsBuilder_ == null) {
+          moduleSettingsBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder, org.sonar.batch.protocol.input.BatchInput.ProjectRepositoriesItem.ModuleSettingsOrBuilder>(
+                  getModuleSettings(),
+                  getParentForChildren(),
+                  isClean());
+          moduleSettings_ = null;
+        }
+        return moduleSettingsBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ProjectRepositoriesItem)
+    }
+
+    static {
+      defaultInstance = new ProjectRepositoriesItem(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ProjectRepositoriesItem)
+  }
+
+  public interface PropertyOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:Property)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    boolean hasValue();
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    java.lang.String getValue();
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getValueBytes();
+  }
+  /**
+   * Protobuf type {@code Property}
+   */
+  public static final class Property extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:Property)
+      PropertyOrBuilder {
+    // Use Property.newBuilder() to construct.
+    private Property(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private Property(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final Property defaultInstance;
+    public static Property getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public Property getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Property(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              key_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              value_ = bs;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_Property_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_Property_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.Property.class, org.sonar.batch.protocol.input.BatchInput.Property.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<Property> PARSER =
+        new com.google.protobuf.AbstractParser<Property>() {
+      public Property parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Property(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Property> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private java.lang.Object key_;
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private java.lang.Object value_;
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          value_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private void initFields() {
+      key_ = "";
+      value_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getValueBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getKeyBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getValueBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.Property parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.Property prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code Property}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:Property)
+        org.sonar.batch.protocol.input.BatchInput.PropertyOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_Property_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_Property_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.Property.class, org.sonar.batch.protocol.input.BatchInput.Property.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.Property.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        key_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        value_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_Property_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.Property getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.Property build() {
+        org.sonar.batch.protocol.input.BatchInput.Property result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.Property buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.Property result = new org.sonar.batch.protocol.input.BatchInput.Property(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.value_ = value_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.Property) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.Property)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.Property other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.Property.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          bitField0_ |= 0x00000001;
+          key_ = other.key_;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          bitField0_ |= 0x00000002;
+          value_ = other.value_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.Property parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.Property) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            key_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object value_ = "";
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            value_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       */
+      public Builder setValueBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:Property)
+    }
+
+    static {
+      defaultInstance = new Property(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:Property)
+  }
+
+  public interface FileDataItemOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:FileDataItem)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    boolean hasPath();
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    java.lang.String getPath();
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getPathBytes();
+
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    boolean hasHash();
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    java.lang.String getHash();
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getHashBytes();
+
+    /**
+     * <code>optional bool need_blame = 3;</code>
+     */
+    boolean hasNeedBlame();
+    /**
+     * <code>optional bool need_blame = 3;</code>
+     */
+    boolean getNeedBlame();
+  }
+  /**
+   * Protobuf type {@code FileDataItem}
+   *
+   * <pre>
+   * Response of WS batch/project_files: stream of delimited messages, one per file of the module
+   * </pre>
+   */
+  public static final class FileDataItem extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:FileDataItem)
+      FileDataItemOrBuilder {
+    // Use FileDataItem.newBuilder() to construct.
+    private FileDataItem(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private FileDataItem(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final FileDataItem defaultInstance;
+    public static FileDataItem getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public FileDataItem getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private FileDataItem(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              path_ = bs;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              hash_ = bs;
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              needBlame_ = input.readBool();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_FileDataItem_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.sonar.batch.protocol.input.BatchInput.internal_static_FileDataItem_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.sonar.batch.protocol.input.BatchInput.FileDataItem.class, org.sonar.batch.protocol.input.BatchInput.FileDataItem.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<FileDataItem> PARSER =
+        new com.google.protobuf.AbstractParser<FileDataItem>() {
+      public FileDataItem parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new FileDataItem(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<FileDataItem> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int PATH_FIELD_NUMBER = 1;
+    private java.lang.Object path_;
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    public boolean hasPath() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    public java.lang.String getPath() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          path_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string path = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getPathBytes() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        path_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int HASH_FIELD_NUMBER = 2;
+    private java.lang.Object hash_;
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    public boolean hasHash() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    public java.lang.String getHash() {
+      java.lang.Object ref = hash_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          hash_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string hash = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getHashBytes() {
+      java.lang.Object ref = hash_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        hash_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int NEED_BLAME_FIELD_NUMBER = 3;
+    private boolean needBlame_;
+    /**
+     * <code>optional bool need_blame = 3;</code>
+     */
+    public boolean hasNeedBlame() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional bool need_blame = 3;</code>
+     */
+    public boolean getNeedBlame() {
+      return needBlame_;
+    }
+
+    private void initFields() {
+      path_ = "";
+      hash_ = "";
+      needBlame_ = false;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, getPathBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getHashBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBool(3, needBlame_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, getPathBytes());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getHashBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(3, needBlame_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.sonar.batch.protocol.input.BatchInput.FileDataItem parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.sonar.batch.protocol.input.BatchInput.FileDataItem prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code FileDataItem}
+     *
+     * <pre>
+     * Response of WS batch/project_files: stream of delimited messages, one per file of the module
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:FileDataItem)
+        org.sonar.batch.protocol.input.BatchInput.FileDataItemOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileDataItem_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileDataItem_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.sonar.batch.protocol.input.BatchInput.FileDataItem.class, org.sonar.batch.protocol.input.BatchInput.FileDataItem.Builder.class);
+      }
+
+      // Construct using org.sonar.batch.protocol.input.BatchInput.FileDataItem.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        path_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        hash_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        needBlame_ = false;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.sonar.batch.protocol.input.BatchInput.internal_static_FileDataItem_descriptor;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileDataItem getDefaultInstanceForType() {
+        return org.sonar.batch.protocol.input.BatchInput.FileDataItem.getDefaultInstance();
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileDataItem build() {
+        org.sonar.batch.protocol.input.BatchInput.FileDataItem result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.sonar.batch.protocol.input.BatchInput.FileDataItem buildPartial() {
+        org.sonar.batch.protocol.input.BatchInput.FileDataItem result = new org.sonar.batch.protocol.input.BatchInput.FileDataItem(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.path_ = path_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.hash_ = hash_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.needBlame_ = needBlame_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.sonar.batch.protocol.input.BatchInput.FileDataItem) {
+          return mergeFrom((org.sonar.batch.protocol.input.BatchInput.FileDataItem)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.sonar.batch.protocol.input.BatchInput.FileDataItem other) {
+        if (other == org.sonar.batch.protocol.input.BatchInput.FileDataItem.getDefaultInstance()) return this;
+        if (other.hasPath()) {
+          bitField0_ |= 0x00000001;
+          path_ = other.path_;
+          onChanged();
+        }
+        if (other.hasHash()) {
+          bitField0_ |= 0x00000002;
+          hash_ = other.hash_;
+          onChanged();
+        }
+        if (other.hasNeedBlame()) {
+          setNeedBlame(other.getNeedBlame());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.sonar.batch.protocol.input.BatchInput.FileDataItem parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.sonar.batch.protocol.input.BatchInput.FileDataItem) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object path_ = "";
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public boolean hasPath() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public java.lang.String getPath() {
+        java.lang.Object ref = path_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            path_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPathBytes() {
+        java.lang.Object ref = path_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          path_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public Builder setPath(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        path_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public Builder clearPath() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        path_ = getDefaultInstance().getPath();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string path = 1;</code>
+       */
+      public Builder setPathBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        path_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object hash_ = "";
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public boolean hasHash() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public java.lang.String getHash() {
+        java.lang.Object ref = hash_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            hash_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getHashBytes() {
+        java.lang.Object ref = hash_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          hash_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public Builder setHash(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        hash_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public Builder clearHash() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        hash_ = getDefaultInstance().getHash();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string hash = 2;</code>
+       */
+      public Builder setHashBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        hash_ = value;
+        onChanged();
+        return this;
+      }
+
+      private boolean needBlame_ ;
+      /**
+       * <code>optional bool need_blame = 3;</code>
+       */
+      public boolean hasNeedBlame() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional bool need_blame = 3;</code>
+       */
+      public boolean getNeedBlame() {
+        return needBlame_;
+      }
+      /**
+       * <code>optional bool need_blame = 3;</code>
+       */
+      public Builder setNeedBlame(boolean value) {
+        bitField0_ |= 0x00000004;
+        needBlame_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool need_blame = 3;</code>
+       */
+      public Builder clearNeedBlame() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        needBlame_ = false;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:FileDataItem)
+    }
+
+    static {
+      defaultInstance = new FileDataItem(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:FileDataItem)
+  }
+
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_ServerIssue_descriptor;
   private static
@@ -2861,6 +9257,41 @@ public final class BatchInput {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_User_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesItem_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesItem_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesItem_Metadata_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesItem_Metadata_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesItem_QualityProfile_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesItem_QualityProfile_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesItem_Rule_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesItem_Rule_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ProjectRepositoriesItem_ModuleSettings_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_Property_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_Property_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_FileDataItem_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_FileDataItem_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -2879,7 +9310,26 @@ public final class BatchInput {
       "\001(\t\022\016\n\006status\030\013 \001(\t\022\020\n\010checksum\030\014 \001(\t\022\026\n" +
       "\016assignee_login\030\r \001(\t\022\025\n\rcreation_date\030\016" +
       " \001(\003\"#\n\004User\022\r\n\005login\030\001 \001(\t\022\014\n\004name\030\002 \001(" +
-      "\tB\"\n\036org.sonar.batch.protocol.inputH\001"
+      "\t\"\211\005\n\027ProjectRepositoriesItem\0223\n\010metadat",
+      "a\030\001 \001(\0132!.ProjectRepositoriesItem.Metada" +
+      "ta\0229\n\010qprofile\030\002 \001(\0132\'.ProjectRepositori" +
+      "esItem.QualityProfile\0222\n\013active_rule\030\003 \001" +
+      "(\0132\035.ProjectRepositoriesItem.Rule\022@\n\017mod" +
+      "ule_settings\030\004 \001(\0132\'.ProjectRepositories" +
+      "Item.ModuleSettings\0329\n\010Metadata\022\021\n\ttimes" +
+      "tamp\030\001 \001(\003\022\032\n\022last_analysis_date\030\002 \001(\003\032W" +
+      "\n\016QualityProfile\022\013\n\003key\030\001 \001(\t\022\014\n\004name\030\002 " +
+      "\001(\t\022\020\n\010language\030\003 \001(\t\022\030\n\020rules_updated_a" +
+      "t\030\004 \001(\003\032\256\001\n\004Rule\022\026\n\016repository_key\030\001 \001(\t",
+      "\022\020\n\010rule_key\030\002 \001(\t\022\031\n\021template_rule_key\030" +
+      "\003 \001(\t\022\014\n\004name\030\004 \001(\t\022\020\n\010severity\030\005 \001(\t\022\024\n" +
+      "\014internal_key\030\006 \001(\t\022\020\n\010language\030\007 \001(\t\022\031\n" +
+      "\006params\030\010 \003(\0132\t.Property\032C\n\016ModuleSettin" +
+      "gs\022\022\n\nmodule_key\030\001 \001(\t\022\035\n\nproperties\030\002 \003" +
+      "(\0132\t.Property\"&\n\010Property\022\013\n\003key\030\001 \001(\t\022\r" +
+      "\n\005value\030\002 \001(\t\">\n\014FileDataItem\022\014\n\004path\030\001 " +
+      "\001(\t\022\014\n\004hash\030\002 \001(\t\022\022\n\nneed_blame\030\003 \001(\010B\"\n" +
+      "\036org.sonar.batch.protocol.inputH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -2906,6 +9356,48 @@ public final class BatchInput {
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_User_descriptor,
         new java.lang.String[] { "Login", "Name", });
+    internal_static_ProjectRepositoriesItem_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_ProjectRepositoriesItem_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesItem_descriptor,
+        new java.lang.String[] { "Metadata", "Qprofile", "ActiveRule", "ModuleSettings", });
+    internal_static_ProjectRepositoriesItem_Metadata_descriptor =
+      internal_static_ProjectRepositoriesItem_descriptor.getNestedTypes().get(0);
+    internal_static_ProjectRepositoriesItem_Metadata_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesItem_Metadata_descriptor,
+        new java.lang.String[] { "Timestamp", "LastAnalysisDate", });
+    internal_static_ProjectRepositoriesItem_QualityProfile_descriptor =
+      internal_static_ProjectRepositoriesItem_descriptor.getNestedTypes().get(1);
+    internal_static_ProjectRepositoriesItem_QualityProfile_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesItem_QualityProfile_descriptor,
+        new java.lang.String[] { "Key", "Name", "Language", "RulesUpdatedAt", });
+    internal_static_ProjectRepositoriesItem_Rule_descriptor =
+      internal_static_ProjectRepositoriesItem_descriptor.getNestedTypes().get(2);
+    internal_static_ProjectRepositoriesItem_Rule_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesItem_Rule_descriptor,
+        new java.lang.String[] { "RepositoryKey", "RuleKey", "TemplateRuleKey", "Name", "Severity", "InternalKey", "Language", "Params", });
+    internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor =
+      internal_static_ProjectRepositoriesItem_descriptor.getNestedTypes().get(3);
+    internal_static_ProjectRepositoriesItem_ModuleSettings_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ProjectRepositoriesItem_ModuleSettings_descriptor,
+        new java.lang.String[] { "ModuleKey", "Properties", });
+    internal_static_Property_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_Property_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_Property_descriptor,
+        new java.lang.String[] { "Key", "Value", });
+    internal_static_FileDataItem_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_FileDataItem_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_FileDataItem_descriptor,
+        new java.lang.String[] { "Path", "Hash", "NeedBlame", });
     org.sonar.batch.protocol.Constants.getDescriptor();
   }
 
@@ -24,6 +24,9 @@ import org.sonar.batch.protocol.GsonHelper;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 
 /**
@@ -38,6 +41,7 @@ public class ProjectRepositories {
   private Map<String, Map<String, String>> settingsByModule = new HashMap<>();
   private Map<String, Map<String, FileData>> fileDataByModuleAndPath = new HashMap<>();
   private Date lastAnalysisDate;
+  private transient FileDataLoader fileDataLoader;
 
   public Map<String, String> settings(String moduleKey) {
     return settingsByModule.containsKey(moduleKey) ? settingsByModule.get(moduleKey) : Collections.<String, String>emptyMap();
@@ -71,10 +75,22 @@ public class ProjectRepositories {
     return this;
   }
 
-  public Map<String, FileData> fileDataByPath(String moduleKey) {
+  public synchronized Map<String, FileData> fileDataByPath(String moduleKey) {
+    if (!fileDataByModuleAndPath.containsKey(moduleKey) && fileDataLoader != null) {
+      fileDataByModuleAndPath.put(moduleKey, new HashMap<>(fileDataLoader.load(moduleKey)));
+    }
     return fileDataByModuleAndPath.containsKey(moduleKey) ? fileDataByModuleAndPath.get(moduleKey) : Collections.<String, FileData>emptyMap();
   }
 
+  /**
+   * File data of the modules that are not already loaded are requested to the given loader. Loaded
+   * file data are kept in memory.
+   */
+  public ProjectRepositories setFileDataLoader(@Nullable FileDataLoader fileDataLoader) {
+    this.fileDataLoader = fileDataLoader;
+    return this;
+  }
+
   public ProjectRepositories addFileData(String moduleKey, String path, FileData fileData) {
     Map<String, FileData> existingFileDataByPath = fileDataByModuleAndPath.get(moduleKey);
     if (existingFileDataByPath == null) {
@@ -115,4 +131,126 @@ public class ProjectRepositories {
     return GsonHelper.create().fromJson(json, ProjectRepositories.class);
   }
 
+  /**
+   * Writes a stream of delimited {@link BatchInput.ProjectRepositoriesItem}. File data are not written.
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    BatchInput.ProjectRepositoriesItem.Builder item = BatchInput.ProjectRepositoriesItem.newBuilder();
+    BatchInput.ProjectRepositoriesItem.Metadata.Builder metadata = BatchInput.ProjectRepositoriesItem.Metadata.newBuilder()
+      .setTimestamp(timestamp);
+    if (lastAnalysisDate != null) {
+      metadata.setLastAnalysisDate(lastAnalysisDate.getTime());
+    }
+    item.setMetadata(metadata).build().writeDelimitedTo(output);
+    item.clear();
+
+    for (QProfile qProfile : qprofilesByLanguage.values()) {
+      BatchInput.ProjectRepositoriesItem.QualityProfile.Builder qProfileBuilder = BatchInput.ProjectRepositoriesItem.QualityProfile.newBuilder()
+        .setKey(qProfile.key())
+        .setName(qProfile.name())
+        .setLanguage(qProfile.language());
+      if (qProfile.rulesUpdatedAt() != null) {
+        qProfileBuilder.setRulesUpdatedAt(qProfile.rulesUpdatedAt().getTime());
+      }
+      item.setQprofile(qProfileBuilder).build().writeDelimitedTo(output);
+      item.clear();
+    }
+
+    BatchInput.ProjectRepositoriesItem.Rule.Builder ruleBuilder = BatchInput.ProjectRepositoriesItem.Rule.newBuilder();
+    for (ActiveRule activeRule : activeRules) {
+      ruleBuilder.setRepositoryKey(activeRule.repositoryKey())
+        .setRuleKey(activeRule.ruleKey())
+        .setName(activeRule.name());
+      if (activeRule.templateRuleKey() != null) {
+        ruleBuilder.setTemplateRuleKey(activeRule.templateRuleKey());
+      }
+      if (activeRule.severity() != null) {
+        ruleBuilder.setSeverity(activeRule.severity());
+      }
+      if (activeRule.internalKey() != null) {
+        ruleBuilder.setInternalKey(activeRule.internalKey());
+      }
+      if (activeRule.language() != null) {
+        ruleBuilder.setLanguage(activeRule.language());
+      }
+      for (Map.Entry<String, String> param : activeRule.params().entrySet()) {
+        ruleBuilder.addParams(toProperty(param));
+      }
+      item.setActiveRule(ruleBuilder).build().writeDelimitedTo(output);
+      item.clear();
+      ruleBuilder.clear();
+    }
+
+    for (Map.Entry<String, Map<String, String>> moduleSettings : settingsByModule.entrySet()) {
+      BatchInput.ProjectRepositoriesItem.ModuleSettings.Builder settingsBuilder = BatchInput.ProjectRepositoriesItem.ModuleSettings.newBuilder()
+        .setModuleKey(moduleSettings.getKey());
+      for (Map.Entry<String, String> property : moduleSettings.getValue().entrySet()) {
+        settingsBuilder.addProperties(toProperty(property));
+      }
+      item.setModuleSettings(settingsBuilder).build().writeDelimitedTo(output);
+      item.clear();
+    }
+  }
+
+  /**
+   * Reads the stream written by {@link #writeTo(OutputStream)}
+   */
+  public static ProjectRepositories readFrom(InputStream input) throws IOException {
+    ProjectRepositories ref = new ProjectRepositories();
+    BatchInput.ProjectRepositoriesItem item = BatchInput.ProjectRepositoriesItem.parseDelimitedFrom(input);
+    while (item != null) {
+      if (item.hasMetadata()) {
+        ref.setTimestamp(item.getMetadata().getTimestamp());
+        ref.setLastAnalysisDate(item.getMetadata().hasLastAnalysisDate() ? new Date(item.getMetadata().getLastAnalysisDate()) : null);
+      } else if (item.hasQprofile()) {
+        BatchInput.ProjectRepositoriesItem.QualityProfile qProfile = item.getQprofile();
+        ref.addQProfile(new QProfile(qProfile.getKey(), qProfile.getName(), qProfile.getLanguage(),
+          qProfile.hasRulesUpdatedAt() ? new Date(qProfile.getRulesUpdatedAt()) : null));
+      } else if (item.hasActiveRule()) {
+        BatchInput.ProjectRepositoriesItem.Rule rule = item.getActiveRule();
+        ActiveRule activeRule = new ActiveRule(rule.getRepositoryKey(), rule.getRuleKey(),
+          rule.hasTemplateRuleKey() ? rule.getTemplateRuleKey() : null,
+          rule.getName(),
+          rule.hasSeverity() ? rule.getSeverity() : null,
+          rule.hasInternalKey() ? rule.getInternalKey() : null,
+          rule.hasLanguage() ? rule.getLanguage() : null);
+        for (BatchInput.Property param : rule.getParamsList()) {
+          activeRule.addParam(param.getKey(), valueOf(param));
+        }
+        ref.addActiveRule(activeRule);
+      } else if (item.hasModuleSettings()) {
+        Map<String, String> settings = new HashMap<>();
+        for (BatchInput.Property property : item.getModuleSettings().getPropertiesList()) {
+          settings.put(property.getKey(), valueOf(property));
+        }
+        ref.addSettings(item.getModuleSettings().getModuleKey(), settings);
+      }
+      item = BatchInput.ProjectRepositoriesItem.parseDelimitedFrom(input);
+    }
+    return ref;
+  }
+
+  private static BatchInput.Property toProperty(Map.Entry<String, String> entry) {
+    BatchInput.Property.Builder property = BatchInput.Property.newBuilder().setKey(entry.getKey());
+    if (entry.getValue() != null) {
+      property.setValue(entry.getValue());
+    }
+    return property.build();
+  }
+
+  @CheckForNull
+  private static String valueOf(BatchInput.Property property) {
+    return property.hasValue() ? property.getValue() : null;
+  }
+
+  /**
+   * Lazy loading of file data of a module
+   */
+  public interface FileDataLoader {
+    /**
+     * @return file data by relative path of the files of the module
+     */
+    Map<String, FileData> load(String moduleKey);
+  }
+
 }
@@ -22,10 +22,13 @@ package org.sonar.batch.protocol.output;
 import java.io.File;
 
 /**
- * Structure of files in the zipped report
+ * Structure of files in the zipped report. Files are at the root of the zip archive, so
+ * the same names are used to read the entries of the archive without extracting it.
  */
 public class FileStructure {
 
+  public static final String METADATA_FILENAME = "metadata.pb";
+
   public enum Domain {
     ISSUES("issues-", Domain.PB),
     ISSUES_ON_DELETED("issues-deleted-", Domain.PB),
@@ -62,11 +65,18 @@ public class FileStructure {
   }
 
   public File metadataFile() {
-    return new File(dir, "metadata.pb");
+    return new File(dir, METADATA_FILENAME);
   }
 
   public File fileFor(Domain domain, int componentRef) {
-    return new File(dir, domain.filePrefix + componentRef + domain.fileSuffix);
+    return new File(dir, fileName(domain, componentRef));
+  }
+
+  /**
+   * Name of file, relative to the root of report
+   */
+  public static String fileName(Domain domain, int componentRef) {
+    return domain.filePrefix + componentRef + domain.fileSuffix;
   }
 
 }
@@ -22,11 +22,18 @@ package org.sonar.batch.protocol.input;
 import org.junit.Test;
 import org.sonar.test.JsonAssert;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class ProjectRepositoriesTest {
 
@@ -92,4 +99,72 @@ public class ProjectRepositoriesTest {
 
     assertThat(ref.lastAnalysisDate().getTime()).isEqualTo(DATE_FORMAT.parse("2014-10-31T00:00:00+0100").getTime());
   }
+
+  @Test
+  public void write_and_read_protobuf_stream() throws Exception {
+    ProjectRepositories ref = new ProjectRepositories();
+    ref.addQProfile(new QProfile("squid-java", "Java", "java", DATE_FORMAT.parse("2013-01-01T12:00:00+0100")));
+    ref.addSettings("foo", Collections.singletonMap("prop1", "value1"));
+    ref.addSettings("bar", Collections.singletonMap("prop2", "value2"));
+    ActiveRule activeRule = new ActiveRule("repo", "rule", "templateRule", "Rule", "MAJOR", "rule1", "java");
+    activeRule.addParam("param1", "value1");
+    ref.addActiveRule(activeRule);
+    ref.addActiveRule(new ActiveRule("manual", "rule2", null, "Manual Rule", null, null, null));
+    ref.setLastAnalysisDate(DATE_FORMAT.parse("2014-05-18T15:50:45+0100"));
+    ref.setTimestamp(10);
+    // file data are not part of the stream
+    ref.addFileData("foo", "src/main/java/Foo.java", new FileData("xyz", true));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ref.writeTo(output);
+    ProjectRepositories read = ProjectRepositories.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+    assertThat(read.timestamp()).isEqualTo(10);
+    assertThat(read.lastAnalysisDate()).isEqualTo(ref.lastAnalysisDate());
+    QProfile qProfile = read.qProfiles().iterator().next();
+    assertThat(qProfile.key()).isEqualTo("squid-java");
+    assertThat(qProfile.name()).isEqualTo("Java");
+    assertThat(qProfile.language()).isEqualTo("java");
+    assertThat(qProfile.rulesUpdatedAt()).isEqualTo(DATE_FORMAT.parse("2013-01-01T12:00:00+0100"));
+    assertThat(read.settings("foo")).containsOnly(entry("prop1", "value1"));
+    assertThat(read.settings("bar")).containsOnly(entry("prop2", "value2"));
+    assertThat(read.activeRules()).hasSize(2);
+    Iterator<ActiveRule> activeRules = read.activeRules().iterator();
+    ActiveRule readRule = activeRules.next();
+    assertThat(readRule.repositoryKey()).isEqualTo("repo");
+    assertThat(readRule.ruleKey()).isEqualTo("rule");
+    assertThat(readRule.templateRuleKey()).isEqualTo("templateRule");
+    assertThat(readRule.name()).isEqualTo("Rule");
+    assertThat(readRule.severity()).isEqualTo("MAJOR");
+    assertThat(readRule.internalKey()).isEqualTo("rule1");
+    assertThat(readRule.language()).isEqualTo("java");
+    assertThat(readRule.params()).containsOnly(entry("param1", "value1"));
+    ActiveRule manualRule = activeRules.next();
+    assertThat(manualRule.ruleKey()).isEqualTo("rule2");
+    assertThat(manualRule.templateRuleKey()).isNull();
+    assertThat(manualRule.severity()).isNull();
+    assertThat(manualRule.language()).isNull();
+    assertThat(read.fileDataByPath("foo")).isEmpty();
+  }
+
+  @Test
+  public void load_file_data_lazily() {
+    final AtomicInteger calls = new AtomicInteger();
+    ProjectRepositories ref = new ProjectRepositories();
+    ref.addFileData("foo", "src/main/java/Foo.java", new FileData("xyz", true));
+    ref.setFileDataLoader(new ProjectRepositories.FileDataLoader() {
+      @Override
+      public Map<String, FileData> load(String moduleKey) {
+        calls.incrementAndGet();
+        return Collections.singletonMap("src/" + moduleKey + ".java", new FileData("abc", false));
+      }
+    });
+
+    assertThat(ref.fileData("foo", "src/main/java/Foo.java").hash()).isEqualTo("xyz");
+    assertThat(calls.get()).isEqualTo(0);
+
+    assertThat(ref.fileData("bar", "src/bar.java").hash()).isEqualTo("abc");
+    assertThat(ref.fileData("bar", "src/other.java")).isNull();
+    assertThat(calls.get()).isEqualTo(1);
+  }
 }
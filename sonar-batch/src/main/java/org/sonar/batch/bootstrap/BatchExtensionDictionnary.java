@@ -35,6 +35,7 @@ import org.sonar.core.platform.ComponentContainer;
 import org.sonar.api.resources.Project;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.api.utils.dag.DirectAcyclicGraph;
+import org.sonar.api.utils.dag.Node;
 import org.sonar.batch.postjob.PostJobOptimizer;
 import org.sonar.batch.postjob.PostJobWrapper;
 import org.sonar.batch.sensor.DefaultSensorContext;
@@ -50,7 +51,12 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @since 2.6
@@ -139,8 +145,43 @@ public class BatchExtensionDictionnary {
   }
 
   public <T> Collection<T> sort(Collection<T> extensions) {
-    DirectAcyclicGraph dag = new DirectAcyclicGraph();
+    DirectAcyclicGraph dag = newGraph(extensions);
+    List sortedList = dag.sort();
 
+    return Collections2.filter(sortedList, Predicates.in(extensions));
+  }
+
+  /**
+   * For each extension, the other extensions of the collection that must be executed before it. Dependencies
+   * are the same as in {@link #sort(Collection)}, including the transitive ones.
+   * @since 5.2
+   */
+  public <T> Map<T, Set<T>> getExecutionDependencies(Collection<T> extensions) {
+    DirectAcyclicGraph dag = newGraph(extensions);
+    Set<Object> candidates = new HashSet<Object>(extensions);
+    Map<T, Set<T>> result = new LinkedHashMap<>();
+    for (T extension : extensions) {
+      Set<T> dependencies = new LinkedHashSet<>();
+      collectDependencies(dag.add(extension), candidates, dependencies, new HashSet<Node>());
+      dependencies.remove(extension);
+      result.put(extension, dependencies);
+    }
+    return result;
+  }
+
+  private static <T> void collectDependencies(Node node, Set<Object> candidates, Set<T> dependencies, Set<Node> visited) {
+    for (Node dependency : node.getDependencies()) {
+      if (visited.add(dependency)) {
+        if (candidates.contains(dependency.getObject())) {
+          dependencies.add((T) dependency.getObject());
+        }
+        collectDependencies(dependency, candidates, dependencies, visited);
+      }
+    }
+  }
+
+  private <T> DirectAcyclicGraph newGraph(Collection<T> extensions) {
+    DirectAcyclicGraph dag = new DirectAcyclicGraph();
     for (T extension : extensions) {
       dag.add(extension);
       for (Object dependency : getDependencies(extension)) {
@@ -151,9 +192,7 @@ public class BatchExtensionDictionnary {
       }
       completePhaseDependencies(dag, extension);
     }
-    List sortedList = dag.sort();
-
-    return Collections2.filter(sortedList, Predicates.in(extensions));
+    return dag;
   }
 
   /**
@@ -162,6 +201,9 @@ public class BatchExtensionDictionnary {
   private <T> List<Object> getDependencies(T extension) {
     List<Object> result = new ArrayList<>();
     result.addAll(evaluateAnnotatedClasses(extension, DependsUpon.class));
+    if (extension instanceof SensorWrapper) {
+      result.addAll(((SensorWrapper) extension).descriptor().dependsUpon());
+    }
     return result;
   }
 
@@ -171,6 +213,9 @@ public class BatchExtensionDictionnary {
   public <T> List<Object> getDependents(T extension) {
     List<Object> result = new ArrayList<>();
     result.addAll(evaluateAnnotatedClasses(extension, DependedUpon.class));
+    if (extension instanceof SensorWrapper) {
+      result.addAll(((SensorWrapper) extension).descriptor().dependedUpon());
+    }
     return result;
   }
 
@@ -21,15 +21,22 @@ package org.sonar.batch.bootstrap;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.CheckForNull;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.CharUtils;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.Plugin;
+import org.sonar.api.utils.System2;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.utils.log.Profiler;
@@ -37,24 +44,38 @@ import org.sonar.core.platform.PluginInfo;
 import org.sonar.core.plugins.RemotePlugin;
 import org.sonar.core.plugins.RemotePluginFile;
 import org.sonar.home.cache.FileCache;
+import org.sonar.home.cache.FileHashes;
 
 /**
  * Downloads the plugins installed on server and stores them in a local user cache
- * (see {@link FileCacheProvider}).
+ * (see {@link FileCacheProvider}). The index of plugins can also be kept in the user cache
+ * for a configurable duration (see {@link #INDEX_TTL_PROPERTY}), so that no request is sent to server
+ * while all the plugins of this index are available locally.
  */
 public class BatchPluginInstaller implements PluginInstaller {
 
   private static final Logger LOG = Loggers.get(BatchPluginInstaller.class);
   private static final String PLUGINS_INDEX_URL = "/deploy/plugins/index.txt";
 
+  /**
+   * Number of seconds during which the index of plugins stored in user cache is used instead
+   * of requesting server. Default value is 0, meaning that server is requested on each analysis.
+   */
+  public static final String INDEX_TTL_PROPERTY = "sonar.plugins.indexTtlSeconds";
+
   private final ServerClient server;
   private final FileCache fileCache;
   private final BatchPluginPredicate pluginPredicate;
+  private final System2 system;
+  private final long indexTtlMs;
 
-  public BatchPluginInstaller(ServerClient server, FileCache fileCache, BatchPluginPredicate pluginPredicate) {
+  public BatchPluginInstaller(ServerClient server, FileCache fileCache, BatchPluginPredicate pluginPredicate, BootstrapProperties props,
+    System2 system) {
     this.server = server;
     this.fileCache = fileCache;
     this.pluginPredicate = pluginPredicate;
+    this.system = system;
+    this.indexTtlMs = getIndexTtlSeconds(props) * 1000L;
   }
 
   @Override
@@ -110,18 +131,94 @@ public class BatchPluginInstaller implements PluginInstaller {
   @VisibleForTesting
   List<RemotePlugin> listRemotePlugins() {
     try {
+      List<RemotePlugin> cachedPlugins = loadCachedIndex();
+      if (cachedPlugins != null) {
+        LOG.debug("Use plugins index from user cache");
+        return cachedPlugins;
+      }
       Profiler profiler = Profiler.create(LOG).startInfo("Load plugins index");
       String indexContent = server.request(PLUGINS_INDEX_URL);
       profiler.stopInfo();
-      String[] rows = StringUtils.split(indexContent, CharUtils.LF);
-      List<RemotePlugin> result = Lists.newArrayList();
-      for (String row : rows) {
-        result.add(RemotePlugin.unmarshal(row));
-      }
-      return result;
+      storeCachedIndex(indexContent);
+      return unmarshal(indexContent);
 
     } catch (Exception e) {
       throw new IllegalStateException("Fail to load plugin index: " + PLUGINS_INDEX_URL, e);
     }
   }
+
+  /**
+   * Index of plugins stored in user cache, if it's younger than the configured time-to-live
+   * and if all the required plugins, with the same hashes, are available in user cache.
+   * Returns null if server must be requested.
+   */
+  @CheckForNull
+  private List<RemotePlugin> loadCachedIndex() throws IOException {
+    if (indexTtlMs == 0L) {
+      return null;
+    }
+    File indexFile = cachedIndexFile();
+    if (!indexFile.exists() || system.now() - indexFile.lastModified() > indexTtlMs) {
+      return null;
+    }
+    List<RemotePlugin> plugins = unmarshal(FileUtils.readFileToString(indexFile, StandardCharsets.UTF_8.name()));
+    for (RemotePlugin plugin : plugins) {
+      RemotePluginFile file = plugin.file();
+      if (pluginPredicate.apply(plugin.getKey()) && (file == null || fileCache.get(file.getFilename(), file.getHash()) == null)) {
+        return null;
+      }
+    }
+    return plugins;
+  }
+
+  private void storeCachedIndex(String indexContent) {
+    if (indexTtlMs == 0L) {
+      return;
+    }
+    File indexFile = cachedIndexFile();
+    try {
+      // index is written in a temp file then moved, as the user cache can be shared by concurrent analyses
+      Files.createDirectories(indexFile.getParentFile().toPath());
+      File tempFile = File.createTempFile("index", ".tmp", indexFile.getParentFile());
+      FileUtils.writeStringToFile(tempFile, indexContent, StandardCharsets.UTF_8.name());
+      Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Fail to store plugins index in user cache: " + indexFile, e);
+    }
+  }
+
+  /**
+   * Indexes of different servers are stored in different files
+   */
+  private File cachedIndexFile() {
+    String serverHash = new FileHashes().of(new ByteArrayInputStream(server.getURL().getBytes(StandardCharsets.UTF_8)));
+    return new File(new File(fileCache.getDir(), "_plugins"), serverHash + ".txt");
+  }
+
+  private static List<RemotePlugin> unmarshal(String indexContent) {
+    String[] rows = StringUtils.split(indexContent, CharUtils.LF);
+    List<RemotePlugin> result = Lists.newArrayList();
+    for (String row : rows) {
+      result.add(RemotePlugin.unmarshal(row));
+    }
+    return result;
+  }
+
+  @VisibleForTesting
+  static long getIndexTtlSeconds(BootstrapProperties props) {
+    String value = props.property(INDEX_TTL_PROPERTY);
+    if (StringUtils.isBlank(value)) {
+      return 0L;
+    }
+    long seconds;
+    try {
+      seconds = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %s", INDEX_TTL_PROPERTY, value), e);
+    }
+    if (seconds < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %s", INDEX_TTL_PROPERTY, value));
+    }
+    return seconds;
+  }
 }
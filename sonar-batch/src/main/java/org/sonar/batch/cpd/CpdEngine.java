@@ -19,13 +19,23 @@
  */
 package org.sonar.batch.cpd;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.sonar.api.batch.BatchSide;
 import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.config.Settings;
+import org.sonar.batch.util.BatchUtils;
 
 @BatchSide
 public abstract class CpdEngine {
 
+  /**
+   * Number of threads used to chunk files and to detect duplications. Zero means one thread per processor.
+   */
+  public static final String THREADS_PROPERTY = "sonar.cpd.threads";
+
   abstract boolean isLanguageSupported(String language);
 
   abstract void analyse(String language, SensorContext context);
@@ -42,6 +52,14 @@ public abstract class CpdEngine {
     }
   }
 
+  protected static int getThreads(Settings settings) {
+    return BatchUtils.getThreads(settings, THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+  }
+
+  protected static ExecutorService newExecutorService(int threads) {
+    return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("cpd-%d").setDaemon(true).build());
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName();
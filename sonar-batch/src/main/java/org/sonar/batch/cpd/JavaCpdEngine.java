@@ -20,6 +20,9 @@
 
 package org.sonar.batch.cpd;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.apache.commons.io.IOUtils;
@@ -58,14 +61,16 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -117,21 +122,66 @@ public class JavaCpdEngine extends CpdEngine {
     if (sourceFiles.isEmpty()) {
       return;
     }
-    SonarDuplicationsIndex index = createIndex(project, languageKey, sourceFiles);
-    detect(index, context, sourceFiles);
+    int threads = getThreads(settings);
+    ExecutorService executorService = newExecutorService(threads);
+    try {
+      SonarDuplicationsIndex index = createIndex(executorService, threads, project, languageKey, sourceFiles);
+      detect(executorService, threads, index, context, sourceFiles, Predicates.<CloneGroup>alwaysTrue());
+    } finally {
+      executorService.shutdownNow();
+    }
   }
 
-  private SonarDuplicationsIndex createIndex(@Nullable Project project, String language, Iterable<InputFile> sourceFiles) {
+  /**
+   * Files are chunked in parallel, but blocks are inserted into index by the current thread, in the order of files.
+   */
+  private SonarDuplicationsIndex createIndex(ExecutorService executorService, int threads, @Nullable Project project, String language, List<InputFile> sourceFiles) {
     final SonarDuplicationsIndex index = indexFactory.create(project, language);
 
-    TokenChunker tokenChunker = JavaTokenProducer.build();
-    StatementChunker statementChunker = JavaStatementBuilder.build();
-    BlockChunker blockChunker = new BlockChunker(BLOCK_SIZE);
-
+    Deque<PendingFile<List<Block>>> pendingFiles = new ArrayDeque<>();
     for (InputFile inputFile : sourceFiles) {
+      while (pendingFiles.size() >= 2 * threads) {
+        insertNext(index, pendingFiles);
+      }
+      pendingFiles.add(new PendingFile<>(inputFile, executorService.submit(new ChunkTask(inputFile))));
+    }
+    while (!pendingFiles.isEmpty()) {
+      insertNext(index, pendingFiles);
+    }
+
+    return index;
+  }
+
+  private static void insertNext(SonarDuplicationsIndex index, Deque<PendingFile<List<Block>>> pendingFiles) {
+    PendingFile<List<Block>> pendingFile = pendingFiles.poll();
+    List<Block> blocks;
+    try {
+      blocks = pendingFile.future.get();
+    } catch (InterruptedException e) {
+      throw new SonarException("Fail to populate index from " + pendingFile.inputFile, e);
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+    index.insert(pendingFile.inputFile, blocks);
+  }
+
+  private class ChunkTask implements Callable<List<Block>> {
+    private final InputFile inputFile;
+
+    ChunkTask(InputFile inputFile) {
+      this.inputFile = inputFile;
+    }
+
+    @Override
+    public List<Block> call() {
       LOG.debug("Populating index from {}", inputFile);
       String resourceEffectiveKey = ((DefaultInputFile) inputFile).key();
 
+      // chunkers are not thread-safe
+      TokenChunker tokenChunker = JavaTokenProducer.build();
+      StatementChunker statementChunker = JavaStatementBuilder.build();
+      BlockChunker blockChunker = new BlockChunker(BLOCK_SIZE);
+
       List<Statement> statements;
 
       Reader reader = null;
@@ -144,38 +194,57 @@ public class JavaCpdEngine extends CpdEngine {
         IOUtils.closeQuietly(reader);
       }
 
-      List<Block> blocks = blockChunker.chunk(resourceEffectiveKey, statements);
-      index.insert(inputFile, blocks);
+      return blockChunker.chunk(resourceEffectiveKey, statements);
     }
+  }
 
-    return index;
+  /**
+   * Duplications of files are detected in parallel, each file having its own timeout, and are saved by
+   * the current thread in the order of files. Detection is sequential when the index contains blocks of other
+   * projects, as those blocks are loaded for one file at a time.
+   */
+  static void detect(ExecutorService executorService, int threads, SonarDuplicationsIndex index, SensorContext context, List<InputFile> sourceFiles,
+    Predicate<CloneGroup> filter) {
+    int maxPendingFiles = index.isCrossProject() ? 1 : (2 * threads);
+    Deque<PendingFile<List<CloneGroup>>> pendingFiles = new ArrayDeque<>();
+    for (InputFile inputFile : sourceFiles) {
+      while (pendingFiles.size() >= maxPendingFiles) {
+        saveNext(context, pendingFiles, filter);
+      }
+      LOG.debug("Detection of duplications for {}", inputFile);
+      String resourceEffectiveKey = ((DefaultInputFile) inputFile).key();
+      Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
+      pendingFiles.add(new PendingFile<>(inputFile, executorService.submit(new Task(index, fileBlocks))));
+    }
+    while (!pendingFiles.isEmpty()) {
+      saveNext(context, pendingFiles, filter);
+    }
   }
 
-  private void detect(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles) {
-    ExecutorService executorService = Executors.newSingleThreadExecutor();
+  private static void saveNext(SensorContext context, Deque<PendingFile<List<CloneGroup>>> pendingFiles, Predicate<CloneGroup> filter) {
+    PendingFile<List<CloneGroup>> pendingFile = pendingFiles.poll();
+    InputFile inputFile = pendingFile.inputFile;
+    Iterable<CloneGroup> clones;
     try {
-      for (InputFile inputFile : sourceFiles) {
-        LOG.debug("Detection of duplications for {}", inputFile);
-        String resourceEffectiveKey = ((DefaultInputFile) inputFile).key();
-
-        Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
-
-        List<CloneGroup> clones;
-        try {
-          clones = executorService.submit(new Task(index, fileBlocks)).get(TIMEOUT, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-          clones = null;
-          LOG.warn("Timeout during detection of duplications for " + inputFile, e);
-        } catch (InterruptedException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
-        } catch (ExecutionException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
-        }
+      clones = Iterables.filter(pendingFile.future.get(TIMEOUT, TimeUnit.SECONDS), filter);
+    } catch (TimeoutException e) {
+      pendingFile.future.cancel(true);
+      clones = null;
+      LOG.warn("Timeout during detection of duplications for " + inputFile, e);
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+    }
 
-        save(context, inputFile, clones);
-      }
-    } finally {
-      executorService.shutdown();
+    save(context, inputFile, clones);
+  }
+
+  private static class PendingFile<T> {
+    private final InputFile inputFile;
+    private final Future<T> future;
+
+    PendingFile(InputFile inputFile, Future<T> future) {
+      this.inputFile = inputFile;
+      this.future = future;
     }
   }
 
@@ -28,9 +28,13 @@ import org.sonar.api.CoreProperties;
 import org.sonar.api.config.Settings;
 import org.sonar.api.database.DatabaseSession;
 import org.sonar.api.resources.Project;
+import org.sonar.api.utils.TempFolder;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.index.BatchComponentCache;
 import org.sonar.core.duplication.DuplicationDao;
+import org.sonar.duplications.index.CloneIndex;
+import org.sonar.duplications.index.OffHeapCloneIndex;
+import org.sonar.duplications.index.PackedMemoryCloneIndex;
 
 import javax.annotation.Nullable;
 
@@ -39,32 +43,53 @@ public class IndexFactory {
 
   private static final Logger LOG = LoggerFactory.getLogger(IndexFactory.class);
 
+  /**
+   * When true, blocks of current project are stored in memory-mapped files instead of Java heap.
+   * Recommended for very large projects.
+   */
+  public static final String OFF_HEAP_INDEX_PROPERTY = "sonar.cpd.offHeapIndex";
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
   private final Settings settings;
   private final DuplicationDao dao;
   private final DefaultAnalysisMode mode;
   private final DatabaseSession session;
   private final BatchComponentCache resourceCache;
+  private final TempFolder tempFolder;
 
-  public IndexFactory(DefaultAnalysisMode mode, Settings settings, @Nullable DuplicationDao dao, @Nullable DatabaseSession session, BatchComponentCache resourceCache) {
+  public IndexFactory(DefaultAnalysisMode mode, Settings settings, @Nullable DuplicationDao dao, @Nullable DatabaseSession session, BatchComponentCache resourceCache,
+    TempFolder tempFolder) {
     this.mode = mode;
     this.settings = settings;
     this.dao = dao;
     this.session = session;
     this.resourceCache = resourceCache;
+    this.tempFolder = tempFolder;
   }
 
   /**
    * Used by new sensor mode
    */
-  public IndexFactory(DefaultAnalysisMode mode, Settings settings, BatchComponentCache resourceCache) {
-    this(mode, settings, null, null, resourceCache);
+  public IndexFactory(DefaultAnalysisMode mode, Settings settings, BatchComponentCache resourceCache, TempFolder tempFolder) {
+    this(mode, settings, null, null, resourceCache, tempFolder);
   }
 
   public SonarDuplicationsIndex create(@Nullable Project project, String languageKey) {
+    DbDuplicationsIndex db = null;
     if (verifyCrossProject(project, LOG) && dao != null && session != null) {
-      return new SonarDuplicationsIndex(new DbDuplicationsIndex(project, dao, languageKey, session, resourceCache));
+      db = new DbDuplicationsIndex(project, dao, languageKey, session, resourceCache);
+    }
+    return new SonarDuplicationsIndex(createMemoryIndex(), db);
+  }
+
+  @VisibleForTesting
+  CloneIndex createMemoryIndex() {
+    if (settings.getBoolean(OFF_HEAP_INDEX_PROPERTY)) {
+      LOG.info("Copy-paste detection index is stored off-heap");
+      return new OffHeapCloneIndex(8, DEFAULT_INITIAL_CAPACITY, tempFolder.newDir());
     }
-    return new SonarDuplicationsIndex();
+    return new PackedMemoryCloneIndex();
   }
 
   @VisibleForTesting
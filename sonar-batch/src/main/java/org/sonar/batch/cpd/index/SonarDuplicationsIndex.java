@@ -30,19 +30,38 @@ import org.sonar.duplications.index.PackedMemoryCloneIndex;
 import java.util.Collection;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public class SonarDuplicationsIndex extends AbstractCloneIndex {
 
-  private final CloneIndex mem = new PackedMemoryCloneIndex();
+  private final CloneIndex mem;
   private final DbDuplicationsIndex db;
 
   public SonarDuplicationsIndex() {
-    this.db = null;
+    this(new PackedMemoryCloneIndex(), null);
   }
 
   public SonarDuplicationsIndex(DbDuplicationsIndex db) {
+    this(new PackedMemoryCloneIndex(), db);
+  }
+
+  /**
+   * @param mem index of the blocks of current project
+   * @param db index of the blocks of other projects, null if cross-project detection is disabled
+   */
+  public SonarDuplicationsIndex(CloneIndex mem, @Nullable DbDuplicationsIndex db) {
+    this.mem = mem;
     this.db = db;
   }
 
+  /**
+   * @return true if blocks of other projects are loaded from DB. In this case {@link #getBySequenceHash(ByteArray)}
+   * must not be called concurrently with {@link #getByInputFile(InputFile, String)}.
+   */
+  public boolean isCrossProject() {
+    return db != null;
+  }
+
   public void insert(InputFile inputFile, Collection<Block> blocks) {
     for (Block block : blocks) {
       mem.insert(block);
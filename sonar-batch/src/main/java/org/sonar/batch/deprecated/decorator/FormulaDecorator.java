@@ -38,7 +38,6 @@ import java.util.Set;
 public final class FormulaDecorator implements Decorator {
 
   private Metric metric;
-  private DefaultFormulaContext formulaContext;
   private Set<Decorator> executeAfterDecorators;
 
   /**
@@ -53,7 +52,6 @@ public final class FormulaDecorator implements Decorator {
       throw new IllegalArgumentException("No formula defined on metric");
     }
     this.metric = metric;
-    this.formulaContext = new DefaultFormulaContext(metric);
     this.executeAfterDecorators = executeAfterDecorators;
   }
 
@@ -99,6 +97,8 @@ public final class FormulaDecorator implements Decorator {
       return;
     }
 
+    // a new formula context is created on each resource, as resources can be decorated concurrently
+    DefaultFormulaContext formulaContext = new DefaultFormulaContext(metric);
     formulaContext.setDecoratorContext(context);
     FormulaData data = new DefaultFormulaData(context);
     Measure measure = metric.getFormula().calculate(data, formulaContext);
@@ -24,10 +24,14 @@ import org.sonar.api.batch.BatchSide;
 import org.sonar.api.batch.AnalysisMode;
 import org.sonar.api.batch.Decorator;
 import org.sonar.api.batch.DecoratorContext;
+import org.sonar.api.batch.NotThreadSafe;
+import org.sonar.api.batch.RequiresDB;
 import org.sonar.api.batch.SonarIndex;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.MetricFinder;
 import org.sonar.api.resources.Project;
 import org.sonar.api.resources.Resource;
+import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.api.utils.MessageException;
 import org.sonar.api.utils.SonarException;
 import org.sonar.batch.bootstrap.BatchExtensionDictionnary;
@@ -36,13 +40,26 @@ import org.sonar.batch.deprecated.decorator.DefaultDecoratorContext;
 import org.sonar.batch.events.EventBus;
 import org.sonar.batch.scan.measure.MeasureCache;
 import org.sonar.batch.sensor.coverage.CoverageExclusions;
+import org.sonar.batch.util.BatchUtils;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 @BatchSide
 public class DecoratorsExecutor {
 
+  /**
+   * Number of threads used to decorate resources. Default is 1, so resources are decorated sequentially. Zero means
+   * one thread per processor. Independent subtrees of resources, for example sibling modules or directories,
+   * are decorated in parallel. Children are always decorated before their parent.
+   */
+  public static final String THREADS_PROPERTY = "sonar.decorators.threads";
+
   private final DecoratorsSelector decoratorsSelector;
   private final SonarIndex index;
   private final EventBus eventBus;
@@ -51,12 +68,20 @@ public class DecoratorsExecutor {
   private final MeasureCache measureCache;
   private final MetricFinder metricFinder;
   private final AnalysisMode analysisMode;
+  private final Settings settings;
+
+  /**
+   * Decorators that are never executed concurrently, see {@link NotThreadSafe}
+   */
+  private final Set<Decorator> notThreadSafeDecorators = Collections.newSetFromMap(new IdentityHashMap<Decorator, Boolean>());
+  private final Object notThreadSafeLock = new Object();
 
   public DecoratorsExecutor(BatchExtensionDictionnary batchExtDictionnary, Project project, SonarIndex index, EventBus eventBus, CoverageExclusions coverageFilter,
-    MeasureCache measureCache, MetricFinder metricFinder, AnalysisMode analysisMode) {
+    MeasureCache measureCache, MetricFinder metricFinder, AnalysisMode analysisMode, Settings settings) {
     this.measureCache = measureCache;
     this.metricFinder = metricFinder;
     this.analysisMode = analysisMode;
+    this.settings = settings;
     this.decoratorsSelector = new DecoratorsSelector(batchExtDictionnary);
     this.index = index;
     this.eventBus = eventBus;
@@ -71,10 +96,32 @@ public class DecoratorsExecutor {
     }
     Collection<Decorator> decorators = decoratorsSelector.select(project);
     eventBus.fireEvent(new DecoratorsPhaseEvent(Lists.newArrayList(decorators), true));
-    ((DefaultDecoratorContext) decorateResource(project, decorators, true)).end();
+    DecoratorContext context;
+    int threads = getThreads(settings);
+    if (threads > 1) {
+      context = decorateConcurrently(decorators, threads);
+    } else {
+      context = decorateResource(project, decorators, true);
+    }
+    ((DefaultDecoratorContext) context).end();
     eventBus.fireEvent(new DecoratorsPhaseEvent(Lists.newArrayList(decorators), false));
   }
 
+  private DecoratorContext decorateConcurrently(Collection<Decorator> decorators, int threads) {
+    for (Decorator decorator : decorators) {
+      if (AnnotationUtils.getAnnotation(decorator, NotThreadSafe.class) != null || AnnotationUtils.getAnnotation(decorator, RequiresDB.class) != null) {
+        notThreadSafeDecorators.add(decorator);
+      }
+    }
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      return pool.invoke(new DecorateTask(project, decorators, true));
+    } finally {
+      pool.shutdownNow();
+      notThreadSafeDecorators.clear();
+    }
+  }
+
   DecoratorContext decorateResource(Resource resource, Collection<Decorator> decorators, boolean executeDecorators) {
     List<DecoratorContext> childrenContexts = Lists.newArrayList();
     for (Resource child : index.getChildren(resource)) {
@@ -82,12 +129,21 @@ public class DecoratorsExecutor {
       DefaultDecoratorContext childContext = (DefaultDecoratorContext) decorateResource(child, decorators, !isModule);
       childrenContexts.add(childContext.end());
     }
+    return decorate(resource, decorators, executeDecorators, childrenContexts);
+  }
 
+  private DecoratorContext decorate(Resource resource, Collection<Decorator> decorators, boolean executeDecorators, List<DecoratorContext> childrenContexts) {
     DefaultDecoratorContext context = new DefaultDecoratorContext(resource, index, childrenContexts, measureCache, metricFinder, coverageFilter);
     context.init();
     if (executeDecorators) {
       for (Decorator decorator : decorators) {
-        executeDecorator(decorator, context, resource);
+        if (notThreadSafeDecorators.contains(decorator)) {
+          synchronized (notThreadSafeLock) {
+            executeDecorator(decorator, context, resource);
+          }
+        } else {
+          executeDecorator(decorator, context, resource);
+        }
       }
     }
     return context;
@@ -108,4 +164,37 @@ public class DecoratorsExecutor {
     }
   }
 
+  static int getThreads(Settings settings) {
+    return BatchUtils.getThreads(settings, THREADS_PROPERTY, 1);
+  }
+
+  /**
+   * Decorates the children of a resource in parallel, then the resource itself
+   */
+  private class DecorateTask extends RecursiveTask<DecoratorContext> {
+    private final Resource resource;
+    private final Collection<Decorator> decorators;
+    private final boolean executeDecorators;
+
+    DecorateTask(Resource resource, Collection<Decorator> decorators, boolean executeDecorators) {
+      this.resource = resource;
+      this.decorators = decorators;
+      this.executeDecorators = executeDecorators;
+    }
+
+    @Override
+    protected DecoratorContext compute() {
+      List<DecorateTask> subtasks = Lists.newArrayList();
+      for (Resource child : index.getChildren(resource)) {
+        boolean isModule = child instanceof Project;
+        subtasks.add(new DecorateTask(child, decorators, !isModule));
+      }
+      invokeAll(subtasks);
+      List<DecoratorContext> childrenContexts = Lists.newArrayList();
+      for (DecorateTask subtask : subtasks) {
+        childrenContexts.add(((DefaultDecoratorContext) subtask.join()).end());
+      }
+      return decorate(resource, decorators, executeDecorators, childrenContexts);
+    }
+  }
 }
@@ -20,42 +20,160 @@
 package org.sonar.batch.phases;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.sonar.api.batch.BatchSide;
 import org.sonar.api.batch.Sensor;
 import org.sonar.api.batch.SensorContext;
+import org.sonar.api.config.Settings;
 import org.sonar.api.resources.Project;
 import org.sonar.batch.bootstrap.BatchExtensionDictionnary;
 import org.sonar.batch.events.EventBus;
+import org.sonar.batch.sensor.SensorWrapper;
+import org.sonar.batch.util.BatchUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @BatchSide
 public class SensorsExecutor {
 
+  /**
+   * Number of threads used to execute sensors. Default is 1, so sensors are executed sequentially. Zero means
+   * one thread per processor. Only the sensors of the new API that are not declared as exclusive are executed
+   * concurrently, see {@link org.sonar.api.batch.sensor.SensorDescriptor#exclusive()}.
+   */
+  public static final String THREADS_PROPERTY = "sonar.sensors.threads";
+
   private EventBus eventBus;
   private Project module;
   private BatchExtensionDictionnary selector;
+  private Settings settings;
 
-  public SensorsExecutor(BatchExtensionDictionnary selector, Project project, EventBus eventBus) {
+  public SensorsExecutor(BatchExtensionDictionnary selector, Project project, EventBus eventBus, Settings settings) {
     this.selector = selector;
     this.eventBus = eventBus;
     this.module = project;
+    this.settings = settings;
   }
 
   public void execute(SensorContext context) {
     Collection<Sensor> sensors = selector.select(Sensor.class, module, true, null);
     eventBus.fireEvent(new SensorsPhaseEvent(Lists.newArrayList(sensors), true));
 
-    for (Sensor sensor : sensors) {
-      executeSensor(context, sensor);
+    int threads = getThreads(settings);
+    if (threads > 1 && sensors.size() > 1) {
+      executeConcurrently(context, sensors, threads);
+    } else {
+      for (Sensor sensor : sensors) {
+        executeSensor(context, sensor);
+      }
     }
 
     eventBus.fireEvent(new SensorsPhaseEvent(Lists.newArrayList(sensors), false));
   }
 
+  /**
+   * Sensors are split in groups of consecutive non-exclusive sensors, separated by exclusive sensors. Exclusive sensors
+   * are executed alone in the current thread. The sensors of a group are executed in the pool of threads as soon as
+   * the sensors they depend on are executed.
+   */
+  private void executeConcurrently(SensorContext context, Collection<Sensor> sensors, int threads) {
+    Map<Sensor, Set<Sensor>> dependencies = selector.getExecutionDependencies(sensors);
+    Set<Sensor> executed = new HashSet<>();
+    ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("sensor-%d").setDaemon(true).build());
+    try {
+      List<Sensor> group = new ArrayList<>();
+      for (Sensor sensor : sensors) {
+        if (isExclusive(sensor)) {
+          executeGroup(executorService, context, group, dependencies, executed);
+          group.clear();
+          executeSensor(context, sensor);
+          executed.add(sensor);
+        } else {
+          group.add(sensor);
+        }
+      }
+      executeGroup(executorService, context, group, dependencies, executed);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private void executeGroup(ExecutorService executorService, final SensorContext context, List<Sensor> group, Map<Sensor, Set<Sensor>> dependencies,
+    Set<Sensor> executed) {
+    if (group.size() == 1) {
+      executeSensor(context, group.get(0));
+      executed.add(group.get(0));
+      return;
+    }
+    CompletionService<Sensor> completionService = new ExecutorCompletionService<>(executorService);
+    List<Sensor> pending = new ArrayList<>(group);
+    int running = 0;
+    while (!pending.isEmpty() || running > 0) {
+      for (Iterator<Sensor> it = pending.iterator(); it.hasNext();) {
+        final Sensor sensor = it.next();
+        if (executed.containsAll(dependencies.get(sensor))) {
+          it.remove();
+          completionService.submit(new Callable<Sensor>() {
+            @Override
+            public Sensor call() {
+              executeSensor(context, sensor);
+              return sensor;
+            }
+          });
+          running++;
+        }
+      }
+      executed.add(waitForSensor(completionService));
+      running--;
+    }
+  }
+
+  private static Sensor waitForSensor(CompletionService<Sensor> completionService) {
+    try {
+      Future<Sensor> future = completionService.take();
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while executing sensors", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("Fail to execute sensor", cause);
+    }
+  }
+
+  /**
+   * Sensors of the deprecated API share the {@link SensorContext} and the index of resources, which are not thread-safe.
+   */
+  private static boolean isExclusive(Sensor sensor) {
+    return !(sensor instanceof SensorWrapper) || ((SensorWrapper) sensor).descriptor().isExclusive();
+  }
+
   private void executeSensor(SensorContext context, Sensor sensor) {
     eventBus.fireEvent(new SensorExecutionEvent(sensor, true));
     sensor.analyse(module, context);
     eventBus.fireEvent(new SensorExecutionEvent(sensor, false));
   }
+
+  static int getThreads(Settings settings) {
+    return BatchUtils.getThreads(settings, THREADS_PROPERTY, 1);
+  }
 }
@@ -155,7 +155,7 @@ public class PhasesSumUpTimeProfiler implements ProjectAnalysisHandler, SensorEx
   }
 
   @Override
-  public void onSensorExecution(SensorExecutionEvent event) {
+  public synchronized void onSensorExecution(SensorExecutionEvent event) {
     PhaseProfiling profiling = currentModuleProfiling.getProfilingPerPhase(Phase.SENSOR);
     if (event.isStart()) {
       profiling.newItemProfiling(event.getSensor());
@@ -184,7 +184,7 @@ public class PhasesSumUpTimeProfiler implements ProjectAnalysisHandler, SensorEx
   }
 
   @Override
-  public void onDecoratorExecution(DecoratorExecutionEvent event) {
+  public synchronized void onDecoratorExecution(DecoratorExecutionEvent event) {
     PhaseProfiling profiling = currentModuleProfiling.getProfilingPerPhase(Phase.DECORATOR);
     if (event.isStart()) {
       if (profiling.getProfilingPerItem(event.getDecorator()) == null) {
@@ -259,29 +259,34 @@ public class PhasesSumUpTimeProfiler implements ProjectAnalysisHandler, SensorEx
   class DecoratorsProfiler {
     private List<Decorator> decorators = Lists.newArrayList();
     private Map<Decorator, Long> durations = new IdentityHashMap<>();
-    private long startTime;
-    private Decorator currentDecorator;
+    // decorators can be executed concurrently on different resources
+    private ThreadLocal<Long> startTime = new ThreadLocal<>();
+    private ThreadLocal<Decorator> currentDecorator = new ThreadLocal<>();
 
     DecoratorsProfiler() {
     }
 
     void start(Decorator decorator) {
-      this.startTime = system.now();
-      this.currentDecorator = decorator;
+      this.startTime.set(system.now());
+      this.currentDecorator.set(decorator);
     }
 
     void stop() {
-      final Long cumulatedDuration;
-      if (durations.containsKey(currentDecorator)) {
-        cumulatedDuration = durations.get(currentDecorator);
-      } else {
-        decorators.add(currentDecorator);
-        cumulatedDuration = 0L;
+      long duration = system.now() - startTime.get();
+      Decorator decorator = currentDecorator.get();
+      synchronized (this) {
+        final Long cumulatedDuration;
+        if (durations.containsKey(decorator)) {
+          cumulatedDuration = durations.get(decorator);
+        } else {
+          decorators.add(decorator);
+          cumulatedDuration = 0L;
+        }
+        durations.put(decorator, cumulatedDuration + duration);
       }
-      durations.put(currentDecorator, cumulatedDuration + (system.now() - startTime));
     }
 
-    public Map<Decorator, Long> getDurations() {
+    public synchronized Map<Decorator, Long> getDurations() {
       return durations;
     }
 
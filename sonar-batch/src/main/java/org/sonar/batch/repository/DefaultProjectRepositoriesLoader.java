@@ -19,12 +19,20 @@
  */
 package org.sonar.batch.repository;
 
+import com.google.common.io.InputSupplier;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.bootstrap.ProjectReactor;
+import org.sonar.api.utils.HttpDownloader;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
 import org.sonar.batch.bootstrap.AnalysisProperties;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.batch.protocol.input.FileData;
 import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.batch.rule.ModuleQProfiles;
 
@@ -33,6 +41,7 @@ public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoad
   private static final Logger LOG = LoggerFactory.getLogger(DefaultProjectRepositoriesLoader.class);
 
   private static final String BATCH_PROJECT_URL = "/batch/project";
+  private static final String BATCH_PROJECT_FILES_URL = "/batch/project_files";
 
   private final ServerClient serverClient;
   private final DefaultAnalysisMode analysisMode;
@@ -51,8 +60,47 @@ public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoad
         + "' is deprecated and will be dropped in a future SonarQube version. Please configure quality profile used by your project on SonarQube server.");
       url += "&profile=" + ServerClient.encodeForUrl(taskProperties.properties().get(ModuleQProfiles.SONAR_PROFILE_PROP));
     }
-    url += "&preview=" + analysisMode.isPreview();
-    return ProjectRepositories.fromJson(serverClient.request(url));
+    url += "&preview=" + analysisMode.isPreview() + "&format=protobuf";
+    ProjectRepositories ref = read(url);
+    if (ref.lastAnalysisDate() != null) {
+      // file data are loaded only when the module is analyzed
+      ref.setFileDataLoader(new ServerFileDataLoader());
+    }
+    return ref;
+  }
+
+  private ProjectRepositories read(String url) {
+    try (InputStream input = request(url).getInput()) {
+      return ProjectRepositories.readFrom(input);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load project repositories", e);
+    }
+  }
+
+  private InputSupplier<InputStream> request(String url) {
+    try {
+      return serverClient.doRequest(url, "GET", null);
+    } catch (HttpDownloader.HttpException e) {
+      throw serverClient.handleHttpException(e);
+    }
+  }
+
+  private class ServerFileDataLoader implements ProjectRepositories.FileDataLoader {
+    @Override
+    public Map<String, FileData> load(String moduleKey) {
+      String url = BATCH_PROJECT_FILES_URL + "?key=" + ServerClient.encodeForUrl(moduleKey) + "&preview=" + analysisMode.isPreview();
+      Map<String, FileData> fileDataByPath = new HashMap<>();
+      try (InputStream input = request(url).getInput()) {
+        BatchInput.FileDataItem item = BatchInput.FileDataItem.parseDelimitedFrom(input);
+        while (item != null) {
+          fileDataByPath.put(item.getPath(), new FileData(item.hasHash() ? item.getHash() : null, item.getNeedBlame()));
+          item = BatchInput.FileDataItem.parseDelimitedFrom(input);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to load file data of module " + moduleKey, e);
+      }
+      return fileDataByPath;
+    }
   }
 
 }
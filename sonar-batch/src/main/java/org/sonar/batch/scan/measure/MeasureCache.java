@@ -32,7 +32,8 @@ import org.sonar.batch.index.Cache.Entry;
 import org.sonar.batch.index.Caches;
 
 /**
- * Cache of all measures. This cache is shared amongst all project modules.
+ * Cache of all measures. This cache is shared amongst all project modules and supports concurrent
+ * accesses, as resources can be decorated in parallel.
  */
 @BatchSide
 public class MeasureCache {
@@ -20,6 +20,7 @@
 package org.sonar.batch.util;
 
 import org.apache.commons.lang.StringUtils;
+import org.sonar.api.config.Settings;
 
 public class BatchUtils {
 
@@ -34,4 +35,24 @@ public class BatchUtils {
     String cleanKey = StringUtils.deleteWhitespace(projectKey);
     return StringUtils.replace(cleanKey, ":", "_");
   }
+
+  /**
+   * Number of threads defined by a setting. Zero means one thread per processor.
+   *
+   * @param defaultThreads the number of threads when the setting is not set
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public static int getThreads(Settings settings, String key, int defaultThreads) {
+    if (!settings.hasKey(key)) {
+      return defaultThreads;
+    }
+    int threads = settings.getInt(key);
+    if (threads < 0) {
+      throw new IllegalArgumentException(String.format("Bad value of %s: %d", key, threads));
+    }
+    if (threads == 0) {
+      threads = Runtime.getRuntime().availableProcessors();
+    }
+    return threads;
+  }
 }
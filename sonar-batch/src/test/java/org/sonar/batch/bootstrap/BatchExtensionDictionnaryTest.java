@@ -32,15 +32,19 @@ import org.sonar.api.batch.PostJob;
 import org.sonar.api.batch.Sensor;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.batch.postjob.PostJobContext;
+import org.sonar.api.batch.sensor.SensorDescriptor;
 import org.sonar.api.resources.Project;
 import org.sonar.batch.postjob.PostJobOptimizer;
 import org.sonar.batch.sensor.DefaultSensorContext;
 import org.sonar.batch.sensor.SensorOptimizer;
+import org.sonar.batch.sensor.SensorWrapper;
 import org.sonar.core.platform.ComponentContainer;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -317,6 +321,48 @@ public class BatchExtensionDictionnaryTest {
     assertThat(extensions.get(2)).isEqualTo(checker);
   }
 
+  @Test
+  public void executionDependenciesOfNewSensors() {
+    SensorWrapper producer = newSensorWrapper("producer", new String[0], new String[] {"foo"});
+    SensorWrapper consumer = newSensorWrapper("consumer", new String[] {"foo"}, new String[0]);
+    SensorWrapper other = newSensorWrapper("other", new String[0], new String[0]);
+
+    BatchExtensionDictionnary selector = newSelector();
+    Map<SensorWrapper, Set<SensorWrapper>> dependencies = selector.getExecutionDependencies(Arrays.asList(consumer, other, producer));
+
+    assertThat(dependencies.get(consumer)).containsOnly(producer);
+    assertThat(dependencies.get(producer)).isEmpty();
+    assertThat(dependencies.get(other)).isEmpty();
+  }
+
+  @Test
+  public void executionDependenciesAreTransitive() {
+    BatchExtension a = new MethodDependentOf(null);
+    BatchExtension b = new MethodDependentOf(a);
+    BatchExtension c = new MethodDependentOf(b);
+
+    BatchExtensionDictionnary selector = newSelector();
+    Map<BatchExtension, Set<BatchExtension>> dependencies = selector.getExecutionDependencies(Arrays.asList(c, a, b));
+
+    assertThat(dependencies.get(a)).isEmpty();
+    assertThat(dependencies.get(b)).containsOnly(a);
+    assertThat(dependencies.get(c)).containsOnly(a, b);
+  }
+
+  private static SensorWrapper newSensorWrapper(final String name, final String[] dependsUpon, final String[] dependedUpon) {
+    org.sonar.api.batch.sensor.Sensor sensor = new org.sonar.api.batch.sensor.Sensor() {
+      @Override
+      public void describe(SensorDescriptor descriptor) {
+        descriptor.name(name).dependsUpon(dependsUpon).dependedUpon(dependedUpon);
+      }
+
+      @Override
+      public void execute(org.sonar.api.batch.sensor.SensorContext context) {
+      }
+    };
+    return new SensorWrapper(sensor, mock(org.sonar.api.batch.sensor.SensorContext.class), mock(SensorOptimizer.class));
+  }
+
   class FakeSensor implements Sensor {
 
     public void analyse(Project project, SensorContext context) {
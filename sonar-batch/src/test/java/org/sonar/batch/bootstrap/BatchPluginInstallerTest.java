@@ -23,17 +23,22 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.sonar.api.utils.System2;
 import org.sonar.core.plugins.RemotePlugin;
 import org.sonar.home.cache.FileCache;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class BatchPluginInstallerTest {
@@ -46,13 +51,15 @@ public class BatchPluginInstallerTest {
 
   FileCache fileCache = mock(FileCache.class);
   BatchPluginPredicate pluginPredicate = mock(BatchPluginPredicate.class);
+  Map<String, String> properties = new HashMap<>();
+  System2 system = mock(System2.class);
 
   @Test
   public void listRemotePlugins() {
 
     ServerClient server = mock(ServerClient.class);
     when(server.request("/deploy/plugins/index.txt")).thenReturn("checkstyle,false\nsqale,false");
-    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate);
+    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system);
 
     List<RemotePlugin> remotePlugins = installer.listRemotePlugins();
     assertThat(remotePlugins).extracting("key").containsOnly("checkstyle", "sqale");
@@ -64,7 +71,7 @@ public class BatchPluginInstallerTest {
     when(fileCache.get(eq("checkstyle-plugin.jar"), eq("fakemd5_1"), any(FileCache.Downloader.class))).thenReturn(pluginJar);
 
     ServerClient server = mock(ServerClient.class);
-    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate);
+    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system);
 
     RemotePlugin remote = new RemotePlugin("checkstyle", true).setFile("checkstyle-plugin.jar", "fakemd5_1");
     File file = installer.download(remote);
@@ -79,6 +86,65 @@ public class BatchPluginInstallerTest {
     ServerClient server = mock(ServerClient.class);
     doThrow(new IllegalStateException()).when(server).request("/deploy/plugins/index.txt");
 
-    new BatchPluginInstaller(server, fileCache, pluginPredicate).installRemotes();
+    new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system).installRemotes();
+  }
+
+  @Test
+  public void use_plugins_index_of_user_cache() throws Exception {
+    properties.put(BatchPluginInstaller.INDEX_TTL_PROPERTY, "60");
+    File cacheDir = temp.newFolder();
+    when(fileCache.getDir()).thenReturn(cacheDir);
+    when(fileCache.get("checkstyle-plugin.jar", "fakemd5_1")).thenReturn(temp.newFile());
+    when(pluginPredicate.apply("checkstyle")).thenReturn(true);
+    ServerClient server = mock(ServerClient.class);
+    when(server.getURL()).thenReturn("http://localhost:9000");
+    when(server.request("/deploy/plugins/index.txt")).thenReturn("checkstyle,true,checkstyle-plugin.jar|fakemd5_1");
+    when(system.now()).thenReturn(System.currentTimeMillis());
+
+    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system);
+    assertThat(installer.listRemotePlugins()).extracting("key").containsOnly("checkstyle");
+    assertThat(installer.listRemotePlugins()).extracting("key").containsOnly("checkstyle");
+    verify(server, times(1)).request("/deploy/plugins/index.txt");
+
+    // index has expired
+    when(system.now()).thenReturn(System.currentTimeMillis() + 61_000L);
+    installer.listRemotePlugins();
+    verify(server, times(2)).request("/deploy/plugins/index.txt");
+  }
+
+  @Test
+  public void request_server_if_plugins_of_index_are_not_in_user_cache() throws Exception {
+    properties.put(BatchPluginInstaller.INDEX_TTL_PROPERTY, "60");
+    when(fileCache.getDir()).thenReturn(temp.newFolder());
+    when(pluginPredicate.apply("checkstyle")).thenReturn(true);
+    ServerClient server = mock(ServerClient.class);
+    when(server.getURL()).thenReturn("http://localhost:9000");
+    when(server.request("/deploy/plugins/index.txt")).thenReturn("checkstyle,true,checkstyle-plugin.jar|fakemd5_1");
+    when(system.now()).thenReturn(System.currentTimeMillis());
+
+    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system);
+    installer.listRemotePlugins();
+    installer.listRemotePlugins();
+    verify(server, times(2)).request("/deploy/plugins/index.txt");
+  }
+
+  @Test
+  public void plugins_index_is_not_cached_by_default() {
+    ServerClient server = mock(ServerClient.class);
+    when(server.request("/deploy/plugins/index.txt")).thenReturn("checkstyle,false");
+
+    BatchPluginInstaller installer = new BatchPluginInstaller(server, fileCache, pluginPredicate, new BootstrapProperties(properties), system);
+    installer.listRemotePlugins();
+    installer.listRemotePlugins();
+    verify(server, times(2)).request("/deploy/plugins/index.txt");
+  }
+
+  @Test
+  public void fail_if_negative_ttl() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("Bad value of sonar.plugins.indexTtlSeconds: -1");
+
+    properties.put(BatchPluginInstaller.INDEX_TTL_PROPERTY, "-1");
+    BatchPluginInstaller.getIndexTtlSeconds(new BootstrapProperties(properties));
   }
 }
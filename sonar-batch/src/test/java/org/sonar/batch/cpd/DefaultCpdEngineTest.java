@@ -102,6 +102,25 @@ public class DefaultCpdEngineTest {
     assertThat(engine.getMinimumTokens("php")).isEqualTo(33);
   }
 
+  @Test
+  public void defaultThreads() {
+    assertThat(CpdEngine.getThreads(settings)).isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void configuredThreads() {
+    settings.setProperty(CpdEngine.THREADS_PROPERTY, 3);
+
+    assertThat(CpdEngine.getThreads(settings)).isEqualTo(3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failIfNegativeThreads() {
+    settings.setProperty(CpdEngine.THREADS_PROPERTY, -1);
+
+    CpdEngine.getThreads(settings);
+  }
+
   private static Project newProject(String key) {
     return new Project(key).setAnalysisType(Project.AnalysisType.DYNAMIC);
   }
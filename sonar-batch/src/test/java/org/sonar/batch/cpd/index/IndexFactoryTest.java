@@ -20,15 +20,20 @@
 package org.sonar.batch.cpd.index;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.sonar.api.CoreProperties;
 import org.sonar.api.config.Settings;
 import org.sonar.api.database.DatabaseSession;
 import org.sonar.api.resources.Project;
+import org.sonar.api.utils.TempFolder;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.index.BatchComponentCache;
 import org.sonar.core.duplication.DuplicationDao;
+import org.sonar.duplications.index.OffHeapCloneIndex;
+import org.sonar.duplications.index.PackedMemoryCloneIndex;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -42,13 +47,19 @@ public class IndexFactoryTest {
   IndexFactory factory;
   Logger logger;
   private DefaultAnalysisMode analysisMode;
+  private TempFolder tempFolder;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
 
   @Before
-  public void setUp() {
+  public void setUp() throws Exception {
+    tempFolder = mock(TempFolder.class);
+    when(tempFolder.newDir()).thenReturn(temp.newFolder());
     project = new Project("foo");
     settings = new Settings();
     analysisMode = mock(DefaultAnalysisMode.class);
-    factory = new IndexFactory(analysisMode, settings, mock(DuplicationDao.class), mock(DatabaseSession.class), new BatchComponentCache());
+    factory = new IndexFactory(analysisMode, settings, mock(DuplicationDao.class), mock(DatabaseSession.class), new BatchComponentCache(), tempFolder);
     logger = mock(Logger.class);
   }
 
@@ -82,4 +93,15 @@ public class IndexFactoryTest {
     verify(logger).info("Cross-project analysis disabled");
   }
 
+
+  @Test
+  public void memory_index_is_on_heap_by_default() {
+    assertThat(factory.createMemoryIndex()).isInstanceOf(PackedMemoryCloneIndex.class);
+  }
+
+  @Test
+  public void memory_index_can_be_off_heap() {
+    settings.setProperty(IndexFactory.OFF_HEAP_INDEX_PROPERTY, "true");
+    assertThat(factory.createMemoryIndex()).isInstanceOf(OffHeapCloneIndex.class);
+  }
 }
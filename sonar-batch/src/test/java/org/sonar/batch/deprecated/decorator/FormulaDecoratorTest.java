@@ -27,8 +27,10 @@ import org.sonar.api.measures.FormulaContext;
 import org.sonar.api.measures.FormulaData;
 import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.Metric;
+import org.sonar.api.resources.File;
 import org.sonar.api.test.IsMeasure;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -88,6 +90,29 @@ public class FormulaDecoratorTest {
     verify(context, never()).saveMeasure(any(Measure.class));
   }
 
+  @Test
+  public void formula_context_is_not_shared_by_resources() {
+    final List<FormulaContext> formulaContexts = new ArrayList<>();
+    Metric fake = new Metric("fake").setFormula(new FakeFormula() {
+      @Override
+      public Measure calculate(FormulaData data, FormulaContext context) {
+        formulaContexts.add(context);
+        return null;
+      }
+    });
+    FormulaDecorator decorator = new FormulaDecorator(fake);
+    DecoratorContext context1 = mock(DecoratorContext.class);
+    when(context1.getResource()).thenReturn(File.create("src/Foo.java"));
+    DecoratorContext context2 = mock(DecoratorContext.class);
+    when(context2.getResource()).thenReturn(File.create("src/Bar.java"));
+
+    decorator.decorate(null, context1);
+    decorator.decorate(null, context2);
+
+    assertThat(formulaContexts.get(0).getResource().getKey()).isEqualTo("src/Foo.java");
+    assertThat(formulaContexts.get(1).getResource().getKey()).isEqualTo("src/Bar.java");
+  }
+
   class FakeFormula implements Formula {
 
     public List<Metric> dependsUponMetrics() {
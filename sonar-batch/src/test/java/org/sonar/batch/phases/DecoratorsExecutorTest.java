@@ -23,8 +23,12 @@ import org.junit.Test;
 import org.sonar.api.batch.AnalysisMode;
 import org.sonar.api.batch.Decorator;
 import org.sonar.api.batch.DecoratorContext;
+import org.sonar.api.batch.NotThreadSafe;
 import org.sonar.api.batch.SonarIndex;
+import org.sonar.api.config.Settings;
+import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.MetricFinder;
+import org.sonar.api.resources.Directory;
 import org.sonar.api.resources.File;
 import org.sonar.api.resources.Project;
 import org.sonar.api.resources.Resource;
@@ -35,11 +39,17 @@ import org.sonar.batch.events.EventBus;
 import org.sonar.batch.scan.measure.MeasureCache;
 import org.sonar.batch.sensor.coverage.CoverageExclusions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DecoratorsExecutorTest {
 
@@ -67,7 +77,7 @@ public class DecoratorsExecutorTest {
     doThrow(new SonarException()).when(decorator).decorate(any(Resource.class), any(DecoratorContext.class));
 
     DecoratorsExecutor executor = new DecoratorsExecutor(mock(BatchExtensionDictionnary.class), new Project("key"), mock(SonarIndex.class),
-      mock(EventBus.class), mock(CoverageExclusions.class), mock(MeasureCache.class), mock(MetricFinder.class), mock(AnalysisMode.class));
+      mock(EventBus.class), mock(CoverageExclusions.class), mock(MeasureCache.class), mock(MetricFinder.class), mock(AnalysisMode.class), new Settings());
     try {
       executor.executeDecorator(decorator, mock(DefaultDecoratorContext.class), File.create("src/org/foo/Bar.java", null, false));
       fail("Exception has not been thrown");
@@ -77,6 +87,104 @@ public class DecoratorsExecutorTest {
     }
   }
 
+  @Test
+  public void decorate_subtrees_concurrently() {
+    Project project = new Project("key");
+    Directory dir1 = Directory.create("src/dir1");
+    Directory dir2 = Directory.create("src/dir2");
+    File file1 = File.create("src/dir1/File1.java");
+    File file2 = File.create("src/dir1/File2.java");
+    File file3 = File.create("src/dir2/File3.java");
+    SonarIndex index = mock(SonarIndex.class);
+    when(index.getChildren(project)).thenReturn(Arrays.<Resource>asList(dir1, dir2));
+    when(index.getChildren(dir1)).thenReturn(Arrays.<Resource>asList(file1, file2));
+    when(index.getChildren(dir2)).thenReturn(Arrays.<Resource>asList(file3));
+    MeasureCache measureCache = mock(MeasureCache.class);
+    when(measureCache.byResource(any(Resource.class))).thenReturn(Collections.<Measure>emptyList());
+
+    RecordingDecorator recording = new RecordingDecorator();
+    NotThreadSafeDecorator notThreadSafe = new NotThreadSafeDecorator();
+    List<Decorator> decorators = Arrays.<Decorator>asList(recording, notThreadSafe);
+    BatchExtensionDictionnary dictionnary = mock(BatchExtensionDictionnary.class);
+    when(dictionnary.select(Decorator.class, project, false, null)).thenReturn(decorators);
+    when(dictionnary.sort(decorators)).thenReturn(decorators);
+    Settings settings = new Settings();
+    settings.setProperty(DecoratorsExecutor.THREADS_PROPERTY, 4);
+
+    DecoratorsExecutor executor = new DecoratorsExecutor(dictionnary, project, index, mock(EventBus.class), mock(CoverageExclusions.class), measureCache,
+      mock(MetricFinder.class), mock(AnalysisMode.class), settings);
+    executor.execute();
+
+    assertThat(recording.decorated).containsOnly(project, dir1, dir2, file1, file2, file3);
+    assertThat(recording.decorated).hasSize(6);
+    assertThat(recording.decorated.get(5)).isEqualTo(project);
+    assertThat(recording.decorated.indexOf(file1)).isLessThan(recording.decorated.indexOf(dir1));
+    assertThat(recording.decorated.indexOf(file2)).isLessThan(recording.decorated.indexOf(dir1));
+    assertThat(recording.decorated.indexOf(file3)).isLessThan(recording.decorated.indexOf(dir2));
+    assertThat(notThreadSafe.count).isEqualTo(6);
+    assertThat(notThreadSafe.maxConcurrentExecutions).isEqualTo(1);
+  }
+
+  @Test
+  public void number_of_threads() {
+    Settings settings = new Settings();
+    assertThat(DecoratorsExecutor.getThreads(settings)).isEqualTo(1);
+
+    settings.setProperty(DecoratorsExecutor.THREADS_PROPERTY, 3);
+    assertThat(DecoratorsExecutor.getThreads(settings)).isEqualTo(3);
+
+    settings.setProperty(DecoratorsExecutor.THREADS_PROPERTY, 0);
+    assertThat(DecoratorsExecutor.getThreads(settings)).isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void fail_if_negative_number_of_threads() {
+    Settings settings = new Settings();
+    settings.setProperty(DecoratorsExecutor.THREADS_PROPERTY, -1);
+    try {
+      DecoratorsExecutor.getThreads(settings);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of sonar.decorators.threads: -1");
+    }
+  }
+
+  static class RecordingDecorator implements Decorator {
+    List<Resource> decorated = Collections.synchronizedList(new ArrayList<Resource>());
+
+    public void decorate(Resource resource, DecoratorContext context) {
+      decorated.add(resource);
+    }
+
+    public boolean shouldExecuteOnProject(Project project) {
+      return true;
+    }
+  }
+
+  @NotThreadSafe
+  static class NotThreadSafeDecorator implements Decorator {
+    int count = 0;
+    int concurrentExecutions = 0;
+    int maxConcurrentExecutions = 0;
+
+    public void decorate(Resource resource, DecoratorContext context) {
+      // no synchronization, the executor must prevent concurrent calls
+      concurrentExecutions++;
+      maxConcurrentExecutions = Math.max(maxConcurrentExecutions, concurrentExecutions);
+      try {
+        Thread.sleep(5);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      count++;
+      concurrentExecutions--;
+    }
+
+    public boolean shouldExecuteOnProject(Project project) {
+      return true;
+    }
+  }
+
   static class Decorator1 implements Decorator {
     public void decorate(Resource resource, DecoratorContext context) {
     }
@@ -0,0 +1,211 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.phases;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.sonar.api.batch.Sensor;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.sensor.SensorDescriptor;
+import org.sonar.api.config.Settings;
+import org.sonar.api.resources.Project;
+import org.sonar.batch.bootstrap.BatchExtensionDictionnary;
+import org.sonar.batch.events.EventBus;
+import org.sonar.batch.sensor.SensorOptimizer;
+import org.sonar.batch.sensor.SensorWrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SensorsExecutorTest {
+
+  Project project = new Project("project");
+  BatchExtensionDictionnary selector = mock(BatchExtensionDictionnary.class);
+  SensorContext context = mock(SensorContext.class);
+  Settings settings = new Settings();
+  SensorsExecutor executor = new SensorsExecutor(selector, project, mock(EventBus.class), settings);
+
+  List<String> executions = Collections.synchronizedList(new ArrayList<String>());
+
+  @Test
+  public void execute_sensors_sequentially_by_default() {
+    Sensor sensor1 = mock(Sensor.class);
+    Sensor sensor2 = mock(Sensor.class);
+    when(selector.select(Sensor.class, project, true, null)).thenReturn(Arrays.asList(sensor1, sensor2));
+
+    executor.execute(context);
+
+    InOrder inOrder = inOrder(sensor1, sensor2);
+    inOrder.verify(sensor1).analyse(project, context);
+    inOrder.verify(sensor2).analyse(project, context);
+  }
+
+  @Test
+  public void execute_independent_sensors_concurrently() {
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, 2);
+    // each sensor waits for the other one to be started
+    final CountDownLatch latch = new CountDownLatch(2);
+    SensorWrapper a = newSensor("a", latch, false);
+    SensorWrapper b = newSensor("b", latch, false);
+    List<Sensor> sensors = Arrays.<Sensor>asList(a, b);
+    when(selector.select(Sensor.class, project, true, null)).thenReturn(sensors);
+    when(selector.getExecutionDependencies(sensors)).thenReturn(ImmutableMap.<Sensor, Set<Sensor>>of(a, ImmutableSet.<Sensor>of(), b, ImmutableSet.<Sensor>of()));
+
+    executor.execute(context);
+
+    assertThat(executions).hasSize(2);
+    Collections.sort(executions);
+    assertThat(executions.get(0)).startsWith("a sensor-").doesNotContain("timeout");
+    assertThat(executions.get(1)).startsWith("b sensor-").doesNotContain("timeout");
+  }
+
+  @Test
+  public void respect_dependencies_and_exclusive_sensors() {
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, 4);
+    SensorWrapper producer = newSensor("producer", null, false);
+    SensorWrapper consumer = newSensor("consumer", null, false);
+    SensorWrapper exclusive = newSensor("exclusive", null, true);
+    Sensor legacy = new Sensor() {
+      @Override
+      public void analyse(Project module, SensorContext context) {
+        executions.add("legacy " + Thread.currentThread().getName());
+      }
+
+      @Override
+      public boolean shouldExecuteOnProject(Project project) {
+        return true;
+      }
+    };
+    SensorWrapper last = newSensor("last", null, false);
+    List<Sensor> sensors = Arrays.<Sensor>asList(producer, consumer, exclusive, legacy, last);
+    when(selector.select(Sensor.class, project, true, null)).thenReturn(sensors);
+    Map<Sensor, Set<Sensor>> dependencies = ImmutableMap.<Sensor, Set<Sensor>>builder()
+      .put(producer, ImmutableSet.<Sensor>of())
+      .put(consumer, ImmutableSet.<Sensor>of(producer))
+      .put(exclusive, ImmutableSet.<Sensor>of())
+      .put(legacy, ImmutableSet.<Sensor>of())
+      .put(last, ImmutableSet.<Sensor>of())
+      .build();
+    when(selector.getExecutionDependencies(sensors)).thenReturn(dependencies);
+
+    executor.execute(context);
+
+    String caller = Thread.currentThread().getName();
+    assertThat(executions).hasSize(5);
+    assertThat(executions.get(0)).startsWith("producer sensor-");
+    assertThat(executions.get(1)).startsWith("consumer sensor-");
+    assertThat(executions.get(2)).isEqualTo("exclusive " + caller);
+    assertThat(executions.get(3)).isEqualTo("legacy " + caller);
+    // single sensor of its group
+    assertThat(executions.get(4)).isEqualTo("last " + caller);
+  }
+
+  @Test
+  public void propagate_failure_of_concurrent_sensor() {
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, 2);
+    SensorWrapper ok = newSensor("ok", null, false);
+    SensorWrapper ko = new SensorWrapper(new org.sonar.api.batch.sensor.Sensor() {
+      @Override
+      public void describe(SensorDescriptor descriptor) {
+        descriptor.name("ko");
+      }
+
+      @Override
+      public void execute(org.sonar.api.batch.sensor.SensorContext context) {
+        throw new IllegalStateException("Fail to analyse");
+      }
+    }, mock(org.sonar.api.batch.sensor.SensorContext.class), mock(SensorOptimizer.class));
+    List<Sensor> sensors = Arrays.<Sensor>asList(ok, ko);
+    when(selector.select(Sensor.class, project, true, null)).thenReturn(sensors);
+    when(selector.getExecutionDependencies(sensors)).thenReturn(ImmutableMap.<Sensor, Set<Sensor>>of(ok, ImmutableSet.<Sensor>of(), ko, ImmutableSet.<Sensor>of()));
+
+    try {
+      executor.execute(context);
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Fail to analyse");
+    }
+  }
+
+  @Test
+  public void number_of_threads() {
+    assertThat(SensorsExecutor.getThreads(settings)).isEqualTo(1);
+
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, 3);
+    assertThat(SensorsExecutor.getThreads(settings)).isEqualTo(3);
+
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, 0);
+    assertThat(SensorsExecutor.getThreads(settings)).isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void fail_if_negative_number_of_threads() {
+    settings.setProperty(SensorsExecutor.THREADS_PROPERTY, -1);
+    try {
+      SensorsExecutor.getThreads(settings);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of sonar.sensors.threads: -1");
+    }
+  }
+
+  private SensorWrapper newSensor(final String name, final CountDownLatch latch, final boolean exclusive) {
+    org.sonar.api.batch.sensor.Sensor sensor = new org.sonar.api.batch.sensor.Sensor() {
+      @Override
+      public void describe(SensorDescriptor descriptor) {
+        descriptor.name(name);
+        if (exclusive) {
+          descriptor.exclusive();
+        }
+      }
+
+      @Override
+      public void execute(org.sonar.api.batch.sensor.SensorContext context) {
+        String execution = name + " " + Thread.currentThread().getName();
+        if (latch != null) {
+          latch.countDown();
+          try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+              execution += " timeout";
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        executions.add(execution);
+      }
+    };
+    return new SensorWrapper(sensor, mock(org.sonar.api.batch.sensor.SensorContext.class), mock(SensorOptimizer.class));
+  }
+}
@@ -20,6 +20,11 @@
 package org.sonar.batch.repository;
 
 import com.google.common.collect.Maps;
+import com.google.common.io.InputSupplier;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Date;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.batch.bootstrap.ProjectDefinition;
@@ -27,11 +32,20 @@ import org.sonar.api.batch.bootstrap.ProjectReactor;
 import org.sonar.batch.bootstrap.AnalysisProperties;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.batch.protocol.input.FileData;
+import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.batch.rule.ModuleQProfiles;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,7 +63,7 @@ public class DefaultProjectRepositoriesLoaderTest {
     analysisMode = mock(DefaultAnalysisMode.class);
     loader = new DefaultProjectRepositoriesLoader(serverClient, analysisMode);
     loader = spy(loader);
-    when(serverClient.request(anyString())).thenReturn("{}");
+    when(serverClient.doRequest(anyString(), eq("GET"), isNull(Integer.class))).thenReturn(toInput(new byte[0]));
     taskProperties = new AnalysisProperties(Maps.<String, String>newHashMap(), "");
   }
 
@@ -58,18 +72,18 @@ public class DefaultProjectRepositoriesLoaderTest {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     when(analysisMode.isPreview()).thenReturn(false);
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=false");
+    verify(serverClient).doRequest("/batch/project?key=foo&preview=false&format=protobuf", "GET", null);
 
     when(analysisMode.isPreview()).thenReturn(true);
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=true");
+    verify(serverClient).doRequest("/batch/project?key=foo&preview=true&format=protobuf", "GET", null);
   }
 
   @Test
   public void passAndEncodeProjectKeyParameter() {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo bàr"));
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo+b%C3%A0r&preview=false");
+    verify(serverClient).doRequest("/batch/project?key=foo+b%C3%A0r&preview=false&format=protobuf", "GET", null);
   }
 
   @Test
@@ -77,7 +91,48 @@ public class DefaultProjectRepositoriesLoaderTest {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     taskProperties.properties().put(ModuleQProfiles.SONAR_PROFILE_PROP, "my-profile#2");
     loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&profile=my-profile%232&preview=false");
+    verify(serverClient).doRequest("/batch/project?key=foo&profile=my-profile%232&preview=false&format=protobuf", "GET", null);
+  }
+
+  @Test
+  public void load_file_data_by_module() throws Exception {
+    ProjectRepositories serverRef = new ProjectRepositories();
+    serverRef.setLastAnalysisDate(new Date());
+    ByteArrayOutputStream refOutput = new ByteArrayOutputStream();
+    serverRef.writeTo(refOutput);
+    when(serverClient.doRequest("/batch/project?key=foo&preview=false&format=protobuf", "GET", null)).thenReturn(toInput(refOutput.toByteArray()));
+
+    ByteArrayOutputStream filesOutput = new ByteArrayOutputStream();
+    BatchInput.FileDataItem.newBuilder().setPath("src/Foo.java").setHash("123").setNeedBlame(true).build().writeDelimitedTo(filesOutput);
+    when(serverClient.doRequest("/batch/project_files?key=foo-core&preview=false", "GET", null)).thenReturn(toInput(filesOutput.toByteArray()));
+
+    reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
+    ProjectRepositories ref = loader.load(reactor, taskProperties);
+    verify(serverClient, never()).doRequest(startsWith("/batch/project_files"), anyString(), isNull(Integer.class));
+
+    FileData fileData = ref.fileData("foo-core", "src/Foo.java");
+    assertThat(fileData.hash()).isEqualTo("123");
+    assertThat(fileData.needBlame()).isTrue();
+    assertThat(ref.fileData("foo-core", "src/Bar.java")).isNull();
+    verify(serverClient, times(1)).doRequest("/batch/project_files?key=foo-core&preview=false", "GET", null);
+  }
+
+  @Test
+  public void no_file_data_on_new_project() {
+    reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
+    ProjectRepositories ref = loader.load(reactor, taskProperties);
+
+    assertThat(ref.fileDataByPath("foo")).isEmpty();
+    verify(serverClient, never()).doRequest(startsWith("/batch/project_files"), anyString(), isNull(Integer.class));
+  }
+
+  private static InputSupplier<InputStream> toInput(final byte[] bytes) {
+    return new InputSupplier<InputStream>() {
+      @Override
+      public InputStream getInput() {
+        return new ByteArrayInputStream(bytes);
+      }
+    };
   }
 
 }
@@ -19,13 +19,13 @@
  */
 package org.sonar.batch.scan.filesystem;
 
-import com.google.common.collect.Lists;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 import org.sonar.api.CoreProperties;
+import org.sonar.api.batch.bootstrap.ProjectDefinition;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.config.Settings;
@@ -132,13 +132,16 @@ public class DefaultModuleFileSystemTest {
 
   @Test
   public void should_search_input_files() throws Exception {
-    DefaultModuleFileSystem fs = new DefaultModuleFileSystem(moduleInputFileCache,
+    File baseDir = temp.newFolder();
+    when(initializer.baseDir()).thenReturn(baseDir);
+    ModuleInputFileCache cache = new ModuleInputFileCache(ProjectDefinition.create().setKey("foo"), new InputPathCache());
+    DefaultModuleFileSystem fs = new DefaultModuleFileSystem(cache,
       new Project("foo"), settings, fileIndexer, initializer, componentIndexer);
 
-    File baseDir = temp.newFile();
-    InputFile mainInput = new DefaultInputFile("foo", "Main.java").setModuleBaseDir(baseDir.toPath()).setType(InputFile.Type.MAIN);
-    InputFile testInput = new DefaultInputFile("foo", "Test.java").setModuleBaseDir(baseDir.toPath()).setType(InputFile.Type.TEST);
-    when(moduleInputFileCache.inputFiles()).thenReturn(Lists.newArrayList(mainInput, testInput));
+    DefaultInputFile mainInput = new DefaultInputFile("foo", "Main.java").setType(InputFile.Type.MAIN);
+    DefaultInputFile testInput = new DefaultInputFile("foo", "Test.java").setType(InputFile.Type.TEST);
+    fs.add(mainInput);
+    fs.add(testInput);
 
     fs.index();
     Iterable<InputFile> inputFiles = fs.inputFiles(fs.predicates().hasType(InputFile.Type.MAIN));
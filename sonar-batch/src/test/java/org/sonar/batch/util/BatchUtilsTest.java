@@ -0,0 +1,67 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.util;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class BatchUtilsTest {
+
+  Settings settings = new Settings();
+
+  @Test
+  public void default_threads_if_not_set() {
+    assertThat(BatchUtils.getThreads(settings, "foo.threads", 1)).isEqualTo(1);
+    assertThat(BatchUtils.getThreads(settings, "foo.threads", 4)).isEqualTo(4);
+  }
+
+  @Test
+  public void configured_threads() {
+    settings.setProperty("foo.threads", 3);
+
+    assertThat(BatchUtils.getThreads(settings, "foo.threads", 1)).isEqualTo(3);
+  }
+
+  @Test
+  public void zero_means_one_thread_per_processor() {
+    settings.setProperty("foo.threads", 0);
+
+    assertThat(BatchUtils.getThreads(settings, "foo.threads", 1)).isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void fail_if_negative_threads() {
+    settings.setProperty("foo.threads", -1);
+    try {
+      BatchUtils.getThreads(settings, "foo.threads", 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Bad value of foo.threads: -1");
+    }
+  }
+
+  @Test
+  public void clean_key_for_filename() {
+    assertThat(BatchUtils.cleanKeyForFilename("my: project")).isEqualTo("my_project");
+  }
+}
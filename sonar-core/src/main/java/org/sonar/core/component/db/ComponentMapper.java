@@ -74,6 +74,11 @@ public interface ComponentMapper {
    */
   List<FilePathWithHashDto> selectEnabledFilesFromProject(@Param("projectUuid") String projectUuid);
 
+  /**
+   * Return the enabled files that are direct children of a given module, excluding the files of sub-modules
+   */
+  List<FilePathWithHashDto> selectEnabledModuleFiles(@Param("moduleUuid") String moduleUuid);
+
   /**
    * Return all descendant files from a given module uuid and scope
    */
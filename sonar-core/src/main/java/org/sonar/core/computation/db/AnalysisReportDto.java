@@ -120,6 +120,18 @@ public class AnalysisReportDto {
     return this;
   }
 
+  /**
+   * Latency between the submission of the report and the start of its processing, in milliseconds.
+   * Null if processing is not started yet.
+   */
+  @CheckForNull
+  public Long getWaitingTime() {
+    if (startedAt == null || createdAt == null) {
+      return null;
+    }
+    return startedAt - createdAt;
+  }
+
   public Long getCreatedAt() {
     return createdAt;
   }
@@ -26,7 +26,10 @@ import java.util.List;
 public interface AnalysisReportMapper {
   List<AnalysisReportDto> selectByProjectKey(String projectKey);
 
-  List<Long> selectAvailables(
+  /**
+   * Only the fields id and projectKey are loaded
+   */
+  List<AnalysisReportDto> selectAvailables(
     @Param("availableStatus") AnalysisReportDto.Status availableStatus,
     @Param("busyStatus") AnalysisReportDto.Status busyStatus);
 
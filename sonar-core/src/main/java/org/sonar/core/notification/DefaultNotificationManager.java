@@ -24,11 +24,17 @@ import com.google.common.base.Function;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import java.io.IOException;
 import java.io.InvalidClassException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +62,8 @@ public class DefaultNotificationManager implements NotificationManager {
 
   private boolean alreadyLoggedDeserializationIssue = false;
 
+  private final ThreadLocal<Map<String, Multimap<String, NotificationChannel>>> recipientsCache = new ThreadLocal<>();
+
   /**
    * Default constructor used by Pico
    */
@@ -102,13 +110,37 @@ public class DefaultNotificationManager implements NotificationManager {
     }
     notificationQueueDao.delete(notificationDtos);
 
-    return convertToNotification(notificationDtos);
+    return convertToNotification(notificationDtos.get(0));
+  }
+
+  /**
+   * Give the oldest notifications of the queue so that they can be processed. They are removed from the queue.
+   * Notifications which can't be deserialized are ignored.
+   *
+   * @return at most {@code batchSize} notifications, or an empty list if queue is empty
+   * @since 5.2
+   */
+  public List<Notification> getFromQueue(int batchSize) {
+    List<NotificationQueueDto> notificationDtos = notificationQueueDao.findOldest(batchSize);
+    if (notificationDtos.isEmpty()) {
+      return Collections.emptyList();
+    }
+    notificationQueueDao.delete(notificationDtos);
+
+    List<Notification> notifications = new ArrayList<>(notificationDtos.size());
+    for (NotificationQueueDto notificationDto : notificationDtos) {
+      Notification notification = convertToNotification(notificationDto);
+      if (notification != null) {
+        notifications.add(notification);
+      }
+    }
+    return notifications;
   }
 
-  private Notification convertToNotification(List<NotificationQueueDto> notifications) {
+  @CheckForNull
+  private Notification convertToNotification(NotificationQueueDto notification) {
     try {
-      // If batchSize is increased then we should return a list instead of a single element
-      return notifications.get(0).toNotification();
+      return notification.toNotification();
     } catch (InvalidClassException e) {
       // SONAR-4739
       if (!alreadyLoggedDeserializationIssue) {
@@ -124,6 +156,24 @@ public class DefaultNotificationManager implements NotificationManager {
     }
   }
 
+  /**
+   * Subscribers returned by {@link #findSubscribedRecipientsForDispatcher(NotificationDispatcher, Integer)} and
+   * {@link #findNotificationSubscribers(NotificationDispatcher, String)} are cached for the current thread, until
+   * {@link #stopRecipientsCache()} is called. Used when processing a batch of notifications.
+   *
+   * @since 5.2
+   */
+  public void startRecipientsCache() {
+    recipientsCache.set(new HashMap<String, Multimap<String, NotificationChannel>>());
+  }
+
+  /**
+   * @since 5.2
+   */
+  public void stopRecipientsCache() {
+    recipientsCache.remove();
+  }
+
   @VisibleForTesting
   void logDeserializationIssue() {
     LOG.warn("It is impossible to send pending notifications which existed prior to the upgrade of SonarQube. They will be ignored.");
@@ -139,6 +189,11 @@ public class DefaultNotificationManager implements NotificationManager {
   @Override
   public Multimap<String, NotificationChannel> findSubscribedRecipientsForDispatcher(NotificationDispatcher dispatcher, @Nullable Integer resourceId) {
     String dispatcherKey = dispatcher.getKey();
+    String cacheKey = "resource|" + dispatcherKey + "|" + resourceId;
+    Multimap<String, NotificationChannel> cached = getCachedRecipients(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
 
     SetMultimap<String, NotificationChannel> recipients = HashMultimap.create();
     for (NotificationChannel channel : notificationChannels) {
@@ -153,19 +208,41 @@ public class DefaultNotificationManager implements NotificationManager {
       }
     }
 
-    return recipients;
+    return cacheRecipients(cacheKey, recipients);
   }
 
   @Override
   public Multimap<String, NotificationChannel> findNotificationSubscribers(NotificationDispatcher dispatcher, @Nullable String componentKey) {
     String dispatcherKey = dispatcher.getKey();
+    String cacheKey = "component|" + dispatcherKey + "|" + componentKey;
+    Multimap<String, NotificationChannel> cached = getCachedRecipients(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
 
     SetMultimap<String, NotificationChannel> recipients = HashMultimap.create();
     for (NotificationChannel channel : notificationChannels) {
       addUsersToRecipientListForChannel(propertiesDao.findNotificationSubscribers(dispatcherKey, channel.getKey(), componentKey), recipients, channel);
     }
 
-    return recipients;
+    return cacheRecipients(cacheKey, recipients);
+  }
+
+  @CheckForNull
+  private Multimap<String, NotificationChannel> getCachedRecipients(String cacheKey) {
+    Map<String, Multimap<String, NotificationChannel>> cache = recipientsCache.get();
+    return cache == null ? null : cache.get(cacheKey);
+  }
+
+  private Multimap<String, NotificationChannel> cacheRecipients(String cacheKey, SetMultimap<String, NotificationChannel> recipients) {
+    Map<String, Multimap<String, NotificationChannel>> cache = recipientsCache.get();
+    if (cache == null) {
+      return recipients;
+    }
+    // cached recipients are shared by dispatchers, so they must not be modified
+    Multimap<String, NotificationChannel> unmodifiableRecipients = Multimaps.unmodifiableSetMultimap(recipients);
+    cache.put(cacheKey, unmodifiableRecipients);
+    return unmodifiableRecipients;
   }
 
   @VisibleForTesting
@@ -34,7 +34,7 @@ import org.sonar.api.server.ServerSide;
 @ServerSide
 public class DatabaseVersion {
 
-  public static final int LAST_VERSION = 917;
+  public static final int LAST_VERSION = 918;
 
   /**
    * List of all the tables.n
@@ -78,7 +78,6 @@ public class DatabaseVersion {
     "project_measures",
     "project_qprofiles",
     "properties",
-    "resource_index",
     "rules",
     "rules_parameters",
     "rules_profiles",
@@ -114,8 +114,6 @@ import org.sonar.core.qualityprofile.db.ActiveRuleParamDto;
 import org.sonar.core.qualityprofile.db.QualityProfileDto;
 import org.sonar.core.qualityprofile.db.QualityProfileMapper;
 import org.sonar.core.resource.ResourceDto;
-import org.sonar.core.resource.ResourceIndexDto;
-import org.sonar.core.resource.ResourceIndexerMapper;
 import org.sonar.core.resource.ResourceKeyUpdaterMapper;
 import org.sonar.core.resource.ResourceMapper;
 import org.sonar.core.rule.RuleDto;
@@ -205,7 +203,6 @@ public class MyBatis {
     loadAlias(conf, "QualityGateCondition", QualityGateConditionDto.class);
     loadAlias(conf, "ProjectQgateAssociation", ProjectQgateAssociationDto.class);
     loadAlias(conf, "Resource", ResourceDto.class);
-    loadAlias(conf, "ResourceIndex", ResourceIndexDto.class);
     loadAlias(conf, "Rule", RuleDto.class);
     loadAlias(conf, "RuleParam", RuleParamDto.class);
     loadAlias(conf, "Snapshot", SnapshotDto.class);
@@ -253,7 +250,7 @@ public class MyBatis {
       IssueMapper.class, IssueChangeMapper.class, IssueFilterMapper.class, IssueFilterFavouriteMapper.class,
       IsAliveMapper.class,
       LoadedTemplateMapper.class, MeasureFilterMapper.class, Migration44Mapper.class, PermissionTemplateMapper.class, PropertiesMapper.class, PurgeMapper.class,
-      ResourceKeyUpdaterMapper.class, ResourceIndexerMapper.class, RoleMapper.class, RuleMapper.class,
+      ResourceKeyUpdaterMapper.class, RoleMapper.class, RuleMapper.class,
       SchemaMigrationMapper.class, SemaphoreMapper.class, UserMapper.class, GroupMapper.class, UserGroupMapper.class, WidgetMapper.class, WidgetPropertyMapper.class,
       FileSourceMapper.class, ActionPlanMapper.class,
       ActionPlanStatsMapper.class,
@@ -34,7 +34,6 @@ import org.sonar.core.resource.ResourceDao;
 import org.sonar.core.resource.ResourceDto;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -203,7 +202,6 @@ public class PurgeDao implements DaoComponent {
 
   private void disableResource(IdUuidPair componentIdUuid, PurgeMapper mapper) {
     long componentId = componentIdUuid.getId();
-    mapper.deleteResourceIndex(Arrays.asList(componentId));
     mapper.setSnapshotIsLastToFalse(componentId);
     mapper.deleteFileSourcesByUuid(componentIdUuid.getUuid());
     mapper.disableResource(componentId);
@@ -59,8 +59,6 @@ public interface PurgeMapper {
 
   void resolveResourceIssuesNotAlreadyResolved(@Param("componentUuid") String componentUuid, @Param("dateAsLong") Long dateAsLong);
 
-  void deleteResourceIndex(@Param("resourceIds") List<Long> resourceIds);
-
   void deleteEvent(long eventId);
 
   void setSnapshotIsLastToFalse(long resourceId);
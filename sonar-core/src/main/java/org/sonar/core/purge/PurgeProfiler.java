@@ -31,11 +31,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+/**
+ * Durations of the purge commands, cumulated by table. The profiler is shared by all the threads
+ * of the server, so the measures are confined to the thread that executes the purge.
+ */
 public class PurgeProfiler {
 
-  private Map<String, Long> durations = new HashMap<>();
-  private long startTime;
-  private String currentTable;
+  private final ThreadLocal<State> state = new ThreadLocal<State>() {
+    @Override
+    protected State initialValue() {
+      return new State();
+    }
+  };
   private final Clock clock;
 
   public PurgeProfiler() {
@@ -48,26 +55,35 @@ public class PurgeProfiler {
   }
 
   public void reset() {
-    durations.clear();
+    state.get().durations.clear();
   }
 
   void start(String table) {
-    this.startTime = clock.now();
-    this.currentTable = table;
+    State current = state.get();
+    current.startTime = clock.now();
+    current.currentTable = table;
   }
 
   void stop() {
+    State current = state.get();
     final Long cumulatedDuration;
-    if (durations.containsKey(currentTable)) {
-      cumulatedDuration = durations.get(currentTable);
+    if (current.durations.containsKey(current.currentTable)) {
+      cumulatedDuration = current.durations.get(current.currentTable);
     } else {
       cumulatedDuration = 0L;
     }
-    durations.put(currentTable, cumulatedDuration + (clock.now() - startTime));
+    current.durations.put(current.currentTable, cumulatedDuration + (clock.now() - current.startTime));
+  }
+
+  /**
+   * Durations in milliseconds by table, measured in the current thread since last call to {@link #reset()}
+   */
+  public Map<String, Long> getDurations() {
+    return new HashMap<>(state.get().durations);
   }
 
   public void dump(long totalTime, Logger logger) {
-    List<Entry<String, Long>> data = new ArrayList<>(durations.entrySet());
+    List<Entry<String, Long>> data = new ArrayList<>(state.get().durations.entrySet());
     Collections.sort(data, new Comparator<Entry<String, Long>>() {
       @Override
       public int compare(Entry<String, Long> o1, Entry<String, Long> o2) {
@@ -96,6 +112,12 @@ public class PurgeProfiler {
     return result;
   }
 
+  private static class State {
+    private final Map<String, Long> durations = new HashMap<>();
+    private long startTime;
+    private String currentTable;
+  }
+
   static class Clock {
     public long now() {
       return System.currentTimeMillis();
@@ -123,6 +123,36 @@ public class AuthorizationDao implements DaoComponent {
     return session.selectList(sql, params);
   }
 
+  /**
+   * Checks the permission of a user on a single root project, without loading all the projects
+   * the user is authorized on.
+   */
+  public boolean isAuthorizedRootProjectKey(@Nullable Integer userId, String role, String projectKey) {
+    return countAuthorizedRootProject(userId, role, projectKey, null) > 0;
+  }
+
+  /**
+   * Same as {@link #isAuthorizedRootProjectKey(Integer, String, String)} but the project is identified by its uuid.
+   */
+  public boolean isAuthorizedRootProjectUuid(@Nullable Integer userId, String role, String projectUuid) {
+    return countAuthorizedRootProject(userId, role, null, projectUuid) > 0;
+  }
+
+  private int countAuthorizedRootProject(@Nullable Integer userId, String role, @Nullable String projectKey, @Nullable String projectUuid) {
+    SqlSession session = mybatis.openSession(false);
+    try {
+      Map<String, Object> params = newHashMap();
+      params.put(USER_ID_PARAM, userId);
+      params.put("role", role);
+      params.put("projectKey", projectKey);
+      params.put("projectUuid", projectUuid);
+      Integer count = session.selectOne("countAuthorizedRootProject", params);
+      return count == null ? 0 : count;
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
+
   public List<String> selectGlobalPermissions(@Nullable String userLogin) {
     SqlSession session = mybatis.openSession(false);
     try {
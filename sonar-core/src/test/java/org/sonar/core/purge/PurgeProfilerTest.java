@@ -23,6 +23,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.utils.log.Logger;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Matchers.contains;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -80,6 +82,26 @@ public class PurgeProfilerTest {
     verify(logger).info(contains("bar: 5ms"));
   }
 
+  @Test
+  public void durations_are_confined_to_current_thread() throws Exception {
+    profiler.start("foo");
+    clock.sleep(10);
+    profiler.stop();
+
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        profiler.start("bar");
+        clock.sleep(5);
+        profiler.stop();
+      }
+    };
+    thread.start();
+    thread.join();
+
+    assertThat(profiler.getDurations()).containsOnly(entry("foo", 10L));
+  }
+
   private class MockedClock extends org.sonar.core.purge.PurgeProfiler.Clock {
     private long now = 0;
 
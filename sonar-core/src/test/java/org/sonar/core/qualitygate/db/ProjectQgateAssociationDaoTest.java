@@ -66,7 +66,9 @@ public class ProjectQgateAssociationDaoTest extends AbstractDaoTestCase {
     result = dao.selectProjects(ProjectQgateAssociationQuery.builder().gateId("42").projectSearch("one").build(), 42L);
     assertThat(result).hasSize(1);
     result = dao.selectProjects(ProjectQgateAssociationQuery.builder().gateId("42").projectSearch("project").build(), 42L);
-    assertThat(result).hasSize(2);
+    assertThat(result).hasSize(5);
+    result = dao.selectProjects(ProjectQgateAssociationQuery.builder().gateId("42").projectSearch("ject t").build(), 42L);
+    assertThat(result).extracting("name").containsOnly("Project Two", "Project Three");
   }
 
   @Test
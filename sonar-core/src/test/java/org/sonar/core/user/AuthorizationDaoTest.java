@@ -260,6 +260,40 @@ public class AuthorizationDaoTest extends AbstractDaoTestCase {
     assertThat(rootProjectUuids).isEmpty();
   }
 
+  @Test
+  public void is_authorized_root_project_for_user() {
+    setupData("should_return_root_project_keys_for_user");
+
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "user", PROJECT)).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectUuid(USER, "user", "ABCD")).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "user", "pj-w-snapshot1")).isFalse();
+    assertThat(authorization.isAuthorizedRootProjectUuid(USER, "user", "BCDE")).isFalse();
+
+    // user does not have the role "admin"
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "admin", PROJECT)).isFalse();
+    assertThat(authorization.isAuthorizedRootProjectUuid(USER, "admin", "ABCD")).isFalse();
+  }
+
+  @Test
+  public void is_authorized_root_project_for_group() {
+    setupData("should_return_root_project_keys_for_group");
+
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "user", PROJECT)).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectUuid(USER, "user", "ABCD")).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "user", "pj-w-snapshot1")).isFalse();
+    assertThat(authorization.isAuthorizedRootProjectKey(USER, "admin", PROJECT)).isFalse();
+  }
+
+  @Test
+  public void is_authorized_root_project_for_anonymous() {
+    setupData("should_return_root_project_keys_for_anonymous");
+
+    assertThat(authorization.isAuthorizedRootProjectKey(null, "user", PROJECT)).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectUuid(null, "user", "ABCD")).isTrue();
+    assertThat(authorization.isAuthorizedRootProjectUuid(null, "user", "BCDE")).isFalse();
+    assertThat(authorization.isAuthorizedRootProjectKey(null, "admin", PROJECT)).isFalse();
+  }
+
   @Test
   public void should_return_user_global_permissions() {
     setupData("should_return_user_global_permissions");
@@ -0,0 +1,454 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.duplications.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+/**
+ * Provides an index which stores blocks outside of the Java heap.
+ * <p>
+ * Same principle as {@link PackedMemoryCloneIndex}: blocks are packed into flat arrays of ints, but these arrays
+ * are either direct buffers, or files mapped in memory when a directory is given. Identifiers of resources
+ * are interned, so that a block only references an int. Only one entry per resource is kept in heap.
+ * </p>
+ * <p>
+ * Note that direct buffers are limited by the JVM option -XX:MaxDirectMemorySize, which defaults to the maximum
+ * size of heap. Memory-mapped files are limited by available disk space and are paged by the operating system.
+ * </p>
+ * <p>
+ * Insertions are not thread-safe. Once all blocks are inserted, queries can be executed concurrently:
+ * the first query sorts the index under a lock, and following ones only read it.
+ * </p>
+ *
+ * @since 5.2
+ */
+public class OffHeapCloneIndex extends AbstractCloneIndex {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+  /**
+   * Resource, index in file, first line, last line, start unit and end unit.
+   */
+  private static final int BLOCK_INTS = 6;
+
+  private final int hashInts;
+
+  private final int blockInts;
+
+  @CheckForNull
+  private final File dir;
+
+  /**
+   * Indicates that index requires sorting to perform queries.
+   */
+  private volatile boolean sorted;
+
+  /**
+   * Current number of blocks in index.
+   */
+  private int size;
+
+  private int capacity;
+
+  private final Map<String, Integer> resourceIds = new HashMap<>();
+  private final List<String> resourceKeys = new ArrayList<>();
+
+  private Buffer blockData;
+
+  /**
+   * Positions of blocks sorted by resource. Allocated when index is sorted.
+   */
+  private Buffer resourceIdsIndex;
+
+  /**
+   * Blocks are stored in direct buffers.
+   */
+  public OffHeapCloneIndex() {
+    this(8, DEFAULT_INITIAL_CAPACITY, null);
+  }
+
+  /**
+   * @param hashBytes size of hash in bytes
+   * @param initialCapacity the initial capacity
+   * @param dir the directory of memory-mapped files, or null to use direct buffers
+   */
+  public OffHeapCloneIndex(int hashBytes, int initialCapacity, @Nullable File dir) {
+    this.sorted = false;
+    this.hashInts = hashBytes / 4;
+    this.blockInts = hashInts + BLOCK_INTS;
+    this.dir = dir;
+    this.size = 0;
+    this.capacity = initialCapacity;
+    this.blockData = allocate((long) initialCapacity * blockInts);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * <strong>Note that this implementation does not guarantee that blocks would be sorted by index.</strong>
+   * </p>
+   */
+  @Override
+  public Collection<Block> getByResourceId(String resourceId) {
+    ensureSorted();
+
+    Integer id = resourceIds.get(resourceId);
+    if (id == null) {
+      return Collections.emptyList();
+    }
+
+    IntBuffer data = blockData.ints;
+    IntBuffer positions = resourceIdsIndex.ints;
+    int index = binarySearchByResourceId(id);
+
+    List<Block> result = new ArrayList<>();
+    Block.Builder blockBuilder = Block.builder();
+    while (index < size && resourceIdAt(positions.get(index)) == id) {
+      int offset = positions.get(index) * blockInts;
+      int[] hash = new int[hashInts];
+      for (int j = 0; j < hashInts; j++) {
+        hash[j] = data.get(offset++);
+      }
+      // skip resource
+      offset++;
+      int indexInFile = data.get(offset++);
+      int firstLineNumber = data.get(offset++);
+      int lastLineNumber = data.get(offset++);
+      int startUnit = data.get(offset++);
+      int endUnit = data.get(offset);
+
+      Block block = blockBuilder
+        .setResourceId(resourceId)
+        .setBlockHash(new ByteArray(hash))
+        .setIndexInFile(indexInFile)
+        .setLines(firstLineNumber, lastLineNumber)
+        .setUnit(startUnit, endUnit)
+        .build();
+      result.add(block);
+
+      index++;
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<Block> getBySequenceHash(ByteArray sequenceHash) {
+    ensureSorted();
+
+    int[] hash = sequenceHash.toIntArray();
+    if (hash.length != hashInts) {
+      throw new IllegalArgumentException("Expected " + hashInts + " ints in hash, but got " + hash.length);
+    }
+
+    IntBuffer data = blockData.ints;
+    int index = binarySearchByHash(hash);
+
+    List<Block> result = new ArrayList<>();
+    Block.Builder blockBuilder = Block.builder();
+    while (index < size && compareHash(index, hash) == 0) {
+      int offset = index * blockInts + hashInts;
+      String resourceId = resourceKeys.get(data.get(offset++));
+      int indexInFile = data.get(offset++);
+      int firstLineNumber = data.get(offset++);
+      int lastLineNumber = data.get(offset++);
+      int startUnit = data.get(offset++);
+      int endUnit = data.get(offset);
+
+      Block block = blockBuilder
+        .setResourceId(resourceId)
+        .setBlockHash(sequenceHash)
+        .setIndexInFile(indexInFile)
+        .setLines(firstLineNumber, lastLineNumber)
+        .setUnit(startUnit, endUnit)
+        .build();
+      result.add(block);
+      index++;
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * <strong>Note that this implementation allows insertion of two blocks with same index for one resource.</strong>
+   * </p>
+   */
+  @Override
+  public void insert(Block block) {
+    sorted = false;
+    ensureCapacity();
+
+    int[] hash = block.getBlockHash().toIntArray();
+    if (hash.length != hashInts) {
+      throw new IllegalArgumentException("Expected " + hashInts + " ints in hash, but got " + hash.length);
+    }
+    IntBuffer data = blockData.ints;
+    int offset = size * blockInts;
+    for (int i = 0; i < hashInts; i++) {
+      data.put(offset++, hash[i]);
+    }
+    data.put(offset++, internResourceId(block.getResourceId()));
+    data.put(offset++, block.getIndexInFile());
+    data.put(offset++, block.getStartLine());
+    data.put(offset++, block.getEndLine());
+    data.put(offset++, block.getStartUnit());
+    data.put(offset, block.getEndUnit());
+
+    size++;
+  }
+
+  /**
+   * Releases the memory-mapped files. Index must not be used anymore.
+   */
+  public void close() {
+    blockData.release();
+    if (resourceIdsIndex != null) {
+      resourceIdsIndex.release();
+    }
+  }
+
+  private int internResourceId(String resourceId) {
+    Integer id = resourceIds.get(resourceId);
+    if (id == null) {
+      id = resourceKeys.size();
+      resourceIds.put(resourceId, id);
+      resourceKeys.add(resourceId);
+    }
+    return id;
+  }
+
+  private int resourceIdAt(int index) {
+    return blockData.ints.get(index * blockInts + hashInts);
+  }
+
+  /**
+   * Increases the capacity, if necessary.
+   */
+  private void ensureCapacity() {
+    if (size < capacity) {
+      return;
+    }
+    int newCapacity = (capacity * 3) / 2 + 1;
+    Buffer newBlockData = allocate((long) newCapacity * blockInts);
+    IntBuffer source = blockData.ints.duplicate();
+    source.position(0).limit(size * blockInts);
+    newBlockData.ints.duplicate().put(source);
+    blockData.release();
+    blockData = newBlockData;
+    capacity = newCapacity;
+  }
+
+  /**
+   * Performs sorting, if necessary.
+   */
+  private void ensureSorted() {
+    if (sorted) {
+      return;
+    }
+    synchronized (this) {
+      if (sorted) {
+        return;
+      }
+
+      DataUtils.sort(byBlockHash);
+      if (resourceIdsIndex != null) {
+        resourceIdsIndex.release();
+      }
+      resourceIdsIndex = allocate(Math.max(size, 1));
+      for (int i = 0; i < size; i++) {
+        resourceIdsIndex.ints.put(i, i);
+      }
+      DataUtils.sort(byResourceId);
+
+      sorted = true;
+    }
+  }
+
+  private int binarySearchByResourceId(int id) {
+    IntBuffer positions = resourceIdsIndex.ints;
+    int lower = 0;
+    int upper = size;
+    while (lower < upper) {
+      int mid = (lower + upper) >>> 1;
+      if (resourceIdAt(positions.get(mid)) < id) {
+        lower = mid + 1;
+      } else {
+        upper = mid;
+      }
+    }
+    return lower;
+  }
+
+  private int binarySearchByHash(int[] hash) {
+    int lower = 0;
+    int upper = size;
+    while (lower < upper) {
+      int mid = (lower + upper) >>> 1;
+      if (compareHash(mid, hash) < 0) {
+        lower = mid + 1;
+      } else {
+        upper = mid;
+      }
+    }
+    return lower;
+  }
+
+  private int compareHash(int index, int[] hash) {
+    IntBuffer data = blockData.ints;
+    int offset = index * blockInts;
+    for (int k = 0; k < hashInts; k++, offset++) {
+      int value = data.get(offset);
+      if (value < hash[k]) {
+        return -1;
+      }
+      if (value > hash[k]) {
+        return 1;
+      }
+    }
+    return 0;
+  }
+
+  private boolean isLessByHash(int i, int j) {
+    IntBuffer data = blockData.ints;
+    int i2 = i * blockInts;
+    int j2 = j * blockInts;
+    for (int k = 0; k < hashInts; k++, i2++, j2++) {
+      int x = data.get(i2);
+      int y = data.get(j2);
+      if (x < y) {
+        return true;
+      }
+      if (x > y) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private final DataUtils.Sortable byBlockHash = new DataUtils.Sortable() {
+    @Override
+    public void swap(int i, int j) {
+      IntBuffer data = blockData.ints;
+      i *= blockInts;
+      j *= blockInts;
+      for (int k = 0; k < blockInts; k++, i++, j++) {
+        int x = data.get(i);
+        data.put(i, data.get(j));
+        data.put(j, x);
+      }
+    }
+
+    @Override
+    public boolean isLess(int i, int j) {
+      return isLessByHash(i, j);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  };
+
+  private final DataUtils.Sortable byResourceId = new DataUtils.Sortable() {
+    @Override
+    public void swap(int i, int j) {
+      IntBuffer positions = resourceIdsIndex.ints;
+      int tmp = positions.get(i);
+      positions.put(i, positions.get(j));
+      positions.put(j, tmp);
+    }
+
+    @Override
+    public boolean isLess(int i, int j) {
+      IntBuffer positions = resourceIdsIndex.ints;
+      return resourceIdAt(positions.get(i)) < resourceIdAt(positions.get(j));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  };
+
+  private Buffer allocate(long length) {
+    long bytes = length * 4;
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Clone index is limited to " + (Integer.MAX_VALUE / 4 / blockInts) + " blocks");
+    }
+    if (dir == null) {
+      return new Buffer(ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()).asIntBuffer(), null);
+    }
+    try {
+      File file = File.createTempFile("clone-index", ".bin", dir);
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try {
+        FileChannel channel = randomAccessFile.getChannel();
+        // mapping stays valid after channel is closed
+        IntBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+        return new Buffer(mapped, file);
+      } finally {
+        randomAccessFile.close();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Fail to map clone index in directory " + dir, e);
+    }
+  }
+
+  private static class Buffer {
+    private final IntBuffer ints;
+    @CheckForNull
+    private final File file;
+
+    private Buffer(IntBuffer ints, @Nullable File file) {
+      this.ints = ints;
+      this.file = file;
+    }
+
+    /**
+     * The mapping itself is released when buffer is garbage collected. On some operating systems the file
+     * can't be deleted while mapped, so it's also deleted on exit.
+     */
+    private void release() {
+      if (file != null && !file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+}
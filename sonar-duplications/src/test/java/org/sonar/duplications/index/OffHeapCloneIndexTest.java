@@ -0,0 +1,169 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.duplications.index;
+
+import java.io.File;
+import java.util.Collection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class OffHeapCloneIndexTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void test_direct_buffers() {
+    verify(new OffHeapCloneIndex());
+  }
+
+  @Test
+  public void test_memory_mapped_files() throws Exception {
+    File dir = temp.newFolder();
+    OffHeapCloneIndex index = new OffHeapCloneIndex(8, 2, dir);
+    verify(index);
+    assertThat(dir.list().length > 0, is(true));
+
+    index.close();
+    assertThat(dir.list().length, is(0));
+  }
+
+  /**
+   * When: query by a hash value.
+   * Expected: all blocks should have same hash, which presented in the form of the same object.
+   */
+  @Test
+  public void should_construct_blocks_with_normalized_hash() {
+    CloneIndex index = new OffHeapCloneIndex();
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("c", 1));
+    ByteArray requestedHash = new ByteArray(1L);
+    Collection<Block> blocks = index.getBySequenceHash(requestedHash);
+    assertThat(blocks.size(), is(3));
+    for (Block block : blocks) {
+      assertThat(block.getBlockHash(), sameInstance(requestedHash));
+    }
+  }
+
+  /**
+   * Given: index with initial capacity 1.
+   * Expected: size and capacity should be increased after insertion of two blocks.
+   */
+  @Test
+  public void should_increase_capacity() {
+    CloneIndex index = new OffHeapCloneIndex(8, 1, null);
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("a", 2));
+    assertThat(index.getByResourceId("a").size(), is(2));
+  }
+
+  /**
+   * Given: blocks inserted after a query.
+   * Expected: index is sorted again before next query.
+   */
+  @Test
+  public void should_sort_again_after_insertion() {
+    CloneIndex index = new OffHeapCloneIndex();
+    index.insert(newBlock("b", 2));
+    assertThat(index.getByResourceId("a").size(), is(0));
+
+    index.insert(newBlock("a", 1));
+    assertThat(index.getByResourceId("a").size(), is(1));
+    assertThat(index.getBySequenceHash(new ByteArray(2L)).iterator().next().getResourceId(), is("b"));
+  }
+
+  @Test
+  public void should_restore_block_fields() {
+    CloneIndex index = new OffHeapCloneIndex();
+    index.insert(Block.builder()
+      .setResourceId("a")
+      .setBlockHash(new ByteArray(1L))
+      .setIndexInFile(3)
+      .setLines(4, 5)
+      .setUnit(6, 7)
+      .build());
+
+    Block block = index.getByResourceId("a").iterator().next();
+    assertThat(block.getBlockHash(), is(new ByteArray(1L)));
+    assertThat(block.getIndexInFile(), is(3));
+    assertThat(block.getStartLine(), is(4));
+    assertThat(block.getEndLine(), is(5));
+    assertThat(block.getStartUnit(), is(6));
+    assertThat(block.getEndUnit(), is(7));
+  }
+
+  /**
+   * Given: index, which accepts blocks with 4-byte hash.
+   * Expected: exception during insertion of block with 8-byte hash.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void attempt_to_insert_hash_of_incorrect_size() {
+    CloneIndex index = new OffHeapCloneIndex(4, 1, null);
+    index.insert(newBlock("a", 1));
+  }
+
+  /**
+   * Given: index, which accepts blocks with 4-byte hash.
+   * Expected: exception during search by 8-byte hash.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void attempt_to_find_hash_of_incorrect_size() {
+    CloneIndex index = new OffHeapCloneIndex(4, 1, null);
+    index.getBySequenceHash(new ByteArray(1L));
+  }
+
+  private static void verify(CloneIndex index) {
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("a", 2));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("c", 1));
+    index.insert(newBlock("d", 1));
+    index.insert(newBlock("e", 1));
+    index.insert(newBlock("e", 2));
+    index.insert(newBlock("e", 3));
+
+    assertThat(index.getBySequenceHash(new ByteArray(1L)).size(), is(5));
+    assertThat(index.getBySequenceHash(new ByteArray(2L)).size(), is(2));
+    assertThat(index.getBySequenceHash(new ByteArray(3L)).size(), is(1));
+    assertThat(index.getBySequenceHash(new ByteArray(4L)).size(), is(0));
+    assertThat(index.getByResourceId("a").size(), is(2));
+    assertThat(index.getByResourceId("b").size(), is(1));
+    assertThat(index.getByResourceId("e").size(), is(3));
+    assertThat(index.getByResourceId("does not exist").size(), is(0));
+  }
+
+  private static Block newBlock(String resourceId, long hash) {
+    return Block.builder()
+        .setResourceId(resourceId)
+        .setBlockHash(new ByteArray(hash))
+        .setIndexInFile(1)
+        .setLines(1, 2)
+        .build();
+  }
+
+}
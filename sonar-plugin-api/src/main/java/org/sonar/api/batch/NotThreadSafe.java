@@ -17,26 +17,22 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.api.batch;
 
-import java.io.File;
-import org.junit.Test;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
-public class BatchReportDirectoryHolderImplTest {
-
-  @Test(expected = IllegalStateException.class)
-  public void getDirectory_throws_ISE_if_holder_is_empty() {
-    new BatchReportDirectoryHolderImpl().getDirectory();
-  }
-
-  @Test
-  public void getDirectory_returns_File_set_with_setDirectory() {
-    File file = new File("");
-    BatchReportDirectoryHolderImpl holder = new BatchReportDirectoryHolderImpl();
-    holder.setDirectory(file);
-
-    assertThat(holder.getDirectory()).isSameAs(file);
-  }
+/**
+ * The presence of this annotation on a {@link Decorator} indicates that the decorator must not be executed
+ * concurrently on several resources. Decorators are by default executed in parallel on independent resources
+ * (for example sibling directories) when the property "sonar.decorators.threads" is greater than 1.
+ * Decorators annotated with {@link RequiresDB} are considered as not thread-safe too.
+ *
+ * @since 5.2
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface NotThreadSafe {
 }
@@ -33,6 +33,7 @@ public abstract class AbstractFilePredicate implements OptimizedFilePredicate {
 
   protected static final int DEFAULT_PRIORITY = 10;
   protected static final int USE_INDEX = 20;
+  protected static final int USE_ATTRIBUTE_INDEX = 15;
 
   @Override
   public Iterable<InputFile> filter(Iterable<InputFile> target) {
@@ -83,14 +83,29 @@ class AndPredicate extends AbstractFilePredicate {
     if (predicates.isEmpty()) {
       return index.inputFiles();
     }
-    // Optimization, use get on first predicate then filter with next predicates
+    // Optimization, use get on the predicate that returns the smallest set of files among the ones
+    // that use an index, then filter with other predicates
+    int selected = 0;
     Iterable<InputFile> result = predicates.get(0).get(index);
-    for (int i = 1; i < predicates.size(); i++) {
-      result = predicates.get(i).filter(result);
+    for (int i = 1; i < predicates.size() && predicates.get(i).priority() >= USE_ATTRIBUTE_INDEX; i++) {
+      Iterable<InputFile> files = predicates.get(i).get(index);
+      if (sizeOf(files) < sizeOf(result)) {
+        selected = i;
+        result = files;
+      }
+    }
+    for (int i = 0; i < predicates.size(); i++) {
+      if (i != selected) {
+        result = predicates.get(i).filter(result);
+      }
     }
     return result;
   }
 
+  private static int sizeOf(Iterable<InputFile> files) {
+    return files instanceof Collection ? ((Collection) files).size() : Integer.MAX_VALUE;
+  }
+
   @VisibleForTesting
   Collection<OptimizedFilePredicate> predicates() {
     return predicates;
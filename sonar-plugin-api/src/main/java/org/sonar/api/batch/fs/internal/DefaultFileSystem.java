@@ -37,11 +37,15 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -226,7 +230,16 @@ public class DefaultFileSystem implements FileSystem {
     // nothing to do by default
   }
 
+  /**
+   * Besides the lookup by relative path provided by implementations, files are indexed by language,
+   * type and status so that the related predicates do not have to iterate all the files. As a consequence
+   * these attributes must not be changed once the file is added.
+   */
   public abstract static class Cache implements Index {
+    private final Map<String, SortedMap<String, InputFile>> filesByLanguage = new HashMap<>();
+    private final Map<InputFile.Type, SortedMap<String, InputFile>> filesByType = new EnumMap<>(InputFile.Type.class);
+    private final Map<InputFile.Status, SortedMap<String, InputFile>> filesByStatus = new EnumMap<>(InputFile.Status.class);
+
     @Override
     public abstract Iterable<InputFile> inputFiles();
 
@@ -243,13 +256,59 @@ public class DefaultFileSystem implements FileSystem {
     protected abstract void doAdd(InputDir inputDir);
 
     final void add(InputFile inputFile) {
+      InputFile previous = inputFile(inputFile.relativePath());
+      if (previous != null) {
+        unindex(previous);
+      }
       doAdd(inputFile);
+      index(filesByLanguage, inputFile.language(), inputFile);
+      index(filesByType, inputFile.type(), inputFile);
+      index(filesByStatus, inputFile.status(), inputFile);
     }
 
     public void add(InputDir inputDir) {
       doAdd(inputDir);
     }
 
+    Collection<InputFile> inputFilesByLanguage(String language) {
+      return indexed(filesByLanguage, language);
+    }
+
+    Collection<InputFile> inputFilesByType(InputFile.Type type) {
+      return indexed(filesByType, type);
+    }
+
+    Collection<InputFile> inputFilesByStatus(InputFile.Status status) {
+      return indexed(filesByStatus, status);
+    }
+
+    private void unindex(InputFile inputFile) {
+      unindex(filesByLanguage, inputFile.language(), inputFile);
+      unindex(filesByType, inputFile.type(), inputFile);
+      unindex(filesByStatus, inputFile.status(), inputFile);
+    }
+
+    private static <K> void index(Map<K, SortedMap<String, InputFile>> index, @Nullable K key, InputFile inputFile) {
+      if (key != null) {
+        SortedMap<String, InputFile> files = index.get(key);
+        if (files == null) {
+          files = new TreeMap<>();
+          index.put(key, files);
+        }
+        files.put(inputFile.relativePath(), inputFile);
+      }
+    }
+
+    private static <K> void unindex(Map<K, SortedMap<String, InputFile>> index, @Nullable K key, InputFile inputFile) {
+      if (key != null && index.containsKey(key)) {
+        index.get(key).remove(inputFile.relativePath());
+      }
+    }
+
+    private static <K> Collection<InputFile> indexed(Map<K, SortedMap<String, InputFile>> index, K key) {
+      SortedMap<String, InputFile> files = index.get(key);
+      return files == null ? Collections.<InputFile>emptyList() : Collections.unmodifiableCollection(files.values());
+    }
   }
 
   /**
@@ -21,10 +21,13 @@ package org.sonar.api.batch.fs.internal;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.sonar.api.batch.fs.FilePredicate;
+import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @since 4.2
@@ -65,6 +68,26 @@ class OrPredicate extends AbstractFilePredicate {
     return false;
   }
 
+  @Override
+  public Iterable<InputFile> get(Index index) {
+    if (!(index instanceof DefaultFileSystem.Cache)) {
+      return super.get(index);
+    }
+    // Optimization, union of the files returned by the indexes when all the predicates use an index.
+    // Files are unique by relative path in cache.
+    Map<String, InputFile> result = new TreeMap<>();
+    for (FilePredicate predicate : predicates) {
+      OptimizedFilePredicate optimizedPredicate = OptimizedFilePredicateAdapter.create(predicate);
+      if (optimizedPredicate.priority() < USE_ATTRIBUTE_INDEX) {
+        return super.get(index);
+      }
+      for (InputFile inputFile : optimizedPredicate.get(index)) {
+        result.put(inputFile.relativePath(), inputFile);
+      }
+    }
+    return result.values();
+  }
+
   @VisibleForTesting
   Collection<FilePredicate> predicates() {
     return predicates;
@@ -36,6 +36,11 @@ public abstract class PathPattern {
 
   public abstract boolean match(InputFile inputFile, boolean caseSensitiveFileExtension);
 
+  /**
+   * Whether the pattern applies to the absolute path of files ("file:" prefix) instead of the path relative to module basedir
+   */
+  abstract boolean isAbsolute();
+
   public static PathPattern create(String s) {
     String trimmed = StringUtils.trim(s);
     if (StringUtils.startsWithIgnoreCase(trimmed, "file:")) {
@@ -75,6 +80,11 @@ public abstract class PathPattern {
       return pattern.match(path);
     }
 
+    @Override
+    boolean isAbsolute() {
+      return true;
+    }
+
     @Override
     public String toString() {
       return "file:" + pattern.toString();
@@ -107,6 +117,11 @@ public abstract class PathPattern {
       return path != null && pattern.match(path);
     }
 
+    @Override
+    boolean isAbsolute() {
+      return false;
+    }
+
     @Override
     public String toString() {
       return pattern.toString();
@@ -0,0 +1,87 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.api.batch.fs.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Set of {@link PathPattern} compiled together, so that a file is matched against all the patterns in a single
+ * pass over its path instead of one regular expression per pattern. Matching is the same as testing
+ * {@link PathPattern#match(InputFile)} on each pattern. This class is thread-safe.
+ *
+ * @since 5.2
+ */
+public class PathPatternSet {
+
+  private final PathPattern[] patterns;
+
+  @CheckForNull
+  private final WildcardPatternAutomaton relativePatterns;
+
+  @CheckForNull
+  private final WildcardPatternAutomaton absolutePatterns;
+
+  private PathPatternSet(PathPattern[] patterns) {
+    this.patterns = patterns;
+    List<String> relative = new ArrayList<>();
+    List<String> absolute = new ArrayList<>();
+    for (PathPattern pattern : patterns) {
+      if (pattern.isAbsolute()) {
+        absolute.add(pattern.pattern.toString());
+      } else {
+        relative.add(pattern.pattern.toString());
+      }
+    }
+    this.relativePatterns = relative.isEmpty() ? null : new WildcardPatternAutomaton(relative);
+    this.absolutePatterns = absolute.isEmpty() ? null : new WildcardPatternAutomaton(absolute);
+  }
+
+  public static PathPatternSet create(PathPattern[] patterns) {
+    return new PathPatternSet(patterns);
+  }
+
+  public static PathPatternSet create(String[] patterns) {
+    return new PathPatternSet(PathPattern.create(patterns));
+  }
+
+  public PathPattern[] patterns() {
+    return patterns;
+  }
+
+  public boolean isEmpty() {
+    return patterns.length == 0;
+  }
+
+  /**
+   * Returns true if the file matches at least one of the patterns
+   */
+  public boolean match(InputFile inputFile) {
+    if (relativePatterns != null) {
+      String relativePath = inputFile.relativePath();
+      if (relativePath != null && relativePatterns.match(relativePath)) {
+        return true;
+      }
+    }
+    return absolutePatterns != null && absolutePatterns.match(inputFile.absolutePath());
+  }
+}
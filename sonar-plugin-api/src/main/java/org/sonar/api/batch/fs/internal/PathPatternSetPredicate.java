@@ -17,20 +17,24 @@
  * along with this program; if not, write to the Free Software Foundation,
  * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
-package org.sonar.server.computation.batch;
+package org.sonar.api.batch.fs.internal;
 
-import java.io.File;
-import java.util.Objects;
+import org.sonar.api.batch.fs.InputFile;
 
-public class ImmutableBatchReportDirectoryHolder implements BatchReportDirectoryHolder {
-  private final File directory;
+/**
+ * @since 5.2
+ */
+class PathPatternSetPredicate extends AbstractFilePredicate {
+
+  private final PathPatternSet patterns;
 
-  public ImmutableBatchReportDirectoryHolder(File directory) {
-    this.directory = Objects.requireNonNull(directory);
+  PathPatternSetPredicate(PathPatternSet patterns) {
+    this.patterns = patterns;
   }
 
   @Override
-  public File getDirectory() {
-    return directory;
+  public boolean apply(InputFile f) {
+    return patterns.match(f);
   }
+
 }
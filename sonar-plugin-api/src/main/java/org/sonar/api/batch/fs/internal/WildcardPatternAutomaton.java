@@ -0,0 +1,316 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.api.batch.fs.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Set of Ant-style patterns compiled in a single non-deterministic automaton, which is a trie of the
+ * tokens of the patterns. A path is matched against all the patterns in a single pass over its characters.
+ * <p/>
+ * Matching is exactly the same as {@link org.sonar.api.utils.WildcardPattern#match(String)} with "/" as directory separator:
+ * <ul>
+ *   <li>? matches a single character excluding "/"</li>
+ *   <li>* matches zero or more characters excluding "/"</li>
+ *   <li>** followed by a slash matches zero or more directories</li>
+ *   <li>** not followed by a slash matches zero or more characters, including "/"</li>
+ *   <li>backslash is a directory separator, the leading slash of patterns and the leading and trailing slashes of paths are ignored</li>
+ * </ul>
+ * Instances are immutable, so they can be shared between threads.
+ */
+final class WildcardPatternAutomaton {
+
+  private static final int SEPARATOR = '/';
+
+  private enum Kind {
+    ROOT, LITERAL, ANY_CHAR, STAR, DEEP, DEEP_DIR
+  }
+
+  private final State[] states;
+  private final int[] initialStates;
+
+  WildcardPatternAutomaton(Collection<String> patterns) {
+    Node root = new Node(Kind.ROOT, 0);
+    for (String pattern : patterns) {
+      add(root, pattern);
+    }
+    List<Node> nodes = new ArrayList<>();
+    collect(root, nodes);
+    int nbStates = nodes.size();
+    for (Node node : nodes) {
+      if (node.kind == Kind.DEEP_DIR) {
+        node.loopId = nbStates;
+        nbStates++;
+      }
+    }
+    this.states = new State[nbStates];
+    for (Node node : nodes) {
+      states[node.id] = new State(node);
+      if (node.kind == Kind.DEEP_DIR) {
+        states[node.loopId] = State.newLoop(node.loopId, node.id);
+      }
+    }
+    for (Node node : nodes) {
+      states[node.id].closure = closure(node);
+    }
+    this.initialStates = states[root.id].closure;
+  }
+
+  boolean match(String value) {
+    String path = StringUtils.removeStart(value, "/");
+    path = StringUtils.removeEnd(path, "/");
+
+    BitSet current = new BitSet(states.length);
+    BitSet next = new BitSet(states.length);
+    set(current, initialStates);
+    int index = 0;
+    while (index < path.length()) {
+      if (current.isEmpty()) {
+        return false;
+      }
+      int c = path.codePointAt(index);
+      index += Character.charCount(c);
+      for (int id = current.nextSetBit(0); id >= 0; id = current.nextSetBit(id + 1)) {
+        states[id].step(c, next, states);
+      }
+      BitSet swap = current;
+      current = next;
+      next = swap;
+      next.clear();
+    }
+    for (int id = current.nextSetBit(0); id >= 0; id = current.nextSetBit(id + 1)) {
+      if (states[id].terminal) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same tokenization as the conversion of {@link org.sonar.api.utils.WildcardPattern} to regular expression
+   */
+  private static void add(Node root, String pattern) {
+    Node node = root;
+    int i = pattern.startsWith("/") || pattern.startsWith("\\") ? 1 : 0;
+    while (i < pattern.length()) {
+      char ch = pattern.charAt(i);
+      if (ch == '*') {
+        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+          if (i + 2 < pattern.length() && isSlash(pattern.charAt(i + 2))) {
+            node = node.child(Kind.DEEP_DIR, 0);
+            i += 3;
+          } else {
+            node = node.child(Kind.DEEP, 0);
+            i += 2;
+          }
+        } else {
+          node = node.child(Kind.STAR, 0);
+          i++;
+        }
+      } else if (ch == '?') {
+        node = node.child(Kind.ANY_CHAR, 0);
+        i++;
+      } else if (isSlash(ch)) {
+        node = node.child(Kind.LITERAL, SEPARATOR);
+        i++;
+      } else {
+        int codePoint = pattern.codePointAt(i);
+        node = node.child(Kind.LITERAL, codePoint);
+        i += Character.charCount(codePoint);
+      }
+    }
+    node.terminal = true;
+  }
+
+  private static boolean isSlash(char ch) {
+    return ch == '/' || ch == '\\';
+  }
+
+  /**
+   * Same as the regular expression "."
+   */
+  private static boolean isLineTerminator(int c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  private static void collect(Node node, List<Node> nodes) {
+    node.id = nodes.size();
+    nodes.add(node);
+    for (Node child : node.literalChildren.values()) {
+      collect(child, nodes);
+    }
+    for (Node child : node.wildcardChildren) {
+      if (child != null) {
+        collect(child, nodes);
+      }
+    }
+  }
+
+  /**
+   * States reached when entering the node without consuming characters: the node itself, then
+   * recursively the wildcards that can match an empty string.
+   */
+  private static int[] closure(Node node) {
+    BitSet ids = new BitSet();
+    addClosure(node, ids);
+    int[] result = new int[ids.cardinality()];
+    int index = 0;
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      result[index] = id;
+      index++;
+    }
+    return result;
+  }
+
+  private static void addClosure(Node node, BitSet ids) {
+    ids.set(node.id);
+    for (Node child : node.wildcardChildren) {
+      if (child != null && child.kind != Kind.ANY_CHAR) {
+        addClosure(child, ids);
+        if (child.kind == Kind.DEEP_DIR) {
+          ids.set(child.loopId);
+        }
+      }
+    }
+  }
+
+  private static void set(BitSet bitSet, int[] ids) {
+    for (int id : ids) {
+      bitSet.set(id);
+    }
+  }
+
+  /**
+   * Mutable node of the trie, used only during compilation
+   */
+  private static class Node {
+    private final Kind kind;
+    private final int codePoint;
+    private final TreeMap<Integer, Node> literalChildren = new TreeMap<>();
+    private final Node[] wildcardChildren = new Node[Kind.values().length];
+    private boolean terminal = false;
+    private int id;
+    private int loopId = -1;
+
+    Node(Kind kind, int codePoint) {
+      this.kind = kind;
+      this.codePoint = codePoint;
+    }
+
+    Node child(Kind childKind, int childCodePoint) {
+      Node child;
+      if (childKind == Kind.LITERAL) {
+        child = literalChildren.get(childCodePoint);
+        if (child == null) {
+          child = new Node(childKind, childCodePoint);
+          literalChildren.put(childCodePoint, child);
+        }
+      } else {
+        child = wildcardChildren[childKind.ordinal()];
+        if (child == null) {
+          child = new Node(childKind, childCodePoint);
+          wildcardChildren[childKind.ordinal()] = child;
+        }
+      }
+      return child;
+    }
+  }
+
+  /**
+   * Immutable state of the automaton. Each node of the trie is a state. Nodes of "**&#47;" have an additional
+   * state for the loop on the characters before the slash.
+   */
+  private static class State {
+    private final int id;
+    private final Kind kind;
+    private final boolean terminal;
+    private final boolean loop;
+    // sorted code points of the literal children, and ids of the related states
+    private final int[] literals;
+    private final int[] literalTargets;
+    private final int anyCharTarget;
+    // id of the state of "**&#47;" for the loop state, else -1
+    private final int loopTarget;
+    private int[] closure;
+
+    State(Node node) {
+      this.id = node.id;
+      this.kind = node.kind;
+      this.terminal = node.terminal;
+      this.loop = false;
+      this.literals = new int[node.literalChildren.size()];
+      this.literalTargets = new int[literals.length];
+      int index = 0;
+      for (Node child : node.literalChildren.values()) {
+        literals[index] = child.codePoint;
+        literalTargets[index] = child.id;
+        index++;
+      }
+      Node anyChar = node.wildcardChildren[Kind.ANY_CHAR.ordinal()];
+      this.anyCharTarget = anyChar == null ? -1 : anyChar.id;
+      this.loopTarget = -1;
+    }
+
+    private State(int id, int loopTarget) {
+      this.id = id;
+      this.kind = Kind.DEEP_DIR;
+      this.terminal = false;
+      this.loop = true;
+      this.literals = new int[0];
+      this.literalTargets = new int[0];
+      this.anyCharTarget = -1;
+      this.loopTarget = loopTarget;
+      this.closure = new int[] {id};
+    }
+
+    static State newLoop(int id, int deepDirId) {
+      return new State(id, deepDirId);
+    }
+
+    void step(int c, BitSet next, State[] states) {
+      if (loop) {
+        // (.*/)
+        if (!isLineTerminator(c)) {
+          next.set(id);
+        }
+        if (c == SEPARATOR) {
+          set(next, states[loopTarget].closure);
+        }
+        return;
+      }
+      if ((kind == Kind.STAR && c != SEPARATOR) || (kind == Kind.DEEP && !isLineTerminator(c))) {
+        set(next, closure);
+      }
+      int literalIndex = Arrays.binarySearch(literals, c);
+      if (literalIndex >= 0) {
+        set(next, states[literalTargets[literalIndex]].closure);
+      }
+      if (anyCharTarget >= 0 && c != SEPARATOR) {
+        set(next, states[anyCharTarget].closure);
+      }
+    }
+  }
+}
@@ -86,4 +86,25 @@ public interface SensorDescriptor {
    */
   SensorDescriptor disabledInPreview();
 
+  /**
+   * Artifacts, for example metric keys, that must be generated by other extensions before this {@link Sensor} is executed.
+   * Same as the annotation {@link org.sonar.api.batch.DependsUpon}.
+   * @since 5.2
+   */
+  SensorDescriptor dependsUpon(String... artifacts);
+
+  /**
+   * Artifacts, for example metric keys, generated by this {@link Sensor}. Extensions that depend upon them are
+   * executed after this {@link Sensor}. Same as the annotation {@link org.sonar.api.batch.DependedUpon}.
+   * @since 5.2
+   */
+  SensorDescriptor dependedUpon(String... artifacts);
+
+  /**
+   * By default sensors can be executed concurrently when the property "sonar.sensors.threads" is greater than 1.
+   * An exclusive {@link Sensor} is never executed in parallel of other sensors, for example because it is not thread-safe.
+   * @since 5.2
+   */
+  SensorDescriptor exclusive();
+
 }
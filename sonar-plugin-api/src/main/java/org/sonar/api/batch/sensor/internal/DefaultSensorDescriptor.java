@@ -35,6 +35,9 @@ public class DefaultSensorDescriptor implements SensorDescriptor {
   private String[] ruleRepositories = new String[0];
   private String[] properties = new String[0];
   private boolean disabledInPreview = false;
+  private String[] dependsUpon = new String[0];
+  private String[] dependedUpon = new String[0];
+  private boolean exclusive = false;
 
   public String name() {
     return name;
@@ -61,6 +64,18 @@ public class DefaultSensorDescriptor implements SensorDescriptor {
     return disabledInPreview;
   }
 
+  public Collection<String> dependsUpon() {
+    return Arrays.asList(dependsUpon);
+  }
+
+  public Collection<String> dependedUpon() {
+    return Arrays.asList(dependedUpon);
+  }
+
+  public boolean isExclusive() {
+    return exclusive;
+  }
+
   @Override
   public DefaultSensorDescriptor name(String name) {
     this.name = name;
@@ -112,4 +127,22 @@ public class DefaultSensorDescriptor implements SensorDescriptor {
     return this;
   }
 
+  @Override
+  public DefaultSensorDescriptor dependsUpon(String... artifacts) {
+    this.dependsUpon = artifacts;
+    return this;
+  }
+
+  @Override
+  public DefaultSensorDescriptor dependedUpon(String... artifacts) {
+    this.dependedUpon = artifacts;
+    return this;
+  }
+
+  @Override
+  public DefaultSensorDescriptor exclusive() {
+    this.exclusive = true;
+    return this;
+  }
+
 }
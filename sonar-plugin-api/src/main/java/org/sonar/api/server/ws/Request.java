@@ -116,6 +116,17 @@ public abstract class Request {
   @CheckForNull
   public abstract InputStream paramAsInputStream(String key);
 
+  /**
+   * Value of the HTTP header, for example "If-None-Match". Returns null if the header is not set,
+   * or if the implementation does not give access to headers (default behavior).
+   *
+   * @since 5.2
+   */
+  @CheckForNull
+  public String header(String name) {
+    return null;
+  }
+
   /**
    * @deprecated to be dropped in 4.4. Default values are declared in ws metadata
    */
@@ -256,7 +256,7 @@ public interface WebService extends Definable<WebService.Context> {
   class NewAction {
     private final String key;
     private String deprecatedKey, description, since;
-    private boolean post = false, isInternal = false;
+    private boolean post = false, isInternal = false, streamed = false;
     private RequestHandler handler;
     private Map<String, NewParam> newParams = Maps.newHashMap();
     private URL responseExample = null;
@@ -290,6 +290,20 @@ public interface WebService extends Definable<WebService.Context> {
       return this;
     }
 
+    /**
+     * By default the response is entirely buffered in memory and sent to the client when the handler
+     * completes. When streamed, the response is written to the client as soon as the handler writes more
+     * than a few kilobytes, so it does not have to fit in memory. The HTTP status and the media type
+     * must then be set before writing the content. Errors raised once the first bytes are sent can not
+     * be reported to the client.
+     *
+     * @since 5.2
+     */
+    public NewAction setStreamed(boolean b) {
+      this.streamed = b;
+      return this;
+    }
+
     public NewAction setHandler(RequestHandler h) {
       this.handler = h;
       return this;
@@ -405,7 +419,7 @@ public interface WebService extends Definable<WebService.Context> {
   @Immutable
   class Action {
     private final String key, deprecatedKey, path, description, since;
-    private final boolean post, isInternal;
+    private final boolean post, isInternal, streamed;
     private final RequestHandler handler;
     private final Map<String, Param> params;
     private final URL responseExample;
@@ -418,6 +432,7 @@ public interface WebService extends Definable<WebService.Context> {
       this.since = StringUtils.defaultIfBlank(newAction.since, controller.since);
       this.post = newAction.post;
       this.isInternal = newAction.isInternal;
+      this.streamed = newAction.streamed;
       this.responseExample = newAction.responseExample;
 
       if (newAction.handler == null) {
@@ -465,6 +480,14 @@ public interface WebService extends Definable<WebService.Context> {
       return isInternal;
     }
 
+    /**
+     * @see org.sonar.api.server.ws.WebService.NewAction#setStreamed(boolean)
+     * @since 5.2
+     */
+    public boolean isStreamed() {
+      return streamed;
+    }
+
     public RequestHandler handler() {
       return handler;
     }
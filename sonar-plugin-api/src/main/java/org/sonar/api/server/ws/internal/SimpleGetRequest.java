@@ -31,11 +31,13 @@ import java.util.Map;
 /**
  * Fake implementation of {@link org.sonar.api.server.ws.Request} used
  * for testing. Call the method {@link #setParam(String, String)} to
- * emulate some parameter values.
+ * emulate some parameter values and {@link #setHeader(String, String)} to
+ * emulate HTTP headers.
  */
 public class SimpleGetRequest extends Request {
 
   private final Map<String, String> params = Maps.newHashMap();
+  private final Map<String, String> headers = Maps.newHashMap();
 
   @Override
   public String method() {
@@ -64,4 +66,16 @@ public class SimpleGetRequest extends Request {
     return this;
   }
 
+  @Override
+  public String header(String name) {
+    return headers.get(name);
+  }
+
+  public SimpleGetRequest setHeader(String name, @Nullable String value) {
+    if (value != null) {
+      headers.put(name, value);
+    }
+    return this;
+  }
+
 }
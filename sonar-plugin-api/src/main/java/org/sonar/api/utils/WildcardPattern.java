@@ -19,7 +19,8 @@
  */
 package org.sonar.api.utils;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -28,7 +29,7 @@ import org.apache.commons.lang.StringUtils;
 /**
  * Implementation of Ant-style matching patterns.
  * Contrary to other implementations (like AntPathMatcher from Spring Framework) it is based on {@link Pattern Java Regular Expressions}.
- * To increase performance it holds an internal cache of all processed patterns.
+ * To increase performance it holds an internal cache of the most recently used patterns. This class is thread-safe.
  * <p>
  * Following rules are applied:
  * <ul>
@@ -61,11 +62,17 @@ import org.apache.commons.lang.StringUtils;
  */
 public class WildcardPattern {
 
-  private static final Map<String, WildcardPattern> CACHE = new HashMap<>();
+  private static final int CACHE_MAX_SIZE = 5_000;
+  private static final Map<String, WildcardPattern> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, WildcardPattern>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, WildcardPattern> eldest) {
+      return size() > CACHE_MAX_SIZE;
+    }
+  });
   private static final String SPECIAL_CHARS = "()[]^$.{}+|";
 
-  private Pattern pattern;
-  private String stringRepresentation;
+  private final Pattern pattern;
+  private final String stringRepresentation;
 
   protected WildcardPattern(String pattern, String directorySeparator) {
     this.stringRepresentation = pattern;
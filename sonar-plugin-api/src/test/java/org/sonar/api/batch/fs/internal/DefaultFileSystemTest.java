@@ -24,9 +24,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.InputFile;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -131,4 +135,39 @@ public class DefaultFileSystemTest {
     // it would fail if more than one java file
     assertThat(fs.inputFile(fs.predicates().hasLanguage("java"))).isNotNull();
   }
+
+  @Test
+  public void search_files_by_indexed_attributes() {
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("php").setType(InputFile.Type.MAIN).setStatus(InputFile.Status.ADDED));
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("java").setType(InputFile.Type.MAIN).setStatus(InputFile.Status.SAME));
+    fs.add(new DefaultInputFile("foo", "test/BarTest.java").setLanguage("java").setType(InputFile.Type.TEST).setStatus(InputFile.Status.CHANGED));
+    fs.add(new DefaultInputFile("foo", "src/readme.txt").setType(InputFile.Type.MAIN));
+    FilePredicates p = fs.predicates();
+
+    assertThat(relativePaths(fs.inputFiles(p.hasType(InputFile.Type.MAIN)))).containsExactly("src/Bar.java", "src/Foo.php", "src/readme.txt");
+    assertThat(relativePaths(fs.inputFiles(p.hasStatus(InputFile.Status.CHANGED)))).containsExactly("test/BarTest.java");
+    assertThat(relativePaths(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN))))).containsExactly("src/Bar.java");
+    assertThat(relativePaths(fs.inputFiles(p.and(p.hasType(InputFile.Type.MAIN), p.hasStatus(InputFile.Status.ADDED), p.matchesPathPattern("src/**"))))).containsExactly(
+      "src/Foo.php");
+    assertThat(relativePaths(fs.inputFiles(p.or(p.hasLanguage("php"), p.hasType(InputFile.Type.TEST))))).containsExactly("src/Foo.php", "test/BarTest.java");
+    assertThat(relativePaths(fs.inputFiles(p.or(p.hasLanguage("php"), p.matchesPathPattern("**/*.txt"))))).containsExactly("src/Foo.php", "src/readme.txt");
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("cobol"), p.hasType(InputFile.Type.MAIN)))).isEmpty();
+  }
+
+  @Test
+  public void update_indexes_when_file_is_added_again() {
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("php"));
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("java"));
+
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("php"))).isEmpty();
+    assertThat(fs.inputFiles(fs.predicates().hasLanguage("java"))).hasSize(1);
+  }
+
+  private static List<String> relativePaths(Iterable<InputFile> files) {
+    List<String> paths = new ArrayList<>();
+    for (InputFile file : files) {
+      paths.add(file.relativePath());
+    }
+    return paths;
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.api.batch.fs.internal;
+
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.InputFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathPatternSetTest {
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void match_relative_and_absolute_paths() throws Exception {
+    PathPatternSet patterns = PathPatternSet.create(new String[] {"**/*Dao.java", "file:**/src/main/**Foo.java"});
+    assertThat(patterns.isEmpty()).isFalse();
+    assertThat(patterns.patterns()).hasSize(2);
+
+    Path moduleBaseDir = temp.newFolder().toPath();
+    assertThat(patterns.match(new DefaultInputFile("ABCDE", "src/main/java/org/UserDao.java").setModuleBaseDir(moduleBaseDir))).isTrue();
+    assertThat(patterns.match(new DefaultInputFile("ABCDE", "src/main/java/org/MyFoo.java").setModuleBaseDir(moduleBaseDir))).isTrue();
+    // absolute patterns are not applied on relative paths
+    assertThat(patterns.match(new DefaultInputFile("ABCDE", "UserFoo.java").setModuleBaseDir(moduleBaseDir))).isFalse();
+    // case sensitive
+    assertThat(patterns.match(new DefaultInputFile("ABCDE", "src/main/java/org/UserDao.JAVA").setModuleBaseDir(moduleBaseDir))).isFalse();
+  }
+
+  @Test
+  public void match_like_each_path_pattern() throws Exception {
+    String[] patterns = {"**/*Test.java", "src/**", "file:**/generated/**", "*.xml"};
+    PathPatternSet set = PathPatternSet.create(patterns);
+    Path moduleBaseDir = temp.newFolder().toPath();
+
+    for (String path : new String[] {"src/Foo.java", "test/FooTest.java", "pom.xml", "conf/pom.xml", "target/generated/Foo.java", "Foo.java"}) {
+      InputFile inputFile = new DefaultInputFile("ABCDE", path).setModuleBaseDir(moduleBaseDir);
+      boolean expected = false;
+      for (PathPattern pattern : set.patterns()) {
+        expected |= pattern.match(inputFile);
+      }
+      assertThat(set.match(inputFile)).as(path).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void empty_set_matches_nothing() {
+    PathPatternSet patterns = PathPatternSet.create(new String[0]);
+    assertThat(patterns.isEmpty()).isTrue();
+    assertThat(patterns.match(new DefaultInputFile("ABCDE", "src/Foo.java"))).isFalse();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.api.batch.fs.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+import org.sonar.api.utils.WildcardPattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WildcardPatternAutomatonTest {
+
+  private static final String[] PATTERNS = {
+    "", "/", "Foo", "/foo", "\\foo", "foo\\bar", "org/T?st.java", "org/*.java", "org/**", "org/**/Test.java", "org/**/*.java",
+    "**", "**/", "**/*", "*/foo/*", "**/app/**", "**/*$*", "a+", "[ab]", "()[]^$.{}+|", "hell?", "*/a.b.c", "**/Reader",
+    "org/sonar/**/**", "org/sonar/**/Foo", "org/**.*", "foo**bar", "foo**/bar", "***", "***/x", "a/**/**/b", "*.java", "**/*Test*.java",
+    "src/main/**/*Dao.java", "**/generated-sources/**", "?", "??/?", "a*b*c", "**/a/*/b/**", "\\n"
+  };
+
+  private static final String[] VALUES = {
+    "", "/", "//", "Foo", "foo", "/foo", "foo/", "foo/bar", "org/Test.java", "org/Tost.java", "org/T/st.java", "org/Foo.java",
+    "org/foo/bar.jsp", "org", "org/", "org/foo/Test.java", "org/foo/bar/Test.java", "java/io/Reader", "org/sonar/channel/CodeReader",
+    "com/app/Utils", "com/application/MyService", "foo/bar$baz", "aa", "a+", "a", "[ab]", "()[]^$.{}+|", "hello", "helloworld", "hell",
+    "foo/a.b.c", "foo/aabbc", "org/sonar/commons/Foo", "org/sonar/Foo", "org.sonar.commons.Foo.java", "foobar", "fooXbar", "foo/x/bar",
+    "foox/y/bar", "x", "a/x", "a/b", "a/c/b", "a/c/d/b", "MyTest.java", "src/MyTestCase.java", "src/main/java/UserDao.java",
+    "target/generated-sources/Foo.java", "ab", "ab/c", "abc", "aXbYc", "a/b/c", "x/a/y/b/z", "\n", "foo\nbar", "org/\n/Test.java",
+    "org /Test.java", "a\uD83D\uDE00c", "\uD83D\uDE00"
+  };
+
+  @Test
+  public void match_like_wildcard_pattern() {
+    for (String pattern : PATTERNS) {
+      WildcardPatternAutomaton automaton = new WildcardPatternAutomaton(Collections.singletonList(pattern));
+      for (String value : VALUES) {
+        assertThat(automaton.match(value)).as("pattern '" + pattern + "' on '" + value + "'").isEqualTo(WildcardPattern.create(pattern).match(value));
+      }
+    }
+  }
+
+  @Test
+  public void match_any_of_patterns() {
+    WildcardPatternAutomaton automaton = new WildcardPatternAutomaton(Arrays.asList(PATTERNS));
+    for (String value : VALUES) {
+      assertThat(automaton.match(value)).as(value).isEqualTo(WildcardPattern.match(WildcardPattern.create(PATTERNS), value));
+    }
+
+    automaton = new WildcardPatternAutomaton(Arrays.asList("org/**/Test.java", "org/*.java", "**/*Dao.java"));
+    assertThat(automaton.match("org/Foo.java")).isTrue();
+    assertThat(automaton.match("org/foo/Test.java")).isTrue();
+    assertThat(automaton.match("src/UserDao.java")).isTrue();
+    assertThat(automaton.match("org/foo/Foo.java")).isFalse();
+  }
+
+  @Test
+  public void no_patterns() {
+    WildcardPatternAutomaton automaton = new WildcardPatternAutomaton(Collections.<String>emptyList());
+    assertThat(automaton.match("")).isFalse();
+    assertThat(automaton.match("foo")).isFalse();
+  }
+
+  @Test
+  public void match_like_wildcard_pattern_on_random_inputs() {
+    Random random = new Random(42);
+    String patternChars = "ab/*?.\\";
+    String valueChars = "ab/.";
+    for (int i = 0; i < 3000; i++) {
+      String pattern = randomString(random, patternChars, 8);
+      WildcardPatternAutomaton automaton = new WildcardPatternAutomaton(Collections.singletonList(pattern));
+      for (int j = 0; j < 20; j++) {
+        String value = randomString(random, valueChars, 10);
+        assertThat(automaton.match(value)).as("pattern '" + pattern + "' on '" + value + "'").isEqualTo(new WildcardPattern(pattern, "/") {
+        }.match(value));
+      }
+    }
+  }
+
+  private static String randomString(Random random, String chars, int maxLength) {
+    int length = random.nextInt(maxLength + 1);
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append(chars.charAt(random.nextInt(chars.length())));
+    }
+    return sb.toString();
+  }
+}
@@ -41,6 +41,22 @@ public class DefaultSensorDescriptorTest {
     assertThat(descriptor.type()).isEqualTo(InputFile.Type.MAIN);
     assertThat(descriptor.properties()).containsOnly("sonar.foo.reportPath");
     assertThat(descriptor.ruleRepositories()).containsOnly("squid-java");
+    assertThat(descriptor.dependsUpon()).isEmpty();
+    assertThat(descriptor.dependedUpon()).isEmpty();
+    assertThat(descriptor.isExclusive()).isFalse();
+  }
+
+  @Test
+  public void describe_execution_constraints() {
+    DefaultSensorDescriptor descriptor = new DefaultSensorDescriptor()
+      .name("Foo")
+      .dependsUpon("ncloc")
+      .dependedUpon("foo_issues", "foo_measures")
+      .exclusive();
+
+    assertThat(descriptor.dependsUpon()).containsOnly("ncloc");
+    assertThat(descriptor.dependedUpon()).containsOnly("foo_issues", "foo_measures");
+    assertThat(descriptor.isExclusive()).isTrue();
   }
 
 }
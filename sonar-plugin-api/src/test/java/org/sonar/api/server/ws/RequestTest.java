@@ -167,6 +167,11 @@ public class RequestTest {
     assertThat(request.param("has_default_string")).isEqualTo("the_default_string");
   }
 
+  @Test
+  public void headers_are_not_available_by_default() {
+    assertThat(request.header("If-None-Match")).isNull();
+  }
+
   @Test
   public void param_as_string() {
     assertThat(request.setParam("a_string", "foo").param("a_string")).isEqualTo("foo");